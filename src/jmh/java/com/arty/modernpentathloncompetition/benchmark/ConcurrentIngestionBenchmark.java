@@ -0,0 +1,156 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.ingestion.AthleteResultState;
+import com.arty.modernpentathloncompetition.ingestion.ConcurrentResultStore;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import com.arty.modernpentathloncompetition.service.implementation.LiveLeaderboardServiceImpl;
+import com.arty.modernpentathloncompetition.service.implementation.ResultStorageServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Results of 16 venue feeds written at the same time while one reader takes snapshots: lock-free result store,
+ * live leaderboard on top of it, and results under one read-write lock as the baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentIngestionBenchmark {
+
+    private static final int WRITER_THREADS = 16;
+
+    private static final int RESULT_VARIANTS = 64;
+
+    private static final AthleteEvent[] EVENTS = AthleteEvent.values();
+
+    @Param({"1000", "100000"})
+    public int athleteCount;
+
+    private String[] names;
+
+    /**
+     * Prepared results by event ordinal.
+     */
+    private String[][] results;
+
+    private ConcurrentResultStore store;
+
+    private LiveLeaderboardServiceImpl liveLeaderboardService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, AthleteResultState> lockedResults;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        AthleteResultTable athleteResultTable = SyntheticAthleteResults.toTable(
+                SyntheticAthleteResults.generate(athleteCount, 42));
+        names = new String[athleteCount];
+        for (int row = 0; row < athleteCount; row++) {
+            names[row] = athleteResultTable.getNameSurname(row);
+        }
+        results = new String[EVENTS.length][RESULT_VARIANTS];
+        for (int variant = 0; variant < RESULT_VARIANTS; variant++) {
+            results[AthleteEvent.FENCING.ordinal()][variant] = String.valueOf(variant % 35);
+            results[AthleteEvent.SWIMMING.ordinal()][variant] = String.format("02:%02d.%d", variant % 60, variant % 10);
+            results[AthleteEvent.RIDING.ordinal()][variant] = variant % 3 + "," + variant % 2 + ",0";
+            results[AthleteEvent.SHOOTING.ordinal()][variant] = String.valueOf(140 + variant);
+            results[AthleteEvent.RUN.ordinal()][variant] = String.format("11:%02d.%d", variant % 60, variant % 10);
+        }
+
+        store = new ConcurrentResultStore(athleteResultTable);
+        liveLeaderboardService = new LiveLeaderboardServiceImpl(new AthleteResultServiceImpl(),
+                new ResultStorageServiceImpl());
+        liveLeaderboardService.load(athleteResultTable);
+        lockedResults = new HashMap<>();
+        store.forEachSlot(slot -> lockedResults.put(slot.getNameSurname(), slot.getState()));
+    }
+
+    @Benchmark
+    @Group("store")
+    @GroupThreads(WRITER_THREADS)
+    public ConcurrentResultStore.Slot storeWriter() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AthleteEvent event = EVENTS[random.nextInt(EVENTS.length)];
+        return store.update(names[random.nextInt(names.length)], event,
+                results[event.ordinal()][random.nextInt(RESULT_VARIANTS)]);
+    }
+
+    @Benchmark
+    @Group("store")
+    @GroupThreads(1)
+    public AthleteResultTable storeReader() {
+        return store.snapshot();
+    }
+
+    @Benchmark
+    @Group("liveLeaderboard")
+    @GroupThreads(WRITER_THREADS)
+    public void liveLeaderboardWriter() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AthleteEvent event = EVENTS[random.nextInt(EVENTS.length)];
+        liveLeaderboardService.updateResult(names[random.nextInt(names.length)], event,
+                results[event.ordinal()][random.nextInt(RESULT_VARIANTS)]);
+    }
+
+    @Benchmark
+    @Group("liveLeaderboard")
+    @GroupThreads(1)
+    public AthleteResultTable liveLeaderboardReader() {
+        return liveLeaderboardService.getLeaderboard();
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(WRITER_THREADS)
+    public AthleteResultState lockedWriter() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AthleteEvent event = EVENTS[random.nextInt(EVENTS.length)];
+        String name = names[random.nextInt(names.length)];
+        String result = results[event.ordinal()][random.nextInt(RESULT_VARIANTS)];
+        lock.writeLock().lock();
+        try {
+            AthleteResultState updated = lockedResults.get(name).withResult(event, result);
+            lockedResults.put(name, updated);
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public AthleteResultState[] lockedReader() {
+        lock.readLock().lock();
+        try {
+            return lockedResults.values().toArray(new AthleteResultState[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.parser.AthleteResultCsvParser;
+import com.arty.modernpentathloncompetition.parser.MappedAthleteResultFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the first stage of leaderboard generation: reading athlete results CSV into beans, into columnar table
+ * and into columnar table through memory-mapped file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CsvParsingBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    public int athleteCount;
+
+    @Param({"REALISTIC", "TIE_HEAVY"})
+    public FieldDistribution distribution;
+
+    private final AthleteResultCsvParser parser = new AthleteResultCsvParser();
+
+    private byte[] csv;
+
+    private Path csvFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = SyntheticAthleteResults.toCsv(SyntheticAthleteResults.generate(athleteCount, 42, distribution));
+        csvFile = Files.createTempFile("athlete-results", ".csv");
+        Files.write(csvFile, csv);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    private Reader reader() {
+        return new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<AthleteResult> parseToBeans() throws IOException {
+        List<AthleteResult> athleteResults = new ArrayList<>();
+        parser.parse(reader(), athleteResults::add);
+        return athleteResults;
+    }
+
+    @Benchmark
+    public AthleteResultTable parseToTable() throws IOException {
+        AthleteResultTable table = new AthleteResultTable();
+        parser.parse(reader(), table);
+        return table;
+    }
+
+    @Benchmark
+    public AthleteResultTable mapToTable() throws IOException {
+        return MappedAthleteResultFile.map(csvFile).toTable();
+    }
+}
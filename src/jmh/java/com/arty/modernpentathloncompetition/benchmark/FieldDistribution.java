@@ -0,0 +1,17 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+/**
+ * How results of synthetic athletes are distributed.
+ */
+public enum FieldDistribution {
+
+    /**
+     * Values in realistic ranges, few athletes share concluding event time.
+     */
+    REALISTIC,
+
+    /**
+     * Few distinct values, so long runs of athletes share concluding event time.
+     */
+    TIE_HEAVY
+}
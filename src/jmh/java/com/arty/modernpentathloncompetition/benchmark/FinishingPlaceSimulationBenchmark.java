@@ -0,0 +1,59 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.FinishingPlaceProbabilities;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import com.arty.modernpentathloncompetition.simulation.FinishingPlaceSimulation;
+import com.arty.modernpentathloncompetition.simulation.RunTimeDistribution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of one simulated laser-run of the whole field, run across all cores of the common fork/join pool.
+ * Millions of laser-runs per second equal 1000 divided by the score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class FinishingPlaceSimulationBenchmark {
+
+    private static final int ITERATIONS = 1_000_000;
+
+    @Param({"10", "36"})
+    public int athleteCount;
+
+    @Param({"NORMAL", "UNIFORM"})
+    public RunTimeDistribution distribution;
+
+    private FinishingPlaceSimulation simulation;
+
+    @Setup
+    public void setUp() {
+        AthleteResultServiceImpl service = new AthleteResultServiceImpl();
+        AthleteResultTable leaderboard = service.countConcludingEventTimeAndSortAccordingToIt(
+                service.calculateTotalPointsOfAthletes(SyntheticAthleteResults.toTable(
+                        SyntheticAthleteResults.generate(athleteCount, 42))));
+        simulation = FinishingPlaceSimulation.of(leaderboard, distribution, 5.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public FinishingPlaceProbabilities simulatePodium() {
+        return simulation.simulate(ITERATIONS, 3, 42);
+    }
+}
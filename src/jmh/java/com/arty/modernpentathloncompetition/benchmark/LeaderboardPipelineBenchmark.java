@@ -0,0 +1,167 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultOutput;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of every stage of leaderboard generation after parsing: scoring, concluding event time with sorting,
+ * place determination and output, both over lists of beans and over columnar table.
+ *
+ * <p>Sorting stages rearrange their input, so they get a fresh copy in file order before every invocation.
+ * Copying is not measured, and for 10 athletes timer overhead of such setup dominates the result.
+ *
+ * <p>Run with './gradlew jmh', results are written to 'build/reports/jmh/results.json'.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LeaderboardPipelineBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    public int athleteCount;
+
+    @Param({"REALISTIC", "TIE_HEAVY"})
+    public FieldDistribution distribution;
+
+    private final AthleteResultServiceImpl service = new AthleteResultServiceImpl();
+
+    /**
+     * Athletes with total points in file order.
+     */
+    private List<AthleteResult> scoredAthleteResults;
+
+    private AthleteResultTable scoredTable;
+
+    /**
+     * Athletes sorted by concluding event time with places set.
+     */
+    private List<AthleteResultOutput> placedAthleteResults;
+
+    private AthleteResultTable placedTable;
+
+    @Setup
+    public void setUp() {
+        scoredAthleteResults = service.calculateTotalPointsOfAthletes(
+                SyntheticAthleteResults.generate(athleteCount, 42, distribution));
+        scoredTable = service.calculateTotalPointsOfAthletes(SyntheticAthleteResults.toTable(scoredAthleteResults));
+
+        placedAthleteResults = service.determinePlaceForEachAthlete(
+                service.countConcludingEventTimeAndSortAccordingToIt(new ArrayList<>(scoredAthleteResults)));
+        placedTable = service.determinePlaceForEachAthlete(
+                service.countConcludingEventTimeAndSortAccordingToIt(copyOf(scoredTable)));
+    }
+
+    /**
+     * Fresh copies of scored athletes in file order for stages which rearrange their input.
+     */
+    @State(Scope.Thread)
+    public static class SortInput {
+
+        List<AthleteResult> athleteResults;
+
+        AthleteResultTable table;
+
+        @Setup(Level.Invocation)
+        public void setUp(LeaderboardPipelineBenchmark benchmark) {
+            athleteResults = new ArrayList<>(benchmark.scoredAthleteResults);
+            table = copyOf(benchmark.scoredTable);
+        }
+    }
+
+    private static AthleteResultTable copyOf(AthleteResultTable table) {
+        int[] rows = new int[table.size()];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        return table.select(rows);
+    }
+
+    @Benchmark
+    public List<AthleteResult> calculateTotalPointsOfList() {
+        return service.calculateTotalPointsOfAthletes(scoredAthleteResults);
+    }
+
+    @Benchmark
+    public AthleteResultTable calculateTotalPointsOfTable() {
+        return service.calculateTotalPointsOfAthletes(scoredTable);
+    }
+
+    @Benchmark
+    public List<AthleteResultOutput> countConcludingEventTimeAndSortList(SortInput sortInput) {
+        return service.countConcludingEventTimeAndSortAccordingToIt(sortInput.athleteResults);
+    }
+
+    @Benchmark
+    public AthleteResultTable countConcludingEventTimeAndSortTable(SortInput sortInput) {
+        return service.countConcludingEventTimeAndSortAccordingToIt(sortInput.table);
+    }
+
+    @Benchmark
+    public AthleteResultTable countConcludingEventTimeAndDetermineTop20() {
+        return service.countConcludingEventTimeAndDetermineTopPlaces(scoredTable, 20);
+    }
+
+    @Benchmark
+    public List<AthleteResultOutput> determinePlaceForEachAthleteOfList() {
+        return service.determinePlaceForEachAthlete(placedAthleteResults);
+    }
+
+    @Benchmark
+    public AthleteResultTable determinePlaceForEachAthleteOfTable() {
+        return service.determinePlaceForEachAthlete(placedTable);
+    }
+
+    @Benchmark
+    public String generateFinalLeaderboardListOfList() {
+        return service.generateFinalLeaderboardList(placedAthleteResults);
+    }
+
+    @Benchmark
+    public String generateFinalLeaderboardListOfTable() {
+        return service.generateFinalLeaderboardList(placedTable);
+    }
+
+    @Benchmark
+    public void writeFinalLeaderboardListOfTable() throws IOException {
+        service.writeFinalLeaderboardList(placedTable, DiscardingOutputStream.INSTANCE);
+    }
+
+    /**
+     * Stream which drops written bytes, so only encoding is measured.
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        static final DiscardingOutputStream INSTANCE = new DiscardingOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.parser.AthleteResultCsvParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Names of a competition of 1000 athletes drawn from a pool of known athletes: ids found in the name dictionary by
+ * characters of the parsed field, names created as strings and pooled by a hash map, and the whole competition
+ * parsed into a table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class NameDictionaryBenchmark {
+
+    private static final int FIELD_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    public int athletePool;
+
+    private final AthleteResultCsvParser parser = new AthleteResultCsvParser();
+
+    private final AthleteNameDictionary dictionary = new AthleteNameDictionary();
+
+    private Map<String, Integer> namePool;
+
+    /**
+     * Names of the competition as characters of one record, as the parser sees them.
+     */
+    private char[] record;
+
+    private int[] nameStarts;
+
+    private int[] nameEnds;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        namePool = new HashMap<>();
+        for (int athlete = 0; athlete < athletePool; athlete++) {
+            String name = "Athlete" + athlete + " Surname" + random.nextInt(100_000);
+            namePool.put(name, athlete);
+            dictionary.idOf(name);
+        }
+        String[] pool = namePool.keySet().toArray(new String[0]);
+        StringBuilder names = new StringBuilder();
+        StringBuilder results = new StringBuilder();
+        nameStarts = new int[FIELD_SIZE];
+        nameEnds = new int[FIELD_SIZE];
+        for (int row = 0; row < FIELD_SIZE; row++) {
+            String name = pool[random.nextInt(pool.length)];
+            nameStarts[row] = names.length();
+            names.append(name);
+            nameEnds[row] = names.length();
+            names.append(',');
+            results.append(name).append(',').append(random.nextInt(35)).append(",02:")
+                    .append(10 + random.nextInt(40)).append(".0,0,0,0,").append(150 + random.nextInt(50)).append(",11:")
+                    .append(10 + random.nextInt(40)).append(".0\n");
+        }
+        record = names.toString().toCharArray();
+        csv = results.toString();
+    }
+
+    @Benchmark
+    public int dictionaryIds() {
+        int sum = 0;
+        for (int row = 0; row < FIELD_SIZE; row++) {
+            sum += dictionary.idOf(record, nameStarts[row], nameEnds[row]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int pooledStrings() {
+        int sum = 0;
+        for (int row = 0; row < FIELD_SIZE; row++) {
+            sum += namePool.get(new String(record, nameStarts[row], nameEnds[row] - nameStarts[row]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public AthleteResultTable parseCompetition() throws IOException {
+        AthleteResultTable table = new AthleteResultTable(dictionary, FIELD_SIZE);
+        parser.parse(new StringReader(csv), table);
+        return table;
+    }
+}
@@ -0,0 +1,64 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of stage timers and row counters: leaderboard generated by the instrumented pipeline against the same
+ * stages called one after another without any metrics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PipelineMetricsBenchmark {
+
+    @Param({"10", "10000"})
+    public int athleteCount;
+
+    private final AthleteResultServiceImpl service = new AthleteResultServiceImpl(new SimpleMeterRegistry());
+
+    private Path csvFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        csvFile = Files.createTempFile("athlete-results", ".csv");
+        Files.write(csvFile, SyntheticAthleteResults.toCsv(SyntheticAthleteResults.generate(athleteCount, 42)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public AthleteResultTable leaderboardWithoutMetrics() {
+        return service.determinePlaceForEachAthlete(service.countConcludingEventTimeAndSortAccordingToIt(
+                service.calculateTotalPointsOfAthletes(service.generateAthleteResultTableFromCsv(csvFile.toString()))));
+    }
+
+    @Benchmark
+    public AthleteResultTable leaderboardWithMetrics() {
+        return service.generateAthleteLeaderboardTable(csvFile.toString());
+    }
+}
@@ -0,0 +1,110 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import com.arty.modernpentathloncompetition.service.implementation.LiveLeaderboardServiceImpl;
+import com.arty.modernpentathloncompetition.service.implementation.ResultStorageServiceImpl;
+import com.arty.modernpentathloncompetition.snapshot.AthleteResultSnapshot;
+import com.arty.modernpentathloncompetition.storage.ResultEventLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Recovery of live results from a snapshot and a log of result events written after it: replay of the log alone,
+ * and recovery of the live leaderboard, which applies the events and scores athletes once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ResultLogRecoveryBenchmark {
+
+    @Param({"10000000"})
+    public int eventCount;
+
+    @Param({"1000", "200000"})
+    public int athleteCount;
+
+    private Path storageDirectory;
+
+    private AthleteResultServiceImpl athleteResultService;
+
+    private LiveLeaderboardServiceImpl liveLeaderboardService;
+
+    @Setup(Level.Trial)
+    public void writeStorage() throws IOException {
+        storageDirectory = Files.createTempDirectory("result-storage");
+        AthleteResultTable results = SyntheticAthleteResults.toTable(
+                SyntheticAthleteResults.generate(athleteCount, 42));
+        AthleteResultSnapshot.write(results, storageDirectory.resolve(
+                String.format("results-%020d%s", 0, AthleteResultSnapshot.FILE_EXTENSION)));
+
+        Random random = new Random(42);
+        try (ResultEventLog log = new ResultEventLog(storageDirectory, false)) {
+            log.recover(0, (sequence, nameSurname, event, result) -> {
+            });
+            for (int event = 0; event < eventCount; event++) {
+                String athlete = results.getNameSurname(random.nextInt(athleteCount));
+                if (random.nextBoolean()) {
+                    log.append(athlete, AthleteEvent.RUN, String.format("%02d:%02d.%d", 10 + random.nextInt(2),
+                            random.nextInt(60), random.nextInt(10)));
+                } else {
+                    log.append(athlete, AthleteEvent.FENCING, String.valueOf(random.nextInt(35)));
+                }
+            }
+        }
+        athleteResultService = new AthleteResultServiceImpl();
+    }
+
+    @Setup(Level.Iteration)
+    public void createServices() {
+        ResultStorageServiceImpl resultStorageService = new ResultStorageServiceImpl();
+        resultStorageService.setStorageDirectory(storageDirectory.toString());
+        // Recovery must not write a snapshot, which would drop the log for the next iteration.
+        resultStorageService.setSnapshotIntervalEvents(Long.MAX_VALUE);
+        liveLeaderboardService = new LiveLeaderboardServiceImpl(athleteResultService, resultStorageService);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStorage() throws IOException {
+        try (Stream<Path> paths = Files.walk(storageDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long replayLog() throws IOException {
+        long[] checksum = new long[1];
+        try (ResultEventLog log = new ResultEventLog(storageDirectory, false)) {
+            log.recover(0, (sequence, nameSurname, event, result) -> checksum[0] += result.length());
+        }
+        return checksum[0];
+    }
+
+    @Benchmark
+    public AthleteResultTable recoverLiveLeaderboard() {
+        return liveLeaderboardService.getLeaderboard();
+    }
+}
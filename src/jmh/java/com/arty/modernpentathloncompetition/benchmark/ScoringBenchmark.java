@@ -0,0 +1,56 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link AthleteResultServiceImpl#calculateTotalPointsOfAthletes(List)} scoring athletes sequentially
+ * against scoring them across fork/join pool.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    @Param({"1000000"})
+    public int athleteCount;
+
+    private List<AthleteResult> athleteResults;
+
+    private final AthleteResultServiceImpl sequentialService = new AthleteResultServiceImpl();
+
+    private final AthleteResultServiceImpl parallelService = new AthleteResultServiceImpl();
+
+    @Setup
+    public void setUp() {
+        athleteResults = SyntheticAthleteResults.generate(athleteCount, 42);
+        sequentialService.setParallelismThreshold(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<AthleteResult> sequentialScoring() {
+        return sequentialService.calculateTotalPointsOfAthletes(athleteResults);
+    }
+
+    @Benchmark
+    public List<AthleteResult> forkJoinScoring() {
+        return parallelService.calculateTotalPointsOfAthletes(athleteResults);
+    }
+}
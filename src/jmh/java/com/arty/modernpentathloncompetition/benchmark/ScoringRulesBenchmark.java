@@ -0,0 +1,90 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.ScoringRules;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring athletes by a configured rulebook against scoring them by rules compiled in as constants, and of
+ * switching rulebooks between scorings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ScoringRulesBenchmark {
+
+    @Param({"100000"})
+    public int athleteCount;
+
+    private AthleteResultTable athleteResultTable;
+
+    private final AthleteResultServiceImpl service = new AthleteResultServiceImpl();
+
+    private ScoringRules otherSeasonRules;
+
+    private boolean otherSeason;
+
+    @Setup
+    public void setUp() {
+        athleteResultTable = SyntheticAthleteResults.toTable(SyntheticAthleteResults.generate(athleteCount, 42));
+        service.setParallelismThreshold(Integer.MAX_VALUE);
+
+        Properties rules = new Properties();
+        rules.setProperty("riding_fence_knock_down_loss", "30");
+        rules.setProperty("shooting_target_score", "170");
+        rules.setProperty("swimming_target_time", "2:25.0");
+        otherSeasonRules = ScoringRules.fromProperties(rules);
+    }
+
+    @Benchmark
+    public AthleteResultTable defaultRules() {
+        service.setScoringRules(ScoringRules.DEFAULT);
+        return service.calculateTotalPointsOfAthletes(athleteResultTable);
+    }
+
+    @Benchmark
+    public AthleteResultTable rulesSwitchedEveryScoring() {
+        otherSeason = !otherSeason;
+        service.setScoringRules(otherSeason ? otherSeasonRules : ScoringRules.DEFAULT);
+        return service.calculateTotalPointsOfAthletes(athleteResultTable);
+    }
+
+    /**
+     * Baseline: the same scoring with rules of the current season written as constants.
+     */
+    @Benchmark
+    public AthleteResultTable constantRules() {
+        int fencingTargetWinCount = service.createScoringContext(athleteResultTable.size()).getFencingTargetWinCount();
+        for (int row = 0; row < athleteResultTable.size(); row++) {
+            int fencingScore = Math.max(1000 + (athleteResultTable.getFencingVictories(row) - fencingTargetWinCount)
+                    * 40, 0);
+            int swimmingTime = athleteResultTable.getSwimmingTime(row);
+            int swimmingScore = swimmingTime < 0 ? -1 : Math.max(1000 + 4 * ((1500 - swimmingTime) / 3), 0);
+            int ridingScore = Math.max(1200 - (athleteResultTable.getFenceKnockDownCount(row) * 28
+                    + athleteResultTable.getRefusalToJumpCount(row) * 40
+                    + athleteResultTable.getObstacleKnockDownCount(row) * 60), 0);
+            int shootingTargetScore = athleteResultTable.getShootingTargetScore(row);
+            int shootingScore = shootingTargetScore < 0 ? -1
+                    : Math.max(1000 + 12 * (shootingTargetScore - 172), 0);
+            athleteResultTable.setTotalPoints(row, fencingScore + swimmingScore + ridingScore + shootingScore);
+        }
+        return athleteResultTable;
+    }
+}
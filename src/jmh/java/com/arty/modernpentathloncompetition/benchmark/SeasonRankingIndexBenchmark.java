@@ -0,0 +1,97 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteCompetitionResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.SeasonRankingRow;
+import com.arty.modernpentathloncompetition.ranking.SeasonRankingIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries and incremental updates of a season ranking index of many competitions of 36 athletes each, drawn from
+ * a pool of 5000 athletes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SeasonRankingIndexBenchmark {
+
+    private static final int ATHLETE_POOL = 5000;
+
+    private static final int FIELD_SIZE = 36;
+
+    @Param({"1000", "20000"})
+    public int competitionCount;
+
+    private SeasonRankingIndex index;
+
+    private AthleteResultTable[] rescoredLeaderboards;
+
+    private int rescored;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new SeasonRankingIndex();
+        for (int competition = 0; competition < competitionCount; competition++) {
+            index.indexCompetition("competition-" + competition, leaderboard(random));
+        }
+        rescoredLeaderboards = new AthleteResultTable[64];
+        for (int i = 0; i < rescoredLeaderboards.length; i++) {
+            rescoredLeaderboards[i] = leaderboard(random);
+        }
+    }
+
+    @Benchmark
+    public List<SeasonRankingRow> top50() {
+        return index.getSeasonRanking(50);
+    }
+
+    @Benchmark
+    public List<AthleteCompetitionResult> athleteHistory() {
+        return index.getAthleteHistory("athlete-" + (rescored++ % ATHLETE_POOL));
+    }
+
+    @Benchmark
+    public SeasonRankingRow athleteStanding() {
+        return index.getSeasonRankingRow("athlete-" + (rescored++ % ATHLETE_POOL));
+    }
+
+    /**
+     * Replaces results of one of the competitions, which moves its athletes in the ranking.
+     */
+    @Benchmark
+    public SeasonRankingIndex indexCompetitionAgain() {
+        int i = rescored++;
+        index.indexCompetition("competition-" + (i % competitionCount),
+                rescoredLeaderboards[i % rescoredLeaderboards.length]);
+        return index;
+    }
+
+    private static AthleteResultTable leaderboard(Random random) {
+        AthleteResultTable leaderboard = new AthleteResultTable(FIELD_SIZE);
+        for (int row = 0; row < FIELD_SIZE; row++) {
+            leaderboard.addRow("athlete-" + random.nextInt(ATHLETE_POOL), 0, null, -1, 0, 0, 0, 0, null, -1);
+            leaderboard.setTotalPoints(row, 1500 - row * 10 - random.nextInt(10));
+            leaderboard.setConcludingEventTime(row, row * 10);
+            leaderboard.setPlace(row, row + 1, false);
+        }
+        return leaderboard;
+    }
+}
@@ -0,0 +1,72 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import com.arty.modernpentathloncompetition.snapshot.AthleteResultSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to get a ranked leaderboard from results csv file, which is parsed, scored, sorted and placed, against
+ * reading it from a binary snapshot file. Both files are read through the page cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SnapshotLoadingBenchmark {
+
+    @Param({"1000000"})
+    public int athleteCount;
+
+    private final AthleteResultServiceImpl service = new AthleteResultServiceImpl();
+
+    private Path csvFile;
+
+    private Path snapshotFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<AthleteResult> athleteResults = SyntheticAthleteResults.generate(athleteCount, 42);
+        csvFile = Files.createTempFile("athlete-results", ".csv");
+        Files.write(csvFile, SyntheticAthleteResults.toCsv(athleteResults));
+        snapshotFile = Files.createTempFile("athlete-results", AthleteResultSnapshot.FILE_EXTENSION);
+        service.writeAthleteLeaderboardSnapshot(service.generateAthleteLeaderboardTable(csvFile.toString()),
+                snapshotFile.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Benchmark
+    public AthleteResultTable leaderboardFromCsv() {
+        return service.generateAthleteLeaderboardTable(csvFile.toString());
+    }
+
+    @Benchmark
+    public AthleteResultTable leaderboardFromSnapshot() {
+        return service.generateAthleteLeaderboardTable(snapshotFile.toString());
+    }
+}
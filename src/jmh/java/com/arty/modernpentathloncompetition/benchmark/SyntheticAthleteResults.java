@@ -0,0 +1,103 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.parser.AthleteTimeParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator of reproducible synthetic athlete results for benchmarks.
+ */
+final class SyntheticAthleteResults {
+
+    private SyntheticAthleteResults() {
+    }
+
+    /**
+     * Method generates athlete results with values in realistic ranges.
+     * @param size amount of athletes.
+     * @param seed seed of random values.
+     * @return list of athlete results.
+     */
+    static List<AthleteResult> generate(int size, long seed) {
+        return generate(size, seed, FieldDistribution.REALISTIC);
+    }
+
+    /**
+     * Method generates athlete results.
+     * @param size amount of athletes.
+     * @param seed seed of random values.
+     * @param distribution how results are distributed.
+     * @return list of athlete results.
+     */
+    static List<AthleteResult> generate(int size, long seed, FieldDistribution distribution) {
+        Random random = new Random(seed);
+        boolean tieHeavy = distribution == FieldDistribution.TIE_HEAVY;
+        List<AthleteResult> athleteResults = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            AthleteResult athleteResult = new AthleteResult();
+            athleteResult.setNameSurname("Athlete " + i);
+            if (tieHeavy) {
+                athleteResult.setFencingVictories(20 + random.nextInt(2));
+                athleteResult.setSwimmingTime("02:30.0");
+                athleteResult.setShootingTargetScore(172);
+                athleteResult.setRunTime(time(10, random.nextInt(4), 0));
+            } else {
+                athleteResult.setFencingVictories(random.nextInt(40));
+                athleteResult.setSwimmingTime(time(1 + random.nextInt(2), random.nextInt(60), random.nextInt(10)));
+                athleteResult.setFenceKnockDownCount(random.nextInt(4));
+                athleteResult.setRefusalToJumpCount(random.nextInt(3));
+                athleteResult.setObstacleKnockDownCount(random.nextInt(4));
+                athleteResult.setShootingTargetScore(120 + random.nextInt(80));
+                athleteResult.setRunTime(time(9 + random.nextInt(3), random.nextInt(60), random.nextInt(10)));
+            }
+            athleteResults.add(athleteResult);
+        }
+        return athleteResults;
+    }
+
+    /**
+     * Method writes athlete results as athlete results CSV.
+     * @param athleteResults athlete results.
+     * @return UTF-8 encoded CSV.
+     */
+    static byte[] toCsv(List<AthleteResult> athleteResults) {
+        StringBuilder csv = new StringBuilder(athleteResults.size() * 48);
+        for (AthleteResult athleteResult : athleteResults) {
+            csv.append(athleteResult.getNameSurname()).append(',')
+                    .append(athleteResult.getFencingVictories()).append(',')
+                    .append(athleteResult.getSwimmingTime()).append(',')
+                    .append(athleteResult.getFenceKnockDownCount()).append(',')
+                    .append(athleteResult.getRefusalToJumpCount()).append(',')
+                    .append(athleteResult.getObstacleKnockDownCount()).append(',')
+                    .append(athleteResult.getShootingTargetScore()).append(',')
+                    .append(athleteResult.getRunTime()).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method copies athlete results to athlete result table.
+     * @param athleteResults athlete results.
+     * @return table with one row per athlete.
+     */
+    static AthleteResultTable toTable(List<AthleteResult> athleteResults) {
+        AthleteResultTable table = new AthleteResultTable(athleteResults.size());
+        for (AthleteResult athleteResult : athleteResults) {
+            table.addRow(athleteResult.getNameSurname(), athleteResult.getFencingVictories(),
+                    athleteResult.getSwimmingTime(), AthleteTimeParser.parseTenths(athleteResult.getSwimmingTime()),
+                    athleteResult.getFenceKnockDownCount(), athleteResult.getRefusalToJumpCount(),
+                    athleteResult.getObstacleKnockDownCount(), athleteResult.getShootingTargetScore(),
+                    athleteResult.getRunTime(), AthleteTimeParser.parseTenths(athleteResult.getRunTime()));
+        }
+        return table;
+    }
+
+    private static String time(int minutes, int seconds, int tenths) {
+        return (minutes < 10 ? "0" : "") + minutes + ":" + (seconds < 10 ? "0" : "") + seconds + "." + tenths;
+    }
+}
@@ -0,0 +1,85 @@
+package com.arty.modernpentathloncompetition.benchmark;
+
+import com.arty.modernpentathloncompetition.parser.AthleteTimeParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of parsing 'mm:ss.S' times: split-based parsing the service used before against
+ * {@link AthleteTimeParser}. Run with '-prof gc' to see allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeParsingBenchmark {
+
+    /**
+     * Time to parse, valid one or one of wrong format.
+     */
+    @Param({"10:38.0", "1h30min"})
+    public String time;
+
+    /**
+     * Times are taken from a small pool, so the JIT can not fold parsing of a constant.
+     */
+    private String[] times;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        times = new String[16];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = new String(time.toCharArray());
+        }
+    }
+
+    private String nextTime() {
+        index = (index + 1) & (times.length - 1);
+        return times[index];
+    }
+
+    @Benchmark
+    public int splitBasedParsing() {
+        return convertToMillisFromStringBySplitting(nextTime());
+    }
+
+    @Benchmark
+    public int characterScanningParsing() {
+        return AthleteTimeParser.parseTenths(nextTime());
+    }
+
+    /**
+     * Parsing as it was implemented in the service before, without printing stack trace of wrong format.
+     */
+    static int convertToMillisFromStringBySplitting(String timeAsString) {
+        try {
+            String[] time = timeAsString.split(":");
+            String[] secondsAndMillis = time[1].split("\\.");
+
+            int minutes = Integer.parseInt(time[0]);
+            int seconds = Integer.parseInt(secondsAndMillis[0]);
+            int millis = Integer.parseInt(secondsAndMillis[1]);
+
+            final int totalMillis = millis + (seconds * 10) + (minutes * 60 * 10);
+
+            return totalMillis >= 0 ? totalMillis : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
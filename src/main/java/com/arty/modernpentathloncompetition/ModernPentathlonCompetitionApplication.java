@@ -2,8 +2,22 @@ package com.arty.modernpentathloncompetition;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jmx.JmxAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * Auto-configuration the application does not use is excluded to shorten start: it takes no uploads, makes no
+ * outgoing HTTP calls, has no websockets or scheduled tasks and exposes nothing over JMX.
+ */
+@SpringBootApplication(exclude = {
+		JmxAutoConfiguration.class,
+		MultipartAutoConfiguration.class,
+		RestTemplateAutoConfiguration.class,
+		TaskSchedulingAutoConfiguration.class,
+		WebSocketServletAutoConfiguration.class})
 public class ModernPentathlonCompetitionApplication {
 
 	public static void main(String[] args) {
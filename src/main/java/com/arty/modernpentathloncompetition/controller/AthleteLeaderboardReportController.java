@@ -1,8 +1,22 @@
 package com.arty.modernpentathloncompetition.controller;
 
-import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.LeaderboardCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 
 /**
@@ -12,26 +26,94 @@ import org.springframework.web.bind.annotation.GetMapping;
 public class AthleteLeaderboardReportController {
 
     /**
-     * Injection of athlete result service.
+     * Media type of leaderboard.
+     */
+    static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    /**
+     * Injection of leaderboard cache service.
      */
-    private final AthleteResultServiceImpl athleteResultService;
+    private final LeaderboardCacheService leaderboardCacheService;
+
+    /**
+     * Whether leaderboard sent to the response is also printed to the console. Off by default, because console is
+     * one synchronized stream which concurrent responses would wait for.
+     */
+    @Value("${leaderboard_console_echo:false}")
+    private boolean CONSOLE_ECHO = false;
 
     /**
      * Injection of service bean through constructor.
-     * @param athleteResultService the Athlete result service.
+     * @param leaderboardCacheService the leaderboard cache service.
      */
-    public AthleteLeaderboardReportController(AthleteResultServiceImpl athleteResultService) {
-        this.athleteResultService = athleteResultService;
+    public AthleteLeaderboardReportController(LeaderboardCacheService leaderboardCacheService) {
+        this.leaderboardCacheService = leaderboardCacheService;
     }
 
     /**
-     * Method on GET request returns leaderboard list as CSV to the console.
-     * @return leaderboard list in the console of application.
+     * Method on GET request streams leaderboard list as CSV to the response, and prints it to the console when
+     * console echo is on. Leaderboard is recomputed and encoded only when the results file changes, requests
+     * served from the cache copy its encoded bytes, also a prefix of them for the top. Request thread is released
+     * while leaderboard is computed. Concurrent requests share one computation. When leaderboard is not cached,
+     * top of it is computed without sorting all athletes.
+     * @param top optional amount of athletes at the top of leaderboard, the whole leaderboard if missing.
+     * @return leaderboard list as CSV, bad request if top is not positive, or service unavailable if too many
+     * leaderboards are being computed.
      */
-    @GetMapping("/generate-athlete-leaderboard")
-    public String generateAthleteLeaderboardReport() {
-        System.out.println(athleteResultService.generateAthleteLeaderboard());
-        return athleteResultService.generateAthleteLeaderboard();
+    @GetMapping(value = "/generate-athlete-leaderboard", produces = "text/csv")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> generateAthleteLeaderboardReport(
+            @RequestParam(value = "top", required = false) Integer top) {
+        if (top != null && top < 1) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        CompletableFuture<AthleteResultTable> leaderboardComputation = top == null
+                ? leaderboardCacheService.getLeaderboardAsync() : leaderboardCacheService.getLeaderboardAsync(top);
+        return leaderboardComputation
+                .thenApply(leaderboard -> {
+                    StreamingResponseBody body = outputStream -> {
+                        leaderboardCacheService.writeLeaderboard(leaderboard,
+                                CONSOLE_ECHO ? new ConsoleEchoOutputStream(outputStream) : outputStream,
+                                top == null ? leaderboard.size() : top);
+                        if (CONSOLE_ECHO) {
+                            System.out.println();
+                        }
+                    };
+                    return ResponseEntity.ok().contentType(TEXT_CSV).body(body);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    HttpStatus status = cause instanceof RejectedExecutionException
+                            ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR;
+                    return ResponseEntity.status(status).build();
+                });
+    }
+
+    /**
+     * Stream which prints to the console everything written to the response.
+     */
+    private static final class ConsoleEchoOutputStream extends FilterOutputStream {
+
+        ConsoleEchoOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            System.out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            System.out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            System.out.flush();
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.arty.modernpentathloncompetition.controller;
+
+import com.arty.modernpentathloncompetition.entity.BatchLeaderboardReport;
+import com.arty.modernpentathloncompetition.service.BatchLeaderboardService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Leaderboards of many results files generated in one call.
+ */
+@Controller
+public class BatchLeaderboardController {
+
+    /**
+     * Injection of batch leaderboard service.
+     */
+    private final BatchLeaderboardService batchLeaderboardService;
+
+    /**
+     * Injection of service bean through constructor.
+     * @param batchLeaderboardService the batch leaderboard service.
+     */
+    public BatchLeaderboardController(BatchLeaderboardService batchLeaderboardService) {
+        this.batchLeaderboardService = batchLeaderboardService;
+    }
+
+    /**
+     * Method on POST request generates leaderboards of results files and writes them to the output directory.
+     * Results files are either listed in the body, one path per line, or all csv and snapshot files of the
+     * directory.
+     * @param outputDirectory directory leaderboards are written to.
+     * @param resultsDirectory optional directory of results files, used when body is empty.
+     * @param resultFiles optional results files, one path per line.
+     * @return report with amount of files and athletes, throughput and failed files, or bad request if no results
+     * files are given or a path is not allowed.
+     */
+    @PostMapping(value = "/batch-leaderboards", produces = "text/plain")
+    public ResponseEntity<String> generateBatchLeaderboards(
+            @RequestParam(value = "output") String outputDirectory,
+            @RequestParam(value = "directory", required = false) String resultsDirectory,
+            @RequestBody(required = false) String resultFiles) {
+        List<String> resultFileList = new ArrayList<>();
+        if (resultFiles != null) {
+            for (String resultFile : resultFiles.split("\r?\n")) {
+                if (!resultFile.trim().isEmpty()) {
+                    resultFileList.add(resultFile.trim());
+                }
+            }
+        }
+        if (resultFileList.isEmpty() == (resultsDirectory == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        BatchLeaderboardReport report;
+        try {
+            report = resultsDirectory == null
+                    ? batchLeaderboardService.generateLeaderboards(resultFileList, outputDirectory)
+                    : batchLeaderboardService.generateLeaderboardsOfDirectory(resultsDirectory, outputDirectory);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage() + "\r\n");
+        }
+        StringBuilder body = new StringBuilder(report.toString()).append("\r\n");
+        for (String failedFile : report.getFailedFiles()) {
+            body.append("failed,").append(failedFile).append("\r\n");
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(body.toString());
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.arty.modernpentathloncompetition.controller;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.AthleteResultService;
+import com.arty.modernpentathloncompetition.service.CompetitionLeaderboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+
+/**
+ * Leaderboards of several competitions run on one server.
+ */
+@Controller
+public class CompetitionLeaderboardController {
+
+    /**
+     * Injection of competition leaderboard service.
+     */
+    private final CompetitionLeaderboardService competitionLeaderboardService;
+
+    /**
+     * Injection of athlete result service.
+     */
+    private final AthleteResultService athleteResultService;
+
+    /**
+     * Injection of service beans through constructor.
+     * @param competitionLeaderboardService the competition leaderboard service.
+     * @param athleteResultService the athlete result service.
+     */
+    public CompetitionLeaderboardController(CompetitionLeaderboardService competitionLeaderboardService,
+                                            AthleteResultService athleteResultService) {
+        this.competitionLeaderboardService = competitionLeaderboardService;
+        this.athleteResultService = athleteResultService;
+    }
+
+    /**
+     * Method on GET request lists ids of competitions, one per line.
+     * @return ids of competitions.
+     */
+    @GetMapping(value = "/competitions", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getCompetitions() {
+        StringBuilder competitionIds = new StringBuilder();
+        for (String competitionId : competitionLeaderboardService.getCompetitionIds()) {
+            competitionIds.append(competitionId).append('\n');
+        }
+        return ResponseEntity.ok(competitionIds.toString());
+    }
+
+    /**
+     * Method on GET request streams leaderboard of the competition as CSV. Request thread is released while
+     * leaderboard is computed.
+     * @param competitionId id of the competition.
+     * @return leaderboard as CSV, not found if competition is unknown, or service unavailable if too many
+     * leaderboards are being computed.
+     */
+    @GetMapping(value = "/competitions/{competitionId}/leaderboard", produces = "text/csv")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getCompetitionLeaderboard(
+            @PathVariable String competitionId) {
+        CompletableFuture<AthleteResultTable> leaderboardFuture;
+        try {
+            leaderboardFuture = competitionLeaderboardService.getLeaderboard(competitionId);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        return leaderboardFuture
+                .thenApply(leaderboard -> {
+                    StreamingResponseBody body =
+                            outputStream -> athleteResultService.writeFinalLeaderboardList(leaderboard, outputStream);
+                    return ResponseEntity.ok().contentType(AthleteLeaderboardReportController.TEXT_CSV).body(body);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    HttpStatus status = cause instanceof RejectedExecutionException
+                            ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.INTERNAL_SERVER_ERROR;
+                    return ResponseEntity.status(status).build();
+                });
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.arty.modernpentathloncompetition.controller;
+
+import com.arty.modernpentathloncompetition.service.FinishingPlaceSimulationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+
+/**
+ * Probabilities of finishing places before the concluding laser-run.
+ */
+@Controller
+public class FinishingPlaceSimulationController {
+
+    /**
+     * Largest amount of simulated laser-runs of one request.
+     */
+    static final long MAX_ITERATIONS = 100_000_000L;
+
+    /**
+     * Injection of finishing place simulation service.
+     */
+    private final FinishingPlaceSimulationService finishingPlaceSimulationService;
+
+    /**
+     * Injection of service bean through constructor.
+     * @param finishingPlaceSimulationService the finishing place simulation service.
+     */
+    public FinishingPlaceSimulationController(FinishingPlaceSimulationService finishingPlaceSimulationService) {
+        this.finishingPlaceSimulationService = finishingPlaceSimulationService;
+    }
+
+    /**
+     * Method on GET request simulates the concluding laser-run of the leaderboard and streams probabilities of
+     * finishing places as CSV: current place, name, probability of every counted place and of the podium.
+     * @param iterations amount of simulated laser-runs.
+     * @param places amount of the first places to count.
+     * @param seed seed of random run times, the same seed gives the same probabilities.
+     * @return probabilities as CSV, or bad request if iterations or places are out of range.
+     */
+    @GetMapping(value = "/finishing-place-probabilities", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> getFinishingPlaceProbabilities(
+            @RequestParam(value = "iterations", defaultValue = "1000000") long iterations,
+            @RequestParam(value = "places", defaultValue = "3") int places,
+            @RequestParam(value = "seed", defaultValue = "0") long seed) {
+        if (iterations < 1 || iterations > MAX_ITERATIONS || places < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody probabilities = outputStream -> finishingPlaceSimulationService
+                .writeFinishingPlaceProbabilities(outputStream, iterations, places, seed);
+        return ResponseEntity.ok().contentType(AthleteLeaderboardReportController.TEXT_CSV).body(probabilities);
+    }
+
+}
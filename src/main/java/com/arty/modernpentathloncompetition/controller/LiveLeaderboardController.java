@@ -0,0 +1,112 @@
+package com.arty.modernpentathloncompetition.controller;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.service.LeaderboardDeltaListener;
+import com.arty.modernpentathloncompetition.service.LeaderboardDeltaService;
+import com.arty.modernpentathloncompetition.service.LiveLeaderboardService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+
+/**
+ * Live leaderboard controller, which takes results event by event.
+ */
+@Controller
+public class LiveLeaderboardController {
+
+    /**
+     * Time after which subscription to leaderboard changes is closed, the browser reconnects and gets a snapshot.
+     */
+    private static final long SUBSCRIPTION_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    /**
+     * Injection of live leaderboard service.
+     */
+    private final LiveLeaderboardService liveLeaderboardService;
+
+    /**
+     * Injection of leaderboard delta service.
+     */
+    private final LeaderboardDeltaService leaderboardDeltaService;
+
+    /**
+     * Injection of service beans through constructor.
+     * @param liveLeaderboardService the live leaderboard service.
+     * @param leaderboardDeltaService the leaderboard delta service.
+     */
+    public LiveLeaderboardController(LiveLeaderboardService liveLeaderboardService,
+                                     LeaderboardDeltaService leaderboardDeltaService) {
+        this.liveLeaderboardService = liveLeaderboardService;
+        this.leaderboardDeltaService = leaderboardDeltaService;
+    }
+
+    /**
+     * Method on POST request updates result of one event of the athlete.
+     * @param athlete athlete's name and surname.
+     * @param event event name: fencing, swimming, riding, shooting or run.
+     * @param result result as text, e.g. '12' for fencing, '02:11.0' for swimming or '0,2,1' for riding.
+     * @return no content, not found if event is unknown, or bad request if result has wrong format.
+     */
+    @PostMapping("/results/{athlete}/{event}")
+    public ResponseEntity<Void> updateResult(@PathVariable String athlete, @PathVariable String event,
+                                             @RequestBody String result) {
+        AthleteEvent athleteEvent = AthleteEvent.fromName(event);
+        if (athleteEvent == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            liveLeaderboardService.updateResult(athlete, athleteEvent, result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Method on GET request streams current live leaderboard as CSV.
+     * @return live leaderboard as CSV.
+     */
+    @GetMapping(value = "/live-leaderboard", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> getLiveLeaderboard() {
+        StreamingResponseBody leaderboard = liveLeaderboardService::writeLeaderboard;
+        return ResponseEntity.ok().contentType(AthleteLeaderboardReportController.TEXT_CSV).body(leaderboard);
+    }
+
+    /**
+     * Method on GET request subscribes to changes of live leaderboard as server-sent events. The first event is
+     * 'snapshot' with all rows, the next ones are 'delta' with only changed rows (place, points and concluding event
+     * time by position), both as JSON.
+     * @return stream of leaderboard changes.
+     */
+    @GetMapping(value = "/live-leaderboard/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToLiveLeaderboardChanges() {
+        SseEmitter emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT_MILLIS);
+        LeaderboardDeltaListener listener = delta -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(delta.getVersion()))
+                        .name(delta.isSnapshot() ? "snapshot" : "delta")
+                        .data(delta, MediaType.APPLICATION_JSON));
+            } catch (IOException | RuntimeException e) {
+                // Service drops the subscriber, the connection is closed here instead of waiting for the timeout.
+                emitter.completeWithError(e);
+                throw e;
+            }
+        };
+        emitter.onCompletion(() -> leaderboardDeltaService.unsubscribe(listener));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> leaderboardDeltaService.unsubscribe(listener));
+        leaderboardDeltaService.subscribe(listener);
+        return emitter;
+    }
+
+}
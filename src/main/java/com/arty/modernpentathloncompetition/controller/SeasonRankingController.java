@@ -0,0 +1,72 @@
+package com.arty.modernpentathloncompetition.controller;
+
+import com.arty.modernpentathloncompetition.entity.AthleteCompetitionResult;
+import com.arty.modernpentathloncompetition.entity.SeasonRankingRow;
+import com.arty.modernpentathloncompetition.service.SeasonRankingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+
+/**
+ * Season ranking across all scored competitions.
+ */
+@Controller
+public class SeasonRankingController {
+
+    /**
+     * Injection of season ranking service.
+     */
+    private final SeasonRankingService seasonRankingService;
+
+    /**
+     * Injection of service bean through constructor.
+     * @param seasonRankingService the season ranking service.
+     */
+    public SeasonRankingController(SeasonRankingService seasonRankingService) {
+        this.seasonRankingService = seasonRankingService;
+    }
+
+    /**
+     * Method on GET request returns the top of the season ranking as CSV: place, name, season points and amount
+     * of competitions.
+     * @param top amount of athletes.
+     * @return season ranking as CSV, or bad request if top is not positive.
+     */
+    @GetMapping(value = "/season-ranking", produces = "text/csv")
+    public ResponseEntity<String> getSeasonRanking(@RequestParam(value = "top", defaultValue = "50") int top) {
+        if (top < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        StringBuilder body = new StringBuilder();
+        for (SeasonRankingRow row : seasonRankingService.getSeasonRanking(top)) {
+            body.append(row).append("\r\n");
+        }
+        return ResponseEntity.ok().contentType(AthleteLeaderboardReportController.TEXT_CSV).body(body.toString());
+    }
+
+    /**
+     * Method on GET request returns the season of the athlete as CSV: the first row is the standing in the season
+     * ranking as in {@link #getSeasonRanking(int)}, then one row per competition: competition, place, total points
+     * and concluding event time.
+     * @param nameSurname name and surname of the athlete.
+     * @return season of the athlete as CSV, or not found if athlete has no indexed competitions.
+     */
+    @GetMapping(value = "/season-ranking/athlete", produces = "text/csv")
+    public ResponseEntity<String> getAthleteSeason(@RequestParam(value = "name") String nameSurname) {
+        SeasonRankingRow standing = seasonRankingService.getSeasonRankingRow(nameSurname);
+        if (standing == null) {
+            return ResponseEntity.notFound().build();
+        }
+        List<AthleteCompetitionResult> history = seasonRankingService.getAthleteHistory(nameSurname);
+        StringBuilder body = new StringBuilder().append(standing).append("\r\n");
+        for (AthleteCompetitionResult result : history) {
+            body.append(result).append("\r\n");
+        }
+        return ResponseEntity.ok().contentType(AthleteLeaderboardReportController.TEXT_CSV).body(body.toString());
+    }
+
+}
@@ -0,0 +1,250 @@
+package com.arty.modernpentathloncompetition.dictionary;
+
+/**
+ * Dictionary which gives every distinct athlete name a stable int id for the life of the dictionary.
+ *
+ * <p>Results keep ids instead of names, so the name of an athlete kept by many rows is stored once, and athletes
+ * are compared by int. Names are resolved by id only when results are written out. Ids are never removed; the
+ * dictionary grows with the amount of distinct athletes, not with the amount of results. Dictionary belongs to
+ * the holder of the results, e.g. a table with the tables selected from it, the live result store or the season
+ * index, and its names are dropped together with the holder.
+ *
+ * <p>Ids are kept in an open-addressing hash table with linear probing, hashed as {@link String#hashCode()}, so
+ * a name is also found by characters of a parsed field, without creating a string for a known athlete. Lookups
+ * read the table without locks. Adding a name takes the lock of the dictionary, and a lookup which misses,
+ * possibly because it raced with an add, is repeated under the lock.
+ */
+public final class AthleteNameDictionary {
+
+    /**
+     * Id of missing name.
+     */
+    public static final int NO_NAME = -1;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final Object lock = new Object();
+
+    private volatile Table table;
+
+    /**
+     * Amount of names, written after the name is added, so a name with id below it is visible without the lock.
+     */
+    private volatile int size;
+
+    public AthleteNameDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize amount of names the dictionary has room for before it grows.
+     */
+    public AthleteNameDictionary(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize && capacity < 1 << 29) {
+            capacity <<= 1;
+        }
+        table = new Table(capacity);
+    }
+
+    /**
+     * Method returns id of the name, adding the name if it is new.
+     * @param name athlete's name and surname, may be null.
+     * @return id of the name, {@link #NO_NAME} for null.
+     */
+    public int idOf(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+        int hash = name.hashCode();
+        int id = table.find(name, 0, name.length(), hash, null);
+        return id != NO_NAME ? id : add(name, 0, name.length(), hash, null);
+    }
+
+    /**
+     * Method returns id of the name given by characters, adding the name if it is new. String is created only
+     * for a new name.
+     * @param chars characters of the name.
+     * @param from index of the first character.
+     * @param to index after the last character.
+     * @return id of the name.
+     */
+    public int idOf(char[] chars, int from, int to) {
+        int hash = hash(chars, from, to);
+        int id = table.find(null, from, to, hash, chars);
+        return id != NO_NAME ? id : add(null, from, to, hash, chars);
+    }
+
+    /**
+     * Method returns id of the name without adding it.
+     * @param name athlete's name and surname.
+     * @return id of the name, {@link #NO_NAME} if name is unknown or null.
+     */
+    public int find(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+        int id = table.find(name, 0, name.length(), name.hashCode(), null);
+        if (id == NO_NAME) {
+            synchronized (lock) {
+                id = table.find(name, 0, name.length(), name.hashCode(), null);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * @param id id of the name, or {@link #NO_NAME}.
+     * @return the name, null for {@link #NO_NAME}.
+     * @throws IllegalArgumentException when id is not given by this dictionary.
+     */
+    public String nameOf(int id) {
+        if (id == NO_NAME) {
+            return null;
+        }
+        checkId(id);
+        return table.names[id];
+    }
+
+    /**
+     * @param name athlete's name and surname, may be null.
+     * @return the equal name kept by the dictionary, so that equal names share one string.
+     */
+    public String intern(String name) {
+        return nameOf(idOf(name));
+    }
+
+    /**
+     * @return amount of names, ids of names are from 0 to this amount exclusive.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id id of the name, or {@link #NO_NAME}.
+     * @return the same id.
+     * @throws IllegalArgumentException when id is not given by this dictionary.
+     */
+    public int checkId(int id) {
+        if (id < NO_NAME || id >= size) {
+            throw new IllegalArgumentException("Name id: " + id + ", name count: " + size);
+        }
+        return id;
+    }
+
+    /**
+     * Method adds the name given either as string or as characters, unless it was added meanwhile.
+     */
+    private int add(String name, int from, int to, int hash, char[] chars) {
+        synchronized (lock) {
+            Table current = table;
+            int id = current.find(name, from, to, hash, chars);
+            if (id != NO_NAME) {
+                return id;
+            }
+            id = current.count;
+            if (id == current.names.length) {
+                current = current.grow();
+                table = current;
+            }
+            current.put(id, name != null ? name : new String(chars, from, to - from), hash);
+            size = id + 1;
+            return id;
+        }
+    }
+
+    private static int hash(char[] chars, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Hash table of ids. Slots and names are written only under the lock of the dictionary, once each; lookups
+     * without the lock may miss a name being added, but never see a wrong one.
+     */
+    private static final class Table {
+
+        /**
+         * Id plus one of the name hashed to the slot, 0 for an empty slot. Twice as many slots as names.
+         */
+        private final int[] slots;
+
+        private final String[] names;
+
+        private final int[] hashes;
+
+        /**
+         * Amount of names. Guarded by the lock of the dictionary.
+         */
+        private int count;
+
+        private Table(int capacity) {
+            slots = new int[capacity * 2];
+            names = new String[capacity];
+            hashes = new int[capacity];
+        }
+
+        /**
+         * Method finds the name given either as string or as characters.
+         * @return id of the name, {@link #NO_NAME} if it is not found.
+         */
+        private int find(String name, int from, int to, int hash, char[] chars) {
+            int mask = slots.length - 1;
+            for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+                int id = slots[slot] - 1;
+                if (id < 0) {
+                    return NO_NAME;
+                }
+                String candidate = names[id];
+                if (candidate != null && hashes[id] == hash && matches(candidate, name, from, to, chars)) {
+                    return id;
+                }
+            }
+        }
+
+        private void put(int id, String name, int hash) {
+            names[id] = name;
+            hashes[id] = hash;
+            int mask = slots.length - 1;
+            int slot = spread(hash) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+            count = id + 1;
+        }
+
+        private Table grow() {
+            Table grown = new Table(names.length * 2);
+            for (int id = 0; id < count; id++) {
+                grown.put(id, names[id], hashes[id]);
+            }
+            return grown;
+        }
+
+        private static boolean matches(String candidate, String name, int from, int to, char[] chars) {
+            if (name != null) {
+                return candidate.equals(name);
+            }
+            if (candidate.length() != to - from) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                if (candidate.charAt(i - from) != chars[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
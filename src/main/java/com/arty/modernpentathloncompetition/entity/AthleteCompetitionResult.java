@@ -0,0 +1,49 @@
+package com.arty.modernpentathloncompetition.entity;
+
+/**
+ * Result of an athlete in one competition of the season.
+ */
+public class AthleteCompetitionResult {
+
+    private final String competitionId;
+
+    /**
+     * Place of the athlete, 'p/p+1' when place is shared.
+     */
+    private final String place;
+
+    private final int totalPoints;
+
+    /**
+     * Concluding event time in seconds.
+     */
+    private final int concludingEventTime;
+
+    public AthleteCompetitionResult(String competitionId, String place, int totalPoints, int concludingEventTime) {
+        this.competitionId = competitionId;
+        this.place = place;
+        this.totalPoints = totalPoints;
+        this.concludingEventTime = concludingEventTime;
+    }
+
+    public String getCompetitionId() {
+        return competitionId;
+    }
+
+    public String getPlace() {
+        return place;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public int getConcludingEventTime() {
+        return concludingEventTime;
+    }
+
+    @Override
+    public String toString() {
+        return competitionId + "," + place + "," + totalPoints + "," + concludingEventTime;
+    }
+}
@@ -0,0 +1,46 @@
+package com.arty.modernpentathloncompetition.entity;
+
+/**
+ * Event of modern pentathlon whose result is reported separately.
+ */
+public enum AthleteEvent {
+
+    /**
+     * Result is amount of fencing victories, e.g. '12'.
+     */
+    FENCING,
+
+    /**
+     * Result is swimming time of format 'mm:ss.S', e.g. '02:11.0'.
+     */
+    SWIMMING,
+
+    /**
+     * Result is amounts of fence knock-downs, refusals to jump and obstacle knock-downs, e.g. '0,2,1'.
+     */
+    RIDING,
+
+    /**
+     * Result is shooting score, e.g. '172'.
+     */
+    SHOOTING,
+
+    /**
+     * Result is run time of the concluding event of format 'mm:ss.S', e.g. '10:38.0'.
+     */
+    RUN;
+
+    /**
+     * Method finds event by its name, ignoring case.
+     * @param name name of event, e.g. 'swimming'.
+     * @return event, or null if there is no event with that name.
+     */
+    public static AthleteEvent fromName(String name) {
+        for (AthleteEvent event : values()) {
+            if (event.name().equalsIgnoreCase(name)) {
+                return event;
+            }
+        }
+        return null;
+    }
+}
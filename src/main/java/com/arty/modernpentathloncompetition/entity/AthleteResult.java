@@ -1,7 +1,5 @@
 package com.arty.modernpentathloncompetition.entity;
 
-import com.opencsv.bean.CsvBindByPosition;
-
 /**
  * Athlete result class
  */
@@ -10,49 +8,41 @@ public class AthleteResult {
     /**
      * Athlete's name and surname.
      */
-    @CsvBindByPosition(position = 0)
     private String nameSurname;
 
     /**
      * Amount of fencing victories the athlete have.
      */
-    @CsvBindByPosition(position = 1)
     private int fencingVictories;
 
     /**
      * Swimming time.
      */
-    @CsvBindByPosition(position = 2)
     private String swimmingTime;
 
     /**
      * Amount of knock downs during riding.
      */
-    @CsvBindByPosition(position = 3)
     private int fenceKnockDownCount;
 
     /**
      * Amount of refusals during riding.
      */
-    @CsvBindByPosition(position = 4)
     private int refusalToJumpCount;
 
     /**
      * Amount of disobedience leading.
      */
-    @CsvBindByPosition(position = 5)
     private int obstacleKnockDownCount;
 
     /**
      * Shooting score.
      */
-    @CsvBindByPosition(position = 6)
     private int shootingTargetScore;
 
     /**
      * Time of run counted individually.
      */
-    @CsvBindByPosition(position = 7)
     private String runTime;
 
     /**
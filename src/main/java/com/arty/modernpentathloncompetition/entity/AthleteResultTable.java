@@ -0,0 +1,659 @@
+package com.arty.modernpentathloncompetition.entity;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Athlete results stored column by column in primitive arrays, one row per athlete.
+ * Times are kept parsed in tenths of a second. Names are kept as ids of the {@link AthleteNameDictionary} of the
+ * table and resolved when they are read. Tables selected from the table share its dictionary, so a name is stored
+ * once however many of them have the athlete, and the names are dropped with the last of them. Original time
+ * texts are kept once in a text pool shared by all rows, so repeated values, e.g. equal times, are stored once.
+ *
+ * <p>Table may instead take names and time texts of its rows from a {@link TextSource}, e.g. bytes copied from a
+ * memory-mapped results file, by row of the source. Texts are then decoded only when they are read, e.g. when the
+ * row is written out, and the table has no name ids and text ids.
+ */
+public final class AthleteResultTable {
+
+    /**
+     * Text id of missing text.
+     */
+    public static final int NO_TEXT = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Dictionary of names of the rows.
+     */
+    private final AthleteNameDictionary names;
+
+    /**
+     * Source of names and time texts, null if table keeps them itself.
+     */
+    private final TextSource textSource;
+
+    private int size;
+
+    /**
+     * Rows of the text source, null if table has no text source.
+     */
+    private int[] sourceRows;
+
+    /**
+     * Ids of names in the name dictionary.
+     */
+    private int[] nameSurnameIds;
+    private int[] fencingVictories;
+    private int[] swimmingTimes;
+    private int[] swimmingTimeTextIds;
+    private int[] fenceKnockDownCounts;
+    private int[] refusalToJumpCounts;
+    private int[] obstacleKnockDownCounts;
+    private int[] shootingTargetScores;
+    private int[] runTimes;
+    private int[] runTimeTextIds;
+    private int[] totalPoints;
+    private int[] concludingEventTimes;
+    private int[] places;
+    private boolean[] sharedPlaces;
+
+    /**
+     * Texts of the pool by their ids.
+     */
+    private String[] texts = new String[DEFAULT_CAPACITY];
+
+    private int textCount;
+
+    private final Map<String, Integer> textIds = new HashMap<>();
+
+    public AthleteResultTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AthleteResultTable(int initialCapacity) {
+        this(new AthleteNameDictionary(initialCapacity), initialCapacity);
+    }
+
+    /**
+     * Creates table whose name ids are ids of the given dictionary, e.g. of the holder of the results the table
+     * is made from.
+     * @param names dictionary of names of the rows.
+     * @param initialCapacity amount of rows the table has room for.
+     */
+    public AthleteResultTable(AthleteNameDictionary names, int initialCapacity) {
+        this(names, null, initialCapacity);
+    }
+
+    /**
+     * Creates table whose names and time texts are read from the text source. Rows are added by
+     * {@link #addSourceRow}.
+     * @param textSource source of names and time texts, null if table keeps them itself.
+     * @param initialCapacity amount of rows the table has room for.
+     */
+    public AthleteResultTable(TextSource textSource, int initialCapacity) {
+        this(new AthleteNameDictionary(0), textSource, initialCapacity);
+    }
+
+    private AthleteResultTable(AthleteNameDictionary names, TextSource textSource, int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.names = names;
+        this.textSource = textSource;
+        sourceRows = textSource == null ? null : new int[capacity];
+        nameSurnameIds = new int[capacity];
+        fencingVictories = new int[capacity];
+        swimmingTimes = new int[capacity];
+        swimmingTimeTextIds = new int[capacity];
+        fenceKnockDownCounts = new int[capacity];
+        refusalToJumpCounts = new int[capacity];
+        obstacleKnockDownCounts = new int[capacity];
+        shootingTargetScores = new int[capacity];
+        runTimes = new int[capacity];
+        runTimeTextIds = new int[capacity];
+        totalPoints = new int[capacity];
+        concludingEventTimes = new int[capacity];
+        places = new int[capacity];
+        sharedPlaces = new boolean[capacity];
+    }
+
+    /**
+     * Method adds athlete result as the last row.
+     * @param nameSurname athlete's name and surname, may be null.
+     * @param fencingVictories amount of fencing victories.
+     * @param swimmingTimeText swimming time as it was read, may be null.
+     * @param swimmingTime swimming time in tenths of a second, -1 if unknown.
+     * @param fenceKnockDownCount amount of fence knock-downs.
+     * @param refusalToJumpCount amount of refusals to jump.
+     * @param obstacleKnockDownCount amount of obstacle knock-downs.
+     * @param shootingTargetScore shooting score.
+     * @param runTimeText run time as it was read, may be null.
+     * @param runTime run time in tenths of a second, -1 if unknown.
+     * @return index of the added row.
+     * @throws IllegalStateException when table has a text source.
+     */
+    public int addRow(String nameSurname, int fencingVictories, String swimmingTimeText, int swimmingTime,
+                      int fenceKnockDownCount, int refusalToJumpCount, int obstacleKnockDownCount,
+                      int shootingTargetScore, String runTimeText, int runTime) {
+        checkNoTextSource();
+        return addRowOfNameId(names.idOf(nameSurname), fencingVictories, swimmingTimeText, swimmingTime,
+                fenceKnockDownCount, refusalToJumpCount, obstacleKnockDownCount, shootingTargetScore, runTimeText,
+                runTime);
+    }
+
+    /**
+     * Method adds athlete result as the last row, with name given by id of the name dictionary.
+     * @param nameSurnameId id of athlete's name and surname in {@link #getNameDictionary()}.
+     * @param fencingVictories amount of fencing victories.
+     * @param swimmingTimeText swimming time as it was read, may be null.
+     * @param swimmingTime swimming time in tenths of a second, -1 if unknown.
+     * @param fenceKnockDownCount amount of fence knock-downs.
+     * @param refusalToJumpCount amount of refusals to jump.
+     * @param obstacleKnockDownCount amount of obstacle knock-downs.
+     * @param shootingTargetScore shooting score.
+     * @param runTimeText run time as it was read, may be null.
+     * @param runTime run time in tenths of a second, -1 if unknown.
+     * @return index of the added row.
+     * @throws IllegalArgumentException when name id is not in the dictionary and is not
+     * {@link AthleteNameDictionary#NO_NAME}.
+     * @throws IllegalStateException when table has a text source.
+     */
+    public int addRowOfNameId(int nameSurnameId, int fencingVictories, String swimmingTimeText, int swimmingTime,
+                              int fenceKnockDownCount, int refusalToJumpCount, int obstacleKnockDownCount,
+                              int shootingTargetScore, String runTimeText, int runTime) {
+        checkNoTextSource();
+        names.checkId(nameSurnameId);
+        if (size == nameSurnameIds.length) {
+            grow();
+        }
+        final int row = size++;
+        this.nameSurnameIds[row] = nameSurnameId;
+        this.fencingVictories[row] = fencingVictories;
+        this.swimmingTimeTextIds[row] = textId(swimmingTimeText);
+        this.swimmingTimes[row] = swimmingTime;
+        this.fenceKnockDownCounts[row] = fenceKnockDownCount;
+        this.refusalToJumpCounts[row] = refusalToJumpCount;
+        this.obstacleKnockDownCounts[row] = obstacleKnockDownCount;
+        this.shootingTargetScores[row] = shootingTargetScore;
+        this.runTimeTextIds[row] = textId(runTimeText);
+        this.runTimes[row] = runTime;
+        return row;
+    }
+
+    /**
+     * Method adds athlete result as the last row, with name given by id of the name dictionary and time texts
+     * given by ids of the text pool.
+     * @param nameSurnameId id of athlete's name and surname in {@link #getNameDictionary()}.
+     * @param fencingVictories amount of fencing victories.
+     * @param swimmingTimeTextId text id of swimming time as it was read.
+     * @param swimmingTime swimming time in tenths of a second, -1 if unknown.
+     * @param fenceKnockDownCount amount of fence knock-downs.
+     * @param refusalToJumpCount amount of refusals to jump.
+     * @param obstacleKnockDownCount amount of obstacle knock-downs.
+     * @param shootingTargetScore shooting score.
+     * @param runTimeTextId text id of run time as it was read.
+     * @param runTime run time in tenths of a second, -1 if unknown.
+     * @return index of the added row.
+     * @throws IllegalArgumentException when name id is not in the dictionary, or text id is not in the pool, and
+     * id is not {@link #NO_TEXT}.
+     * @throws IllegalStateException when table has a text source.
+     */
+    public int addRowOfTextIds(int nameSurnameId, int fencingVictories, int swimmingTimeTextId, int swimmingTime,
+                               int fenceKnockDownCount, int refusalToJumpCount, int obstacleKnockDownCount,
+                               int shootingTargetScore, int runTimeTextId, int runTime) {
+        checkNoTextSource();
+        names.checkId(nameSurnameId);
+        checkTextId(swimmingTimeTextId);
+        checkTextId(runTimeTextId);
+        if (size == nameSurnameIds.length) {
+            grow();
+        }
+        final int row = size++;
+        this.nameSurnameIds[row] = nameSurnameId;
+        this.fencingVictories[row] = fencingVictories;
+        this.swimmingTimeTextIds[row] = swimmingTimeTextId;
+        this.swimmingTimes[row] = swimmingTime;
+        this.fenceKnockDownCounts[row] = fenceKnockDownCount;
+        this.refusalToJumpCounts[row] = refusalToJumpCount;
+        this.obstacleKnockDownCounts[row] = obstacleKnockDownCount;
+        this.shootingTargetScores[row] = shootingTargetScore;
+        this.runTimeTextIds[row] = runTimeTextId;
+        this.runTimes[row] = runTime;
+        return row;
+    }
+
+    /**
+     * Method adds athlete result as the last row, with name and time texts given by row of the text source.
+     * @param sourceRow row of the text source.
+     * @param fencingVictories amount of fencing victories.
+     * @param swimmingTime swimming time in tenths of a second, -1 if unknown.
+     * @param fenceKnockDownCount amount of fence knock-downs.
+     * @param refusalToJumpCount amount of refusals to jump.
+     * @param obstacleKnockDownCount amount of obstacle knock-downs.
+     * @param shootingTargetScore shooting score.
+     * @param runTime run time in tenths of a second, -1 if unknown.
+     * @return index of the added row.
+     * @throws IllegalStateException when table has no text source.
+     */
+    public int addSourceRow(int sourceRow, int fencingVictories, int swimmingTime, int fenceKnockDownCount,
+                            int refusalToJumpCount, int obstacleKnockDownCount, int shootingTargetScore,
+                            int runTime) {
+        if (textSource == null) {
+            throw new IllegalStateException("Table has no text source");
+        }
+        if (size == nameSurnameIds.length) {
+            grow();
+        }
+        final int row = size++;
+        this.sourceRows[row] = sourceRow;
+        this.nameSurnameIds[row] = AthleteNameDictionary.NO_NAME;
+        this.fencingVictories[row] = fencingVictories;
+        this.swimmingTimeTextIds[row] = NO_TEXT;
+        this.swimmingTimes[row] = swimmingTime;
+        this.fenceKnockDownCounts[row] = fenceKnockDownCount;
+        this.refusalToJumpCounts[row] = refusalToJumpCount;
+        this.obstacleKnockDownCounts[row] = obstacleKnockDownCount;
+        this.shootingTargetScores[row] = shootingTargetScore;
+        this.runTimeTextIds[row] = NO_TEXT;
+        this.runTimes[row] = runTime;
+        return row;
+    }
+
+    /**
+     * Method adds text to the text pool.
+     * @param text text, not null.
+     * @return id of the text, the same as of equal text added before.
+     */
+    public int addText(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text must not be null");
+        }
+        return textId(text);
+    }
+
+    /**
+     * Method returns amount of texts in the text pool, ids of texts are from 0 to this amount exclusive.
+     * @return amount of texts.
+     */
+    public int getTextCount() {
+        return textCount;
+    }
+
+    /**
+     * Method returns text of the text pool.
+     * @param textId id of the text, or {@link #NO_TEXT}.
+     * @return text, null for {@link #NO_TEXT}.
+     */
+    public String getText(int textId) {
+        return text(checkTextId(textId));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return dictionary of names of the rows.
+     */
+    public AthleteNameDictionary getNameDictionary() {
+        return names;
+    }
+
+    /**
+     * @return true if names and time texts are read from a text source.
+     */
+    public boolean hasTextSource() {
+        return textSource != null;
+    }
+
+    /**
+     * @return id of athlete's name in {@link #getNameDictionary()}, {@link AthleteNameDictionary#NO_NAME} if name is
+     * missing.
+     * @throws IllegalStateException when table has a text source.
+     */
+    public int getNameSurnameId(int row) {
+        checkNoTextSource();
+        return nameSurnameIds[checkRow(row)];
+    }
+
+    /**
+     * @throws IllegalStateException when table has a text source.
+     */
+    public int getSwimmingTimeTextId(int row) {
+        checkNoTextSource();
+        return swimmingTimeTextIds[checkRow(row)];
+    }
+
+    /**
+     * @throws IllegalStateException when table has a text source.
+     */
+    public int getRunTimeTextId(int row) {
+        checkNoTextSource();
+        return runTimeTextIds[checkRow(row)];
+    }
+
+    public String getNameSurname(int row) {
+        checkRow(row);
+        return textSource != null ? textSource.getNameSurname(sourceRows[row]) : names.nameOf(nameSurnameIds[row]);
+    }
+
+    public int getFencingVictories(int row) {
+        return fencingVictories[checkRow(row)];
+    }
+
+    /**
+     * @return swimming time in tenths of a second, -1 if unknown.
+     */
+    public int getSwimmingTime(int row) {
+        return swimmingTimes[checkRow(row)];
+    }
+
+    /**
+     * @return swimming time as it was read.
+     */
+    public String getSwimmingTimeText(int row) {
+        checkRow(row);
+        return textSource != null ? textSource.getSwimmingTimeText(sourceRows[row]) : text(swimmingTimeTextIds[row]);
+    }
+
+    public int getFenceKnockDownCount(int row) {
+        return fenceKnockDownCounts[checkRow(row)];
+    }
+
+    public int getRefusalToJumpCount(int row) {
+        return refusalToJumpCounts[checkRow(row)];
+    }
+
+    public int getObstacleKnockDownCount(int row) {
+        return obstacleKnockDownCounts[checkRow(row)];
+    }
+
+    public int getShootingTargetScore(int row) {
+        return shootingTargetScores[checkRow(row)];
+    }
+
+    /**
+     * @return run time in tenths of a second, -1 if unknown.
+     */
+    public int getRunTime(int row) {
+        return runTimes[checkRow(row)];
+    }
+
+    /**
+     * @return run time as it was read.
+     */
+    public String getRunTimeText(int row) {
+        checkRow(row);
+        return textSource != null ? textSource.getRunTimeText(sourceRows[row]) : text(runTimeTextIds[row]);
+    }
+
+    public int getTotalPoints(int row) {
+        return totalPoints[checkRow(row)];
+    }
+
+    public void setTotalPoints(int row, int totalPoints) {
+        this.totalPoints[checkRow(row)] = totalPoints;
+    }
+
+    /**
+     * @return concluding event time in seconds.
+     */
+    public int getConcludingEventTime(int row) {
+        return concludingEventTimes[checkRow(row)];
+    }
+
+    public void setConcludingEventTime(int row, int concludingEventTime) {
+        this.concludingEventTimes[checkRow(row)] = concludingEventTime;
+    }
+
+    /**
+     * @return place of the athlete, 'p/p+1' when place is shared, null when place is not determined.
+     */
+    public String getPlace(int row) {
+        int place = places[checkRow(row)];
+        if (place == 0) {
+            return null;
+        }
+        return sharedPlaces[row] ? place + "/" + (place + 1) : String.valueOf(place);
+    }
+
+    /**
+     * @return first number of place of the athlete, 0 when place is not determined.
+     */
+    public int getPlaceNumber(int row) {
+        return places[checkRow(row)];
+    }
+
+    public boolean isPlaceShared(int row) {
+        return sharedPlaces[checkRow(row)];
+    }
+
+    /**
+     * Method sets place of the athlete.
+     * @param row index of the row.
+     * @param place first number of place.
+     * @param shared whether place is shared with other athletes, i.e. it is 'place/place+1'.
+     */
+    public void setPlace(int row, int place, boolean shared) {
+        this.places[checkRow(row)] = place;
+        this.sharedPlaces[row] = shared;
+    }
+
+    /**
+     * Method rearranges rows, so that row i becomes the row which was at index order[i].
+     * @param order permutation of row indexes, its length is the size of the table.
+     */
+    public void reorder(int[] order) {
+        if (order.length != size) {
+            throw new IllegalArgumentException("Order length: " + order.length + ", size: " + size);
+        }
+        if (sourceRows != null) {
+            sourceRows = reorder(sourceRows, order);
+        }
+        nameSurnameIds = reorder(nameSurnameIds, order);
+        fencingVictories = reorder(fencingVictories, order);
+        swimmingTimes = reorder(swimmingTimes, order);
+        swimmingTimeTextIds = reorder(swimmingTimeTextIds, order);
+        fenceKnockDownCounts = reorder(fenceKnockDownCounts, order);
+        refusalToJumpCounts = reorder(refusalToJumpCounts, order);
+        obstacleKnockDownCounts = reorder(obstacleKnockDownCounts, order);
+        shootingTargetScores = reorder(shootingTargetScores, order);
+        runTimes = reorder(runTimes, order);
+        runTimeTextIds = reorder(runTimeTextIds, order);
+        totalPoints = reorder(totalPoints, order);
+        concludingEventTimes = reorder(concludingEventTimes, order);
+        places = reorder(places, order);
+        boolean[] reorderedSharedPlaces = new boolean[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            reorderedSharedPlaces[i] = sharedPlaces[order[i]];
+        }
+        sharedPlaces = reorderedSharedPlaces;
+    }
+
+    private int[] reorder(int[] column, int[] order) {
+        int[] reordered = new int[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            reordered[i] = column[order[i]];
+        }
+        return reordered;
+    }
+
+    /**
+     * Method copies chosen rows, with their total points, concluding event times and places, to a new table.
+     * New table shares the name dictionary and reads texts from the same text source.
+     * @param rows indexes of rows in the order they get in the new table.
+     * @return new table.
+     */
+    public AthleteResultTable select(int[] rows) {
+        return select(rows, textSource);
+    }
+
+    /**
+     * Method copies all rows to a new table which keeps names and time texts itself, decoding texts of the text
+     * source.
+     * @return new table, or this table if it has no text source.
+     */
+    public AthleteResultTable withDecodedTexts() {
+        if (textSource == null) {
+            return this;
+        }
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        return select(rows, null);
+    }
+
+    private AthleteResultTable select(int[] rows, TextSource selectedTextSource) {
+        AthleteResultTable selected = new AthleteResultTable(selectedTextSource != null || textSource == null
+                ? names : new AthleteNameDictionary(rows.length), selectedTextSource, rows.length);
+        for (int row : rows) {
+            int selectedRow;
+            if (selectedTextSource != null) {
+                selectedRow = selected.addSourceRow(sourceRows[checkRow(row)], fencingVictories[row],
+                        swimmingTimes[row], fenceKnockDownCounts[row], refusalToJumpCounts[row],
+                        obstacleKnockDownCounts[row], shootingTargetScores[row], runTimes[row]);
+            } else if (textSource != null) {
+                selectedRow = selected.addRow(getNameSurname(row), fencingVictories[row], getSwimmingTimeText(row),
+                        swimmingTimes[row], fenceKnockDownCounts[row], refusalToJumpCounts[row],
+                        obstacleKnockDownCounts[row], shootingTargetScores[row], getRunTimeText(row),
+                        runTimes[row]);
+            } else {
+                selectedRow = selected.addRowOfNameId(nameSurnameIds[row], fencingVictories[row],
+                        text(swimmingTimeTextIds[row]), swimmingTimes[row], fenceKnockDownCounts[row],
+                        refusalToJumpCounts[row], obstacleKnockDownCounts[row], shootingTargetScores[row],
+                        text(runTimeTextIds[row]), runTimes[row]);
+            }
+            selected.totalPoints[selectedRow] = totalPoints[row];
+            selected.concludingEventTimes[selectedRow] = concludingEventTimes[row];
+            selected.places[selectedRow] = places[row];
+            selected.sharedPlaces[selectedRow] = sharedPlaces[row];
+        }
+        return selected;
+    }
+
+    /**
+     * Method creates athlete result bean of the row.
+     * @param row index of the row.
+     * @return athlete result with total points.
+     */
+    public AthleteResult toAthleteResult(int row) {
+        AthleteResult athleteResult = new AthleteResult();
+        fill(athleteResult, row);
+        return athleteResult;
+    }
+
+    /**
+     * Method creates athlete result output bean of the row.
+     * @param row index of the row.
+     * @return athlete result with total points, concluding event time and place.
+     */
+    public AthleteResultOutput toAthleteResultOutput(int row) {
+        AthleteResultOutput athleteResultOutput = new AthleteResultOutput();
+        fill(athleteResultOutput, row);
+        athleteResultOutput.setConcludingEventTime(concludingEventTimes[row]);
+        athleteResultOutput.setPlace(getPlace(row));
+        return athleteResultOutput;
+    }
+
+    private void fill(AthleteResult athleteResult, int row) {
+        athleteResult.setNameSurname(getNameSurname(row));
+        athleteResult.setFencingVictories(fencingVictories[row]);
+        athleteResult.setSwimmingTime(getSwimmingTimeText(row));
+        athleteResult.setFenceKnockDownCount(fenceKnockDownCounts[row]);
+        athleteResult.setRefusalToJumpCount(refusalToJumpCounts[row]);
+        athleteResult.setObstacleKnockDownCount(obstacleKnockDownCounts[row]);
+        athleteResult.setShootingTargetScore(shootingTargetScores[row]);
+        athleteResult.setRunTime(getRunTimeText(row));
+        athleteResult.setTotalPoints(totalPoints[row]);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+        }
+        return row;
+    }
+
+    private void checkNoTextSource() {
+        if (textSource != null) {
+            throw new IllegalStateException("Names and time texts of the table are kept by its text source");
+        }
+    }
+
+    private int checkTextId(int textId) {
+        if (textId < NO_TEXT || textId >= textCount) {
+            throw new IllegalArgumentException("Text id: " + textId + ", text count: " + textCount);
+        }
+        return textId;
+    }
+
+    private String text(int textId) {
+        return textId == NO_TEXT ? null : texts[textId];
+    }
+
+    private int textId(String text) {
+        if (text == null) {
+            return NO_TEXT;
+        }
+        Integer textId = textIds.get(text);
+        if (textId != null) {
+            return textId;
+        }
+        if (textCount == texts.length) {
+            texts = Arrays.copyOf(texts, textCount + (textCount >> 1));
+        }
+        texts[textCount] = text;
+        textIds.put(text, textCount);
+        return textCount++;
+    }
+
+    private void grow() {
+        int capacity = size + Math.max(size >> 1, 1);
+        if (sourceRows != null) {
+            sourceRows = Arrays.copyOf(sourceRows, capacity);
+        }
+        nameSurnameIds = Arrays.copyOf(nameSurnameIds, capacity);
+        fencingVictories = Arrays.copyOf(fencingVictories, capacity);
+        swimmingTimes = Arrays.copyOf(swimmingTimes, capacity);
+        swimmingTimeTextIds = Arrays.copyOf(swimmingTimeTextIds, capacity);
+        fenceKnockDownCounts = Arrays.copyOf(fenceKnockDownCounts, capacity);
+        refusalToJumpCounts = Arrays.copyOf(refusalToJumpCounts, capacity);
+        obstacleKnockDownCounts = Arrays.copyOf(obstacleKnockDownCounts, capacity);
+        shootingTargetScores = Arrays.copyOf(shootingTargetScores, capacity);
+        runTimes = Arrays.copyOf(runTimes, capacity);
+        runTimeTextIds = Arrays.copyOf(runTimeTextIds, capacity);
+        totalPoints = Arrays.copyOf(totalPoints, capacity);
+        concludingEventTimes = Arrays.copyOf(concludingEventTimes, capacity);
+        places = Arrays.copyOf(places, capacity);
+        sharedPlaces = Arrays.copyOf(sharedPlaces, capacity);
+    }
+
+    /**
+     * Source of names and time texts of table rows, read by row of the source. Read concurrently by readers of
+     * the table. Cached tables live as long as the cache keeps them, so a source must hold its texts on the heap,
+     * not in a mapped buffer or an open file.
+     */
+    public interface TextSource {
+
+        /**
+         * @param row row of the source.
+         * @return athlete's name and surname, may be null.
+         */
+        String getNameSurname(int row);
+
+        /**
+         * @param row row of the source.
+         * @return swimming time as it was read, may be null.
+         */
+        String getSwimmingTimeText(int row);
+
+        /**
+         * @param row row of the source.
+         * @return run time as it was read, may be null.
+         */
+        String getRunTimeText(int row);
+    }
+}
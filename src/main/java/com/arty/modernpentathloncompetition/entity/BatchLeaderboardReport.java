@@ -0,0 +1,70 @@
+package com.arty.modernpentathloncompetition.entity;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of generating leaderboards of many results files in one batch.
+ */
+public class BatchLeaderboardReport {
+
+    private final int fileCount;
+
+    private final long rowCount;
+
+    private final List<String> failedFiles;
+
+    private final long elapsedNanos;
+
+    public BatchLeaderboardReport(int fileCount, long rowCount, List<String> failedFiles, long elapsedNanos) {
+        this.fileCount = fileCount;
+        this.rowCount = rowCount;
+        this.failedFiles = Collections.unmodifiableList(failedFiles);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return amount of results files whose leaderboards were written.
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * @return amount of athletes in written leaderboards.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return results files whose leaderboards could not be written.
+     */
+    public List<String> getFailedFiles() {
+        return failedFiles;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getFilesPerSecond() {
+        return perSecond(fileCount);
+    }
+
+    public double getRowsPerSecond() {
+        return perSecond(rowCount);
+    }
+
+    private double perSecond(long amount) {
+        return elapsedNanos > 0 ? amount * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "files=%d,rows=%d,failed=%d,seconds=%.3f,files_per_second=%.1f,"
+                        + "rows_per_second=%.0f", fileCount, rowCount, failedFiles.size(), elapsedNanos / 1e9,
+                getFilesPerSecond(), getRowsPerSecond());
+    }
+}
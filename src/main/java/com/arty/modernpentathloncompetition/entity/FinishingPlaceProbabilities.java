@@ -0,0 +1,72 @@
+package com.arty.modernpentathloncompetition.entity;
+
+/**
+ * Result of simulation of the concluding event: how often every athlete finished at each of the first places.
+ * Athletes are in the same order as in the simulated leaderboard.
+ */
+public class FinishingPlaceProbabilities {
+
+    private final int athleteCount;
+
+    private final int places;
+
+    private final long iterations;
+
+    /**
+     * Finish counts, athlete-major: count of athlete 'row' at place 'place' is at 'row * places + place - 1'.
+     */
+    private final long[] finishCounts;
+
+    public FinishingPlaceProbabilities(int athleteCount, int places, long iterations, long[] finishCounts) {
+        this.athleteCount = athleteCount;
+        this.places = places;
+        this.iterations = iterations;
+        this.finishCounts = finishCounts;
+    }
+
+    public int getAthleteCount() {
+        return athleteCount;
+    }
+
+    /**
+     * @return amount of the first places which are counted.
+     */
+    public int getPlaces() {
+        return places;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @param row index of the athlete in the simulated leaderboard.
+     * @param place place, starting from 1.
+     * @return how many times the athlete finished at the place.
+     */
+    public long getFinishCount(int row, int place) {
+        return finishCounts[row * places + place - 1];
+    }
+
+    /**
+     * @param row index of the athlete in the simulated leaderboard.
+     * @param place place, starting from 1.
+     * @return probability of the athlete finishing at the place.
+     */
+    public double getProbability(int row, int place) {
+        return iterations == 0 ? 0.0 : (double) getFinishCount(row, place) / iterations;
+    }
+
+    /**
+     * @param row index of the athlete in the simulated leaderboard.
+     * @param place place, starting from 1.
+     * @return probability of the athlete finishing at the place or better.
+     */
+    public double getProbabilityOfPlaceOrBetter(int row, int place) {
+        long finishCount = 0;
+        for (int better = 1; better <= Math.min(place, places); better++) {
+            finishCount += getFinishCount(row, better);
+        }
+        return iterations == 0 ? 0.0 : (double) finishCount / iterations;
+    }
+}
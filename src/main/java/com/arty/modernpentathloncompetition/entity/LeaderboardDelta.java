@@ -0,0 +1,53 @@
+package com.arty.modernpentathloncompetition.entity;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable change of leaderboard sent to a subscriber: rows whose content changed since the previous delta.
+ */
+public final class LeaderboardDelta {
+
+    /**
+     * Version of live leaderboard the rows belong to.
+     */
+    private final long version;
+
+    /**
+     * True if rows are the whole leaderboard and replace everything the subscriber has.
+     */
+    private final boolean snapshot;
+
+    /**
+     * Amount of rows of leaderboard, rows at higher positions are gone.
+     */
+    private final int size;
+
+    /**
+     * Changed rows ordered by position.
+     */
+    private final List<LeaderboardRow> rows;
+
+    public LeaderboardDelta(long version, boolean snapshot, int size, List<LeaderboardRow> rows) {
+        this.version = version;
+        this.snapshot = snapshot;
+        this.size = size;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<LeaderboardRow> getRows() {
+        return rows;
+    }
+}
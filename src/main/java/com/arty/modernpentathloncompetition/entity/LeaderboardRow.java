@@ -0,0 +1,88 @@
+package com.arty.modernpentathloncompetition.entity;
+
+import java.util.Objects;
+
+/**
+ * Immutable row of leaderboard shown to subscribers: what is displayed at one position of leaderboard.
+ */
+public final class LeaderboardRow {
+
+    /**
+     * Position of the row in leaderboard, starting from 0.
+     */
+    private final int position;
+
+    /**
+     * Place of the athlete, e.g. '1' or '2/3'.
+     */
+    private final String place;
+
+    private final String nameSurname;
+
+    private final int totalPoints;
+
+    /**
+     * Concluding event time in seconds.
+     */
+    private final int concludingEventTime;
+
+    public LeaderboardRow(int position, String place, String nameSurname, int totalPoints, int concludingEventTime) {
+        this.position = position;
+        this.place = place;
+        this.nameSurname = nameSurname;
+        this.totalPoints = totalPoints;
+        this.concludingEventTime = concludingEventTime;
+    }
+
+    /**
+     * Method creates row of the athlete stored in table.
+     * @param athleteResultTable table of athletes sorted by concluding event time with places set.
+     * @param row index of the athlete, it is the position as well.
+     * @return leaderboard row.
+     */
+    public static LeaderboardRow of(AthleteResultTable athleteResultTable, int row) {
+        return new LeaderboardRow(row, athleteResultTable.getPlace(row), athleteResultTable.getNameSurname(row),
+                athleteResultTable.getTotalPoints(row), athleteResultTable.getConcludingEventTime(row));
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public String getPlace() {
+        return place;
+    }
+
+    public String getNameSurname() {
+        return nameSurname;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public int getConcludingEventTime() {
+        return concludingEventTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LeaderboardRow that = (LeaderboardRow) o;
+        return position == that.position
+                && totalPoints == that.totalPoints
+                && concludingEventTime == that.concludingEventTime
+                && Objects.equals(place, that.place)
+                && Objects.equals(nameSurname, that.nameSurname);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(position, place, nameSurname, totalPoints, concludingEventTime);
+    }
+}
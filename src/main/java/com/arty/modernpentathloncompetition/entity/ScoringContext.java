@@ -0,0 +1,30 @@
+package com.arty.modernpentathloncompetition.entity;
+
+/**
+ * Immutable state shared by scoring of all athletes of one competition.
+ */
+public final class ScoringContext {
+
+    /**
+     * Rules athletes of the competition are scored by.
+     */
+    private final ScoringRules scoringRules;
+
+    /**
+     * Amount of fencing victories which gives athlete target points.
+     */
+    private final int fencingTargetWinCount;
+
+    public ScoringContext(ScoringRules scoringRules, int fencingTargetWinCount) {
+        this.scoringRules = scoringRules;
+        this.fencingTargetWinCount = fencingTargetWinCount;
+    }
+
+    public ScoringRules getScoringRules() {
+        return scoringRules;
+    }
+
+    public int getFencingTargetWinCount() {
+        return fencingTargetWinCount;
+    }
+}
@@ -0,0 +1,216 @@
+package com.arty.modernpentathloncompetition.entity;
+
+import com.arty.modernpentathloncompetition.parser.AthleteTimeParser;
+
+import java.util.Properties;
+
+/**
+ * Immutable scoring rulebook of a season. Rules are read from configuration once and kept in primitive final
+ * fields, so scoring an athlete does not look anything up.
+ */
+public final class ScoringRules {
+
+    /**
+     * Rules of the current season, used when no rulebook is configured.
+     */
+    public static final ScoringRules DEFAULT = fromProperties(new Properties());
+
+    /**
+     * Amount of games counts fencing target win count is precomputed for, covers bout counts of real competitions.
+     */
+    static final int PRECOMPUTED_FENCING_TARGETS = 256;
+
+    /**
+     * Points athlete gets for reaching target of an event.
+     */
+    private final int targetScorePoints;
+
+    /**
+     * Win rate percent at which athlete gets target points. Used for fencing competition.
+     */
+    private final int fencingWinRatePercent;
+
+    /**
+     * Points added or subtracted per victory above or below target. Used for fencing competition.
+     */
+    private final int fencingVariablePoints;
+
+    /**
+     * Swimming target time in tenths of a second.
+     */
+    private final int swimmingTargetTime;
+
+    /**
+     * Tenths of a second which are worth one step of points. Used for swimming competition.
+     */
+    private final int swimmingTenthsPerStep;
+
+    /**
+     * Points added or subtracted per step of time above or below target. Used for swimming competition.
+     */
+    private final int swimmingVariablePoints;
+
+    /**
+     * Riding score of a clear round.
+     */
+    private final int ridingTargetScore;
+
+    /**
+     * Knocking down a fence loss in points.
+     */
+    private final int ridingFenceKnockDownLoss;
+
+    /**
+     * Refusal by the horse to jump loss in points.
+     */
+    private final int ridingRefusalToJumpLoss;
+
+    /**
+     * Disobedience leading to the knocking down of an obstacle loss in points.
+     */
+    private final int ridingObstacleKnockDownLoss;
+
+    /**
+     * Shooting target score.
+     */
+    private final int shootingTargetScore;
+
+    /**
+     * Points added or subtracted per point of score above or below target. Used for shooting competition.
+     */
+    private final int shootingVariablePoints;
+
+    /**
+     * Fencing target win count by games count, from 0 games.
+     */
+    private final int[] fencingTargetWinCounts = new int[PRECOMPUTED_FENCING_TARGETS];
+
+    private ScoringRules(Properties rules) {
+        targetScorePoints = intRule(rules, "target_score_points", 1000);
+        fencingWinRatePercent = intRule(rules, "fencing_win_rate_percent", 70);
+        fencingVariablePoints = intRule(rules, "fencing_variable_points", 40);
+        swimmingTargetTime = timeRule(rules, "swimming_target_time", "2:30.0");
+        swimmingTenthsPerStep = intRule(rules, "swimming_tenths_per_step", 3);
+        swimmingVariablePoints = intRule(rules, "swimming_variable_points", 4);
+        ridingTargetScore = intRule(rules, "riding_target_score", 1200);
+        ridingFenceKnockDownLoss = intRule(rules, "riding_fence_knock_down_loss", 28);
+        ridingRefusalToJumpLoss = intRule(rules, "riding_refusal_to_jump_loss", 40);
+        ridingObstacleKnockDownLoss = intRule(rules, "riding_obstacle_knock_down_loss", 60);
+        shootingTargetScore = intRule(rules, "shooting_target_score", 172);
+        shootingVariablePoints = intRule(rules, "shooting_variable_points", 12);
+
+        if (fencingWinRatePercent < 0 || fencingWinRatePercent > 100) {
+            throw new IllegalArgumentException("fencing_win_rate_percent must be from 0 to 100");
+        }
+        if (swimmingTenthsPerStep < 1) {
+            throw new IllegalArgumentException("swimming_tenths_per_step must be positive");
+        }
+        for (int gamesCount = 0; gamesCount < PRECOMPUTED_FENCING_TARGETS; gamesCount++) {
+            fencingTargetWinCounts[gamesCount] = computeFencingTargetWinCount(gamesCount);
+        }
+    }
+
+    /**
+     * Method creates rulebook from properties. Missing rules keep values of the current season, e.g.
+     * 'fencing_win_rate_percent=70' or 'swimming_target_time=2:30.0'.
+     * @param rules rules by name.
+     * @return scoring rules.
+     * @throws IllegalArgumentException when a rule has wrong format or value.
+     */
+    public static ScoringRules fromProperties(Properties rules) {
+        return new ScoringRules(rules);
+    }
+
+    /**
+     * Method returns how many fencing wins out of games count give win rate of at least fencing win rate percent,
+     * but at least 1 win. Common games counts are looked up in precomputed table.
+     * @param gamesCount total games played by athlete.
+     * @return wins count, 0 if no games are played and -1 if games count is negative.
+     */
+    public int getFencingTargetWinCount(int gamesCount) {
+        if (gamesCount >= 0 && gamesCount < PRECOMPUTED_FENCING_TARGETS) {
+            return fencingTargetWinCounts[gamesCount];
+        }
+        return computeFencingTargetWinCount(gamesCount);
+    }
+
+    /**
+     * Method computes fencing target win count exactly as ceil(gamesCount * percent / 100) in integers.
+     */
+    private int computeFencingTargetWinCount(int gamesCount) {
+        if (gamesCount <= 0) {
+            return Integer.compare(gamesCount, 0);
+        }
+        long winCount = ((long) gamesCount * fencingWinRatePercent + 99) / 100;
+        return (int) Math.max(winCount, 1);
+    }
+
+    private static int intRule(Properties rules, String name, int defaultValue) {
+        String value = rules.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+    }
+
+    private static int timeRule(Properties rules, String name, String defaultValue) {
+        String value = rules.getProperty(name, defaultValue).trim();
+        int time = AthleteTimeParser.parseTenths(value);
+        if (time == AthleteTimeParser.INVALID_TIME) {
+            throw new IllegalArgumentException(name + " must have format 'mm:ss.S': " + value);
+        }
+        return time;
+    }
+
+    public int getTargetScorePoints() {
+        return targetScorePoints;
+    }
+
+    public int getFencingWinRatePercent() {
+        return fencingWinRatePercent;
+    }
+
+    public int getFencingVariablePoints() {
+        return fencingVariablePoints;
+    }
+
+    public int getSwimmingTargetTime() {
+        return swimmingTargetTime;
+    }
+
+    public int getSwimmingTenthsPerStep() {
+        return swimmingTenthsPerStep;
+    }
+
+    public int getSwimmingVariablePoints() {
+        return swimmingVariablePoints;
+    }
+
+    public int getRidingTargetScore() {
+        return ridingTargetScore;
+    }
+
+    public int getRidingFenceKnockDownLoss() {
+        return ridingFenceKnockDownLoss;
+    }
+
+    public int getRidingRefusalToJumpLoss() {
+        return ridingRefusalToJumpLoss;
+    }
+
+    public int getRidingObstacleKnockDownLoss() {
+        return ridingObstacleKnockDownLoss;
+    }
+
+    public int getShootingTargetScore() {
+        return shootingTargetScore;
+    }
+
+    public int getShootingVariablePoints() {
+        return shootingVariablePoints;
+    }
+}
@@ -0,0 +1,49 @@
+package com.arty.modernpentathloncompetition.entity;
+
+/**
+ * Standing of an athlete in the season ranking.
+ */
+public class SeasonRankingRow {
+
+    /**
+     * Place in the season ranking, athletes with the same season points share the place.
+     */
+    private final int place;
+
+    private final String nameSurname;
+
+    /**
+     * Sum of total points of all competitions of the athlete.
+     */
+    private final int seasonPoints;
+
+    private final int competitionCount;
+
+    public SeasonRankingRow(int place, String nameSurname, int seasonPoints, int competitionCount) {
+        this.place = place;
+        this.nameSurname = nameSurname;
+        this.seasonPoints = seasonPoints;
+        this.competitionCount = competitionCount;
+    }
+
+    public int getPlace() {
+        return place;
+    }
+
+    public String getNameSurname() {
+        return nameSurname;
+    }
+
+    public int getSeasonPoints() {
+        return seasonPoints;
+    }
+
+    public int getCompetitionCount() {
+        return competitionCount;
+    }
+
+    @Override
+    public String toString() {
+        return place + "," + nameSurname + "," + seasonPoints + "," + competitionCount;
+    }
+}
@@ -0,0 +1,113 @@
+package com.arty.modernpentathloncompetition.ingestion;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.parser.AthleteTimeParser;
+
+/**
+ * Immutable results of one athlete in all events. Result of an event is changed by creating a new state, so a
+ * state once read is never changed by a concurrent update.
+ */
+public final class AthleteResultState {
+
+    /**
+     * State of an athlete without any results.
+     */
+    public static final AthleteResultState EMPTY = new AthleteResultState(0, null, 0, 0, 0, 0, null);
+
+    private final int fencingVictories;
+    private final String swimmingTime;
+    private final int fenceKnockDownCount;
+    private final int refusalToJumpCount;
+    private final int obstacleKnockDownCount;
+    private final int shootingTargetScore;
+    private final String runTime;
+
+    public AthleteResultState(int fencingVictories, String swimmingTime, int fenceKnockDownCount,
+                              int refusalToJumpCount, int obstacleKnockDownCount, int shootingTargetScore,
+                              String runTime) {
+        this.fencingVictories = fencingVictories;
+        this.swimmingTime = swimmingTime;
+        this.fenceKnockDownCount = fenceKnockDownCount;
+        this.refusalToJumpCount = refusalToJumpCount;
+        this.obstacleKnockDownCount = obstacleKnockDownCount;
+        this.shootingTargetScore = shootingTargetScore;
+        this.runTime = runTime;
+    }
+
+    /**
+     * Method parses result of the event.
+     * @param event event the result belongs to.
+     * @param result result as text, format depends on the event.
+     * @return new state with the result of the event replaced, results of other events are the same.
+     * @throws IllegalArgumentException when result has wrong format.
+     */
+    public AthleteResultState withResult(AthleteEvent event, String result) {
+        String value = result == null ? "" : result.trim();
+        switch (event) {
+            case FENCING:
+                return new AthleteResultState(parseCount(value), swimmingTime, fenceKnockDownCount,
+                        refusalToJumpCount, obstacleKnockDownCount, shootingTargetScore, runTime);
+            case SWIMMING:
+                return new AthleteResultState(fencingVictories, parseTime(value), fenceKnockDownCount,
+                        refusalToJumpCount, obstacleKnockDownCount, shootingTargetScore, runTime);
+            case RIDING:
+                String[] counts = value.split(",", -1);
+                if (counts.length != 3) {
+                    throw new IllegalArgumentException("Riding result must have 3 counts: " + result);
+                }
+                return new AthleteResultState(fencingVictories, swimmingTime, parseCount(counts[0].trim()),
+                        parseCount(counts[1].trim()), parseCount(counts[2].trim()), shootingTargetScore, runTime);
+            case SHOOTING:
+                return new AthleteResultState(fencingVictories, swimmingTime, fenceKnockDownCount,
+                        refusalToJumpCount, obstacleKnockDownCount, parseCount(value), runTime);
+            case RUN:
+                return new AthleteResultState(fencingVictories, swimmingTime, fenceKnockDownCount,
+                        refusalToJumpCount, obstacleKnockDownCount, shootingTargetScore, parseTime(value));
+            default:
+                throw new IllegalArgumentException("Unknown event: " + event);
+        }
+    }
+
+    public int getFencingVictories() {
+        return fencingVictories;
+    }
+
+    public String getSwimmingTime() {
+        return swimmingTime;
+    }
+
+    public int getFenceKnockDownCount() {
+        return fenceKnockDownCount;
+    }
+
+    public int getRefusalToJumpCount() {
+        return refusalToJumpCount;
+    }
+
+    public int getObstacleKnockDownCount() {
+        return obstacleKnockDownCount;
+    }
+
+    public int getShootingTargetScore() {
+        return shootingTargetScore;
+    }
+
+    public String getRunTime() {
+        return runTime;
+    }
+
+    private static int parseCount(String value) {
+        int count = Integer.parseInt(value);
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + value);
+        }
+        return count;
+    }
+
+    private static String parseTime(String value) {
+        if (AthleteTimeParser.parseTenths(value) == AthleteTimeParser.INVALID_TIME) {
+            throw new IllegalArgumentException("Time must have format 'mm:ss.S': " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,259 @@
+package com.arty.modernpentathloncompetition.ingestion;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.parser.AthleteTimeParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Results of athletes which many threads update at the same time without locks.
+ *
+ * <p>Every athlete has a slot in a concurrent map, and the slot holds immutable {@link AthleteResultState}. Update
+ * creates new state from the current one and swaps it in by compare-and-set, retrying only when another update
+ * of the same athlete came between, so updates of different events of one athlete are never lost. Readers read
+ * states without locks: every state they see is a whole state of the athlete after some update, and they see all
+ * updates which completed before they started.
+ *
+ * <p>Updated slots are queued once until they are drained, so a reader which keeps derived data, e.g. sorted
+ * leaderboard, brings it up to date by handling only athletes which changed.
+ */
+public class ConcurrentResultStore {
+
+    /**
+     * Dictionary of names of athletes of the store, dropped with the store.
+     */
+    private final AthleteNameDictionary names = new AthleteNameDictionary();
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Slots of athletes whose names repeat a name of an earlier athlete of the results table. They are kept in
+     * the results, but updates by name go to the first athlete. Never changed after construction.
+     */
+    private final List<Slot> repeatedNameSlots = new ArrayList<>();
+
+    /**
+     * Order of arrival of the next new athlete.
+     */
+    private final AtomicInteger nextOrder = new AtomicInteger();
+
+    private final Queue<Slot> changedSlots = new ConcurrentLinkedQueue<>();
+
+    public ConcurrentResultStore() {
+    }
+
+    /**
+     * @param athleteResultTable athletes in order of arrival, updates go to the first athlete when names repeat.
+     */
+    public ConcurrentResultStore(AthleteResultTable athleteResultTable) {
+        for (int row = 0; row < athleteResultTable.size(); row++) {
+            String nameSurname = athleteResultTable.getNameSurname(row);
+            AthleteResultState state = new AthleteResultState(athleteResultTable.getFencingVictories(row),
+                    athleteResultTable.getSwimmingTimeText(row), athleteResultTable.getFenceKnockDownCount(row),
+                    athleteResultTable.getRefusalToJumpCount(row), athleteResultTable.getObstacleKnockDownCount(row),
+                    athleteResultTable.getShootingTargetScore(row), athleteResultTable.getRunTimeText(row));
+            Slot slot = new Slot(names, nameSurname, nextOrder.getAndIncrement(), state);
+            if (slots.putIfAbsent(nameSurname, slot) != null) {
+                repeatedNameSlots.add(slot);
+            }
+        }
+    }
+
+    /**
+     * Method updates result of one event of the athlete, unknown athlete is added.
+     * @param nameSurname athlete's name and surname.
+     * @param event event the result belongs to.
+     * @param result result as text, format depends on the event.
+     * @return slot of the athlete.
+     * @throws IllegalArgumentException when result has wrong format.
+     */
+    public Slot update(String nameSurname, AthleteEvent event, String result) {
+        Slot slot = slots.get(nameSurname);
+        if (slot == null) {
+            // Result is parsed before the athlete is added, so wrong result adds no one.
+            AthleteResultState first = AthleteResultState.EMPTY.withResult(event, result);
+            Slot[] created = new Slot[1];
+            slot = slots.computeIfAbsent(nameSurname,
+                    name -> created[0] = new Slot(names, name, nextOrder.getAndIncrement(), first));
+            if (slot == created[0]) {
+                markChanged(slot);
+                return slot;
+            }
+        }
+        AthleteResultState current;
+        AthleteResultState updated;
+        do {
+            current = slot.state;
+            updated = current.withResult(event, result);
+        } while (!Slot.STATE.compareAndSet(slot, current, updated));
+        markChanged(slot);
+        return slot;
+    }
+
+    /**
+     * @param nameSurname athlete's name and surname.
+     * @return slot of the athlete, null if athlete is unknown.
+     */
+    public Slot get(String nameSurname) {
+        return slots.get(nameSurname);
+    }
+
+    /**
+     * @return dictionary of names of athletes, ids of slots are its ids.
+     */
+    public AthleteNameDictionary getNameDictionary() {
+        return names;
+    }
+
+    /**
+     * @return amount of athletes.
+     */
+    public int size() {
+        return slots.size() + repeatedNameSlots.size();
+    }
+
+    /**
+     * Method copies current results of all athletes. Results of one athlete are copied from one state.
+     * @return unscored athletes in order of arrival.
+     */
+    public AthleteResultTable snapshot() {
+        Slot[] ordered = slotsInOrder();
+        AthleteResultTable athleteResultTable = new AthleteResultTable(names, ordered.length);
+        for (Slot slot : ordered) {
+            if (slot != null) {
+                AthleteResultState state = slot.state;
+                athleteResultTable.addRowOfNameId(slot.nameSurnameId, state.getFencingVictories(),
+                        state.getSwimmingTime(), AthleteTimeParser.parseTenths(state.getSwimmingTime()),
+                        state.getFenceKnockDownCount(), state.getRefusalToJumpCount(),
+                        state.getObstacleKnockDownCount(), state.getShootingTargetScore(), state.getRunTime(),
+                        AthleteTimeParser.parseTenths(state.getRunTime()));
+            }
+        }
+        return athleteResultTable;
+    }
+
+    /**
+     * Method passes every slot in order of arrival to the consumer and clears the queue of changed slots. Updates
+     * which come meanwhile are queued again.
+     * @param consumer consumer of slots.
+     */
+    public void forEachSlot(Consumer<Slot> consumer) {
+        drainChanged(slot -> {
+        });
+        for (Slot slot : slotsInOrder()) {
+            if (slot != null) {
+                consumer.accept(slot);
+            }
+        }
+    }
+
+    /**
+     * Method passes slots updated since they were drained last time to the consumer. Slot is unmarked before it
+     * is passed, so its state read by the consumer is at least as new as the update which queued it. Amount of
+     * drained slots is limited by amount of athletes, so writers can not keep the reader draining forever.
+     * @param consumer consumer of changed slots.
+     * @return amount of drained slots.
+     */
+    public int drainChanged(Consumer<Slot> consumer) {
+        int limit = size();
+        int drained = 0;
+        Slot slot;
+        while (drained < limit && (slot = changedSlots.poll()) != null) {
+            Slot.CHANGED.set(slot, 0);
+            consumer.accept(slot);
+            drained++;
+        }
+        return drained;
+    }
+
+    private void markChanged(Slot slot) {
+        if (slot.changed == 0 && Slot.CHANGED.compareAndSet(slot, 0, 1)) {
+            changedSlots.offer(slot);
+        }
+    }
+
+    /**
+     * @return slots by their order of arrival, null where athlete is being added.
+     */
+    private Slot[] slotsInOrder() {
+        Slot[] ordered = new Slot[nextOrder.get()];
+        for (Slot slot : slots.values()) {
+            // Athlete added during the iteration can have order above the size taken before it.
+            if (slot.order >= ordered.length) {
+                Slot[] grown = new Slot[Math.max(slot.order + 1, nextOrder.get())];
+                System.arraycopy(ordered, 0, grown, 0, ordered.length);
+                ordered = grown;
+            }
+            ordered[slot.order] = slot;
+        }
+        for (Slot slot : repeatedNameSlots) {
+            ordered[slot.order] = slot;
+        }
+        return ordered;
+    }
+
+    /**
+     * Slot of one athlete, which holds current state of athlete's results.
+     */
+    public static final class Slot {
+
+        // Updaters are created by the class which declares the fields, the outer class has no access to them.
+        private static final AtomicReferenceFieldUpdater<Slot, AthleteResultState> STATE =
+                AtomicReferenceFieldUpdater.newUpdater(Slot.class, AthleteResultState.class, "state");
+
+        private static final AtomicIntegerFieldUpdater<Slot> CHANGED =
+                AtomicIntegerFieldUpdater.newUpdater(Slot.class, "changed");
+
+        private final String nameSurname;
+
+        /**
+         * Id of the name in the name dictionary of the store.
+         */
+        private final int nameSurnameId;
+
+        /**
+         * Order of arrival, keeps order of athletes with equal results the same as in the results file.
+         */
+        private final int order;
+
+        private volatile AthleteResultState state;
+
+        /**
+         * 1 while the slot is queued as changed.
+         */
+        private volatile int changed;
+
+        private Slot(AthleteNameDictionary names, String nameSurname, int order, AthleteResultState state) {
+            this.nameSurnameId = names.idOf(nameSurname);
+            this.nameSurname = names.nameOf(nameSurnameId);
+            this.order = order;
+            this.state = state;
+        }
+
+        public String getNameSurname() {
+            return nameSurname;
+        }
+
+        public int getNameSurnameId() {
+            return nameSurnameId;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public AthleteResultState getState() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.arty.modernpentathloncompetition.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of every stage of leaderboard generation and counters of ingested rows and of damage found in the result log.
+ * Meters are registered once, so recording costs two {@link System#nanoTime()} calls per stage and nothing per row.
+ */
+public class LeaderboardPipelineMetrics {
+
+    /**
+     * Name of timer of leaderboard generation stages, stage is given by tag 'stage'.
+     */
+    public static final String STAGE_TIMER = "pentathlon.leaderboard.stage";
+
+    /**
+     * Name of counter of rows read from results files.
+     */
+    public static final String ROWS_READ = "pentathlon.results.rows.read";
+
+    /**
+     * Name of counter of rows whose swimming or run time can not be read, such athletes get no points for the event.
+     */
+    public static final String ROWS_REJECTED = "pentathlon.results.rows.rejected";
+
+    /**
+     * Name of counter of results files which could not be read at all.
+     */
+    public static final String FILES_REJECTED = "pentathlon.results.files.rejected";
+
+    /**
+     * Name of counter of result log segments found damaged on recovery, their records after the damage are lost.
+     */
+    public static final String LOG_SEGMENTS_DAMAGED = "pentathlon.results.log.segments.damaged";
+
+    /**
+     * Name of counter of logged events which can not be applied on recovery.
+     */
+    public static final String LOG_EVENTS_SKIPPED = "pentathlon.results.log.events.skipped";
+
+    /**
+     * Stages of leaderboard generation.
+     */
+    public enum Stage {
+        PARSE, SCORE, SORT, PLACE, FORMAT
+    }
+
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+
+    private final Counter rowsRead;
+
+    private final Counter rowsRejected;
+
+    private final Counter filesRejected;
+
+    private final Counter logSegmentsDamaged;
+
+    private final Counter logEventsSkipped;
+
+    /**
+     * Metrics which are not published anywhere.
+     */
+    public LeaderboardPipelineMetrics() {
+        this(new CompositeMeterRegistry());
+    }
+
+    /**
+     * @param meterRegistry registry meters are published to.
+     */
+    public LeaderboardPipelineMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder(STAGE_TIMER)
+                    .description("Time spent in a stage of leaderboard generation")
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        rowsRead = Counter.builder(ROWS_READ)
+                .description("Rows read from results files")
+                .register(meterRegistry);
+        rowsRejected = Counter.builder(ROWS_REJECTED)
+                .description("Rows with swimming or run time which can not be read")
+                .register(meterRegistry);
+        filesRejected = Counter.builder(FILES_REJECTED)
+                .description("Results files which can not be read")
+                .register(meterRegistry);
+        logSegmentsDamaged = Counter.builder(LOG_SEGMENTS_DAMAGED)
+                .description("Result log segments found damaged on recovery")
+                .register(meterRegistry);
+        logEventsSkipped = Counter.builder(LOG_EVENTS_SKIPPED)
+                .description("Logged events which can not be applied on recovery")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Method returns start time of a stage, to be passed to {@link #stageFinished(Stage, long)}.
+     * @return current value of {@link System#nanoTime()}.
+     */
+    public long stageStarted() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Method records duration of a stage.
+     * @param stage finished stage.
+     * @param startNanos value returned by {@link #stageStarted()} when the stage started.
+     */
+    public void stageFinished(Stage stage, long startNanos) {
+        stageTimers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Method counts rows read from a results file.
+     * @param readRows amount of rows read.
+     * @param rejectedRows amount of them with time which can not be read.
+     */
+    public void rowsRead(int readRows, int rejectedRows) {
+        rowsRead.increment(readRows);
+        if (rejectedRows > 0) {
+            rowsRejected.increment(rejectedRows);
+        }
+    }
+
+    /**
+     * Method counts a results file which could not be read.
+     */
+    public void fileRejected() {
+        filesRejected.increment();
+    }
+
+    /**
+     * Method counts result log segments found damaged on recovery.
+     * @param damagedSegments amount of damaged segments.
+     */
+    public void logSegmentsDamaged(int damagedSegments) {
+        if (damagedSegments > 0) {
+            logSegmentsDamaged.increment(damagedSegments);
+        }
+    }
+
+    /**
+     * Method counts a logged event which could not be applied on recovery.
+     */
+    public void logEventSkipped() {
+        logEventsSkipped.increment();
+    }
+}
@@ -0,0 +1,374 @@
+package com.arty.modernpentathloncompetition.parser;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Cursor over records of athlete results CSV. Reads characters into a reusable buffer and splits them into fields
+ * following the same rules OpenCSV applies with default separator, quote and escape characters: quoted fields may
+ * contain separators and line breaks, doubled quotes are unescaped, backslash escapes quote, backslash and separator
+ * and is dropped otherwise, and records are separated by '\n', '\r' or "\r\n".
+ */
+class AthleteResultCsvCursor {
+
+    /**
+     * Field separator.
+     */
+    private static final char SEPARATOR = ',';
+
+    /**
+     * Quote character.
+     */
+    private static final char QUOTE = '"';
+
+    /**
+     * Escape character.
+     */
+    private static final char ESCAPE = '\\';
+
+    /**
+     * Initial size of read buffer in characters.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Source of characters.
+     */
+    private final Reader reader;
+
+    /**
+     * Read buffer. Characters in [position, limit) are not processed yet.
+     */
+    private char[] buffer = new char[INITIAL_BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    private boolean endOfInput;
+
+    /**
+     * True when previous line ended with '\r', so leading '\n' of the next line belongs to it.
+     */
+    private boolean skipLineFeed;
+
+    /**
+     * Bounds of the current physical line in the read buffer.
+     */
+    private int lineStart;
+
+    private int lineEnd;
+
+    /**
+     * Unescaped characters of the current record.
+     */
+    private char[] record = new char[256];
+
+    private int recordLength;
+
+    /**
+     * Bounds of the first {@link AthleteResultCsvParser#COLUMN_COUNT} fields of the current record.
+     */
+    private final int[] fieldStarts = new int[AthleteResultCsvParser.COLUMN_COUNT];
+
+    private final int[] fieldEnds = new int[AthleteResultCsvParser.COLUMN_COUNT];
+
+    /**
+     * Amount of fields in the current record, including the ones which are not stored.
+     */
+    private int fieldCount;
+
+    /**
+     * Start of the field being parsed in the record buffer.
+     */
+    private int currentFieldStart;
+
+    /**
+     * Parser state which is kept between physical lines of a multi-line record.
+     */
+    private boolean inField;
+
+    private boolean pending;
+
+    /**
+     * Number of the physical line parsed last, starting from 1.
+     */
+    private long lineNumber;
+
+    AthleteResultCsvCursor(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Moves cursor to the next record.
+     * @return false when there are no more records.
+     * @throws IOException when reading fails.
+     * @throws IllegalArgumentException when input ends inside of a quoted field.
+     */
+    boolean next() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+        currentFieldStart = 0;
+        do {
+            if (!nextLine()) {
+                if (pending) {
+                    throw new IllegalArgumentException("Unterminated quoted field at line " + lineNumber);
+                }
+                return false;
+            }
+            lineNumber++;
+        } while (!parseLine());
+        return true;
+    }
+
+    /**
+     * @return amount of fields in the current record.
+     */
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return number of the last physical line of the current record.
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns field of the current record as string.
+     * @param field field index, must be less than field count.
+     * @return field value.
+     */
+    String text(int field) {
+        return new String(record, fieldStarts[field], fieldEnds[field] - fieldStarts[field]);
+    }
+
+    /**
+     * Returns id of the field of the current record in the name dictionary. String is created only for a name
+     * which the dictionary does not have yet.
+     * @param field field index, must be less than field count.
+     * @param names name dictionary.
+     * @return id of the name.
+     */
+    int nameId(int field, AthleteNameDictionary names) {
+        return names.idOf(record, fieldStarts[field], fieldEnds[field]);
+    }
+
+    /**
+     * Checks whether field of the current record is blank, in which case OpenCSV leaves numeric bean property
+     * untouched.
+     * @param field field index, must be less than field count.
+     * @return true if field consists of whitespace only.
+     */
+    boolean isBlank(int field) {
+        for (int i = fieldStarts[field]; i < fieldEnds[field]; i++) {
+            if (!Character.isWhitespace(record[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses non-blank field of the current record as integer, ignoring surrounding control characters and spaces.
+     * @param field field index, must be less than field count.
+     * @return field value.
+     * @throws IllegalArgumentException when field is not a valid integer.
+     */
+    int intValue(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        while (start < end && record[start] <= ' ') {
+            start++;
+        }
+        while (end > start && record[end - 1] <= ' ') {
+            end--;
+        }
+
+        boolean negative = false;
+        int i = start;
+        if (i < end && (record[i] == '-' || record[i] == '+')) {
+            negative = record[i] == '-';
+            i++;
+        }
+        if (i == end) {
+            throw invalidInteger(field);
+        }
+
+        // Accumulating negatively covers Integer.MIN_VALUE the same way Integer.parseInt does.
+        final int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        for (; i < end; i++) {
+            int digit = record[i] - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10) {
+                throw invalidInteger(field);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidInteger(field);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private IllegalArgumentException invalidInteger(int field) {
+        return new IllegalArgumentException("Line " + lineNumber + ", column " + (field + 1)
+                + ": not an integer '" + text(field) + "'");
+    }
+
+    /**
+     * Splits the current physical line into fields of the record.
+     * @return true if record is complete, false if quoted field continues on the next line.
+     */
+    private boolean parseLine() {
+        boolean inQuotes = false;
+        if (pending) {
+            inQuotes = true;
+            pending = false;
+        }
+
+        final char[] line = buffer;
+        final int start = lineStart;
+        final int end = lineEnd;
+        for (int j = start; j < end; j++) {
+            char c = line[j];
+            if (c == ESCAPE) {
+                if ((inQuotes || inField) && j + 1 < end && isEscapable(line[j + 1])) {
+                    append(line[++j]);
+                }
+            } else if (c == QUOTE) {
+                if ((inQuotes || inField) && j + 1 < end && line[j + 1] == QUOTE) {
+                    append(line[++j]);
+                } else {
+                    inQuotes = !inQuotes;
+                    // Quote in the middle of unquoted text is kept as is, e.g. a,bc"d"ef,g
+                    if (j - start > 2 && line[j - 1] != SEPARATOR && j + 1 < end && line[j + 1] != SEPARATOR) {
+                        if (recordLength > currentFieldStart && isCurrentFieldWhitespace()) {
+                            recordLength = currentFieldStart;
+                        } else {
+                            append(c);
+                        }
+                    }
+                }
+                inField = !inField;
+            } else if (c == SEPARATOR && !inQuotes) {
+                endField();
+                inField = false;
+            } else {
+                append(c);
+                inField = true;
+            }
+        }
+
+        if (inQuotes) {
+            append('\n');
+            pending = true;
+            return false;
+        }
+        inField = false;
+        endField();
+        return true;
+    }
+
+    private static boolean isEscapable(char c) {
+        return c == QUOTE || c == ESCAPE || c == SEPARATOR;
+    }
+
+    private boolean isCurrentFieldWhitespace() {
+        for (int i = currentFieldStart; i < recordLength; i++) {
+            if (!Character.isWhitespace(record[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void append(char c) {
+        if (recordLength == record.length) {
+            char[] grown = new char[record.length * 2];
+            System.arraycopy(record, 0, grown, 0, recordLength);
+            record = grown;
+        }
+        record[recordLength++] = c;
+    }
+
+    private void endField() {
+        if (fieldCount < fieldStarts.length) {
+            fieldStarts[fieldCount] = currentFieldStart;
+            fieldEnds[fieldCount] = recordLength;
+        } else {
+            // Columns beyond the schema are ignored, so their characters are not kept.
+            recordLength = currentFieldStart;
+        }
+        fieldCount++;
+        currentFieldStart = recordLength;
+    }
+
+    /**
+     * Finds bounds of the next physical line, the same way {@link java.io.BufferedReader#readLine()} does.
+     * @return false at the end of input.
+     */
+    private boolean nextLine() throws IOException {
+        if (skipLineFeed) {
+            if (position == limit && !endOfInput) {
+                fill();
+            }
+            if (position < limit && buffer[position] == '\n') {
+                position++;
+            }
+            skipLineFeed = false;
+        }
+
+        int scan = position;
+        while (true) {
+            for (; scan < limit; scan++) {
+                char c = buffer[scan];
+                if (c == '\n' || c == '\r') {
+                    lineStart = position;
+                    lineEnd = scan;
+                    position = scan + 1;
+                    skipLineFeed = c == '\r';
+                    return true;
+                }
+            }
+            if (endOfInput) {
+                if (position < limit) {
+                    lineStart = position;
+                    lineEnd = limit;
+                    position = limit;
+                    return true;
+                }
+                return false;
+            }
+            scan -= position;
+            fill();
+        }
+    }
+
+    /**
+     * Moves unprocessed characters to the beginning of the buffer and reads more characters after them.
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        } else if (remaining == buffer.length) {
+            char[] grown = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, grown, 0, remaining);
+            buffer = grown;
+        }
+        position = 0;
+        limit = remaining;
+
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+}
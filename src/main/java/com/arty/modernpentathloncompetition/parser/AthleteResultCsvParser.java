@@ -0,0 +1,147 @@
+package com.arty.modernpentathloncompetition.parser;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parser of athlete results CSV with fixed 8-column schema:
+ * name, fencing victories, swimming time, fence knock-downs, refusals, obstacle knock-downs, shooting score, run time.
+ * Produces the same {@link AthleteResult} values as OpenCSV bean binding by position, without reflection and
+ * without materializing the whole file.
+ */
+public class AthleteResultCsvParser {
+
+    /**
+     * Amount of columns in athlete results CSV.
+     */
+    public static final int COLUMN_COUNT = 8;
+
+    static final int NAME_SURNAME = 0;
+    static final int FENCING_VICTORIES = 1;
+    static final int SWIMMING_TIME = 2;
+    static final int FENCE_KNOCK_DOWN_COUNT = 3;
+    static final int REFUSAL_TO_JUMP_COUNT = 4;
+    static final int OBSTACLE_KNOCK_DOWN_COUNT = 5;
+    static final int SHOOTING_TARGET_SCORE = 6;
+    static final int RUN_TIME = 7;
+
+    /**
+     * Method parses athlete results one by one and passes each of them to the consumer.
+     * @param reader source of CSV, it is not closed by the parser.
+     * @param consumer receiver of parsed athlete results.
+     * @throws IOException when reading fails.
+     * @throws IllegalArgumentException when CSV is malformed, e.g. numeric column is not a number.
+     */
+    public void parse(Reader reader, Consumer<? super AthleteResult> consumer) throws IOException {
+        AthleteResultCsvCursor cursor = new AthleteResultCsvCursor(reader);
+        AthleteNameDictionary names = new AthleteNameDictionary();
+        while (cursor.next()) {
+            consumer.accept(toAthleteResult(cursor, names));
+        }
+    }
+
+    /**
+     * Method parses athlete results straight into rows of the table, without creating athlete result beans.
+     * Times are parsed by {@link AthleteTimeParser}.
+     * @param reader source of CSV, it is not closed by the parser.
+     * @param table table which parsed rows are added to.
+     * @throws IOException when reading fails.
+     * @throws IllegalArgumentException when CSV is malformed, e.g. numeric column is not a number.
+     */
+    public void parse(Reader reader, AthleteResultTable table) throws IOException {
+        AthleteResultCsvCursor cursor = new AthleteResultCsvCursor(reader);
+        while (cursor.next()) {
+            int fieldCount = cursor.fieldCount();
+            String swimmingTime = fieldCount > SWIMMING_TIME ? cursor.text(SWIMMING_TIME) : null;
+            String runTime = fieldCount > RUN_TIME ? cursor.text(RUN_TIME) : null;
+            int nameSurnameId = fieldCount > NAME_SURNAME
+                    ? cursor.nameId(NAME_SURNAME, table.getNameDictionary()) : AthleteNameDictionary.NO_NAME;
+            table.addRowOfNameId(nameSurnameId,
+                    intValue(cursor, FENCING_VICTORIES),
+                    swimmingTime, AthleteTimeParser.parseTenths(swimmingTime),
+                    intValue(cursor, FENCE_KNOCK_DOWN_COUNT),
+                    intValue(cursor, REFUSAL_TO_JUMP_COUNT),
+                    intValue(cursor, OBSTACLE_KNOCK_DOWN_COUNT),
+                    intValue(cursor, SHOOTING_TARGET_SCORE),
+                    runTime, AthleteTimeParser.parseTenths(runTime));
+        }
+    }
+
+    /**
+     * Value of numeric column of the current record, 0 when column is missing or blank.
+     */
+    private static int intValue(AthleteResultCsvCursor cursor, int field) {
+        return cursor.fieldCount() > field && !cursor.isBlank(field) ? cursor.intValue(field) : 0;
+    }
+
+    /**
+     * Method returns lazy sequential stream of athlete results. Rows are parsed only as the stream is consumed.
+     * @param reader source of CSV, it is not closed by the parser.
+     * @return stream of athlete results. Reading failures are rethrown as {@link UncheckedIOException}.
+     */
+    public Stream<AthleteResult> stream(Reader reader) {
+        AthleteResultCsvCursor cursor = new AthleteResultCsvCursor(reader);
+        AthleteNameDictionary names = new AthleteNameDictionary();
+        Spliterator<AthleteResult> spliterator = new Spliterators.AbstractSpliterator<AthleteResult>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super AthleteResult> action) {
+                try {
+                    if (!cursor.next()) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(toAthleteResult(cursor, names));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Builds athlete result from the current record. Missing columns and blank numeric columns keep their
+     * default values, as they do with OpenCSV. Equal names of the parsed results share one string of the
+     * dictionary.
+     */
+    private AthleteResult toAthleteResult(AthleteResultCsvCursor cursor, AthleteNameDictionary names) {
+        AthleteResult athleteResult = new AthleteResult();
+        int fieldCount = cursor.fieldCount();
+        if (fieldCount > NAME_SURNAME) {
+            athleteResult.setNameSurname(names.nameOf(cursor.nameId(NAME_SURNAME, names)));
+        }
+        if (fieldCount > FENCING_VICTORIES && !cursor.isBlank(FENCING_VICTORIES)) {
+            athleteResult.setFencingVictories(cursor.intValue(FENCING_VICTORIES));
+        }
+        if (fieldCount > SWIMMING_TIME) {
+            athleteResult.setSwimmingTime(cursor.text(SWIMMING_TIME));
+        }
+        if (fieldCount > FENCE_KNOCK_DOWN_COUNT && !cursor.isBlank(FENCE_KNOCK_DOWN_COUNT)) {
+            athleteResult.setFenceKnockDownCount(cursor.intValue(FENCE_KNOCK_DOWN_COUNT));
+        }
+        if (fieldCount > REFUSAL_TO_JUMP_COUNT && !cursor.isBlank(REFUSAL_TO_JUMP_COUNT)) {
+            athleteResult.setRefusalToJumpCount(cursor.intValue(REFUSAL_TO_JUMP_COUNT));
+        }
+        if (fieldCount > OBSTACLE_KNOCK_DOWN_COUNT && !cursor.isBlank(OBSTACLE_KNOCK_DOWN_COUNT)) {
+            athleteResult.setObstacleKnockDownCount(cursor.intValue(OBSTACLE_KNOCK_DOWN_COUNT));
+        }
+        if (fieldCount > SHOOTING_TARGET_SCORE && !cursor.isBlank(SHOOTING_TARGET_SCORE)) {
+            athleteResult.setShootingTargetScore(cursor.intValue(SHOOTING_TARGET_SCORE));
+        }
+        if (fieldCount > RUN_TIME) {
+            athleteResult.setRunTime(cursor.text(RUN_TIME));
+        }
+        return athleteResult;
+    }
+}
@@ -0,0 +1,128 @@
+package com.arty.modernpentathloncompetition.parser;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parser of athlete times of format 'mm:ss.S'. Scans characters or bytes in place, so parsing does not allocate,
+ * and reports wrong format by returning -1 instead of throwing.
+ */
+public final class AthleteTimeParser {
+
+    /**
+     * Value returned for time of wrong format.
+     */
+    public static final int INVALID_TIME = -1;
+
+    /**
+     * Upper bound of every time component, keeps the result far from int overflow.
+     */
+    private static final int MAX_COMPONENT_VALUE = 100_000;
+
+    private AthleteTimeParser() {
+    }
+
+    /**
+     * Method parses time of format 'mm:ss.S'. Every component must consist of digits only.
+     * @param time time as text, may be null.
+     * @return time in tenths of a second, or -1 if format is wrong.
+     */
+    public static int parseTenths(CharSequence time) {
+        if (time == null) {
+            return INVALID_TIME;
+        }
+        final int end = time.length();
+
+        int i = 0;
+        int minutes = 0;
+        int start = i;
+        for (char c; i < end && (c = time.charAt(i)) != ':'; i++) {
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || minutes > MAX_COMPONENT_VALUE) {
+                return INVALID_TIME;
+            }
+            minutes = minutes * 10 + digit;
+        }
+        if (i == start || i == end) {
+            return INVALID_TIME;
+        }
+
+        int seconds = 0;
+        start = ++i;
+        for (char c; i < end && (c = time.charAt(i)) != '.'; i++) {
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || seconds > MAX_COMPONENT_VALUE) {
+                return INVALID_TIME;
+            }
+            seconds = seconds * 10 + digit;
+        }
+        if (i == start || i == end) {
+            return INVALID_TIME;
+        }
+
+        int tenths = 0;
+        start = ++i;
+        for (; i < end; i++) {
+            int digit = time.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || tenths > MAX_COMPONENT_VALUE) {
+                return INVALID_TIME;
+            }
+            tenths = tenths * 10 + digit;
+        }
+        if (i == start) {
+            return INVALID_TIME;
+        }
+
+        return tenths + seconds * 10 + minutes * 60 * 10;
+    }
+
+    /**
+     * Method parses time of format 'mm:ss.S' straight from bytes, by the same rules as
+     * {@link #parseTenths(CharSequence)}.
+     * @param bytes bytes holding the time.
+     * @param start index of the first byte of the time.
+     * @param end index after the last byte of the time.
+     * @return time in tenths of a second, or -1 if format is wrong.
+     */
+    public static int parseTenths(ByteBuffer bytes, int start, int end) {
+        int i = start;
+        int minutes = 0;
+        for (byte b; i < end && (b = bytes.get(i)) != ':'; i++) {
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || minutes > MAX_COMPONENT_VALUE) {
+                return INVALID_TIME;
+            }
+            minutes = minutes * 10 + digit;
+        }
+        if (i == start || i == end) {
+            return INVALID_TIME;
+        }
+
+        int seconds = 0;
+        start = ++i;
+        for (byte b; i < end && (b = bytes.get(i)) != '.'; i++) {
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || seconds > MAX_COMPONENT_VALUE) {
+                return INVALID_TIME;
+            }
+            seconds = seconds * 10 + digit;
+        }
+        if (i == start || i == end) {
+            return INVALID_TIME;
+        }
+
+        int tenths = 0;
+        start = ++i;
+        for (; i < end; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9 || tenths > MAX_COMPONENT_VALUE) {
+                return INVALID_TIME;
+            }
+            tenths = tenths * 10 + digit;
+        }
+        if (i == start) {
+            return INVALID_TIME;
+        }
+
+        return tenths + seconds * 10 + minutes * 60 * 10;
+    }
+}
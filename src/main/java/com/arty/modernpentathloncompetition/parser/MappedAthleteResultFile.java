@@ -0,0 +1,531 @@
+package com.arty.modernpentathloncompetition.parser;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Athlete results CSV read through memory-mapped file. Row and field boundaries are found directly in the mapped
+ * bytes and numeric columns and times are parsed from bytes, so no strings are created while the file is indexed.
+ * Names and time texts are decoded only when they are asked for. The table the file is copied to gets the bytes of
+ * the texts copied to the heap and decodes them only when it is asked for them, so it does not keep the file
+ * mapped.
+ *
+ * <p>Field values are the same as {@link AthleteResultCsvParser} returns. Rows with quotes or backslashes are
+ * decoded and split by the same rules as {@link AthleteResultCsvParser}, but quoted fields spanning several lines
+ * are not supported.
+ */
+public class MappedAthleteResultFile {
+
+    /**
+     * Maximum size of the bytes of all texts copied to a table.
+     */
+    private static final int MAX_TEXT_BYTES = Integer.MAX_VALUE - 8;
+
+    /**
+     * Maximum size of one mapped region. Files larger than that are mapped region by region.
+     */
+    static final int MAX_REGION_SIZE = 1 << 30;
+
+    /**
+     * Text length marking column which is missing in the row.
+     */
+    private static final int MISSING_TEXT = -1;
+
+    /**
+     * Text length marking text which was decoded eagerly, offset then is index in {@link #decodedTexts}.
+     */
+    private static final int DECODED_TEXT = -2;
+
+    /**
+     * Text columns of a row.
+     */
+    private static final int NAME_SURNAME_TEXT = 0;
+    private static final int SWIMMING_TIME_TEXT = 1;
+    private static final int RUN_TIME_TEXT = 2;
+    private static final int TEXTS_PER_ROW = 3;
+
+    /**
+     * Mapped regions of the file and their offsets in the file.
+     */
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+
+    private long[] regionOffsets = new long[1];
+
+    private int size;
+
+    private int[] fencingVictories = new int[1024];
+    private int[] swimmingTimes = new int[1024];
+    private int[] fenceKnockDownCounts = new int[1024];
+    private int[] refusalToJumpCounts = new int[1024];
+    private int[] obstacleKnockDownCounts = new int[1024];
+    private int[] shootingTargetScores = new int[1024];
+    private int[] runTimes = new int[1024];
+
+    /**
+     * File offsets and byte lengths of name, swimming time and run time of every row.
+     */
+    private long[] textOffsets = new long[1024 * TEXTS_PER_ROW];
+    private int[] textLengths = new int[1024 * TEXTS_PER_ROW];
+
+    /**
+     * Texts of rows which had to be decoded while indexing.
+     */
+    private final List<String> decodedTexts = new ArrayList<>();
+
+    private MappedAthleteResultFile() {
+    }
+
+    /**
+     * Method maps CSV file into memory and indexes its rows.
+     * @param path path to CSV file.
+     * @return indexed file.
+     * @throws IOException when file can not be read.
+     * @throws IllegalArgumentException when CSV is malformed, e.g. numeric column is not a number.
+     */
+    public static MappedAthleteResultFile map(Path path) throws IOException {
+        return map(path, MAX_REGION_SIZE);
+    }
+
+    static MappedAthleteResultFile map(Path path, int maxRegionSize) throws IOException {
+        MappedAthleteResultFile file = new MappedAthleteResultFile();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long regionOffset = 0;
+            while (regionOffset < fileSize) {
+                long regionSize = Math.min(maxRegionSize, fileSize - regionOffset);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionOffset, regionSize);
+                int consumed = file.indexRegion(region, regionOffset, regionOffset + regionSize == fileSize);
+                if (consumed == 0) {
+                    throw new IllegalArgumentException("Row at offset " + regionOffset + " is longer than "
+                            + maxRegionSize + " bytes");
+                }
+                regionOffset += consumed;
+            }
+        }
+        return file;
+    }
+
+    /**
+     * @return amount of rows in the file.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getFencingVictories(int row) {
+        return fencingVictories[row];
+    }
+
+    /**
+     * @param row row index.
+     * @return swimming time in tenths of a second, or -1 if it is missing or has wrong format.
+     */
+    public int getSwimmingTime(int row) {
+        return swimmingTimes[row];
+    }
+
+    public int getFenceKnockDownCount(int row) {
+        return fenceKnockDownCounts[row];
+    }
+
+    public int getRefusalToJumpCount(int row) {
+        return refusalToJumpCounts[row];
+    }
+
+    public int getObstacleKnockDownCount(int row) {
+        return obstacleKnockDownCounts[row];
+    }
+
+    public int getShootingTargetScore(int row) {
+        return shootingTargetScores[row];
+    }
+
+    /**
+     * @param row row index.
+     * @return run time in tenths of a second, or -1 if it is missing or has wrong format.
+     */
+    public int getRunTime(int row) {
+        return runTimes[row];
+    }
+
+    public String getNameSurname(int row) {
+        return text(row, NAME_SURNAME_TEXT);
+    }
+
+    /**
+     * @param row row index.
+     * @return swimming time as written in the file, or null if the column is missing.
+     */
+    public String getSwimmingTimeText(int row) {
+        return text(row, SWIMMING_TIME_TEXT);
+    }
+
+    /**
+     * @param row row index.
+     * @return run time as written in the file, or null if the column is missing.
+     */
+    public String getRunTimeText(int row) {
+        return text(row, RUN_TIME_TEXT);
+    }
+
+    /**
+     * Method copies all rows to athlete result table. Times are taken already parsed, bytes of names and time texts
+     * are copied from the mapped file to the heap and decoded only when the table is asked for them. Table does
+     * not refer to the mapped file, so the file is unmapped once this file is not used any more.
+     * @return table with all rows of the file.
+     * @throws IllegalArgumentException when texts of the file do not fit into one array.
+     */
+    public AthleteResultTable toTable() {
+        AthleteResultTable table = new AthleteResultTable(copyTexts(), size);
+        for (int row = 0; row < size; row++) {
+            table.addSourceRow(row, fencingVictories[row], swimmingTimes[row], fenceKnockDownCounts[row],
+                    refusalToJumpCounts[row], obstacleKnockDownCounts[row], shootingTargetScores[row], runTimes[row]);
+        }
+        return table;
+    }
+
+    /**
+     * Copies bytes of all texts from the mapped regions into one array, in order of rows.
+     */
+    private RowTexts copyTexts() {
+        final int textCount = size * TEXTS_PER_ROW;
+        long byteCount = 0;
+        for (int index = 0; index < textCount; index++) {
+            byteCount += Math.max(textLengths[index], 0);
+        }
+        if (byteCount > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("Texts of the file are longer than " + MAX_TEXT_BYTES + " bytes");
+        }
+
+        byte[] bytes = new byte[(int) byteCount];
+        int[] offsets = new int[textCount];
+        int position = 0;
+        int region = -1;
+        ByteBuffer regionBytes = null;
+        for (int index = 0; index < textCount; index++) {
+            int length = textLengths[index];
+            if (length == DECODED_TEXT) {
+                offsets[index] = (int) textOffsets[index];
+            } else if (length >= 0) {
+                // Rows are indexed region by region, so regions of texts only grow.
+                long offset = textOffsets[index];
+                while (regionBytes == null || (region + 1 < regions.size() && regionOffsets[region + 1] <= offset)) {
+                    regionBytes = regions.get(++region).duplicate();
+                }
+                regionBytes.position((int) (offset - regionOffsets[region]));
+                regionBytes.get(bytes, position, length);
+                offsets[index] = position;
+                position += length;
+            }
+        }
+        return new RowTexts(bytes, offsets, Arrays.copyOf(textLengths, textCount), decodedTexts);
+    }
+
+    private String text(int row, int column) {
+        int index = row * TEXTS_PER_ROW + column;
+        int length = textLengths[index];
+        if (length == MISSING_TEXT) {
+            return null;
+        }
+        if (length == DECODED_TEXT) {
+            return decodedTexts.get((int) textOffsets[index]);
+        }
+
+        long offset = textOffsets[index];
+        int region = Arrays.binarySearch(regionOffsets, 0, regions.size(), offset);
+        if (region < 0) {
+            region = -region - 2;
+        }
+        ByteBuffer bytes = regions.get(region).duplicate();
+        bytes.position((int) (offset - regionOffsets[region]));
+        byte[] text = new byte[length];
+        bytes.get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Indexes complete rows of the mapped region.
+     * @param region mapped bytes.
+     * @param regionOffset offset of the region in the file.
+     * @param lastRegion true if region ends at the end of the file, so its last row is complete without terminator.
+     * @return amount of bytes consumed, next region has to start right after them.
+     */
+    private int indexRegion(MappedByteBuffer region, long regionOffset, boolean lastRegion) throws IOException {
+        if (regions.size() == regionOffsets.length) {
+            regionOffsets = Arrays.copyOf(regionOffsets, regionOffsets.length * 2);
+        }
+        regionOffsets[regions.size()] = regionOffset;
+        regions.add(region);
+
+        final int limit = region.limit();
+        int position = 0;
+        while (position < limit) {
+            int end = position;
+            boolean needsUnescaping = false;
+            byte b = 0;
+            while (end < limit) {
+                b = region.get(end);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                if (b == '"' || b == '\\') {
+                    needsUnescaping = true;
+                }
+                end++;
+            }
+            int next;
+            if (end == limit) {
+                if (!lastRegion) {
+                    break;
+                }
+                next = limit;
+            } else if (b == '\r') {
+                if (end + 1 == limit && !lastRegion) {
+                    // "\r\n" may be split between regions.
+                    break;
+                }
+                next = (end + 1 < limit && region.get(end + 1) == '\n') ? end + 2 : end + 1;
+            } else {
+                next = end + 1;
+            }
+
+            int row = addRow();
+            if (needsUnescaping) {
+                indexEscapedRow(row, region, position, end);
+            } else {
+                indexRow(row, region, regionOffset, position, end);
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    /**
+     * Indexes row without quotes and escapes straight from bytes.
+     */
+    private void indexRow(int row, ByteBuffer region, long regionOffset, int start, int end) {
+        int column = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end && column < AthleteResultCsvParser.COLUMN_COUNT; i++) {
+            if (i == end || region.get(i) == ',') {
+                indexField(row, column, region, regionOffset, fieldStart, i);
+                column++;
+                fieldStart = i + 1;
+            }
+        }
+    }
+
+    private void indexField(int row, int column, ByteBuffer region, long regionOffset, int start, int end) {
+        switch (column) {
+            case AthleteResultCsvParser.NAME_SURNAME:
+                setText(row, NAME_SURNAME_TEXT, regionOffset + start, end - start);
+                break;
+            case AthleteResultCsvParser.FENCING_VICTORIES:
+                fencingVictories[row] = parseInt(region, start, end, row, column);
+                break;
+            case AthleteResultCsvParser.SWIMMING_TIME:
+                setText(row, SWIMMING_TIME_TEXT, regionOffset + start, end - start);
+                swimmingTimes[row] = AthleteTimeParser.parseTenths(region, start, end);
+                break;
+            case AthleteResultCsvParser.FENCE_KNOCK_DOWN_COUNT:
+                fenceKnockDownCounts[row] = parseInt(region, start, end, row, column);
+                break;
+            case AthleteResultCsvParser.REFUSAL_TO_JUMP_COUNT:
+                refusalToJumpCounts[row] = parseInt(region, start, end, row, column);
+                break;
+            case AthleteResultCsvParser.OBSTACLE_KNOCK_DOWN_COUNT:
+                obstacleKnockDownCounts[row] = parseInt(region, start, end, row, column);
+                break;
+            case AthleteResultCsvParser.SHOOTING_TARGET_SCORE:
+                shootingTargetScores[row] = parseInt(region, start, end, row, column);
+                break;
+            default:
+                setText(row, RUN_TIME_TEXT, regionOffset + start, end - start);
+                runTimes[row] = AthleteTimeParser.parseTenths(region, start, end);
+                break;
+        }
+    }
+
+    /**
+     * Indexes row with quotes or escapes by decoding it and splitting it the same way the CSV parser does.
+     */
+    private void indexEscapedRow(int row, ByteBuffer region, int start, int end) throws IOException {
+        byte[] bytes = new byte[end - start];
+        ByteBuffer rowBytes = region.duplicate();
+        rowBytes.position(start);
+        rowBytes.get(bytes);
+
+        AthleteResultCsvCursor cursor = new AthleteResultCsvCursor(
+                new StringReader(new String(bytes, StandardCharsets.UTF_8)));
+        cursor.next();
+        int fieldCount = cursor.fieldCount();
+        if (fieldCount > AthleteResultCsvParser.NAME_SURNAME) {
+            setDecodedText(row, NAME_SURNAME_TEXT, cursor.text(AthleteResultCsvParser.NAME_SURNAME));
+        }
+        if (fieldCount > AthleteResultCsvParser.SWIMMING_TIME) {
+            String swimmingTime = cursor.text(AthleteResultCsvParser.SWIMMING_TIME);
+            setDecodedText(row, SWIMMING_TIME_TEXT, swimmingTime);
+            swimmingTimes[row] = AthleteTimeParser.parseTenths(swimmingTime);
+        }
+        if (fieldCount > AthleteResultCsvParser.RUN_TIME) {
+            String runTime = cursor.text(AthleteResultCsvParser.RUN_TIME);
+            setDecodedText(row, RUN_TIME_TEXT, runTime);
+            runTimes[row] = AthleteTimeParser.parseTenths(runTime);
+        }
+        fencingVictories[row] = intValue(cursor, AthleteResultCsvParser.FENCING_VICTORIES);
+        fenceKnockDownCounts[row] = intValue(cursor, AthleteResultCsvParser.FENCE_KNOCK_DOWN_COUNT);
+        refusalToJumpCounts[row] = intValue(cursor, AthleteResultCsvParser.REFUSAL_TO_JUMP_COUNT);
+        obstacleKnockDownCounts[row] = intValue(cursor, AthleteResultCsvParser.OBSTACLE_KNOCK_DOWN_COUNT);
+        shootingTargetScores[row] = intValue(cursor, AthleteResultCsvParser.SHOOTING_TARGET_SCORE);
+    }
+
+    private static int intValue(AthleteResultCsvCursor cursor, int field) {
+        if (cursor.fieldCount() <= field || cursor.isBlank(field)) {
+            return 0;
+        }
+        return cursor.intValue(field);
+    }
+
+    /**
+     * Parses integer column from bytes. Blank column is 0, as with OpenCSV.
+     */
+    private static int parseInt(ByteBuffer bytes, int start, int end, int row, int column) {
+        boolean blank = true;
+        for (int i = start; i < end && blank; i++) {
+            byte b = bytes.get(i);
+            blank = b >= 0 && Character.isWhitespace(b);
+        }
+        if (blank) {
+            return 0;
+        }
+        while (start < end && (bytes.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+
+        boolean negative = false;
+        int i = start;
+        if (bytes.get(i) == '-' || bytes.get(i) == '+') {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw invalidInteger(row, column);
+        }
+        final int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        for (; i < end; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10) {
+                throw invalidInteger(row, column);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidInteger(row, column);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static IllegalArgumentException invalidInteger(int row, int column) {
+        return new IllegalArgumentException("Row " + (row + 1) + ", column " + (column + 1) + ": not an integer");
+    }
+
+    private int addRow() {
+        if (size == fencingVictories.length) {
+            int capacity = size * 2;
+            fencingVictories = Arrays.copyOf(fencingVictories, capacity);
+            swimmingTimes = Arrays.copyOf(swimmingTimes, capacity);
+            fenceKnockDownCounts = Arrays.copyOf(fenceKnockDownCounts, capacity);
+            refusalToJumpCounts = Arrays.copyOf(refusalToJumpCounts, capacity);
+            obstacleKnockDownCounts = Arrays.copyOf(obstacleKnockDownCounts, capacity);
+            shootingTargetScores = Arrays.copyOf(shootingTargetScores, capacity);
+            runTimes = Arrays.copyOf(runTimes, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity * TEXTS_PER_ROW);
+            textLengths = Arrays.copyOf(textLengths, capacity * TEXTS_PER_ROW);
+        }
+        int row = size++;
+        swimmingTimes[row] = -1;
+        runTimes[row] = -1;
+        Arrays.fill(textLengths, row * TEXTS_PER_ROW, (row + 1) * TEXTS_PER_ROW, MISSING_TEXT);
+        return row;
+    }
+
+    private void setText(int row, int column, long offset, int length) {
+        textOffsets[row * TEXTS_PER_ROW + column] = offset;
+        textLengths[row * TEXTS_PER_ROW + column] = length;
+    }
+
+    private void setDecodedText(int row, int column, String text) {
+        textOffsets[row * TEXTS_PER_ROW + column] = decodedTexts.size();
+        textLengths[row * TEXTS_PER_ROW + column] = DECODED_TEXT;
+        decodedTexts.add(text);
+    }
+
+    /**
+     * Names and time texts of rows copied out of the mapped file, decoded from the copied bytes when they are read.
+     * Holds only the bytes and offsets of the texts, neither the mapped regions nor the numeric columns of the file.
+     */
+    private static final class RowTexts implements AthleteResultTable.TextSource {
+
+        private final byte[] bytes;
+
+        /**
+         * Offsets in the bytes, or indexes in decoded texts, and lengths of name, swimming time and run time of
+         * every row.
+         */
+        private final int[] offsets;
+
+        private final int[] lengths;
+
+        private final List<String> decodedTexts;
+
+        private RowTexts(byte[] bytes, int[] offsets, int[] lengths, List<String> decodedTexts) {
+            this.bytes = bytes;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.decodedTexts = decodedTexts;
+        }
+
+        @Override
+        public String getNameSurname(int row) {
+            return text(row, NAME_SURNAME_TEXT);
+        }
+
+        @Override
+        public String getSwimmingTimeText(int row) {
+            return text(row, SWIMMING_TIME_TEXT);
+        }
+
+        @Override
+        public String getRunTimeText(int row) {
+            return text(row, RUN_TIME_TEXT);
+        }
+
+        private String text(int row, int column) {
+            int index = row * TEXTS_PER_ROW + column;
+            int length = lengths[index];
+            if (length == MISSING_TEXT) {
+                return null;
+            }
+            if (length == DECODED_TEXT) {
+                return decodedTexts.get(offsets[index]);
+            }
+            return new String(bytes, offsets[index], length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,524 @@
+package com.arty.modernpentathloncompetition.ranking;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+import com.arty.modernpentathloncompetition.entity.AthleteCompetitionResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.SeasonRankingRow;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index of athlete results across all competitions of the season, built from scored leaderboards.
+ *
+ * <p>Every athlete and competition gets an int id, athletes are found by id of their name in the
+ * {@link AthleteNameDictionary} of the index, which is dropped with the index. Results are entries of primitive
+ * columns: athlete, competition, total points, place and concluding event time. Entries of one athlete are
+ * chained in the order competitions were indexed, and entries of one competition are a contiguous range. Season
+ * points and competition count are kept per athlete, and the season ranking is an array of athletes sorted by
+ * season points, so the top of the ranking and the history of an athlete are read without scanning other
+ * competitions.
+ *
+ * <p>Indexing a competition again replaces its results: the old range is left as dead entries, which are dropped
+ * once they outnumber live ones. Only athletes of the indexed competition move in the ranking, their sorted keys
+ * are merged into the rest of the ranking. Reads share a read lock, indexing takes the write lock.
+ */
+public class SeasonRankingIndex {
+
+    /**
+     * 'MPSR' in ASCII.
+     */
+    static final int MAGIC = 0x4D505352;
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AthleteNameDictionary names = new AthleteNameDictionary();
+
+    /**
+     * Athlete plus one by name id plus one, 0 if the name has no athlete. Grows with the name dictionary.
+     */
+    private int[] athletesByNameId = new int[DEFAULT_CAPACITY];
+
+    private int[] athleteNameIds = new int[DEFAULT_CAPACITY];
+
+    private int[] seasonPoints = new int[DEFAULT_CAPACITY];
+
+    private int[] competitionCounts = new int[DEFAULT_CAPACITY];
+
+    /**
+     * First and last live or dead entry of every athlete, -1 if athlete has no entries.
+     */
+    private int[] firstEntries = new int[DEFAULT_CAPACITY];
+
+    private int[] lastEntries = new int[DEFAULT_CAPACITY];
+
+    private int athleteCount;
+
+    private final Map<String, Integer> competitionIds = new HashMap<>();
+
+    private String[] competitionNames = new String[DEFAULT_CAPACITY];
+
+    /**
+     * Range of live entries of every competition, from inclusive and to exclusive.
+     */
+    private int[] competitionFromEntries = new int[DEFAULT_CAPACITY];
+
+    private int[] competitionToEntries = new int[DEFAULT_CAPACITY];
+
+    private int competitionCount;
+
+    private int[] entryAthletes = new int[DEFAULT_CAPACITY];
+
+    private int[] entryCompetitions = new int[DEFAULT_CAPACITY];
+
+    private int[] entryTotalPoints = new int[DEFAULT_CAPACITY];
+
+    /**
+     * Place number shifted left by one, lowest bit is set when place is shared.
+     */
+    private int[] entryPlaces = new int[DEFAULT_CAPACITY];
+
+    private int[] entryConcludingEventTimes = new int[DEFAULT_CAPACITY];
+
+    /**
+     * Next entry of the same athlete, -1 for the last one.
+     */
+    private int[] nextEntries = new int[DEFAULT_CAPACITY];
+
+    private int entryCount;
+
+    private int deadEntryCount;
+
+    /**
+     * Athletes with at least one competition, sorted by {@link #rankingKey(int)}.
+     */
+    private long[] ranking = new long[0];
+
+    /**
+     * Marks of athletes changed by the current update, an athlete is marked when its mark equals updateMark.
+     */
+    private int[] updateMarks = new int[DEFAULT_CAPACITY];
+
+    private int updateMark;
+
+    /**
+     * Method adds results of the competition to the index, replacing results of the competition if it was
+     * indexed before.
+     * @param competitionId id of the competition.
+     * @param leaderboard table of athletes with total points, concluding event times and places set.
+     */
+    public void indexCompetition(String competitionId, AthleteResultTable leaderboard) {
+        final int size = leaderboard.size();
+        int[] rowNameIds = new int[size];
+        int[] rowAthletes = new int[size];
+        int[] rowPlaces = new int[size];
+        for (int row = 0; row < size; row++) {
+            rowNameIds[row] = names.idOf(leaderboard.getNameSurname(row));
+            rowPlaces[row] = leaderboard.getPlaceNumber(row) << 1 | (leaderboard.isPlaceShared(row) ? 1 : 0);
+        }
+        lock.writeLock().lock();
+        try {
+            for (int row = 0; row < size; row++) {
+                rowAthletes[row] = athleteId(rowNameIds[row]);
+            }
+            int competition = competitionId(competitionId);
+            updateMark++;
+            removeEntries(competition);
+            ensureEntryCapacity(entryCount + size);
+            competitionFromEntries[competition] = entryCount;
+            for (int row = 0; row < size; row++) {
+                addEntry(rowAthletes[row], competition, leaderboard.getTotalPoints(row), rowPlaces[row],
+                        leaderboard.getConcludingEventTime(row));
+            }
+            competitionToEntries[competition] = entryCount;
+            updateRanking();
+            if (deadEntryCount > entryCount - deadEntryCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method returns the top of the season ranking.
+     * @param top amount of athletes.
+     * @return athletes ordered by season points, athletes with the same points are ordered as they were indexed
+     * and share the place.
+     */
+    public List<SeasonRankingRow> getSeasonRanking(int top) {
+        lock.readLock().lock();
+        try {
+            int count = Math.max(0, Math.min(top, ranking.length));
+            List<SeasonRankingRow> rows = new ArrayList<>(count);
+            int place = 1;
+            for (int position = 0; position < count; position++) {
+                int athlete = athlete(ranking[position]);
+                if (position > 0 && seasonPoints[athlete] != seasonPoints[athlete(ranking[position - 1])]) {
+                    place = position + 1;
+                }
+                rows.add(new SeasonRankingRow(place, names.nameOf(athleteNameIds[athlete]), seasonPoints[athlete],
+                        competitionCounts[athlete]));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method returns standing of the athlete in the season ranking.
+     * @param nameSurname name and surname of the athlete.
+     * @return standing, or null if athlete has no indexed competitions.
+     */
+    public SeasonRankingRow getSeasonRankingRow(String nameSurname) {
+        lock.readLock().lock();
+        try {
+            int athlete = athleteOf(nameSurname);
+            if (athlete < 0 || competitionCounts[athlete] == 0) {
+                return null;
+            }
+            // Key of the best possible athlete with the same points is the first one of them in the ranking.
+            int position = Arrays.binarySearch(ranking, rankingKey(athlete) & ~0xFFFFFFFFL);
+            int place = (position >= 0 ? position : -position - 1) + 1;
+            return new SeasonRankingRow(place, nameSurname, seasonPoints[athlete], competitionCounts[athlete]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method returns results of the athlete in every indexed competition.
+     * @param nameSurname name and surname of the athlete.
+     * @return results in the order competitions were indexed, empty if athlete is unknown.
+     */
+    public List<AthleteCompetitionResult> getAthleteHistory(String nameSurname) {
+        lock.readLock().lock();
+        try {
+            int athlete = athleteOf(nameSurname);
+            if (athlete < 0) {
+                return Collections.emptyList();
+            }
+            List<AthleteCompetitionResult> history = new ArrayList<>(competitionCounts[athlete]);
+            for (int entry = firstEntries[athlete]; entry >= 0; entry = nextEntries[entry]) {
+                if (isLive(entry)) {
+                    int place = entryPlaces[entry] >>> 1;
+                    history.add(new AthleteCompetitionResult(competitionNames[entryCompetitions[entry]],
+                            place == 0 ? null : (entryPlaces[entry] & 1) != 0 ? place + "/" + (place + 1)
+                                    : String.valueOf(place),
+                            entryTotalPoints[entry], entryConcludingEventTimes[entry]));
+                }
+            }
+            return history;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return amount of athletes in the season ranking.
+     */
+    public int getRankedAthleteCount() {
+        lock.readLock().lock();
+        try {
+            return ranking.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getCompetitionCount() {
+        lock.readLock().lock();
+        try {
+            return competitionCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method writes the index to a file, replacing the file if it exists.
+     *
+     * <p>Format, all ints big-endian: magic 'MPSR', format version, athlete count, every athlete name as
+     * modified UTF-8, competition count; then every competition as its id, entry count and entries of
+     * 5 ints: athlete id, total points, place number, 1 if place is shared, concluding event time.
+     * @param path index file.
+     * @throws IOException when file can not be written.
+     */
+    public void write(Path path) throws IOException {
+        lock.readLock().lock();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path),
+                64 * 1024))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(athleteCount);
+            for (int athlete = 0; athlete < athleteCount; athlete++) {
+                output.writeUTF(names.nameOf(athleteNameIds[athlete]));
+            }
+            output.writeInt(competitionCount);
+            for (int competition = 0; competition < competitionCount; competition++) {
+                output.writeUTF(competitionNames[competition]);
+                output.writeInt(competitionToEntries[competition] - competitionFromEntries[competition]);
+                for (int entry = competitionFromEntries[competition]; entry < competitionToEntries[competition];
+                     entry++) {
+                    output.writeInt(entryAthletes[entry]);
+                    output.writeInt(entryTotalPoints[entry]);
+                    output.writeInt(entryPlaces[entry] >>> 1);
+                    output.writeInt(entryPlaces[entry] & 1);
+                    output.writeInt(entryConcludingEventTimes[entry]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method reads index written by {@link #write(Path)}.
+     * @param path index file.
+     * @return index with the same athletes, competitions and ranking.
+     * @throws IOException when file can not be read or is not an index.
+     */
+    public static SeasonRankingIndex read(Path path) throws IOException {
+        SeasonRankingIndex index = new SeasonRankingIndex();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path),
+                64 * 1024))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a season ranking index: " + path);
+            }
+            int athleteCount = input.readInt();
+            for (int athlete = 0; athlete < athleteCount; athlete++) {
+                index.athleteId(index.names.idOf(input.readUTF()));
+            }
+            int competitionCount = input.readInt();
+            for (int competition = 0; competition < competitionCount; competition++) {
+                index.competitionId(input.readUTF());
+                int size = input.readInt();
+                index.ensureEntryCapacity(index.entryCount + size);
+                index.competitionFromEntries[competition] = index.entryCount;
+                for (int entry = 0; entry < size; entry++) {
+                    int athlete = input.readInt();
+                    if (athlete < 0 || athlete >= athleteCount) {
+                        throw new IOException("Unknown athlete " + athlete + " in " + path);
+                    }
+                    int totalPoints = input.readInt();
+                    int place = input.readInt() << 1 | input.readInt();
+                    index.addEntry(athlete, competition, totalPoints, place, input.readInt());
+                }
+                index.competitionToEntries[competition] = index.entryCount;
+            }
+        }
+        index.updateMark++;
+        for (int athlete = 0; athlete < index.athleteCount; athlete++) {
+            index.updateMarks[athlete] = index.updateMark;
+        }
+        index.updateRanking();
+        return index;
+    }
+
+    /**
+     * @return athlete with the name, -1 if there is none.
+     */
+    private int athleteOf(String nameSurname) {
+        int nameId = names.find(nameSurname);
+        if (nameId == AthleteNameDictionary.NO_NAME && nameSurname != null) {
+            return -1;
+        }
+        return nameId + 1 < athletesByNameId.length ? athletesByNameId[nameId + 1] - 1 : -1;
+    }
+
+    private int athleteId(int nameId) {
+        if (nameId + 1 >= athletesByNameId.length) {
+            int capacity = Math.max(athletesByNameId.length * 2, Math.max(nameId + 2, names.size() + 1));
+            athletesByNameId = Arrays.copyOf(athletesByNameId, capacity);
+        }
+        if (athletesByNameId[nameId + 1] != 0) {
+            return athletesByNameId[nameId + 1] - 1;
+        }
+        if (athleteCount == athleteNameIds.length) {
+            int capacity = athleteCount * 2;
+            athleteNameIds = Arrays.copyOf(athleteNameIds, capacity);
+            seasonPoints = Arrays.copyOf(seasonPoints, capacity);
+            competitionCounts = Arrays.copyOf(competitionCounts, capacity);
+            firstEntries = Arrays.copyOf(firstEntries, capacity);
+            lastEntries = Arrays.copyOf(lastEntries, capacity);
+            updateMarks = Arrays.copyOf(updateMarks, capacity);
+        }
+        athleteNameIds[athleteCount] = nameId;
+        firstEntries[athleteCount] = -1;
+        lastEntries[athleteCount] = -1;
+        athletesByNameId[nameId + 1] = athleteCount + 1;
+        return athleteCount++;
+    }
+
+    private int competitionId(String competitionId) {
+        Integer competition = competitionIds.get(competitionId);
+        if (competition != null) {
+            return competition;
+        }
+        if (competitionCount == competitionNames.length) {
+            int capacity = competitionCount * 2;
+            competitionNames = Arrays.copyOf(competitionNames, capacity);
+            competitionFromEntries = Arrays.copyOf(competitionFromEntries, capacity);
+            competitionToEntries = Arrays.copyOf(competitionToEntries, capacity);
+        }
+        competitionNames[competitionCount] = competitionId;
+        competitionIds.put(competitionId, competitionCount);
+        return competitionCount++;
+    }
+
+    private void ensureEntryCapacity(int capacity) {
+        if (capacity > entryAthletes.length) {
+            int newCapacity = Math.max(capacity, entryAthletes.length * 2);
+            entryAthletes = Arrays.copyOf(entryAthletes, newCapacity);
+            entryCompetitions = Arrays.copyOf(entryCompetitions, newCapacity);
+            entryTotalPoints = Arrays.copyOf(entryTotalPoints, newCapacity);
+            entryPlaces = Arrays.copyOf(entryPlaces, newCapacity);
+            entryConcludingEventTimes = Arrays.copyOf(entryConcludingEventTimes, newCapacity);
+            nextEntries = Arrays.copyOf(nextEntries, newCapacity);
+        }
+    }
+
+    /**
+     * Method appends entry, chains it to the athlete and marks the athlete as changed.
+     */
+    private void addEntry(int athlete, int competition, int totalPoints, int place, int concludingEventTime) {
+        int entry = entryCount++;
+        entryAthletes[entry] = athlete;
+        entryCompetitions[entry] = competition;
+        entryTotalPoints[entry] = totalPoints;
+        entryPlaces[entry] = place;
+        entryConcludingEventTimes[entry] = concludingEventTime;
+        nextEntries[entry] = -1;
+        if (lastEntries[athlete] < 0) {
+            firstEntries[athlete] = entry;
+        } else {
+            nextEntries[lastEntries[athlete]] = entry;
+        }
+        lastEntries[athlete] = entry;
+        seasonPoints[athlete] += totalPoints;
+        competitionCounts[athlete]++;
+        updateMarks[athlete] = updateMark;
+    }
+
+    /**
+     * Method takes live entries of the competition out of season points, entries stay in chains as dead ones.
+     */
+    private void removeEntries(int competition) {
+        for (int entry = competitionFromEntries[competition]; entry < competitionToEntries[competition]; entry++) {
+            int athlete = entryAthletes[entry];
+            seasonPoints[athlete] -= entryTotalPoints[entry];
+            competitionCounts[athlete]--;
+            updateMarks[athlete] = updateMark;
+        }
+        deadEntryCount += competitionToEntries[competition] - competitionFromEntries[competition];
+        competitionFromEntries[competition] = 0;
+        competitionToEntries[competition] = 0;
+    }
+
+    private boolean isLive(int entry) {
+        int competition = entryCompetitions[entry];
+        return entry >= competitionFromEntries[competition] && entry < competitionToEntries[competition];
+    }
+
+    /**
+     * Method moves athletes changed by the current update to their new positions in the ranking: unchanged
+     * athletes keep their order, changed ones are sorted and merged into them.
+     */
+    private void updateRanking() {
+        long[] changed = new long[athleteCount];
+        int changedCount = 0;
+        for (int athlete = 0; athlete < athleteCount; athlete++) {
+            if (updateMarks[athlete] == updateMark && competitionCounts[athlete] > 0) {
+                changed[changedCount++] = rankingKey(athlete);
+            }
+        }
+        Arrays.sort(changed, 0, changedCount);
+
+        long[] unchanged = ranking;
+        long[] merged = new long[unchanged.length + changedCount];
+        int size = 0;
+        int changedPosition = 0;
+        for (long key : unchanged) {
+            if (updateMarks[athlete(key)] == updateMark) {
+                continue;
+            }
+            while (changedPosition < changedCount && changed[changedPosition] < key) {
+                merged[size++] = changed[changedPosition++];
+            }
+            merged[size++] = key;
+        }
+        while (changedPosition < changedCount) {
+            merged[size++] = changed[changedPosition++];
+        }
+        ranking = size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Method drops dead entries, keeping live ones in their order.
+     */
+    private void compact() {
+        int[] newEntries = new int[entryCount];
+        int liveCount = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (isLive(entry)) {
+                newEntries[entry] = liveCount;
+                entryAthletes[liveCount] = entryAthletes[entry];
+                entryCompetitions[liveCount] = entryCompetitions[entry];
+                entryTotalPoints[liveCount] = entryTotalPoints[entry];
+                entryPlaces[liveCount] = entryPlaces[entry];
+                entryConcludingEventTimes[liveCount] = entryConcludingEventTimes[entry];
+                liveCount++;
+            }
+        }
+        for (int competition = 0; competition < competitionCount; competition++) {
+            if (competitionToEntries[competition] > competitionFromEntries[competition]) {
+                competitionFromEntries[competition] = newEntries[competitionFromEntries[competition]];
+                competitionToEntries[competition] = newEntries[competitionToEntries[competition] - 1] + 1;
+            }
+        }
+        Arrays.fill(firstEntries, 0, athleteCount, -1);
+        Arrays.fill(lastEntries, 0, athleteCount, -1);
+        for (int entry = 0; entry < liveCount; entry++) {
+            int athlete = entryAthletes[entry];
+            nextEntries[entry] = -1;
+            if (lastEntries[athlete] < 0) {
+                firstEntries[athlete] = entry;
+            } else {
+                nextEntries[lastEntries[athlete]] = entry;
+            }
+            lastEntries[athlete] = entry;
+        }
+        entryCount = liveCount;
+        deadEntryCount = 0;
+    }
+
+    /**
+     * Key orders athletes by season points descending, then by id: inverted points are the high int and athlete
+     * id is the low int.
+     */
+    private long rankingKey(int athlete) {
+        return (long) ~seasonPoints[athlete] << 32 | athlete;
+    }
+
+    private static int athlete(long rankingKey) {
+        return (int) rankingKey;
+    }
+}
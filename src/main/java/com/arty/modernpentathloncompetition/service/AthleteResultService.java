@@ -2,7 +2,11 @@ package com.arty.modernpentathloncompetition.service;
 
 import com.arty.modernpentathloncompetition.entity.AthleteResult;
 import com.arty.modernpentathloncompetition.entity.AthleteResultOutput;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.ScoringContext;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface AthleteResultService {
@@ -13,12 +17,72 @@ public interface AthleteResultService {
      */
     List<AthleteResult> generateAthleteResultsFromCsv(String filePath);
 
+    /**
+     * Method reads athlete results from memory-mapped csv file, calculates their total points and concluding event
+     * time and returns them sorted according to concluding event time. Numbers and times are parsed straight from
+     * file bytes, names and time texts are decoded only when output athlete results are created.
+     * @param filePath path to csv file.
+     * @return sorted list of athlete results prepared for output, empty if file can not be read.
+     */
+    List<AthleteResultOutput> generateAthleteResultsForOutputFromMappedCsv(String filePath);
+
+    /**
+     * Method reads athlete results from csv file straight into columnar table, without creating athlete result
+     * beans. File is read through memory mapping when ingestion mode is 'mapped': bytes of names and time texts
+     * are then copied to the heap and decoded only for rows which are written out, and the file is not kept
+     * mapped.
+     * @param filePath path to csv file.
+     * @return table of athlete results, empty if file can not be read.
+     */
+    AthleteResultTable generateAthleteResultTableFromCsv(String filePath);
+
     /**
      * Method generates athlete leaderboard and returns it to the console.
      * @return leaderboard presented as string.
      */
     String generateAthleteLeaderboard();
 
+    /**
+     * Method reads athlete results of the configured file, scores, sorts and places them. Leaderboard snapshot
+     * file, see {@link #writeAthleteLeaderboardSnapshot(AthleteResultTable, String)}, is read as it is.
+     * @return table of athletes sorted by concluding event time with places set.
+     */
+    AthleteResultTable generateAthleteLeaderboardTable();
+
+    /**
+     * Method reads athlete results of the given file, scores, sorts and places them. Scoring state belongs to the
+     * call only, so leaderboards of different files can be generated concurrently. Leaderboard snapshot file is
+     * read as it is, without parsing and scoring.
+     * @param filePath path to csv file or leaderboard snapshot file.
+     * @return table of athletes sorted by concluding event time with places set.
+     */
+    AthleteResultTable generateAthleteLeaderboardTable(String filePath);
+
+    /**
+     * Method reads athlete results of the configured file, scores them and determines only the top of leaderboard,
+     * without sorting all athletes.
+     * @param top amount of athletes at the top of leaderboard.
+     * @return table of at most 'top' best athletes sorted by concluding event time with places set.
+     */
+    AthleteResultTable generateAthleteLeaderboardTable(int top);
+
+    /**
+     * Method creates scoring state of a competition: the current scoring rules and fencing target of the amount of
+     * athletes. Rules switched later do not affect the context.
+     * @param athleteCount amount of athletes in the competition.
+     * @return scoring context.
+     */
+    ScoringContext createScoringContext(int athleteCount);
+
+    /**
+     * Method writes ranked leaderboard to binary snapshot file, which is read back without parsing text. Files are
+     * recognized as snapshots by name ending with '.snapshot'.
+     * @param leaderboard table of athletes sorted by concluding event time with places set.
+     * @param snapshotPath path to snapshot file, it is replaced if it exists.
+     * @throws IOException when file can not be written.
+     */
+    void writeAthleteLeaderboardSnapshot(AthleteResultTable leaderboard, String snapshotPath) throws IOException;
+
     /**
      * Method calculates total points of Athletes.
      * @param athleteResults participating athletes.
@@ -26,6 +90,13 @@ public interface AthleteResultService {
      */
     List<AthleteResult> calculateTotalPointsOfAthletes(List<AthleteResult> athleteResults);
 
+    /**
+     * Method calculates total points of athletes stored in table.
+     * @param athleteResultTable table of participating athletes.
+     * @return the same table with calculated total points.
+     */
+    AthleteResultTable calculateTotalPointsOfAthletes(AthleteResultTable athleteResultTable);
+
     /**
      * Method calculates athletes fencing score that is dependant on fencing victories count and total games played.
      * @param winRateFor1000Points victories count to reach 1000 points.
@@ -68,7 +139,7 @@ public interface AthleteResultService {
     double calculateWinRate(int winCount, int totalGames);
 
     /**
-     * Method calculates how many fencing wins athlete must get to have 70% win rate.
+     * Method calculates how many fencing wins athlete must get to have 70% win rate, in constant time.
      * @param gamesCount total games played by athlete
      * @return wins count
      */
@@ -90,14 +161,61 @@ public interface AthleteResultService {
     List<AthleteResultOutput> countConcludingEventTimeAndSortAccordingToIt(List<AthleteResult> athleteResults);
 
     /**
-     * Method determines which place got every single athlete.
+     * Method calculates concluding event time for athletes stored in table and rearranges rows according to it.
+     * Athletes with equal concluding event time are ordered by total points descending, then by original order.
+     * @param athleteResultTable table of athletes with calculated total points.
+     * @return the same table sorted according to concluding event time.
+     */
+    AthleteResultTable countConcludingEventTimeAndSortAccordingToIt(AthleteResultTable athleteResultTable);
+
+    /**
+     * Method calculates concluding event time for athletes stored in table and selects the best of them with
+     * a bounded heap, so only selected athletes are sorted and placed. Rows and places are the same as the first
+     * rows of the full leaderboard, including place shared with athletes left below the top.
+     * @param athleteResultTable table of athletes with calculated total points.
+     * @param top amount of athletes to select.
+     * @return new table of at most 'top' best athletes sorted by concluding event time with places set.
+     */
+    AthleteResultTable countConcludingEventTimeAndDetermineTopPlaces(AthleteResultTable athleteResultTable, int top);
+
+    /**
+     * Method determines which place got every single athlete. Athletes with equal concluding event time share
+     * place of format 'p/p+1', and the next athlete gets place p+2.
+     * @param athleteResultsForOutput athlete results sorted by concluding event time.
+     * @return the same list with places set.
      */
     List<AthleteResultOutput> determinePlaceForEachAthlete(List<AthleteResultOutput> athleteResultsForOutput);
 
+    /**
+     * Method determines which place got every athlete stored in table, by the same rules as
+     * {@link #determinePlaceForEachAthlete(List)}.
+     * @param athleteResultTable table of athletes sorted by concluding event time.
+     * @return the same table with places set.
+     */
+    AthleteResultTable determinePlaceForEachAthlete(AthleteResultTable athleteResultTable);
+
     /**
      * Method prepares list of athletes grouped to places and outputs them as string (CSV).
      * @param athleteResultsForOutput list of athlete results sorted by concluding event time.
      * @return leaderboard as string (CSV)
      */
     String generateFinalLeaderboardList(List<AthleteResultOutput> athleteResultsForOutput);
+
+    /**
+     * Method outputs athletes stored in table as string (CSV) in the same format as
+     * {@link #generateFinalLeaderboardList(List)}.
+     * @param athleteResultTable table of athletes sorted by concluding event time with places set.
+     * @return leaderboard as string (CSV)
+     */
+    String generateFinalLeaderboardList(AthleteResultTable athleteResultTable);
+
+    /**
+     * Method writes athletes stored in table to the stream as UTF-8 encoded CSV in the same format as
+     * {@link #generateFinalLeaderboardList(List)}, row by row, without building the whole leaderboard in memory.
+     * @param athleteResultTable table of athletes sorted by concluding event time with places set.
+     * @param outputStream stream the leaderboard is written to, it is flushed but not closed.
+     * @throws IOException when writing to the stream fails.
+     */
+    void writeFinalLeaderboardList(AthleteResultTable athleteResultTable, OutputStream outputStream)
+            throws IOException;
 }
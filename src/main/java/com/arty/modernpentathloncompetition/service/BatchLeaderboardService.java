@@ -0,0 +1,32 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.BatchLeaderboardReport;
+
+import java.util.List;
+
+public interface BatchLeaderboardService {
+
+    /**
+     * Method generates leaderboard of every results file and writes each of them to the output directory as
+     * '&lt;file name&gt;-leaderboard.csv'. Files are processed in parallel by a bounded pool, and the calling thread
+     * processes files itself when the pool is busy. Paths are relative to the batch root directory and must not
+     * leave it. Every leaderboard is added to the season ranking as competition of its results file.
+     * @param resultFiles results files, csv or snapshot.
+     * @param outputDirectory directory leaderboards are written to, it is created if missing.
+     * @return amount of processed files and athletes, failed files and throughput.
+     * @throws IllegalArgumentException when a path is outside of the batch root directory, or two results files
+     * have the same name without extension, ignoring case, so their leaderboards would be written to one file.
+     */
+    BatchLeaderboardReport generateLeaderboards(List<String> resultFiles, String outputDirectory);
+
+    /**
+     * Method generates leaderboards of all csv and snapshot files of the directory, see
+     * {@link #generateLeaderboards(List, String)}.
+     * @param resultsDirectory directory of results files.
+     * @param outputDirectory directory leaderboards are written to, it is created if missing.
+     * @return amount of processed files and athletes, failed files and throughput.
+     * @throws IllegalArgumentException when a path is outside of the batch root directory, directory can not be
+     * listed, or two results files have the same name without extension, ignoring case.
+     */
+    BatchLeaderboardReport generateLeaderboardsOfDirectory(String resultsDirectory, String outputDirectory);
+}
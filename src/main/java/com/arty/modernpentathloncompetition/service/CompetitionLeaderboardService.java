@@ -0,0 +1,33 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public interface CompetitionLeaderboardService {
+
+    /**
+     * Method registers competition with its own results file, or replaces results file of registered competition.
+     * @param competitionId id of the competition, e.g. 'juniors'.
+     * @param filePath path to csv file of the competition.
+     */
+    void registerCompetition(String competitionId, String filePath);
+
+    /**
+     * Method returns ids of registered competitions.
+     * @return sorted ids of competitions.
+     */
+    Set<String> getCompetitionIds();
+
+    /**
+     * Method returns leaderboard of the competition. Leaderboard is computed on a bounded executor only when
+     * results file of the competition changed, and concurrent requests of the same competition share one
+     * computation. Leaderboards of different competitions are computed concurrently.
+     * @param competitionId id of the competition.
+     * @return future of table of athletes sorted by concluding event time with places set, the table must not be
+     * modified. Future fails with {@link java.util.concurrent.RejectedExecutionException} when executor is full.
+     * @throws IllegalArgumentException when competition is not registered.
+     */
+    CompletableFuture<AthleteResultTable> getLeaderboard(String competitionId);
+}
@@ -0,0 +1,34 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.FinishingPlaceProbabilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface FinishingPlaceSimulationService {
+
+    /**
+     * Method simulates the concluding laser-run of the leaderboard many times with random run times.
+     * @param leaderboard table of athletes sorted by concluding event time.
+     * @param iterations amount of simulated laser-runs.
+     * @param places amount of the first places to count.
+     * @param seed seed of random run times, the same seed gives the same probabilities.
+     * @return how often every athlete of the leaderboard finished at each of the first places.
+     */
+    FinishingPlaceProbabilities simulateFinishingPlaces(AthleteResultTable leaderboard, long iterations, int places,
+                                                        long seed);
+
+    /**
+     * Method simulates the concluding laser-run of leaderboard of the configured results file and writes
+     * probabilities as UTF-8 encoded CSV, one row per athlete in leaderboard order: current place, name, probability
+     * of every counted place and probability of finishing on the podium.
+     * @param outputStream stream probabilities are written to, it is flushed but not closed.
+     * @param iterations amount of simulated laser-runs.
+     * @param places amount of the first places to count.
+     * @param seed seed of random run times.
+     * @throws IOException when writing to the stream fails.
+     */
+    void writeFinishingPlaceProbabilities(OutputStream outputStream, long iterations, int places, long seed)
+            throws IOException;
+}
@@ -0,0 +1,86 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+
+public interface LeaderboardCacheService {
+
+    /**
+     * Method returns leaderboard of the configured results file. Leaderboard is computed only when the results file
+     * changed since the last computation, otherwise precomputed leaderboard is returned.
+     * @return table of athletes sorted by concluding event time with places set. It is shared between requests
+     * and must not be modified.
+     */
+    AthleteResultTable getLeaderboard();
+
+    /**
+     * Method returns leaderboard of the configured results file without blocking the calling thread. Up to date
+     * cached leaderboard is returned as completed future, otherwise concurrent requests for the same state of the
+     * results file share one computation.
+     * @return leaderboard, shared between requests and must not be modified. Completes exceptionally with
+     * {@link java.util.concurrent.RejectedExecutionException} when too many leaderboards are being computed.
+     */
+    CompletableFuture<AthleteResultTable> getLeaderboardAsync();
+
+    /**
+     * Method writes leaderboard of the configured results file to the stream as UTF-8 encoded CSV. Cached
+     * leaderboard is written as the bytes it was encoded to when it was cached.
+     * @param outputStream stream the leaderboard is written to, it is flushed but not closed.
+     * @throws IOException when writing to the stream fails.
+     */
+    void writeLeaderboard(OutputStream outputStream) throws IOException;
+
+    /**
+     * Method returns the top of leaderboard of the configured results file without blocking the calling thread.
+     * Up to date cached leaderboard, or the computation in progress, is returned as it is. Otherwise only the top
+     * athletes are selected with a bounded heap, sorted and placed, and nothing is cached.
+     * @param top amount of athletes at the top of leaderboard.
+     * @return leaderboard whose first 'top' rows are the top of leaderboard, shared between requests and must not
+     * be modified. Completes exceptionally with {@link java.util.concurrent.RejectedExecutionException} when too
+     * many leaderboards are being computed.
+     */
+    CompletableFuture<AthleteResultTable> getLeaderboardAsync(int top);
+
+    /**
+     * Method writes the top of the given leaderboard to the stream as UTF-8 encoded CSV. When leaderboard is the
+     * cached one, the first rows of the bytes it was encoded to when it was cached are written.
+     * @param leaderboard table of athletes sorted by concluding event time with places set.
+     * @param outputStream stream the leaderboard is written to, it is flushed but not closed.
+     * @param top amount of athletes at the top of leaderboard.
+     * @throws IOException when writing to the stream fails.
+     */
+    void writeLeaderboard(AthleteResultTable leaderboard, OutputStream outputStream, int top) throws IOException;
+
+    /**
+     * Method puts leaderboard obtained elsewhere, e.g. read from snapshot, into the cache as leaderboard of the
+     * current state of the results file.
+     * @param leaderboard table of athletes sorted by concluding event time with places set.
+     */
+    void preload(AthleteResultTable leaderboard);
+
+    /**
+     * Method returns time from JVM start until the first leaderboard was available.
+     * @return time in milliseconds, -1 if no leaderboard was available yet.
+     */
+    long getTimeToFirstLeaderboardMillis();
+
+    /**
+     * Method drops cached leaderboard, so the next request computes it again.
+     */
+    void invalidate();
+
+    /**
+     * Method returns how many requests were served from the cache.
+     * @return cache hit count.
+     */
+    long getHitCount();
+
+    /**
+     * Method returns how many requests had to compute the leaderboard.
+     * @return cache miss count.
+     */
+    long getMissCount();
+}
@@ -0,0 +1,19 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.LeaderboardDelta;
+
+import java.io.IOException;
+
+/**
+ * Subscriber of live leaderboard changes.
+ */
+@FunctionalInterface
+public interface LeaderboardDeltaListener {
+
+    /**
+     * Method delivers change of leaderboard to the subscriber. Calls for one subscriber never overlap.
+     * @param delta changed rows of leaderboard.
+     * @throws IOException when delivery fails, subscriber is removed then.
+     */
+    void onDelta(LeaderboardDelta delta) throws IOException;
+}
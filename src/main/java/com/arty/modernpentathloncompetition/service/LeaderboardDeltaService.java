@@ -0,0 +1,30 @@
+package com.arty.modernpentathloncompetition.service;
+
+public interface LeaderboardDeltaService {
+
+    /**
+     * Method subscribes to changes of live leaderboard. The first delta sent to the subscriber is a snapshot of
+     * the whole leaderboard, the next ones contain only changed rows. Changes not delivered yet to a slow subscriber
+     * are coalesced, and replaced by a snapshot when too many rows are pending.
+     * @param listener subscriber.
+     */
+    void subscribe(LeaderboardDeltaListener listener);
+
+    /**
+     * Method removes subscriber, pending changes of it are dropped.
+     * @param listener subscriber.
+     */
+    void unsubscribe(LeaderboardDeltaListener listener);
+
+    /**
+     * Method compares live leaderboard with the last published one and queues changed rows to every subscriber.
+     * It is called periodically, so bursts of result updates are published as one change.
+     */
+    void publishChanges();
+
+    /**
+     * Method returns amount of current subscribers.
+     * @return amount of subscribers.
+     */
+    int getSubscriberCount();
+}
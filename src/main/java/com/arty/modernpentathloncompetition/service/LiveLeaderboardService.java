@@ -0,0 +1,49 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface LiveLeaderboardService {
+
+    /**
+     * Method replaces all athletes of live leaderboard. Until it is called, athletes of the configured results file
+     * are loaded on first use. When result storage is enabled, loaded athletes replace logged results and their
+     * snapshot is written at once.
+     * @param athleteResultTable table of athletes in the order of the results file.
+     */
+    void load(AthleteResultTable athleteResultTable);
+
+    /**
+     * Method updates result of one event of the athlete. Updates of many threads are taken at the same time, and
+     * the athlete is re-scored when the leaderboard is read next. Unknown athlete is added to the leaderboard,
+     * which changes fencing target of everyone and so re-scores all athletes.
+     * @param nameSurname athlete's name and surname.
+     * @param event event the result belongs to.
+     * @param result result as text, format depends on the event.
+     * @throws IllegalArgumentException when result has wrong format.
+     */
+    void updateResult(String nameSurname, AthleteEvent event, String result);
+
+    /**
+     * Method returns current live leaderboard. It is the same as leaderboard generated from scratch of the same
+     * results.
+     * @return new table of athletes sorted by concluding event time with places set.
+     */
+    AthleteResultTable getLeaderboard();
+
+    /**
+     * Method writes current live leaderboard to the stream as UTF-8 encoded CSV.
+     * @param outputStream stream the leaderboard is written to, it is flushed but not closed.
+     * @throws IOException when writing to the stream fails.
+     */
+    void writeLeaderboard(OutputStream outputStream) throws IOException;
+
+    /**
+     * Method returns version of live leaderboard, which grows with every change of results.
+     * @return version of live leaderboard.
+     */
+    long getVersion();
+}
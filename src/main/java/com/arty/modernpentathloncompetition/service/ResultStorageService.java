@@ -0,0 +1,56 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.storage.ResultEventLog;
+
+public interface ResultStorageService {
+
+    /**
+     * @return true if storage directory is configured, otherwise the other methods do nothing.
+     */
+    boolean isEnabled();
+
+    /**
+     * Method reads the latest snapshot of results.
+     * @return scored athletes in order of arrival, or null if there is no readable snapshot.
+     */
+    AthleteResultTable readLatestSnapshot();
+
+    /**
+     * Method replays logged events which came after the latest snapshot read by {@link #readLatestSnapshot()},
+     * and opens the log for appends.
+     * @param replayer receiver of events in order they were logged.
+     * @return amount of replayed events.
+     * @throws java.io.UncheckedIOException when log can not be read.
+     */
+    long recover(ResultEventLog.Replayer replayer);
+
+    /**
+     * Method appends result event to the log. The caller must apply events in the order they are appended.
+     * @param nameSurname athlete's name and surname.
+     * @param event event the result belongs to.
+     * @param result result as text.
+     * @throws java.io.UncheckedIOException when event can not be written.
+     */
+    void append(String nameSurname, AthleteEvent event, String result);
+
+    /**
+     * @return true if there is no snapshot yet, or enough events were logged since the last one.
+     */
+    boolean isSnapshotDue();
+
+    /**
+     * Method starts a new log segment for events after the snapshot. It must be called while no events are
+     * appended, i.e. under the same lock as appends.
+     * @return sequence of the last event included in the snapshot.
+     */
+    long startSnapshot();
+
+    /**
+     * Method writes snapshot of results, then deletes older snapshots and log segments it covers.
+     * @param results scored athletes in order of arrival.
+     * @param sequence sequence returned by {@link #startSnapshot()}.
+     */
+    void writeSnapshot(AthleteResultTable results, long sequence);
+}
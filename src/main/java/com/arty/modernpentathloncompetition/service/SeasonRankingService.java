@@ -0,0 +1,42 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteCompetitionResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.SeasonRankingRow;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface SeasonRankingService {
+
+    /**
+     * Method adds scored results of the competition to the season ranking, replacing results the competition had.
+     * Competition is identified by its results file, so the same file scored by the competition registry and by
+     * a batch is one competition.
+     * @param resultsFile results file the leaderboard was generated from.
+     * @param leaderboard table of athletes with total points, concluding event times and places set.
+     */
+    void indexCompetition(Path resultsFile, AthleteResultTable leaderboard);
+
+    /**
+     * Method returns the top of the season ranking.
+     * @param top amount of athletes.
+     * @return athletes ordered by sum of total points of their competitions, athletes with the same points share
+     * the place.
+     */
+    List<SeasonRankingRow> getSeasonRanking(int top);
+
+    /**
+     * Method returns standing of the athlete in the season ranking.
+     * @param nameSurname name and surname of the athlete.
+     * @return standing, or null if athlete has no indexed competitions.
+     */
+    SeasonRankingRow getSeasonRankingRow(String nameSurname);
+
+    /**
+     * Method returns results of the athlete in every indexed competition.
+     * @param nameSurname name and surname of the athlete.
+     * @return results in the order competitions were indexed, empty if athlete is unknown.
+     */
+    List<AthleteCompetitionResult> getAthleteHistory(String nameSurname);
+}
@@ -2,95 +2,107 @@ package com.arty.modernpentathloncompetition.service.implementation;
 
 import com.arty.modernpentathloncompetition.entity.AthleteResult;
 import com.arty.modernpentathloncompetition.entity.AthleteResultOutput;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.ScoringContext;
+import com.arty.modernpentathloncompetition.entity.ScoringRules;
+import com.arty.modernpentathloncompetition.metrics.LeaderboardPipelineMetrics;
+import com.arty.modernpentathloncompetition.metrics.LeaderboardPipelineMetrics.Stage;
+import com.arty.modernpentathloncompetition.parser.AthleteResultCsvParser;
+import com.arty.modernpentathloncompetition.parser.AthleteTimeParser;
+import com.arty.modernpentathloncompetition.parser.MappedAthleteResultFile;
 import com.arty.modernpentathloncompetition.service.AthleteResultService;
+import com.arty.modernpentathloncompetition.snapshot.AthleteResultSnapshot;
+import com.arty.modernpentathloncompetition.writer.LeaderboardCsvWriter;
 
-import com.opencsv.bean.ColumnPositionMappingStrategy;
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 @Service
+@Lazy(false)
 public class AthleteResultServiceImpl implements AthleteResultService {
 
     /**
-     * Constant that determines at what win rate percent athlete gets pre-determined points.
-     * Used for fencing competition.
+     * Ingestion mode which reads results file through memory mapping.
      */
-    static final int FENCING_WIN_RATE_PERCENT = 70;
+    static final String INGESTION_MODE_MAPPED = "mapped";
 
     /**
-     * Target score points.
-     */
-    static final int TARGET_SCORE_POINTS = 1000;
-
-    /**
-     * Amount of points athlete gets added or subtracted when he exceeds or does not reach pre-determined win-rate.
-     * Used for fencing competition.
-     */
-    static final int FENCING_VARIABLE_POINTS = 40;
-
-    /**
-     * Amount of points athlete gets added or subtracted when he exceeds or does not reach pre-determined target score.
-     * Used for shooting competition.
+     * File path.
      */
-    static final int SHOOTING_VARIABLE_POINTS = 12;
+    @Value("${csv_file_path}")
+    private String FILE_PATH;
 
     /**
-     * Amount of points athlete gets added or subtracted when he exceeds or does not reach pre-determined target score.
-     * Used for swimming competition.
+     * How results file is read: 'buffered' parses it as text, 'mapped' parses memory-mapped bytes.
      */
-    static final int SWIMMING_VARIABLE_POINTS = 4;
+    @Value("${csv_ingestion_mode:buffered}")
+    private String INGESTION_MODE;
 
     /**
-     * Knocking down a fence loss in points.
+     * Path to properties file of scoring rulebook, rules of the current season are used if it is empty.
      */
-    static final int RIDING_FENCE_KNOCKDOWN_LOSS = 28;
+    @Value("${scoring_rules_path:}")
+    private String SCORING_RULES_PATH = "";
 
     /**
-     * Refusal by the horse to jump loss in points.
+     * Rules athletes are scored by. Read once per scoring of a competition.
      */
-    static final int RIDING_REFUSAL_BY_HORSE_LOSS = 40;
+    private volatile ScoringRules scoringRules = ScoringRules.DEFAULT;
 
     /**
-     * Disobedience leading to the knocking down of an obstacle loss in points.
+     * Default amount of athletes from which scoring is split across fork/join pool.
      */
-    static final int RIDING_OBSTACLE_KNOCKDOWN = 60;
+    static final int DEFAULT_PARALLELISM_THRESHOLD = 8192;
 
     /**
-     * Shooting target score.
+     * Amount of athletes from which scoring is split across fork/join pool. Also the largest amount of athletes
+     * scored by one task.
      */
-    static final int SHOOTING_TARGET_SCORE_VALUE = 172;
+    @Value("${scoring_parallelism_threshold:" + DEFAULT_PARALLELISM_THRESHOLD + "}")
+    private int PARALLELISM_THRESHOLD = DEFAULT_PARALLELISM_THRESHOLD;
 
     /**
-     * Swimming target score value.
+     * Parser of athlete results CSV.
      */
-    static final String SWIMMING_TARGET_SCORE_VALUE = "2:30.0";
+    private final AthleteResultCsvParser athleteResultCsvParser = new AthleteResultCsvParser();
 
     /**
-     * Riding target score value.
+     * Timers of leaderboard generation stages and counters of read rows.
      */
-    static final int RIDING_TARGET_SCORE_VALUE = 1200;
+    private final LeaderboardPipelineMetrics metrics;
 
     /**
-     * File path.
+     * Service whose metrics are not published anywhere.
      */
-    @Value("${csv_file_path}")
-    private String FILE_PATH;
+    public AthleteResultServiceImpl() {
+        this.metrics = new LeaderboardPipelineMetrics();
+    }
 
-    /**
-     * Fencing target win count.
-     */
-    static int fencingTargetWinCount;
+    @Autowired
+    public AthleteResultServiceImpl(MeterRegistry meterRegistry) {
+        this.metrics = new LeaderboardPipelineMetrics(meterRegistry);
+    }
 
     @Override
     public List<AthleteResult> generateAthleteResultsFromCsv(String filePath) {
@@ -98,76 +110,344 @@ public class AthleteResultServiceImpl implements AthleteResultService {
 
         try (BufferedReader br = Files.newBufferedReader(myPath,
                 StandardCharsets.UTF_8)) {
-            ColumnPositionMappingStrategy<AthleteResult> strategy = new ColumnPositionMappingStrategy<>();
-            strategy.setType(AthleteResult.class);
+            List<AthleteResult> athleteResults = new ArrayList<>();
+            athleteResultCsvParser.parse(br, athleteResults::add);
+            return athleteResults;
 
-            String[] fields = new String[]{"nameSurname","fencingVictories", "swimmingTime",
-                    "knockDownCount", "refusalCount", "disobedienceLeadingCount", "shootingScore", "runTime"};
-            strategy.setColumnMapping(fields);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
 
-            CsvToBean<AthleteResult> csvToBean = new CsvToBeanBuilder<AthleteResult>(br)
-                    .withMappingStrategy(strategy)
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .build();
+    @Override
+    public List<AthleteResultOutput> generateAthleteResultsForOutputFromMappedCsv(String filePath) {
+        AthleteResultTable athleteResultTable;
+        try {
+            athleteResultTable = MappedAthleteResultFile.map(Paths.get(filePath)).toTable();
+        } catch (Exception e) {
+            e.printStackTrace();
+            metrics.fileRejected();
+            return new ArrayList<>();
+        }
+
+        countConcludingEventTimeAndSortAccordingToIt(calculateTotalPointsOfAthletes(athleteResultTable));
+
+        List<AthleteResultOutput> athleteResultsForOutput = new ArrayList<>(athleteResultTable.size());
+        for (int row = 0; row < athleteResultTable.size(); row++) {
+            athleteResultsForOutput.add(athleteResultTable.toAthleteResultOutput(row));
+        }
+        return athleteResultsForOutput;
+    }
 
-            return csvToBean.parse();
+    @Override
+    public AthleteResultTable generateAthleteResultTableFromCsv(String filePath) {
+        Path myPath = Paths.get(filePath);
+
+        if (INGESTION_MODE_MAPPED.equals(INGESTION_MODE)) {
+            try {
+                return countReadRows(MappedAthleteResultFile.map(myPath).toTable());
+            } catch (Exception e) {
+                e.printStackTrace();
+                metrics.fileRejected();
+                return new AthleteResultTable();
+            }
+        }
+
+        try (BufferedReader br = Files.newBufferedReader(myPath,
+                StandardCharsets.UTF_8)) {
+            AthleteResultTable athleteResultTable = new AthleteResultTable();
+            athleteResultCsvParser.parse(br, athleteResultTable);
+            return countReadRows(athleteResultTable);
 
         } catch (Exception e) {
             e.printStackTrace();
-            return new ArrayList<>();
+            metrics.fileRejected();
+            return new AthleteResultTable();
+        }
+    }
+
+    /**
+     * Method counts rows read from results file and rows whose swimming or run time can not be read.
+     * @param athleteResultTable table read from results file.
+     * @return the same table.
+     */
+    private AthleteResultTable countReadRows(AthleteResultTable athleteResultTable) {
+        final int size = athleteResultTable.size();
+        int rejectedRows = 0;
+        for (int row = 0; row < size; row++) {
+            if (athleteResultTable.getSwimmingTime(row) < 0 || athleteResultTable.getRunTime(row) < 0) {
+                rejectedRows++;
+            }
         }
+        metrics.rowsRead(size, rejectedRows);
+        return athleteResultTable;
     }
 
     @Override
     public String generateAthleteLeaderboard() {
+        return generateFinalLeaderboardList(generateAthleteLeaderboardTable());
+    }
+
+    @Override
+    public AthleteResultTable generateAthleteLeaderboardTable() {
+        return generateAthleteLeaderboardTable(FILE_PATH);
+    }
+
+    @Override
+    public AthleteResultTable generateAthleteLeaderboardTable(String filePath) {
+        long stageStart = metrics.stageStarted();
+        if (AthleteResultSnapshot.isSnapshot(filePath)) {
+            AthleteResultTable leaderboard = readAthleteLeaderboardSnapshot(filePath);
+            metrics.stageFinished(Stage.PARSE, stageStart);
+            return leaderboard;
+        }
+
+        AthleteResultTable athleteResultTable = generateAthleteResultTableFromCsv(filePath);
+        stageStart = finishStage(Stage.PARSE, stageStart);
+
+        athleteResultTable = calculateTotalPointsOfAthletes(athleteResultTable);
+        stageStart = finishStage(Stage.SCORE, stageStart);
+
+        athleteResultTable = countConcludingEventTimeAndSortAccordingToIt(athleteResultTable);
+        stageStart = finishStage(Stage.SORT, stageStart);
+
+        athleteResultTable = determinePlaceForEachAthlete(athleteResultTable);
+        metrics.stageFinished(Stage.PLACE, stageStart);
+        return athleteResultTable;
+    }
+
+    @Override
+    public AthleteResultTable generateAthleteLeaderboardTable(int top) {
+        long stageStart = metrics.stageStarted();
+        if (AthleteResultSnapshot.isSnapshot(FILE_PATH)) {
+            AthleteResultTable leaderboard = readAthleteLeaderboardSnapshot(FILE_PATH);
+            int[] topRows = new int[Math.max(Math.min(top, leaderboard.size()), 0)];
+            for (int row = 0; row < topRows.length; row++) {
+                topRows[row] = row;
+            }
+            leaderboard = leaderboard.select(topRows);
+            metrics.stageFinished(Stage.PARSE, stageStart);
+            return leaderboard;
+        }
+
+        AthleteResultTable athleteResultTable = generateAthleteResultTableFromCsv(FILE_PATH);
+        stageStart = finishStage(Stage.PARSE, stageStart);
+
+        athleteResultTable = calculateTotalPointsOfAthletes(athleteResultTable);
+        stageStart = finishStage(Stage.SCORE, stageStart);
+
+        // Places of the top are determined together with its selection, so both are timed as sorting.
+        athleteResultTable = countConcludingEventTimeAndDetermineTopPlaces(athleteResultTable, top);
+        metrics.stageFinished(Stage.SORT, stageStart);
+        return athleteResultTable;
+    }
+
+    /**
+     * Method records duration of a finished stage.
+     * @param stage finished stage.
+     * @param stageStart time the stage started at.
+     * @return time the next stage starts at.
+     */
+    private long finishStage(Stage stage, long stageStart) {
+        metrics.stageFinished(stage, stageStart);
+        return metrics.stageStarted();
+    }
 
-        List<AthleteResult> athleteResults =  generateAthleteResultsFromCsv(FILE_PATH);
+    @Override
+    public void writeAthleteLeaderboardSnapshot(AthleteResultTable leaderboard, String snapshotPath)
+            throws IOException {
+        AthleteResultSnapshot.write(leaderboard, Paths.get(snapshotPath));
+    }
 
-        athleteResults = calculateTotalPointsOfAthletes(athleteResults);
+    /**
+     * Method reads ranked leaderboard from snapshot file.
+     * @param snapshotPath path to snapshot file.
+     * @return table of athletes sorted by concluding event time with places set, empty if file can not be read.
+     */
+    private AthleteResultTable readAthleteLeaderboardSnapshot(String snapshotPath) {
+        try {
+            return AthleteResultSnapshot.read(Paths.get(snapshotPath));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new AthleteResultTable();
+        }
+    }
 
-        List<AthleteResultOutput> athleteResultsForOutput = countConcludingEventTimeAndSortAccordingToIt(athleteResults);
+    /**
+     * Method loads scoring rulebook of the configured file. The bean is never lazy, so a rulebook which can not be
+     * read or is not valid fails the start of the application, not the first request.
+     * @throws UncheckedIOException when rulebook file can not be read.
+     */
+    @PostConstruct
+    public void loadScoringRules() {
+        if (SCORING_RULES_PATH == null || SCORING_RULES_PATH.trim().isEmpty()) {
+            return;
+        }
+        Properties rules = new Properties();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(SCORING_RULES_PATH.trim()),
+                StandardCharsets.UTF_8)) {
+            rules.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        setScoringRules(ScoringRules.fromProperties(rules));
+    }
 
-        athleteResultsForOutput = determinePlaceForEachAthlete(athleteResultsForOutput);
+    /**
+     * Method switches scoring rulebook. Scorings already in progress finish with the rules they started with.
+     * @param scoringRules scoring rules.
+     */
+    public void setScoringRules(ScoringRules scoringRules) {
+        this.scoringRules = scoringRules;
+    }
 
-        return generateFinalLeaderboardList(athleteResultsForOutput);
+    public ScoringRules getScoringRules() {
+        return scoringRules;
+    }
+
+    @Override
+    public ScoringContext createScoringContext(int athleteCount) {
+        final ScoringRules rules = scoringRules;
+        return new ScoringContext(rules, rules.getFencingTargetWinCount(athleteCount - 1));
     }
 
     @Override
     public List<AthleteResult> calculateTotalPointsOfAthletes(List<AthleteResult> athleteResults) {
-        List<AthleteResult> athleteResultsWithTotalPoints = new ArrayList<>();
-        fencingTargetWinCount = calculateWinsCountToReachFencingTargetPercentageWinRate(athleteResults.size()-1);
-        for (AthleteResult athleteResult : athleteResults) {
-            int fencingScore = calculateAthletesFencingScore(fencingTargetWinCount,
-                    athleteResult.getFencingVictories());
-            int swimmingScore = calculateAthletesSwimmingScore(athleteResult.getSwimmingTime());
-            int ridingScore = calculateAthletesRidingScore(athleteResult.getFenceKnockDownCount(),
-                    athleteResult.getRefusalToJumpCount(), athleteResult.getObstacleKnockDownCount());
-            int shootingScore = calculateAthletesShootingScore(athleteResult.getShootingTargetScore());
+        final ScoringContext scoringContext = createScoringContext(athleteResults.size());
+
+        if (athleteResults.size() < PARALLELISM_THRESHOLD) {
+            List<AthleteResult> athleteResultsWithTotalPoints = new ArrayList<>(athleteResults.size());
+            for (AthleteResult athleteResult : athleteResults) {
+                calculateTotalPointsOfAthlete(athleteResult, scoringContext);
+                athleteResultsWithTotalPoints.add(athleteResult);
+            }
+            return athleteResultsWithTotalPoints;
+        }
+
+        AthleteResult[] athleteResultsWithTotalPoints = athleteResults.toArray(new AthleteResult[0]);
+        ForkJoinPool.commonPool().invoke(new ScoringTask((from, to) -> {
+            for (int i = from; i < to; i++) {
+                calculateTotalPointsOfAthlete(athleteResultsWithTotalPoints[i], scoringContext);
+            }
+        }, 0, athleteResultsWithTotalPoints.length));
+        return new ArrayList<>(Arrays.asList(athleteResultsWithTotalPoints));
+    }
 
-            int totalPointsOfAthlete = fencingScore + swimmingScore + ridingScore + shootingScore;
+    @Override
+    public AthleteResultTable calculateTotalPointsOfAthletes(AthleteResultTable athleteResultTable) {
+        final ScoringContext scoringContext = createScoringContext(athleteResultTable.size());
+        final RangeScorer rangeScorer = (from, to) -> {
+            for (int row = from; row < to; row++) {
+                calculateTotalPointsOfAthlete(athleteResultTable, row, scoringContext);
+            }
+        };
 
-            athleteResult.setTotalPoints(totalPointsOfAthlete);
-            athleteResultsWithTotalPoints.add(athleteResult);
+        if (athleteResultTable.size() < PARALLELISM_THRESHOLD) {
+            rangeScorer.score(0, athleteResultTable.size());
+        } else {
+            ForkJoinPool.commonPool().invoke(new ScoringTask(rangeScorer, 0, athleteResultTable.size()));
+        }
+        return athleteResultTable;
+    }
+
+    /**
+     * Method calculates total points of one athlete and stores them in athlete result.
+     * @param athleteResult athlete result.
+     * @param scoringContext state shared by scoring of all athletes of the competition.
+     */
+    void calculateTotalPointsOfAthlete(AthleteResult athleteResult, ScoringContext scoringContext) {
+        final ScoringRules rules = scoringContext.getScoringRules();
+        int fencingScore = fencingScore(rules, scoringContext.getFencingTargetWinCount(),
+                athleteResult.getFencingVictories());
+        int swimmingScore = swimmingScore(rules, convertToMillisFromString(athleteResult.getSwimmingTime()));
+        int ridingScore = ridingScore(rules, athleteResult.getFenceKnockDownCount(),
+                athleteResult.getRefusalToJumpCount(), athleteResult.getObstacleKnockDownCount());
+        int shootingScore = shootingScore(rules, athleteResult.getShootingTargetScore());
+
+        int totalPointsOfAthlete = fencingScore + swimmingScore + ridingScore + shootingScore;
+
+        athleteResult.setTotalPoints(totalPointsOfAthlete);
+    }
+
+    /**
+     * Method calculates total points of one athlete stored in table and stores them in the table.
+     * @param athleteResultTable table of athletes.
+     * @param row index of the athlete.
+     * @param scoringContext state shared by scoring of all athletes of the competition.
+     */
+    void calculateTotalPointsOfAthlete(AthleteResultTable athleteResultTable, int row, ScoringContext scoringContext) {
+        final ScoringRules rules = scoringContext.getScoringRules();
+        int fencingScore = fencingScore(rules, scoringContext.getFencingTargetWinCount(),
+                athleteResultTable.getFencingVictories(row));
+        int swimmingScore = swimmingScore(rules, athleteResultTable.getSwimmingTime(row));
+        int ridingScore = ridingScore(rules, athleteResultTable.getFenceKnockDownCount(row),
+                athleteResultTable.getRefusalToJumpCount(row), athleteResultTable.getObstacleKnockDownCount(row));
+        int shootingScore = shootingScore(rules, athleteResultTable.getShootingTargetScore(row));
+
+        athleteResultTable.setTotalPoints(row, fencingScore + swimmingScore + ridingScore + shootingScore);
+    }
+
+    /**
+     * Method sets amount of athletes from which scoring is split across fork/join pool.
+     * @param parallelismThreshold amount of athletes, at least 1.
+     */
+    public void setParallelismThreshold(int parallelismThreshold) {
+        this.PARALLELISM_THRESHOLD = Math.max(parallelismThreshold, 1);
+    }
+
+    /**
+     * Scoring of athletes from index 'from' inclusive to index 'to' exclusive.
+     */
+    private interface RangeScorer {
+        void score(int from, int to);
+    }
+
+    /**
+     * Fork/join task which splits range of athletes in halves until it is not larger than parallelism threshold.
+     */
+    private class ScoringTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RangeScorer rangeScorer;
+
+        private final int from;
+
+        private final int to;
+
+        ScoringTask(RangeScorer rangeScorer, int from, int to) {
+            this.rangeScorer = rangeScorer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLELISM_THRESHOLD) {
+                rangeScorer.score(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoringTask(rangeScorer, from, middle), new ScoringTask(rangeScorer, middle, to));
         }
-        return athleteResultsWithTotalPoints;
     }
 
     @Override
     public int calculateAthletesFencingScore(int fencingTargetWinCount, int fencingVictoriesCount) {
+        return fencingScore(scoringRules, fencingTargetWinCount, fencingVictoriesCount);
+    }
+
+    private static int fencingScore(ScoringRules rules, int fencingTargetWinCount, int fencingVictoriesCount) {
         int extraPoints = fencingVictoriesCount - fencingTargetWinCount;
-        int totalFencingScore = TARGET_SCORE_POINTS + (extraPoints * FENCING_VARIABLE_POINTS);
+        int totalFencingScore = rules.getTargetScorePoints() + (extraPoints * rules.getFencingVariablePoints());
 
         return Math.max(totalFencingScore, 0);
     }
 
     @Override
     public int calculateWinsCountToReachFencingTargetPercentageWinRate(int gamesCount) {
-        for (int i = 1; i <= gamesCount; i++) {
-            if (calculateWinRate(i,gamesCount) >= FENCING_WIN_RATE_PERCENT) {
-                return i;
-            }
-        }
-        return Integer.compare(gamesCount, 0);
+        return scoringRules.getFencingTargetWinCount(gamesCount);
     }
 
     @Override
@@ -178,22 +458,31 @@ public class AthleteResultServiceImpl implements AthleteResultService {
 
     @Override
     public int calculateAthletesShootingScore(int athletesShootingTotalScore) {
-        final int extraPoints = athletesShootingTotalScore - SHOOTING_TARGET_SCORE_VALUE;
-        final int totalShootingScore = TARGET_SCORE_POINTS + (SHOOTING_VARIABLE_POINTS * extraPoints);
+        return shootingScore(scoringRules, athletesShootingTotalScore);
+    }
+
+    private static int shootingScore(ScoringRules rules, int athletesShootingTotalScore) {
+        final int extraPoints = athletesShootingTotalScore - rules.getShootingTargetScore();
+        final int totalShootingScore = rules.getTargetScorePoints() + (rules.getShootingVariablePoints() * extraPoints);
         return (athletesShootingTotalScore >= 0) ? Math.max(totalShootingScore, 0): -1;
     }
 
     @Override
     public int calculateAthletesRidingScore(int fenceKnockDownCount, int refusalToJumpCount,
                                             int obstacleKnockDownCount) {
+        return ridingScore(scoringRules, fenceKnockDownCount, refusalToJumpCount, obstacleKnockDownCount);
+    }
+
+    private static int ridingScore(ScoringRules rules, int fenceKnockDownCount, int refusalToJumpCount,
+                                   int obstacleKnockDownCount) {
         if (fenceKnockDownCount < 0 || refusalToJumpCount < 0 || obstacleKnockDownCount < 0) {
             return -1;
         }
 
-        final int totalFenceKnockDownsLoss = fenceKnockDownCount * RIDING_FENCE_KNOCKDOWN_LOSS;
-        final int totalRefusalByHorseLoss = refusalToJumpCount * RIDING_REFUSAL_BY_HORSE_LOSS;
-        final int totalObstacleKnockDownLoss = obstacleKnockDownCount * RIDING_OBSTACLE_KNOCKDOWN;
-        final int totalRidingScore = RIDING_TARGET_SCORE_VALUE -
+        final int totalFenceKnockDownsLoss = fenceKnockDownCount * rules.getRidingFenceKnockDownLoss();
+        final int totalRefusalByHorseLoss = refusalToJumpCount * rules.getRidingRefusalToJumpLoss();
+        final int totalObstacleKnockDownLoss = obstacleKnockDownCount * rules.getRidingObstacleKnockDownLoss();
+        final int totalRidingScore = rules.getRidingTargetScore() -
                 (totalFenceKnockDownsLoss + totalRefusalByHorseLoss + totalObstacleKnockDownLoss);
 
         return Math.max(totalRidingScore, 0);
@@ -201,37 +490,31 @@ public class AthleteResultServiceImpl implements AthleteResultService {
 
     @Override
     public int calculateAthletesSwimmingScore(String swimmingTime) {
-        final int targetSwimmingTime = convertToMillisFromString(SWIMMING_TARGET_SCORE_VALUE);
-        final int athletesSwimmingTime = convertToMillisFromString(swimmingTime);
+        return swimmingScore(scoringRules, convertToMillisFromString(swimmingTime));
+    }
 
-        if (targetSwimmingTime < 0 || athletesSwimmingTime < 0) {
+    /**
+     * Method calculates athletes swimming score from already parsed swimming time.
+     * @param rules scoring rules.
+     * @param athletesSwimmingTime swimming time in tenths of a second, negative if unknown.
+     * @return amount of points athlete got at swimming competition.
+     */
+    private static int swimmingScore(ScoringRules rules, int athletesSwimmingTime) {
+        if (athletesSwimmingTime < 0) {
             return -1;
         }
 
-        final int extraPoints = (targetSwimmingTime - athletesSwimmingTime) / 3;
+        final int extraPoints =
+                (rules.getSwimmingTargetTime() - athletesSwimmingTime) / rules.getSwimmingTenthsPerStep();
 
-        final int totalSwimmingScore = TARGET_SCORE_POINTS + (SWIMMING_VARIABLE_POINTS * extraPoints);
+        final int totalSwimmingScore = rules.getTargetScorePoints() + (rules.getSwimmingVariablePoints() * extraPoints);
 
         return Math.max(totalSwimmingScore, 0);
     }
 
     @Override
     public int convertToMillisFromString(String timeAsString) {
-        try {
-            String[] time = timeAsString.split(":");
-            String[] secondsAndMillis = time[1].split("\\.");
-
-            int minutes = Integer.parseInt(time[0]);
-            int seconds = Integer.parseInt(secondsAndMillis[0]);
-            int millis = Integer.parseInt(secondsAndMillis[1]);
-
-            final int totalMillis = millis + (seconds * 10) + (minutes * 60 * 10);
-
-            return totalMillis >= 0 ? totalMillis : -1;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return -1;
-        }
+        return AthleteTimeParser.parseTenths(timeAsString);
     }
 
     @Override
@@ -256,65 +539,110 @@ public class AthleteResultServiceImpl implements AthleteResultService {
         return athleteResultsForOutput;
     }
 
-    public List<AthleteResultOutput> determinePlaceForEachAthlete(List<AthleteResultOutput> athleteResultsForOutput) {
-        int place = 0;
-        int placeAfter = 0;
-        boolean singlePlace = false;
-        if (athleteResultsForOutput.size() == 1) {
-            athleteResultsForOutput.get(0).setPlace(String.valueOf(1));
-            return athleteResultsForOutput;
-        }
-        for (int i = 0; i <= athleteResultsForOutput.size() - 2; i++) {
-            for (int j = i + 1; j <= athleteResultsForOutput.size() - 1; j++) {
-                if (athleteResultsForOutput.get(i).getConcludingEventTime()
-                        == athleteResultsForOutput.get(j).getConcludingEventTime()) {
-                        if (athleteResultsForOutput.get(i).getPlace() == null || !athleteResultsForOutput.get(i).getPlace().contains("/")) {
-                            if (i == 0) {
-                                place++;
-                            }
-                            placeAfter = place +1;
-                            String placeString = place + "/" + placeAfter;
-                            athleteResultsForOutput.get(i).setPlace(placeString);
-                            singlePlace = false;
-                        }
-                        if (athleteResultsForOutput.get(j).getPlace() == null ) {
-                            if (singlePlace) {
-                                place++;
-                            }
-                            placeAfter = place +1;
-                            String placeString = place + "/" + placeAfter;
-                            athleteResultsForOutput.get(j).setPlace(placeString);
-                            singlePlace = false;
-                        }
-                } else {
-                    if (placeAfter > place) {
-                        place++;
-                    }
-                    if (athleteResultsForOutput.get(i).getPlace() == null) {
-                        place++;
-                        String placeString = String.valueOf(place);
-                        athleteResultsForOutput.get(i).setPlace(placeString);
-
-
-                        if (athleteResultsForOutput.get(j).getPlace() == null) {
-                            place++;
-                            placeString = String.valueOf(place);
-                            athleteResultsForOutput.get(j).setPlace(placeString);
-                        }
-                    }
-                    if (athleteResultsForOutput.get(j).getPlace() == null) {
-                        place++;
-                        String placeString = String.valueOf(place);
-                        athleteResultsForOutput.get(j).setPlace(placeString);
-                    }
-                    singlePlace = true;
-                    break;
+    @Override
+    public AthleteResultTable countConcludingEventTimeAndSortAccordingToIt(AthleteResultTable athleteResultTable) {
+        countConcludingEventTime(athleteResultTable);
+        athleteResultTable.reorder(IntIndexSorter.sortedIndexes(athleteResultTable.size(),
+                concludingEventTimeOrder(athleteResultTable)));
+        return athleteResultTable;
+    }
+
+    @Override
+    public AthleteResultTable countConcludingEventTimeAndDetermineTopPlaces(AthleteResultTable athleteResultTable,
+                                                                          int top) {
+        countConcludingEventTime(athleteResultTable);
+        int[] topRows = IntIndexSorter.smallestIndexes(athleteResultTable.size(), top,
+                concludingEventTimeOrder(athleteResultTable));
+        AthleteResultTable topAthleteResultTable = determinePlaceForEachAthlete(athleteResultTable.select(topRows));
+
+        // Last athlete shares place also when athletes with equal time are left below the top.
+        int last = topRows.length - 1;
+        if (last >= 0 && !topAthleteResultTable.isPlaceShared(last)) {
+            int lastTime = topAthleteResultTable.getConcludingEventTime(last);
+            int athletesWithLastTime = 0;
+            for (int row = 0; row < athleteResultTable.size() && athletesWithLastTime < 2; row++) {
+                if (athleteResultTable.getConcludingEventTime(row) == lastTime) {
+                    athletesWithLastTime++;
                 }
             }
+            if (athletesWithLastTime > 1) {
+                topAthleteResultTable.setPlace(last, topAthleteResultTable.getPlaceNumber(last), true);
+            }
+        }
+        return topAthleteResultTable;
+    }
+
+    /**
+     * Method calculates concluding event time of every athlete stored in table: run time in seconds plus
+     * difference of total points between the leader and the athlete.
+     */
+    private void countConcludingEventTime(AthleteResultTable athleteResultTable) {
+        final int size = athleteResultTable.size();
+        int maxPoints = Integer.MIN_VALUE;
+        for (int row = 0; row < size; row++) {
+            maxPoints = Math.max(maxPoints, athleteResultTable.getTotalPoints(row));
+        }
+
+        for (int row = 0; row < size; row++) {
+            int runTimeInSeconds = athleteResultTable.getRunTime(row) / 10;
+            int differenceBetweenLeader = maxPoints - athleteResultTable.getTotalPoints(row);
+            athleteResultTable.setConcludingEventTime(row, runTimeInSeconds + differenceBetweenLeader);
+        }
+    }
+
+    /**
+     * Order of leaderboard: same as sorting by total points descending and then stable sorting by concluding
+     * event time.
+     */
+    private static IntIndexSorter.IndexComparator concludingEventTimeOrder(AthleteResultTable athleteResultTable) {
+        return (left, right) -> {
+            int byTime = Integer.compare(athleteResultTable.getConcludingEventTime(left),
+                    athleteResultTable.getConcludingEventTime(right));
+            return byTime != 0 ? byTime
+                    : Integer.compare(athleteResultTable.getTotalPoints(right), athleteResultTable.getTotalPoints(left));
+        };
+    }
+
+    public List<AthleteResultOutput> determinePlaceForEachAthlete(List<AthleteResultOutput> athleteResultsForOutput) {
+        final int size = athleteResultsForOutput.size();
+        int place = 1;
+        int groupStart = 0;
+        for (int i = 1; i <= size; i++) {
+            if (i < size && athleteResultsForOutput.get(i).getConcludingEventTime()
+                    == athleteResultsForOutput.get(groupStart).getConcludingEventTime()) {
+                continue;
+            }
+            final boolean sharedPlace = i - groupStart > 1;
+            final String placeString = sharedPlace ? place + "/" + (place + 1) : String.valueOf(place);
+            for (int j = groupStart; j < i; j++) {
+                athleteResultsForOutput.get(j).setPlace(placeString);
+            }
+            place += sharedPlace ? 2 : 1;
+            groupStart = i;
         }
         return athleteResultsForOutput;
     }
 
+    @Override
+    public AthleteResultTable determinePlaceForEachAthlete(AthleteResultTable athleteResultTable) {
+        final int size = athleteResultTable.size();
+        int place = 1;
+        int groupStart = 0;
+        for (int i = 1; i <= size; i++) {
+            if (i < size && athleteResultTable.getConcludingEventTime(i)
+                    == athleteResultTable.getConcludingEventTime(groupStart)) {
+                continue;
+            }
+            final boolean sharedPlace = i - groupStart > 1;
+            for (int row = groupStart; row < i; row++) {
+                athleteResultTable.setPlace(row, place, sharedPlace);
+            }
+            place += sharedPlace ? 2 : 1;
+            groupStart = i;
+        }
+        return athleteResultTable;
+    }
+
     public String generateFinalLeaderboardList(List<AthleteResultOutput> athleteResultsForOutput) {
         StringBuilder builder = new StringBuilder();
         for (AthleteResultOutput athleteResultOutput : athleteResultsForOutput) {
@@ -329,4 +657,25 @@ public class AthleteResultServiceImpl implements AthleteResultService {
         return builder.toString();
     }
 
+    @Override
+    public String generateFinalLeaderboardList(AthleteResultTable athleteResultTable) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            writeFinalLeaderboardList(athleteResultTable, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeFinalLeaderboardList(AthleteResultTable athleteResultTable, OutputStream outputStream)
+            throws IOException {
+        long stageStart = metrics.stageStarted();
+        LeaderboardCsvWriter leaderboardCsvWriter = new LeaderboardCsvWriter(outputStream);
+        leaderboardCsvWriter.writeRows(athleteResultTable);
+        leaderboardCsvWriter.flush();
+        metrics.stageFinished(Stage.FORMAT, stageStart);
+    }
+
 }
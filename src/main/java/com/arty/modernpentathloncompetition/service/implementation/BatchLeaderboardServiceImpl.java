@@ -0,0 +1,258 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.BatchLeaderboardReport;
+import com.arty.modernpentathloncompetition.service.AthleteResultService;
+import com.arty.modernpentathloncompetition.service.BatchLeaderboardService;
+import com.arty.modernpentathloncompetition.service.SeasonRankingService;
+import com.arty.modernpentathloncompetition.snapshot.AthleteResultSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class BatchLeaderboardServiceImpl implements BatchLeaderboardService {
+
+    /**
+     * Suffix of written leaderboard files.
+     */
+    static final String LEADERBOARD_FILE_SUFFIX = "-leaderboard.csv";
+
+    /**
+     * Injection of athlete result service.
+     */
+    private final AthleteResultService athleteResultService;
+
+    /**
+     * Injection of season ranking service.
+     */
+    private final SeasonRankingService seasonRankingService;
+
+    /**
+     * Directory which batch results files and output directories are resolved against and must stay in.
+     */
+    @Value("${batch_root_directory:.}")
+    private String ROOT_DIRECTORY = ".";
+
+    /**
+     * Amount of threads generating leaderboards of a batch.
+     */
+    @Value("${batch_threads:4}")
+    private int BATCH_THREADS = 4;
+
+    /**
+     * Amount of files waiting for a thread, above it the submitting thread generates leaderboards itself.
+     */
+    @Value("${batch_queue_capacity:16}")
+    private int BATCH_QUEUE_CAPACITY = 16;
+
+    private ThreadPoolExecutor executor;
+
+    public BatchLeaderboardServiceImpl(AthleteResultService athleteResultService,
+                                       SeasonRankingService seasonRankingService) {
+        this.athleteResultService = athleteResultService;
+        this.seasonRankingService = seasonRankingService;
+    }
+
+    /**
+     * Method creates executor of batches.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, BATCH_THREADS);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, BATCH_QUEUE_CAPACITY)), runnable -> {
+                    Thread thread = new Thread(runnable, "batch-leaderboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Method stops batches.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public BatchLeaderboardReport generateLeaderboards(List<String> resultFiles, String outputDirectory) {
+        List<Path> resultPaths = new ArrayList<>(resultFiles.size());
+        for (String resultFile : resultFiles) {
+            resultPaths.add(resolve(resultFile));
+        }
+        return generateLeaderboards(resultPaths, resolve(outputDirectory));
+    }
+
+    @Override
+    public BatchLeaderboardReport generateLeaderboardsOfDirectory(String resultsDirectory, String outputDirectory) {
+        List<Path> resultPaths = new ArrayList<>();
+        try (DirectoryStream<Path> directory = Files.newDirectoryStream(resolve(resultsDirectory),
+                BatchLeaderboardServiceImpl::isResultsFile)) {
+            directory.forEach(resultPaths::add);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can not list results directory: " + resultsDirectory, e);
+        }
+        resultPaths.sort(null);
+        return generateLeaderboards(resultPaths, resolve(outputDirectory));
+    }
+
+    /**
+     * Method generates and writes leaderboards of results files on the executor.
+     * @param resultPaths results files.
+     * @param outputDirectory directory leaderboards are written to.
+     * @return report of the batch.
+     */
+    private BatchLeaderboardReport generateLeaderboards(List<Path> resultPaths, Path outputDirectory) {
+        // Leaderboards of files which differ only by extension or case would be written to the same file.
+        Map<String, Path> leaderboardNames = new HashMap<>();
+        for (Path resultPath : resultPaths) {
+            Path previous = leaderboardNames.putIfAbsent(leaderboardName(resultPath).toLowerCase(Locale.ROOT),
+                    resultPath);
+            if (previous != null) {
+                throw new IllegalArgumentException("Results files " + previous.getFileName() + " and "
+                        + resultPath.getFileName() + " have the same leaderboard file");
+            }
+        }
+
+        long start = System.nanoTime();
+        List<String> failedFiles = new ArrayList<>();
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            e.printStackTrace();
+            for (Path resultPath : resultPaths) {
+                failedFiles.add(resultPath.toString());
+            }
+            return new BatchLeaderboardReport(0, 0, failedFiles, System.nanoTime() - start);
+        }
+
+        List<Future<Integer>> rowCounts = new ArrayList<>(resultPaths.size());
+        for (Path resultPath : resultPaths) {
+            rowCounts.add(executor.submit(() -> generateLeaderboard(resultPath, outputDirectory)));
+        }
+
+        int fileCount = 0;
+        long rowCount = 0;
+        for (int file = 0; file < resultPaths.size(); file++) {
+            try {
+                rowCount += rowCounts.get(file).get();
+                fileCount++;
+            } catch (ExecutionException e) {
+                e.getCause().printStackTrace();
+                failedFiles.add(resultPaths.get(file).toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (int cancelled = file; cancelled < resultPaths.size(); cancelled++) {
+                    rowCounts.get(cancelled).cancel(true);
+                    failedFiles.add(resultPaths.get(cancelled).toString());
+                }
+                break;
+            }
+        }
+
+        BatchLeaderboardReport report = new BatchLeaderboardReport(fileCount, rowCount, failedFiles,
+                System.nanoTime() - start);
+        System.err.println("Batch leaderboards written to " + outputDirectory + ": " + report);
+        return report;
+    }
+
+    /**
+     * Method generates leaderboard of one results file and writes it to the output directory.
+     * @return amount of athletes in the leaderboard.
+     */
+    private int generateLeaderboard(Path resultPath, Path outputDirectory) throws IOException {
+        if (!Files.isRegularFile(resultPath)) {
+            // Results service reads missing file as empty leaderboard, it is a failed file of a batch.
+            throw new NoSuchFileException(resultPath.toString());
+        }
+        AthleteResultTable leaderboard = athleteResultService.generateAthleteLeaderboardTable(resultPath.toString());
+        Path leaderboardPath = outputDirectory.resolve(leaderboardName(resultPath) + LEADERBOARD_FILE_SUFFIX);
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(leaderboardPath))) {
+            athleteResultService.writeFinalLeaderboardList(leaderboard, outputStream);
+        }
+        seasonRankingService.indexCompetition(resultPath, leaderboard);
+        return leaderboard.size();
+    }
+
+    /**
+     * @return whether file is a CSV results file, with extension in any case, or a snapshot.
+     */
+    private static boolean isResultsFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv")
+                || fileName.endsWith(AthleteResultSnapshot.FILE_EXTENSION);
+    }
+
+    /**
+     * @return file name of the results file without extension, which names its leaderboard file.
+     */
+    private static String leaderboardName(Path resultPath) {
+        String fileName = resultPath.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+
+    /**
+     * Method resolves path against the batch root directory.
+     * @param path relative or absolute path.
+     * @return absolute normalized path.
+     * @throws IllegalArgumentException when path is outside of the batch root directory, also through a symbolic
+     * link: real path of its longest existing part must be inside real path of the root directory.
+     */
+    private Path resolve(String path) {
+        Path rootDirectory = Paths.get(ROOT_DIRECTORY).toAbsolutePath().normalize();
+        Path resolved = rootDirectory.resolve(path.trim()).normalize();
+        if (!resolved.startsWith(rootDirectory)) {
+            throw new IllegalArgumentException("Path is outside of batch root directory: " + path);
+        }
+        if (!Files.exists(rootDirectory)) {
+            return resolved;
+        }
+        Path existing = resolved;
+        while (!Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+            existing = existing.getParent();
+        }
+        try {
+            if (!existing.toRealPath().startsWith(rootDirectory.toRealPath())) {
+                throw new IllegalArgumentException("Path is outside of batch root directory: " + path);
+            }
+        } catch (IOException e) {
+            // Dangling symbolic link, its target is unknown.
+            throw new IllegalArgumentException("Can not resolve path: " + path, e);
+        }
+        return resolved;
+    }
+
+    /**
+     * Method sets directory which batch paths are resolved against.
+     * @param rootDirectory root directory.
+     */
+    public void setRootDirectory(String rootDirectory) {
+        this.ROOT_DIRECTORY = rootDirectory;
+    }
+}
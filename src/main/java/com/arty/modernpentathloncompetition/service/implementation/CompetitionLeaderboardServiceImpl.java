@@ -0,0 +1,198 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.AthleteResultService;
+import com.arty.modernpentathloncompetition.service.CompetitionLeaderboardService;
+import com.arty.modernpentathloncompetition.service.SeasonRankingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of competitions, each with its own results file and cached leaderboard.
+ *
+ * <p>Competition 'default' reads the configured results file, other competitions are configured as
+ * 'competitions=id=path,id=path'. Scoring context is created for every computation from athletes of that
+ * competition only, so competitions do not share any scoring state. Every computed leaderboard replaces results
+ * of its competition in the season ranking.
+ */
+@Service
+public class CompetitionLeaderboardServiceImpl implements CompetitionLeaderboardService {
+
+    /**
+     * Id of the competition of the configured results file.
+     */
+    public static final String DEFAULT_COMPETITION_ID = "default";
+
+    /**
+     * Injection of athlete result service.
+     */
+    private final AthleteResultService athleteResultService;
+
+    /**
+     * Injection of season ranking service.
+     */
+    private final SeasonRankingService seasonRankingService;
+
+    /**
+     * File path.
+     */
+    @Value("${csv_file_path}")
+    private String FILE_PATH;
+
+    /**
+     * Competitions and their results files, format: 'id=path,id=path'.
+     */
+    @Value("${competitions:}")
+    private String COMPETITIONS;
+
+    /**
+     * Amount of threads computing leaderboards.
+     */
+    @Value("${competition_threads:4}")
+    private int COMPETITION_THREADS;
+
+    /**
+     * Amount of computations waiting for a thread, above it requests are rejected.
+     */
+    @Value("${competition_queue_capacity:64}")
+    private int COMPETITION_QUEUE_CAPACITY;
+
+    private final ConcurrentMap<String, Competition> competitions = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    public CompetitionLeaderboardServiceImpl(AthleteResultService athleteResultService,
+                                             SeasonRankingService seasonRankingService) {
+        this.athleteResultService = athleteResultService;
+        this.seasonRankingService = seasonRankingService;
+    }
+
+    /**
+     * Method creates executor and registers configured competitions.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, COMPETITION_THREADS);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, COMPETITION_QUEUE_CAPACITY)), runnable -> {
+                    Thread thread = new Thread(runnable, "competition-leaderboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        registerCompetition(DEFAULT_COMPETITION_ID, FILE_PATH);
+        for (String competition : COMPETITIONS.split(",")) {
+            int separator = competition.indexOf('=');
+            if (separator > 0) {
+                registerCompetition(competition.substring(0, separator).trim(),
+                        competition.substring(separator + 1).trim());
+            }
+        }
+    }
+
+    /**
+     * Method stops computations.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void registerCompetition(String competitionId, String filePath) {
+        competitions.put(competitionId, new Competition(Paths.get(filePath).toAbsolutePath().normalize()));
+    }
+
+    @Override
+    public Set<String> getCompetitionIds() {
+        return new TreeSet<>(competitions.keySet());
+    }
+
+    @Override
+    public CompletableFuture<AthleteResultTable> getLeaderboard(String competitionId) {
+        Competition competition = competitions.get(competitionId);
+        if (competition == null) {
+            throw new IllegalArgumentException("Unknown competition: " + competitionId);
+        }
+        LeaderboardCacheKey key = LeaderboardCacheKey.of(competition.resultsFile);
+
+        synchronized (competition) {
+            if (key != null && key.equals(competition.leaderboardKey)) {
+                return CompletableFuture.completedFuture(competition.leaderboard);
+            }
+            if (competition.computation != null && key != null && key.equals(competition.computationKey)) {
+                return competition.computation;
+            }
+
+            CompletableFuture<AthleteResultTable> computation;
+            try {
+                computation = CompletableFuture.supplyAsync(
+                        () -> athleteResultService.generateAthleteLeaderboardTable(competition.resultsFile.toString()),
+                        executor);
+            } catch (RejectedExecutionException e) {
+                CompletableFuture<AthleteResultTable> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(e);
+                return rejected;
+            }
+            competition.computation = computation;
+            competition.computationKey = key;
+            computation.whenComplete((leaderboard, e) -> {
+                synchronized (competition) {
+                    if (competition.computation == computation) {
+                        competition.computation = null;
+                        competition.computationKey = null;
+                    }
+                    // Computation of an older state of the file which finishes late must not replace a newer one.
+                    if (leaderboard != null && key != null && !key.isOlderThan(competition.leaderboardKey)) {
+                        competition.leaderboard = leaderboard;
+                        competition.leaderboardKey = key;
+                        seasonRankingService.indexCompetition(competition.resultsFile, leaderboard);
+                    }
+                }
+            });
+            return computation;
+        }
+    }
+
+    /**
+     * Results file and leaderboard state of one competition. Guarded by its own monitor.
+     */
+    private static final class Competition {
+
+        private final Path resultsFile;
+
+        /**
+         * Leaderboard computed for the last seen state of the results file.
+         */
+        private AthleteResultTable leaderboard;
+
+        private LeaderboardCacheKey leaderboardKey;
+
+        /**
+         * Computation in progress, shared by requests of the same state of the results file.
+         */
+        private CompletableFuture<AthleteResultTable> computation;
+
+        private LeaderboardCacheKey computationKey;
+
+        private Competition(Path resultsFile) {
+            this.resultsFile = resultsFile;
+        }
+    }
+}
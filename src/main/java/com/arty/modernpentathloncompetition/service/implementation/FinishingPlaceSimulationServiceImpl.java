@@ -0,0 +1,81 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.FinishingPlaceProbabilities;
+import com.arty.modernpentathloncompetition.service.FinishingPlaceSimulationService;
+import com.arty.modernpentathloncompetition.service.LeaderboardCacheService;
+import com.arty.modernpentathloncompetition.simulation.FinishingPlaceSimulation;
+import com.arty.modernpentathloncompetition.simulation.RunTimeDistribution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+@Service
+public class FinishingPlaceSimulationServiceImpl implements FinishingPlaceSimulationService {
+
+    /**
+     * Amount of the first places which make the podium.
+     */
+    static final int PODIUM_PLACES = 3;
+
+    /**
+     * Injection of leaderboard cache service.
+     */
+    private final LeaderboardCacheService leaderboardCacheService;
+
+    /**
+     * Distribution run times are sampled from: 'normal' or 'uniform'.
+     */
+    @Value("${simulation_run_time_distribution:normal}")
+    private String RUN_TIME_DISTRIBUTION = "normal";
+
+    /**
+     * Spread of run time around the recorded run time in seconds: standard deviation of normal distribution, or
+     * the largest difference of uniform distribution.
+     */
+    @Value("${simulation_run_time_spread_seconds:5}")
+    private double RUN_TIME_SPREAD_SECONDS = 5;
+
+    public FinishingPlaceSimulationServiceImpl(LeaderboardCacheService leaderboardCacheService) {
+        this.leaderboardCacheService = leaderboardCacheService;
+    }
+
+    @Override
+    public FinishingPlaceProbabilities simulateFinishingPlaces(AthleteResultTable leaderboard, long iterations,
+                                                               int places, long seed) {
+        RunTimeDistribution distribution = RunTimeDistribution.valueOf(RUN_TIME_DISTRIBUTION.trim().toUpperCase());
+        return FinishingPlaceSimulation.of(leaderboard, distribution, RUN_TIME_SPREAD_SECONDS)
+                .simulate(iterations, places, seed);
+    }
+
+    @Override
+    public void writeFinishingPlaceProbabilities(OutputStream outputStream, long iterations, int places, long seed)
+            throws IOException {
+        AthleteResultTable leaderboard = leaderboardCacheService.getLeaderboard();
+        FinishingPlaceProbabilities probabilities = simulateFinishingPlaces(leaderboard, iterations,
+                Math.max(places, PODIUM_PLACES), seed);
+        int writtenPlaces = Math.min(places, probabilities.getPlaces());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        for (int row = 0; row < probabilities.getAthleteCount(); row++) {
+            writer.write(leaderboard.getPlace(row) + "," + leaderboard.getNameSurname(row));
+            for (int place = 1; place <= writtenPlaces; place++) {
+                writer.write("," + formatProbability(probabilities.getProbability(row, place)));
+            }
+            writer.write("," + formatProbability(probabilities.getProbabilityOfPlaceOrBetter(row, PODIUM_PLACES))
+                    + "\r\n");
+        }
+        writer.flush();
+    }
+
+    private static String formatProbability(double probability) {
+        return String.format(Locale.ROOT, "%.4f", probability);
+    }
+}
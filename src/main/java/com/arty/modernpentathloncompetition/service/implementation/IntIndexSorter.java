@@ -0,0 +1,146 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+/**
+ * Stable sort of primitive row indexes, used to order columnar athlete data without boxing.
+ */
+final class IntIndexSorter {
+
+    /**
+     * Arrays shorter than that are sorted by insertion.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Comparator of two row indexes.
+     */
+    interface IndexComparator {
+        int compare(int left, int right);
+    }
+
+    private IntIndexSorter() {
+    }
+
+    /**
+     * Method returns row indexes 0..size-1 ordered by comparator. Equal rows keep their original order.
+     * @param size amount of rows.
+     * @param comparator row comparator.
+     * @return sorted row indexes.
+     */
+    static int[] sortedIndexes(int size, IndexComparator comparator) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        sort(indexes, comparator);
+        return indexes;
+    }
+
+    /**
+     * Method returns indexes of the first 'count' rows of 0..size-1 ordered by comparator, selected with a bounded
+     * heap in O(size * log(count)) time and O(count) memory. Result is the same as the prefix of
+     * {@link #sortedIndexes(int, IndexComparator)}.
+     * @param size amount of rows.
+     * @param count amount of rows to select.
+     * @param comparator row comparator.
+     * @return sorted indexes of selected rows.
+     */
+    static int[] smallestIndexes(int size, int count, IndexComparator comparator) {
+        final int heapSize = Math.max(Math.min(size, count), 0);
+        // Equal rows are ordered by index, so selection keeps the order of stable sort.
+        IndexComparator stableComparator = (left, right) -> {
+            int result = comparator.compare(left, right);
+            return result != 0 ? result : Integer.compare(left, right);
+        };
+
+        // Max-heap: the worst selected row is at the root.
+        int[] heap = new int[heapSize];
+        for (int row = 0; row < size && heapSize > 0; row++) {
+            if (row < heapSize) {
+                heap[row] = row;
+                siftUp(heap, row, stableComparator);
+            } else if (stableComparator.compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(heap, 0, heapSize, stableComparator);
+            }
+        }
+        sort(heap, stableComparator);
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int index, IndexComparator comparator) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.compare(heap[parent], row) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int index, int heapSize, IndexComparator comparator) {
+        int row = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && comparator.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(row, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    /**
+     * Method sorts row indexes by comparator. Equal rows keep their order.
+     * @param indexes row indexes.
+     * @param comparator row comparator.
+     */
+    static void sort(int[] indexes, IndexComparator comparator) {
+        if (indexes.length < 2) {
+            return;
+        }
+        int[] buffer = indexes.clone();
+        mergeSort(buffer, indexes, 0, indexes.length, comparator);
+    }
+
+    /**
+     * Sorts source[from, to) into target[from, to). Both arrays hold the same values in that range on entry.
+     */
+    private static void mergeSort(int[] source, int[] target, int from, int to, IndexComparator comparator) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int value = target[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(target[j], value) > 0) {
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                target[j + 1] = value;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+
+        if (comparator.compare(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || (left < middle && comparator.compare(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Identity of the results file state: path, size and last modification time.
+ */
+final class LeaderboardCacheKey {
+
+    private final Path path;
+
+    private final long size;
+
+    private final long lastModifiedMillis;
+
+    private LeaderboardCacheKey(Path path, long size, long lastModifiedMillis) {
+        this.path = path;
+        this.size = size;
+        this.lastModifiedMillis = lastModifiedMillis;
+    }
+
+    /**
+     * Reads key of the file.
+     * @param path results file.
+     * @return key of the file, or null if file attributes can not be read.
+     */
+    static LeaderboardCacheKey of(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new LeaderboardCacheKey(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether the file was modified after this key was read.
+     * @param newer key read later, may be null.
+     * @return true if it is the same file with later modification time.
+     */
+    boolean isOlderThan(LeaderboardCacheKey newer) {
+        return newer != null && lastModifiedMillis < newer.lastModifiedMillis && path.equals(newer.path);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LeaderboardCacheKey)) {
+            return false;
+        }
+        LeaderboardCacheKey that = (LeaderboardCacheKey) o;
+        return size == that.size && lastModifiedMillis == that.lastModifiedMillis && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * path.hashCode() + Long.hashCode(size)) + Long.hashCode(lastModifiedMillis);
+    }
+}
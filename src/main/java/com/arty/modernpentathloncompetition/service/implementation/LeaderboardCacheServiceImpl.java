@@ -0,0 +1,533 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.AthleteResultService;
+import com.arty.modernpentathloncompetition.service.LeaderboardCacheService;
+import com.arty.modernpentathloncompetition.writer.LeaderboardCsvWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class LeaderboardCacheServiceImpl implements LeaderboardCacheService {
+
+    /**
+     * Injection of athlete result service.
+     */
+    private final AthleteResultService athleteResultService;
+
+    /**
+     * File path.
+     */
+    @Value("${csv_file_path}")
+    private String FILE_PATH;
+
+    /**
+     * Amount of threads computing leaderboards requested asynchronously.
+     */
+    @Value("${leaderboard_threads:2}")
+    private int LEADERBOARD_THREADS = 2;
+
+    /**
+     * Amount of computations waiting for a thread, above it asynchronous requests are rejected.
+     */
+    @Value("${leaderboard_queue_capacity:16}")
+    private int LEADERBOARD_QUEUE_CAPACITY = 16;
+
+    /**
+     * Leaderboard computed for the last seen state of the results file, with its CSV encoded once.
+     */
+    private volatile CachedLeaderboard cachedLeaderboard;
+
+    /**
+     * Lock guarding computation in progress. It is never held while leaderboard is computed.
+     */
+    private final Object computationLock = new Object();
+
+    /**
+     * Computation in progress, shared by all requests of the same state of the results file.
+     */
+    private CompletableFuture<AthleteResultTable> computation;
+
+    private LeaderboardCacheKey computationKey;
+
+    /**
+     * Executor of leaderboards requested asynchronously.
+     */
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Amount of requests served from the cache.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Amount of requests which computed the leaderboard.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Time from JVM start until the first leaderboard was available, -1 until then.
+     */
+    private volatile long timeToFirstLeaderboardMillis = -1;
+
+    /**
+     * Watch service of the directory holding results file.
+     */
+    private WatchService watchService;
+
+    /**
+     * Injection of athlete result service and registry which hits, misses and time to the first leaderboard are
+     * published to. Published values are read only when metrics are scraped.
+     * @param athleteResultService the athlete result service.
+     * @param meterRegistry the meter registry.
+     */
+    public LeaderboardCacheServiceImpl(AthleteResultService athleteResultService, MeterRegistry meterRegistry) {
+        this.athleteResultService = athleteResultService;
+
+        FunctionCounter.builder("pentathlon.leaderboard.cache.requests", hitCount, AtomicLong::get)
+                .description("Leaderboard requests served from the cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("pentathlon.leaderboard.cache.requests", missCount, AtomicLong::get)
+                .description("Leaderboard requests which computed the leaderboard")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("pentathlon.leaderboard.time.to.first", this,
+                LeaderboardCacheServiceImpl::getTimeToFirstLeaderboardMillis)
+                .description("Time from JVM start until the first leaderboard was available, -1 until then")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Method creates executor of asynchronous requests and starts a daemon thread which invalidates cached
+     * leaderboard as soon as the results file is changed. Cache key is checked on every request anyway, so
+     * leaderboard stays correct even when watching is not possible.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, LEADERBOARD_THREADS);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, LEADERBOARD_QUEUE_CAPACITY)), runnable -> {
+                    Thread thread = new Thread(runnable, "leaderboard-computation-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Path resultsFile = resolveResultsFile();
+        Path directory = resultsFile.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        Thread watcherThread = new Thread(() -> watchResultsFile(resultsFile.getFileName()),
+                "leaderboard-cache-invalidator");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Method stops computations and watching results file.
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        executor.shutdownNow();
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    @Override
+    public AthleteResultTable getLeaderboard() {
+        LeaderboardCacheKey key = LeaderboardCacheKey.of(resolveResultsFile());
+        AthleteResultTable leaderboard = cachedLeaderboard(key);
+        if (leaderboard != null) {
+            hitCount.incrementAndGet();
+            return leaderboard;
+        }
+
+        CompletableFuture<AthleteResultTable> sharedComputation;
+        CompletableFuture<AthleteResultTable> ownComputation = null;
+        synchronized (computationLock) {
+            leaderboard = cachedLeaderboard(key);
+            if (leaderboard != null) {
+                hitCount.incrementAndGet();
+                return leaderboard;
+            }
+            sharedComputation = computationInProgress(key);
+            if (sharedComputation == null) {
+                ownComputation = startComputation(key);
+            }
+        }
+
+        if (ownComputation == null) {
+            hitCount.incrementAndGet();
+            return join(sharedComputation);
+        }
+        missCount.incrementAndGet();
+        compute(key, ownComputation);
+        return join(ownComputation);
+    }
+
+    @Override
+    public CompletableFuture<AthleteResultTable> getLeaderboardAsync() {
+        LeaderboardCacheKey key = LeaderboardCacheKey.of(resolveResultsFile());
+        AthleteResultTable leaderboard = cachedLeaderboard(key);
+        if (leaderboard != null) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(leaderboard);
+        }
+
+        CompletableFuture<AthleteResultTable> ownComputation;
+        synchronized (computationLock) {
+            leaderboard = cachedLeaderboard(key);
+            if (leaderboard != null) {
+                hitCount.incrementAndGet();
+                return CompletableFuture.completedFuture(leaderboard);
+            }
+            CompletableFuture<AthleteResultTable> sharedComputation = computationInProgress(key);
+            if (sharedComputation != null) {
+                hitCount.incrementAndGet();
+                return sharedComputation;
+            }
+            ownComputation = startComputation(key);
+        }
+
+        missCount.incrementAndGet();
+        try {
+            executor.execute(() -> computeUnlessSuperseded(key, ownComputation));
+        } catch (RejectedExecutionException e) {
+            finishComputation(ownComputation);
+            ownComputation.completeExceptionally(e);
+        }
+        return ownComputation;
+    }
+
+    @Override
+    public CompletableFuture<AthleteResultTable> getLeaderboardAsync(int top) {
+        LeaderboardCacheKey key = LeaderboardCacheKey.of(resolveResultsFile());
+        AthleteResultTable leaderboard = cachedLeaderboard(key);
+        if (leaderboard != null) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(leaderboard);
+        }
+        synchronized (computationLock) {
+            leaderboard = cachedLeaderboard(key);
+            if (leaderboard != null) {
+                hitCount.incrementAndGet();
+                return CompletableFuture.completedFuture(leaderboard);
+            }
+            CompletableFuture<AthleteResultTable> sharedComputation = computationInProgress(key);
+            if (sharedComputation != null) {
+                hitCount.incrementAndGet();
+                return sharedComputation;
+            }
+        }
+
+        // Top is neither cached nor shared, it is cheaper to compute again than the whole leaderboard.
+        missCount.incrementAndGet();
+        CompletableFuture<AthleteResultTable> topComputation = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    AthleteResultTable topLeaderboard = athleteResultService.generateAthleteLeaderboardTable(top);
+                    recordFirstLeaderboard();
+                    topComputation.complete(topLeaderboard);
+                } catch (RuntimeException e) {
+                    topComputation.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            topComputation.completeExceptionally(e);
+        }
+        return topComputation;
+    }
+
+    /**
+     * Method returns computation in progress of the same state of the results file, or of a state the file was
+     * changed to after the key was read. Guarded by computation lock.
+     * @param key key of the current state of the results file, may be null.
+     * @return computation to join, or null if there is none.
+     */
+    private CompletableFuture<AthleteResultTable> computationInProgress(LeaderboardCacheKey key) {
+        return (key != null && (key.equals(computationKey) || key.isOlderThan(computationKey))) ? computation : null;
+    }
+
+    /**
+     * Method registers a new computation, so further requests join it. Guarded by computation lock.
+     * @param key key of the current state of the results file, may be null, then computation is not shared.
+     * @return the registered computation, to be completed by the caller.
+     */
+    private CompletableFuture<AthleteResultTable> startComputation(LeaderboardCacheKey key) {
+        CompletableFuture<AthleteResultTable> newComputation = new CompletableFuture<>();
+        if (key != null) {
+            computation = newComputation;
+            computationKey = key;
+        }
+        return newComputation;
+    }
+
+    /**
+     * Method computes leaderboard, caches it and completes the computation with it.
+     * @param key key of the state of the results file the computation was started for, may be null.
+     * @param ownComputation computation to complete.
+     */
+    private void compute(LeaderboardCacheKey key, CompletableFuture<AthleteResultTable> ownComputation) {
+        AthleteResultTable leaderboard;
+        CachedLeaderboard computed;
+        try {
+            leaderboard = athleteResultService.generateAthleteLeaderboardTable();
+            computed = (key != null) ? new CachedLeaderboard(key, leaderboard) : null;
+        } catch (RuntimeException e) {
+            finishComputation(ownComputation);
+            ownComputation.completeExceptionally(e);
+            return;
+        }
+        synchronized (computationLock) {
+            if (computed != null) {
+                cachedLeaderboard = computed;
+            }
+            finishComputation(ownComputation);
+        }
+        recordFirstLeaderboard();
+        ownComputation.complete(leaderboard);
+    }
+
+    /**
+     * Method computes leaderboard unless results file changed again while the computation was waiting for a thread.
+     * Then requests waiting for it get the newer leaderboard, so computations of outdated states do not pile up.
+     * @param key key of the state of the results file the computation was started for, may be null.
+     * @param ownComputation computation to complete.
+     */
+    private void computeUnlessSuperseded(LeaderboardCacheKey key, CompletableFuture<AthleteResultTable> ownComputation) {
+        CompletableFuture<AthleteResultTable> newerComputation = null;
+        AthleteResultTable newerLeaderboard = null;
+        synchronized (computationLock) {
+            if (key != null && computation != ownComputation) {
+                newerComputation = computation;
+                CachedLeaderboard cached = cachedLeaderboard;
+                newerLeaderboard = (cached != null) ? cached.leaderboard : null;
+            }
+        }
+        if (newerComputation != null) {
+            newerComputation.whenComplete((leaderboard, e) -> {
+                if (e != null) {
+                    ownComputation.completeExceptionally(e);
+                } else {
+                    ownComputation.complete(leaderboard);
+                }
+            });
+        } else if (newerLeaderboard != null) {
+            ownComputation.complete(newerLeaderboard);
+        } else {
+            compute(key, ownComputation);
+        }
+    }
+
+    /**
+     * Method stops sharing the computation with further requests.
+     * @param finishedComputation computation which finished.
+     */
+    private void finishComputation(CompletableFuture<AthleteResultTable> finishedComputation) {
+        synchronized (computationLock) {
+            if (computation == finishedComputation) {
+                computation = null;
+                computationKey = null;
+            }
+        }
+    }
+
+    private static AthleteResultTable join(CompletableFuture<AthleteResultTable> leaderboardComputation) {
+        try {
+            return leaderboardComputation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void writeLeaderboard(OutputStream outputStream) throws IOException {
+        AthleteResultTable leaderboard = getLeaderboard();
+        if (!writeCachedLeaderboard(leaderboard, outputStream, leaderboard.size())) {
+            athleteResultService.writeFinalLeaderboardList(leaderboard, outputStream);
+        }
+    }
+
+    @Override
+    public void writeLeaderboard(AthleteResultTable leaderboard, OutputStream outputStream, int top)
+            throws IOException {
+        if (writeCachedLeaderboard(leaderboard, outputStream, top)) {
+            return;
+        }
+        LeaderboardCsvWriter leaderboardCsvWriter = new LeaderboardCsvWriter(outputStream);
+        leaderboardCsvWriter.writeRows(leaderboard, 0, Math.min(Math.max(top, 0), leaderboard.size()));
+        leaderboardCsvWriter.flush();
+    }
+
+    /**
+     * Method writes the first rows of the cached leaderboard as the bytes they were encoded to when it was cached.
+     * @param leaderboard leaderboard to write.
+     * @param outputStream stream the leaderboard is written to, it is flushed but not closed.
+     * @param top amount of athletes at the top of leaderboard.
+     * @return true if leaderboard is the cached one and it was written, false if it has to be encoded.
+     * @throws IOException when writing to the stream fails.
+     */
+    private boolean writeCachedLeaderboard(AthleteResultTable leaderboard, OutputStream outputStream, int top)
+            throws IOException {
+        CachedLeaderboard cached = cachedLeaderboard;
+        if (cached == null || cached.leaderboard != leaderboard) {
+            return false;
+        }
+        int rows = Math.min(Math.max(top, 0), cached.rowEnds.length);
+        outputStream.write(cached.csv, 0, rows == 0 ? 0 : cached.rowEnds[rows - 1]);
+        outputStream.flush();
+        return true;
+    }
+
+    @Override
+    public void preload(AthleteResultTable leaderboard) {
+        LeaderboardCacheKey key = LeaderboardCacheKey.of(resolveResultsFile());
+        CachedLeaderboard preloaded = (key != null) ? new CachedLeaderboard(key, leaderboard) : null;
+        synchronized (computationLock) {
+            cachedLeaderboard = preloaded;
+        }
+        recordFirstLeaderboard();
+    }
+
+    @Override
+    public long getTimeToFirstLeaderboardMillis() {
+        return timeToFirstLeaderboardMillis;
+    }
+
+    @Override
+    public void invalidate() {
+        cachedLeaderboard = null;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Method returns cached leaderboard if it was computed for the same state of the results file.
+     * @param key key of the current state of the results file, may be null.
+     * @return cached leaderboard, or null if there is none for the key.
+     */
+    private AthleteResultTable cachedLeaderboard(LeaderboardCacheKey key) {
+        CachedLeaderboard cached = cachedLeaderboard;
+        return (key != null && cached != null && cached.key.equals(key)) ? cached.leaderboard : null;
+    }
+
+    private void recordFirstLeaderboard() {
+        if (timeToFirstLeaderboardMillis < 0) {
+            timeToFirstLeaderboardMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        }
+    }
+
+    private Path resolveResultsFile() {
+        return Paths.get(FILE_PATH).toAbsolutePath().normalize();
+    }
+
+    private void watchResultsFile(Path fileName) {
+        try {
+            while (true) {
+                WatchKey watchKey = watchService.take();
+                for (WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                        invalidate();
+                    }
+                }
+                if (!watchKey.reset()) {
+                    invalidate();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Application is shutting down.
+        }
+    }
+
+    /**
+     * Leaderboard together with the key of the file it was computed from and its CSV, encoded once when it is
+     * cached, so requests served from the cache only copy bytes.
+     */
+    private static final class CachedLeaderboard {
+
+        private final LeaderboardCacheKey key;
+
+        private final AthleteResultTable leaderboard;
+
+        private final byte[] csv;
+
+        /**
+         * Offset in the CSV after every row, top of leaderboard is the prefix up to the end of its last row.
+         */
+        private final int[] rowEnds;
+
+        private CachedLeaderboard(LeaderboardCacheKey key, AthleteResultTable leaderboard) {
+            this.key = key;
+            this.leaderboard = leaderboard;
+            this.rowEnds = new int[leaderboard.size()];
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try {
+                LeaderboardCsvWriter leaderboardCsvWriter = new LeaderboardCsvWriter(outputStream);
+                for (int row = 0; row < rowEnds.length; row++) {
+                    leaderboardCsvWriter.writeRow(leaderboard, row);
+                    rowEnds[row] = Math.toIntExact(leaderboardCsvWriter.getWrittenByteCount());
+                }
+                leaderboardCsvWriter.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.csv = outputStream.toByteArray();
+        }
+    }
+}
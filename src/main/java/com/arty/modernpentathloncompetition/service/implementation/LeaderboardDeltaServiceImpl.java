@@ -0,0 +1,314 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.LeaderboardDelta;
+import com.arty.modernpentathloncompetition.entity.LeaderboardRow;
+import com.arty.modernpentathloncompetition.service.LeaderboardDeltaListener;
+import com.arty.modernpentathloncompetition.service.LeaderboardDeltaService;
+import com.arty.modernpentathloncompetition.service.LiveLeaderboardService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publisher of live leaderboard changes.
+ *
+ * <p>Live leaderboard is compared row by row with the last published one, and only rows which changed are queued to
+ * subscribers. Every subscriber keeps at most one pending row per position, so changes not delivered yet are
+ * coalesced, and when more rows are pending than the buffer allows they are dropped for a snapshot taken at
+ * delivery. Deliveries run on a small fixed pool and every subscriber has at most one delivery queued, so a slow
+ * subscriber does not hold memory or threads of the others.
+ */
+@Service
+public class LeaderboardDeltaServiceImpl implements LeaderboardDeltaService {
+
+    /**
+     * Default maximum amount of pending rows of one subscriber.
+     */
+    static final int DEFAULT_SUBSCRIBER_BUFFER_ROWS = 1024;
+
+    /**
+     * Injection of live leaderboard service.
+     */
+    private final LiveLeaderboardService liveLeaderboardService;
+
+    /**
+     * How often live leaderboard is checked for changes.
+     */
+    @Value("${sse_publish_interval_millis:200}")
+    private long PUBLISH_INTERVAL_MILLIS = 200;
+
+    /**
+     * Maximum amount of pending rows of one subscriber.
+     */
+    @Value("${sse_subscriber_buffer_rows:" + DEFAULT_SUBSCRIBER_BUFFER_ROWS + "}")
+    private int SUBSCRIBER_BUFFER_ROWS = DEFAULT_SUBSCRIBER_BUFFER_ROWS;
+
+    /**
+     * Amount of threads delivering changes to subscribers.
+     */
+    @Value("${sse_sender_threads:4}")
+    private int SENDER_THREADS = 4;
+
+    private final Map<LeaderboardDeltaListener, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * The last published leaderboard.
+     */
+    private volatile PublishedLeaderboard published = new PublishedLeaderboard(-1, new LeaderboardRow[0]);
+
+    private ScheduledExecutorService publisher;
+
+    private ExecutorService sender;
+
+    public LeaderboardDeltaServiceImpl(LiveLeaderboardService liveLeaderboardService) {
+        this.liveLeaderboardService = liveLeaderboardService;
+    }
+
+    /**
+     * Method starts checking live leaderboard for changes and delivering them.
+     */
+    @PostConstruct
+    public void startPublishing() {
+        sender = Executors.newFixedThreadPool(Math.max(1, SENDER_THREADS), daemonThreads("leaderboard-delta-sender"));
+        publisher = Executors.newSingleThreadScheduledExecutor(daemonThreads("leaderboard-delta-publisher"));
+        publisher.scheduleWithFixedDelay(this::publishChangesQuietly, PUBLISH_INTERVAL_MILLIS,
+                PUBLISH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method stops publishing, pending changes are dropped.
+     */
+    @PreDestroy
+    public void stopPublishing() {
+        publisher.shutdownNow();
+        sender.shutdownNow();
+        subscribers.clear();
+    }
+
+    /**
+     * Method sets maximum amount of pending rows of one subscriber.
+     * @param subscriberBufferRows amount of rows, at least 1.
+     */
+    public void setSubscriberBufferRows(int subscriberBufferRows) {
+        SUBSCRIBER_BUFFER_ROWS = Math.max(1, subscriberBufferRows);
+    }
+
+    @Override
+    public void subscribe(LeaderboardDeltaListener listener) {
+        publishChanges();
+        Subscriber subscriber = new Subscriber(listener);
+        subscribers.put(listener, subscriber);
+        subscriber.start();
+    }
+
+    @Override
+    public void unsubscribe(LeaderboardDeltaListener listener) {
+        Subscriber subscriber = subscribers.remove(listener);
+        if (subscriber != null) {
+            subscriber.cancel();
+        }
+    }
+
+    @Override
+    public synchronized void publishChanges() {
+        long version = liveLeaderboardService.getVersion();
+        PublishedLeaderboard previous = published;
+        if (version == previous.version) {
+            return;
+        }
+
+        AthleteResultTable leaderboard = liveLeaderboardService.getLeaderboard();
+        LeaderboardRow[] rows = new LeaderboardRow[leaderboard.size()];
+        List<LeaderboardRow> changedRows = new ArrayList<>();
+        for (int row = 0; row < rows.length; row++) {
+            LeaderboardRow leaderboardRow = LeaderboardRow.of(leaderboard, row);
+            if (row < previous.rows.length && leaderboardRow.equals(previous.rows[row])) {
+                rows[row] = previous.rows[row];
+            } else {
+                rows[row] = leaderboardRow;
+                changedRows.add(leaderboardRow);
+            }
+        }
+        published = new PublishedLeaderboard(version, rows);
+
+        if (changedRows.isEmpty() && rows.length == previous.rows.length) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers.values()) {
+            subscriber.offer(version, rows.length, changedRows);
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void publishChangesQuietly() {
+        try {
+            publishChanges();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Rows of published leaderboard by position and version they belong to.
+     */
+    private static final class PublishedLeaderboard {
+
+        private final long version;
+
+        private final LeaderboardRow[] rows;
+
+        private PublishedLeaderboard(long version, LeaderboardRow[] rows) {
+            this.version = version;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Pending changes of one subscriber. Guarded by its own monitor.
+     */
+    private final class Subscriber {
+
+        private final LeaderboardDeltaListener listener;
+
+        /**
+         * Pending rows by position, a later row replaces the earlier one at the same position.
+         */
+        private final TreeMap<Integer, LeaderboardRow> pendingRows = new TreeMap<>();
+
+        /**
+         * True if the whole leaderboard has to be sent instead of pending rows.
+         */
+        private boolean pendingSnapshot = true;
+
+        private boolean pending = true;
+
+        private long pendingVersion;
+
+        private int pendingSize;
+
+        /**
+         * True while delivery of the subscriber is queued or running.
+         */
+        private boolean scheduled;
+
+        private boolean cancelled;
+
+        private Subscriber(LeaderboardDeltaListener listener) {
+            this.listener = listener;
+        }
+
+        private synchronized void start() {
+            schedule();
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            pendingRows.clear();
+        }
+
+        private synchronized void offer(long version, int size, List<LeaderboardRow> rows) {
+            if (cancelled) {
+                return;
+            }
+            pending = true;
+            pendingVersion = version;
+            pendingSize = size;
+            if (!pendingSnapshot) {
+                if (pendingRows.size() + rows.size() > SUBSCRIBER_BUFFER_ROWS) {
+                    pendingRows.clear();
+                    pendingSnapshot = true;
+                } else {
+                    for (LeaderboardRow row : rows) {
+                        pendingRows.put(row.getPosition(), row);
+                    }
+                }
+            }
+            schedule();
+        }
+
+        /**
+         * Method queues delivery unless it is queued or running already. Caller holds the monitor.
+         */
+        private void schedule() {
+            if (scheduled || cancelled) {
+                return;
+            }
+            scheduled = true;
+            try {
+                sender.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                scheduled = false;
+            }
+        }
+
+        private void deliver() {
+            LeaderboardDelta delta;
+            synchronized (this) {
+                delta = takePending();
+            }
+            if (delta != null) {
+                try {
+                    listener.onDelta(delta);
+                } catch (IOException | RuntimeException e) {
+                    unsubscribe(listener);
+                }
+            }
+            synchronized (this) {
+                scheduled = false;
+                if (pending) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Method takes pending changes as one delta. Caller holds the monitor.
+         */
+        private LeaderboardDelta takePending() {
+            if (!pending || cancelled) {
+                return null;
+            }
+            pending = false;
+            if (pendingSnapshot) {
+                pendingSnapshot = false;
+                pendingRows.clear();
+                PublishedLeaderboard snapshot = published;
+                return new LeaderboardDelta(snapshot.version, true, snapshot.rows.length,
+                        Arrays.asList(snapshot.rows));
+            }
+            List<LeaderboardRow> rows = new ArrayList<>(pendingRows.headMap(pendingSize).values());
+            pendingRows.clear();
+            return new LeaderboardDelta(pendingVersion, false, pendingSize, rows);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.LeaderboardCacheService;
+import com.arty.modernpentathloncompetition.snapshot.AthleteResultSnapshot;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Startup mode 'precompute': leaderboard is put into the cache once all singletons are created, before the web
+ * server is started and the application reports it is ready, so the first request does not pay for reading and
+ * scoring the results file.
+ *
+ * <p>When leaderboard snapshot is configured and it is newer than the results file and the scoring rulebook, it is
+ * loaded instead of computing the leaderboard. Otherwise leaderboard is computed and the snapshot is written for
+ * the next start. The bean is never lazy, so it runs with lazy initialization of other beans as well.
+ */
+@Component
+@Lazy(false)
+public class LeaderboardStartupWarmup implements SmartInitializingSingleton {
+
+    /**
+     * Startup mode which computes leaderboard during start.
+     */
+    static final String STARTUP_MODE_PRECOMPUTE = "precompute";
+
+    /**
+     * Injection of leaderboard cache service.
+     */
+    private final LeaderboardCacheService leaderboardCacheService;
+
+    /**
+     * File path.
+     */
+    @Value("${csv_file_path}")
+    private String FILE_PATH;
+
+    /**
+     * Startup mode: 'lazy' computes leaderboard on the first request, 'precompute' during start.
+     */
+    @Value("${startup_mode:lazy}")
+    private String STARTUP_MODE;
+
+    /**
+     * Path to leaderboard snapshot loaded and written during start, not used if empty.
+     */
+    @Value("${startup_leaderboard_snapshot:}")
+    private String SNAPSHOT_PATH;
+
+    /**
+     * Path to properties file of scoring rulebook.
+     */
+    @Value("${scoring_rules_path:}")
+    private String SCORING_RULES_PATH;
+
+    public LeaderboardStartupWarmup(LeaderboardCacheService leaderboardCacheService) {
+        this.leaderboardCacheService = leaderboardCacheService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        warmUp();
+    }
+
+    /**
+     * Method precomputes leaderboard and reports time to the first leaderboard.
+     */
+    public void warmUp() {
+        if (!STARTUP_MODE_PRECOMPUTE.equals(STARTUP_MODE)) {
+            return;
+        }
+
+        Path snapshot = SNAPSHOT_PATH.trim().isEmpty() ? null : Paths.get(SNAPSHOT_PATH.trim());
+        AthleteResultTable leaderboard = null;
+        String source = "snapshot " + snapshot;
+        if (snapshot != null && isNewerThanSources(snapshot)) {
+            try {
+                leaderboard = AthleteResultSnapshot.read(snapshot);
+                leaderboardCacheService.preload(leaderboard);
+            } catch (IOException e) {
+                e.printStackTrace();
+                leaderboard = null;
+            }
+        }
+        if (leaderboard == null) {
+            source = "results file " + FILE_PATH;
+            leaderboard = leaderboardCacheService.getLeaderboard();
+            if (snapshot != null && leaderboard.size() > 0) {
+                try {
+                    AthleteResultSnapshot.write(leaderboard, snapshot);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        System.err.println("Leaderboard of " + leaderboard.size() + " athletes precomputed from " + source
+                + ", time to first leaderboard: " + leaderboardCacheService.getTimeToFirstLeaderboardMillis() + " ms");
+    }
+
+    /**
+     * Method tells whether snapshot was written after the last change of the results file and the rulebook.
+     */
+    private boolean isNewerThanSources(Path snapshot) {
+        try {
+            if (!Files.isRegularFile(snapshot)) {
+                return false;
+            }
+            long snapshotModified = Files.getLastModifiedTime(snapshot).toMillis();
+            if (Files.getLastModifiedTime(Paths.get(FILE_PATH)).toMillis() > snapshotModified) {
+                return false;
+            }
+            return SCORING_RULES_PATH == null || SCORING_RULES_PATH.trim().isEmpty()
+                    || Files.getLastModifiedTime(Paths.get(SCORING_RULES_PATH.trim())).toMillis() <= snapshotModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
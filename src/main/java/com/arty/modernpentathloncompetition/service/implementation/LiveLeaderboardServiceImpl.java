@@ -0,0 +1,451 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.ScoringContext;
+import com.arty.modernpentathloncompetition.ingestion.AthleteResultState;
+import com.arty.modernpentathloncompetition.ingestion.ConcurrentResultStore;
+import com.arty.modernpentathloncompetition.metrics.LeaderboardPipelineMetrics;
+import com.arty.modernpentathloncompetition.parser.AthleteTimeParser;
+import com.arty.modernpentathloncompetition.service.AthleteResultService;
+import com.arty.modernpentathloncompetition.service.LiveLeaderboardService;
+import com.arty.modernpentathloncompetition.service.ResultStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live leaderboard which keeps athletes in a sorted index and re-scores only the athletes whose results changed.
+ *
+ * <p>Concluding event time is run time in seconds plus difference of total points between the leader and the
+ * athlete. Leader's points are the same for everyone, so athletes are indexed by run time in seconds minus total
+ * points, and change of the leader shifts concluding event time of everyone without changing their order.
+ * Update of a known athlete is O(log n); leaderboard is materialized in O(n) when it is read.
+ *
+ * <p>Results are written to {@link ConcurrentResultStore}, so results of many venue feeds are taken at the same
+ * time without locks. Reader of the leaderboard takes athletes changed since the previous read from the store and
+ * moves them in the index; index is guarded by its own lock, which writers never take.
+ *
+ * <p>When result storage is enabled, every accepted result is logged before it is applied, and results are
+ * recovered on first use from the latest snapshot and the events logged after it instead of the results file.
+ * Logged events are applied without scoring, and athletes are scored once when the leaderboard is read. Log is one
+ * file written in order, so logged updates are applied one at a time in the order of the log.
+ */
+@Service
+public class LiveLeaderboardServiceImpl implements LiveLeaderboardService {
+
+    /**
+     * Order of leaderboard: concluding event time ascending, total points descending, then order of arrival.
+     */
+    private static final Comparator<LiveAthlete> LEADERBOARD_ORDER = (left, right) -> {
+        int byTime = Integer.compare(left.concludingEventTimeKey(), right.concludingEventTimeKey());
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byPoints = Integer.compare(right.totalPoints, left.totalPoints);
+        return byPoints != 0 ? byPoints : Integer.compare(left.order, right.order);
+    };
+
+    /**
+     * Injection of athlete result service.
+     */
+    private final AthleteResultService athleteResultService;
+
+    /**
+     * Injection of result storage service.
+     */
+    private final ResultStorageService resultStorageService;
+
+    /**
+     * Counter of logged events skipped on recovery.
+     */
+    private final LeaderboardPipelineMetrics metrics;
+
+    /**
+     * File path.
+     */
+    @Value("${csv_file_path}")
+    private String FILE_PATH;
+
+    /**
+     * Current results, replaced as a whole when athletes are loaded.
+     */
+    private volatile ConcurrentResultStore store = new ConcurrentResultStore();
+
+    /**
+     * Guards loading of athletes, and appends to the log together with the updates they record.
+     */
+    private final Object storageLock = new Object();
+
+    private volatile boolean loaded;
+
+    /**
+     * Whether logged events were replayed and the log is open for appends. Guarded by the storage lock.
+     */
+    private boolean recovered;
+
+    private final LongAdder version = new LongAdder();
+
+    /**
+     * Guards the index: the fields below.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Store the index is built from.
+     */
+    private ConcurrentResultStore indexedStore;
+
+    /**
+     * Indexed athletes by order of arrival, null where athlete's first result is not taken from the store yet.
+     */
+    private LiveAthlete[] athletes = new LiveAthlete[0];
+
+    private int athleteCount;
+
+    /**
+     * Whether an athlete was added while changes are taken from the store, so all athletes must be scored again.
+     */
+    private boolean athleteAdded;
+
+    /**
+     * Athletes in the order of leaderboard.
+     */
+    private final TreeSet<LiveAthlete> leaderboard = new TreeSet<>(LEADERBOARD_ORDER);
+
+    /**
+     * Amount of athletes by total points, the highest key is the leader's points.
+     */
+    private final TreeMap<Integer, Integer> totalPointsCounts = new TreeMap<>();
+
+    private ScoringContext scoringContext;
+
+    /**
+     * Service whose metrics are not published anywhere.
+     */
+    public LiveLeaderboardServiceImpl(AthleteResultService athleteResultService,
+                                      ResultStorageService resultStorageService) {
+        this.athleteResultService = athleteResultService;
+        this.resultStorageService = resultStorageService;
+        this.metrics = new LeaderboardPipelineMetrics();
+    }
+
+    @Autowired
+    public LiveLeaderboardServiceImpl(AthleteResultService athleteResultService,
+                                      ResultStorageService resultStorageService, MeterRegistry meterRegistry) {
+        this.athleteResultService = athleteResultService;
+        this.resultStorageService = resultStorageService;
+        this.metrics = new LeaderboardPipelineMetrics(meterRegistry);
+    }
+
+    @Override
+    public void load(AthleteResultTable athleteResultTable) {
+        PendingSnapshot snapshot;
+        synchronized (storageLock) {
+            if (!recovered) {
+                // Logged events are superseded, log is only opened to continue its sequence.
+                resultStorageService.recover((sequence, nameSurname, event, result) -> {
+                });
+                recovered = true;
+            }
+            store = new ConcurrentResultStore(athleteResultTable);
+            loaded = true;
+            version.increment();
+            snapshot = startSnapshot();
+        }
+        writeSnapshot(snapshot);
+    }
+
+    @Override
+    public void updateResult(String nameSurname, AthleteEvent event, String result) {
+        ensureLoaded();
+        if (!resultStorageService.isEnabled()) {
+            store.update(nameSurname, event, result);
+            version.increment();
+            return;
+        }
+
+        // Result is validated before it is logged.
+        AthleteResultState.EMPTY.withResult(event, result);
+        PendingSnapshot snapshot = null;
+        synchronized (storageLock) {
+            resultStorageService.append(nameSurname, event, result);
+            store.update(nameSurname, event, result);
+            version.increment();
+            if (resultStorageService.isSnapshotDue()) {
+                snapshot = startSnapshot();
+            }
+        }
+        writeSnapshot(snapshot);
+    }
+
+    @Override
+    public AthleteResultTable getLeaderboard() {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            refreshIndex();
+            // Downgrade, so that readers materialize leaderboard at the same time.
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            AthleteResultTable athleteResultTable = new AthleteResultTable(indexedStore.getNameDictionary(),
+                    leaderboard.size());
+            int maxPoints = totalPointsCounts.isEmpty() ? 0 : totalPointsCounts.lastKey();
+            for (LiveAthlete athlete : leaderboard) {
+                AthleteResultState state = athlete.state;
+                int row = athleteResultTable.addRowOfNameId(athlete.nameSurnameId, state.getFencingVictories(),
+                        state.getSwimmingTime(), AthleteTimeParser.parseTenths(state.getSwimmingTime()),
+                        state.getFenceKnockDownCount(), state.getRefusalToJumpCount(),
+                        state.getObstacleKnockDownCount(), state.getShootingTargetScore(), state.getRunTime(),
+                        AthleteTimeParser.parseTenths(state.getRunTime()));
+                athleteResultTable.setTotalPoints(row, athlete.totalPoints);
+                athleteResultTable.setConcludingEventTime(row, athlete.concludingEventTimeKey() + maxPoints);
+            }
+            return athleteResultService.determinePlaceForEachAthlete(athleteResultTable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void writeLeaderboard(OutputStream outputStream) throws IOException {
+        athleteResultService.writeFinalLeaderboardList(getLeaderboard(), outputStream);
+    }
+
+    @Override
+    public long getVersion() {
+        return version.sum();
+    }
+
+    /**
+     * Method loads athletes on first use: from the latest snapshot and the log when result storage has them,
+     * otherwise from the results file.
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            PendingSnapshot snapshot = null;
+            synchronized (storageLock) {
+                if (!loaded) {
+                    long start = System.nanoTime();
+                    AthleteResultTable athleteResultTable = resultStorageService.readLatestSnapshot();
+                    String source = "snapshot";
+                    if (athleteResultTable == null) {
+                        athleteResultTable = athleteResultService.generateAthleteResultTableFromCsv(FILE_PATH);
+                        source = "results file " + FILE_PATH;
+                    }
+                    ConcurrentResultStore recoveredStore = new ConcurrentResultStore(athleteResultTable);
+                    long replayed = resultStorageService.recover((sequence, nameSurname, event, result) ->
+                            replayResult(recoveredStore, sequence, nameSurname, event, result));
+                    recovered = true;
+                    store = recoveredStore;
+                    loaded = true;
+                    version.increment();
+                    if (resultStorageService.isEnabled()) {
+                        System.err.println("Live results of " + recoveredStore.size() + " athletes recovered from "
+                                + source + " and " + replayed + " logged events in "
+                                + (System.nanoTime() - start) / 1_000_000 + " ms");
+                    }
+                    if (resultStorageService.isSnapshotDue()) {
+                        snapshot = startSnapshot();
+                    }
+                }
+            }
+            writeSnapshot(snapshot);
+        }
+    }
+
+    private void replayResult(ConcurrentResultStore store, long sequence, String nameSurname,
+                                     AthleteEvent event, String result) {
+        try {
+            store.update(nameSurname, event, result);
+        } catch (IllegalArgumentException e) {
+            metrics.logEventSkipped();
+            System.err.println("Logged event " + sequence + " is skipped: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Method copies results of all athletes and starts a snapshot of them. Must be called under the storage lock,
+     * so that no results are logged meanwhile.
+     * @return snapshot to write after the lock is released, null if result storage is disabled.
+     */
+    private PendingSnapshot startSnapshot() {
+        if (!resultStorageService.isEnabled()) {
+            return null;
+        }
+        return new PendingSnapshot(store.snapshot(), resultStorageService.startSnapshot());
+    }
+
+    /**
+     * Method scores copied results in order of arrival and writes them as snapshot.
+     */
+    private void writeSnapshot(PendingSnapshot snapshot) {
+        if (snapshot != null) {
+            AthleteResultTable results = athleteResultService.calculateTotalPointsOfAthletes(snapshot.results);
+            int maxPoints = 0;
+            for (int row = 0; row < results.size(); row++) {
+                maxPoints = Math.max(maxPoints, results.getTotalPoints(row));
+            }
+            for (int row = 0; row < results.size(); row++) {
+                results.setConcludingEventTime(row,
+                        results.getRunTime(row) / 10 + maxPoints - results.getTotalPoints(row));
+            }
+            resultStorageService.writeSnapshot(results, snapshot.sequence);
+        }
+    }
+
+    /**
+     * Method brings the index up to date with the store: rebuilds it when the store was replaced, otherwise moves
+     * only athletes changed since the previous refresh. Must be called under the write lock.
+     */
+    private void refreshIndex() {
+        ConcurrentResultStore current = store;
+        if (current != indexedStore) {
+            indexedStore = current;
+            athletes = new LiveAthlete[current.size()];
+            athleteCount = 0;
+            current.forEachSlot(this::addAthlete);
+            rescoreAll();
+            return;
+        }
+        athleteAdded = false;
+        current.drainChanged(this::applyChange);
+        if (athleteAdded) {
+            rescoreAll();
+        }
+    }
+
+    /**
+     * Method applies changed results of the athlete. Athletes are not moved in the index once a new athlete is
+     * added, because all of them are scored again after the last change.
+     */
+    private void applyChange(ConcurrentResultStore.Slot slot) {
+        LiveAthlete athlete = slot.getOrder() < athletes.length ? athletes[slot.getOrder()] : null;
+        if (athlete == null) {
+            addAthlete(slot);
+            athleteAdded = true;
+        } else if (athleteAdded) {
+            athlete.state = slot.getState();
+        } else {
+            remove(athlete);
+            athlete.state = slot.getState();
+            score(athlete);
+            add(athlete);
+        }
+    }
+
+    private void addAthlete(ConcurrentResultStore.Slot slot) {
+        if (slot.getOrder() >= athletes.length) {
+            athletes = Arrays.copyOf(athletes, Math.max(slot.getOrder() + 1, athletes.length * 2));
+        }
+        athletes[slot.getOrder()] = new LiveAthlete(slot.getNameSurnameId(), slot.getOrder(), slot.getState());
+        athleteCount++;
+    }
+
+    /**
+     * Method scores all athletes again with fencing target of the current amount of athletes.
+     */
+    private void rescoreAll() {
+        leaderboard.clear();
+        totalPointsCounts.clear();
+        scoringContext = athleteResultService.createScoringContext(athleteCount);
+        for (LiveAthlete athlete : athletes) {
+            if (athlete != null) {
+                score(athlete);
+                add(athlete);
+            }
+        }
+    }
+
+    private void score(LiveAthlete athlete) {
+        AthleteResultState state = athlete.state;
+        int fencingScore = athleteResultService.calculateAthletesFencingScore(
+                scoringContext.getFencingTargetWinCount(), state.getFencingVictories());
+        int swimmingScore = athleteResultService.calculateAthletesSwimmingScore(state.getSwimmingTime());
+        int ridingScore = athleteResultService.calculateAthletesRidingScore(state.getFenceKnockDownCount(),
+                state.getRefusalToJumpCount(), state.getObstacleKnockDownCount());
+        int shootingScore = athleteResultService.calculateAthletesShootingScore(state.getShootingTargetScore());
+
+        athlete.totalPoints = fencingScore + swimmingScore + ridingScore + shootingScore;
+        athlete.runTimeInSeconds = AthleteTimeParser.parseTenths(state.getRunTime()) / 10;
+    }
+
+    private void add(LiveAthlete athlete) {
+        leaderboard.add(athlete);
+        totalPointsCounts.merge(athlete.totalPoints, 1, Integer::sum);
+    }
+
+    private void remove(LiveAthlete athlete) {
+        leaderboard.remove(athlete);
+        totalPointsCounts.computeIfPresent(athlete.totalPoints, (points, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Results copied under the storage lock, scored and written as snapshot after it is released.
+     */
+    private static final class PendingSnapshot {
+
+        private final AthleteResultTable results;
+
+        /**
+         * Sequence of the last logged event included in the results.
+         */
+        private final long sequence;
+
+        private PendingSnapshot(AthleteResultTable results, long sequence) {
+            this.results = results;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Indexed results and score of one athlete. Guarded by the lock of the index.
+     */
+    private static final class LiveAthlete {
+
+        /**
+         * Id of athlete's name and surname in the name dictionary.
+         */
+        private final int nameSurnameId;
+
+        /**
+         * Order of arrival, keeps order of athletes with equal results the same as in the results file.
+         */
+        private final int order;
+
+        /**
+         * Results the athlete is scored by.
+         */
+        private AthleteResultState state;
+
+        private int totalPoints;
+        private int runTimeInSeconds;
+
+        private LiveAthlete(int nameSurnameId, int order, AthleteResultState state) {
+            this.nameSurnameId = nameSurnameId;
+            this.order = order;
+            this.state = state;
+        }
+
+        /**
+         * Concluding event time without the leader's points, which are the same for everyone.
+         */
+        private int concludingEventTimeKey() {
+            return runTimeInSeconds - totalPoints;
+        }
+    }
+}
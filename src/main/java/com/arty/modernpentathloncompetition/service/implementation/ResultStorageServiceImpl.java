@@ -0,0 +1,260 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.metrics.LeaderboardPipelineMetrics;
+import com.arty.modernpentathloncompetition.service.ResultStorageService;
+import com.arty.modernpentathloncompetition.snapshot.AthleteResultSnapshot;
+import com.arty.modernpentathloncompetition.storage.ResultEventLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Embedded storage of live results: append-only log of result events and snapshots of scored results.
+ *
+ * <p>Storage directory holds log segments of {@link ResultEventLog} and snapshots named after sequence of the last
+ * event they include, e.g. 'results-00000000000000100000.snapshot'. Snapshot is written to a temporary file and
+ * moved into place, and only then older snapshots and log segments are deleted, so a crash at any moment leaves
+ * a snapshot and the log after it.
+ */
+@Service
+public class ResultStorageServiceImpl implements ResultStorageService {
+
+    private static final String SNAPSHOT_PREFIX = "results-";
+
+    /**
+     * Directory of log and snapshots, storage is disabled if empty.
+     */
+    @Value("${result_storage_directory:}")
+    private String STORAGE_DIRECTORY = "";
+
+    /**
+     * Amount of logged events after which a new snapshot is written.
+     */
+    @Value("${result_snapshot_interval_events:100000}")
+    private long SNAPSHOT_INTERVAL_EVENTS = 100_000;
+
+    /**
+     * Whether every event is forced to the storage device before the update is acknowledged.
+     */
+    @Value("${result_log_fsync:false}")
+    private boolean LOG_FSYNC;
+
+    /**
+     * Counter of log segments found damaged on recovery.
+     */
+    private final LeaderboardPipelineMetrics metrics;
+
+    private ResultEventLog log;
+
+    /**
+     * Sequence of the last event included in the latest snapshot, -1 if there is no snapshot.
+     */
+    private volatile long snapshotSequence = -1;
+
+    /**
+     * Sequence of the last started snapshot, which may still be written.
+     */
+    private volatile long startedSnapshotSequence = -1;
+
+    /**
+     * Service whose metrics are not published anywhere.
+     */
+    public ResultStorageServiceImpl() {
+        this.metrics = new LeaderboardPipelineMetrics();
+    }
+
+    @Autowired
+    public ResultStorageServiceImpl(MeterRegistry meterRegistry) {
+        this.metrics = new LeaderboardPipelineMetrics(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !STORAGE_DIRECTORY.trim().isEmpty();
+    }
+
+    @Override
+    public AthleteResultTable readLatestSnapshot() {
+        if (!isEnabled()) {
+            return null;
+        }
+        try {
+            List<Path> snapshots = listSnapshots();
+            for (int i = snapshots.size() - 1; i >= 0; i--) {
+                try {
+                    AthleteResultTable results = AthleteResultSnapshot.read(snapshots.get(i));
+                    snapshotSequence = snapshotSequence(snapshots.get(i));
+                    startedSnapshotSequence = snapshotSequence;
+                    return results;
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized long recover(ResultEventLog.Replayer replayer) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        try {
+            if (log != null) {
+                log.close();
+            }
+            log = new ResultEventLog(storageDirectory(), LOG_FSYNC);
+            long replayed = log.recover(Math.max(snapshotSequence, 0), replayer);
+            metrics.logSegmentsDamaged(log.getDamagedSegmentCount());
+            return replayed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void append(String nameSurname, AthleteEvent event, String result) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            log.append(nameSurname, event, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isSnapshotDue() {
+        return isEnabled() && (startedSnapshotSequence < 0
+                || log.getLastSequence() - startedSnapshotSequence >= SNAPSHOT_INTERVAL_EVENTS);
+    }
+
+    @Override
+    public long startSnapshot() {
+        try {
+            log.roll();
+        } catch (IOException e) {
+            // Snapshot is still valid, old segments are kept until the next one.
+            e.printStackTrace();
+        }
+        startedSnapshotSequence = log.getLastSequence();
+        return startedSnapshotSequence;
+    }
+
+    @Override
+    public synchronized void writeSnapshot(AthleteResultTable results, long sequence) {
+        if (!isEnabled() || sequence <= snapshotSequence) {
+            return;
+        }
+        long start = System.nanoTime();
+        Path snapshot = storageDirectory().resolve(snapshotFileName(sequence));
+        Path temporarySnapshot = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try {
+            AthleteResultSnapshot.write(results, temporarySnapshot);
+            Files.move(temporarySnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            snapshotSequence = sequence;
+            for (Path olderSnapshot : listSnapshots()) {
+                if (snapshotSequence(olderSnapshot) < sequence) {
+                    Files.deleteIfExists(olderSnapshot);
+                }
+            }
+            log.deleteSegmentsUpTo(sequence);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        System.err.println("Snapshot of " + results.size() + " athletes at event " + sequence + " written in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Method closes the log.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Method sets storage directory, storage is disabled if it is empty.
+     * @param storageDirectory storage directory.
+     */
+    public void setStorageDirectory(String storageDirectory) {
+        this.STORAGE_DIRECTORY = storageDirectory;
+    }
+
+    /**
+     * Method sets amount of logged events after which a new snapshot is written.
+     * @param snapshotIntervalEvents amount of events.
+     */
+    public void setSnapshotIntervalEvents(long snapshotIntervalEvents) {
+        this.SNAPSHOT_INTERVAL_EVENTS = snapshotIntervalEvents;
+    }
+
+    private Path storageDirectory() {
+        return Paths.get(STORAGE_DIRECTORY.trim());
+    }
+
+    /**
+     * @return snapshots ordered by sequence.
+     */
+    private List<Path> listSnapshots() throws IOException {
+        if (!Files.isDirectory(storageDirectory())) {
+            return Collections.emptyList();
+        }
+        List<Path> snapshots = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(storageDirectory(),
+                SNAPSHOT_PREFIX + "*" + AthleteResultSnapshot.FILE_EXTENSION)) {
+            for (Path path : paths) {
+                if (snapshotSequence(path) >= 0) {
+                    snapshots.add(path);
+                }
+            }
+        }
+        // File names are zero-padded, so names are ordered as sequences.
+        snapshots.sort(null);
+        return snapshots;
+    }
+
+    private static String snapshotFileName(long sequence) {
+        return String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, AthleteResultSnapshot.FILE_EXTENSION);
+    }
+
+    /**
+     * @return sequence of the last event included in the snapshot, -1 if file name is not a snapshot name.
+     */
+    private static long snapshotSequence(Path snapshot) {
+        String fileName = snapshot.getFileName().toString();
+        try {
+            return Long.parseLong(fileName.substring(SNAPSHOT_PREFIX.length(),
+                    fileName.length() - AthleteResultSnapshot.FILE_EXTENSION.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
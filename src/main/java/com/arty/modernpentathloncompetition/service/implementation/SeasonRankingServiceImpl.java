@@ -0,0 +1,173 @@
+package com.arty.modernpentathloncompetition.service.implementation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteCompetitionResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.SeasonRankingRow;
+import com.arty.modernpentathloncompetition.ranking.SeasonRankingIndex;
+import com.arty.modernpentathloncompetition.service.SeasonRankingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Season ranking kept in memory while the service runs. When 'season_ranking_index_path' is set, the index is
+ * read from that file at startup and written back shortly after competitions are indexed, and at shutdown, so the
+ * ranking survives restarts and crashes without scoring competitions again. Competitions indexed in quick
+ * succession are written once.
+ */
+@Service
+public class SeasonRankingServiceImpl implements SeasonRankingService {
+
+    /**
+     * File the index is kept in between runs, empty to keep it in memory only.
+     */
+    @Value("${season_ranking_index_path:}")
+    private String INDEX_PATH = "";
+
+    /**
+     * Time from indexing a competition until the index is written, indexing meanwhile is written with it.
+     */
+    @Value("${season_ranking_save_delay_millis:1000}")
+    private long SAVE_DELAY_MILLIS = 1000;
+
+    private volatile SeasonRankingIndex index = new SeasonRankingIndex();
+
+    /**
+     * Executor of delayed writes, null when the index is kept in memory only.
+     */
+    private ScheduledExecutorService saver;
+
+    /**
+     * True while a write is scheduled and has not started yet.
+     */
+    private final AtomicBoolean savePending = new AtomicBoolean();
+
+    /**
+     * Method reads index written by previous run.
+     */
+    @PostConstruct
+    public void load() {
+        if (INDEX_PATH.isEmpty()) {
+            return;
+        }
+        saver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "season-ranking-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!Files.exists(Paths.get(INDEX_PATH))) {
+            return;
+        }
+        try {
+            index = SeasonRankingIndex.read(Paths.get(INDEX_PATH));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Method stops delayed writes and writes the index.
+     */
+    @PreDestroy
+    public void stop() {
+        if (saver != null) {
+            saver.shutdownNow();
+        }
+        save();
+    }
+
+    /**
+     * Method writes index to a temporary file and moves it over the index file, so a failed write keeps the
+     * previous index.
+     */
+    public synchronized void save() {
+        if (INDEX_PATH.isEmpty()) {
+            return;
+        }
+        Path indexPath = Paths.get(INDEX_PATH).toAbsolutePath();
+        Path temporaryPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            index.write(temporaryPath);
+            Files.move(temporaryPath, indexPath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void indexCompetition(Path resultsFile, AthleteResultTable leaderboard) {
+        index.indexCompetition(competitionId(resultsFile), leaderboard);
+        scheduleSave();
+    }
+
+    /**
+     * Method schedules write of the index unless one is scheduled already.
+     */
+    private void scheduleSave() {
+        if (saver == null || !savePending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            saver.schedule(() -> {
+                // Competitions indexed while writing schedule the next write.
+                savePending.set(false);
+                save();
+            }, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Service is stopping, the index is written by stop().
+            savePending.set(false);
+        }
+    }
+
+    /**
+     * Method derives id of the competition from its results file: real path of the file, or absolute normalized
+     * path if the file can not be resolved.
+     * @param resultsFile results file, relative or absolute.
+     * @return id of the competition in the season ranking.
+     */
+    static String competitionId(Path resultsFile) {
+        Path path = resultsFile.toAbsolutePath().normalize();
+        try {
+            return path.toRealPath().toString();
+        } catch (IOException e) {
+            return path.toString();
+        }
+    }
+
+    /**
+     * Method sets file the index is kept in, it takes effect when the index is loaded.
+     * @param indexPath index file, empty to keep the index in memory only.
+     */
+    public void setIndexPath(String indexPath) {
+        this.INDEX_PATH = indexPath;
+    }
+
+    @Override
+    public List<SeasonRankingRow> getSeasonRanking(int top) {
+        return index.getSeasonRanking(top);
+    }
+
+    @Override
+    public SeasonRankingRow getSeasonRankingRow(String nameSurname) {
+        return index.getSeasonRankingRow(nameSurname);
+    }
+
+    @Override
+    public List<AthleteCompetitionResult> getAthleteHistory(String nameSurname) {
+        return index.getAthleteHistory(nameSurname);
+    }
+}
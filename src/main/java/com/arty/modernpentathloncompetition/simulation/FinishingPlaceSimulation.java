@@ -0,0 +1,190 @@
+package com.arty.modernpentathloncompetition.simulation;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.FinishingPlaceProbabilities;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo simulation of the concluding laser-run. Athletes start with their handicap, run a time sampled from
+ * the distribution around their expected run time, and are placed by finish time.
+ *
+ * <p>Iterations are split in fixed-size chunks run across fork/join pool, every chunk with its own random split
+ * from the seed, so the result depends only on the seed. Inner loop works on primitive arrays allocated once
+ * per chunk: finish time and athlete index are packed into one long and athletes are placed by sorting them.
+ */
+public class FinishingPlaceSimulation {
+
+    /**
+     * Amount of iterations run by one fork/join task.
+     */
+    static final int CHUNK_ITERATIONS = 1 << 16;
+
+    /**
+     * Seconds after the leader every athlete starts the laser-run.
+     */
+    private final double[] startDelays;
+
+    /**
+     * Expected run time of every athlete in seconds, infinite if it is unknown.
+     */
+    private final double[] meanRunTimes;
+
+    /**
+     * Spread of run time of every athlete in seconds.
+     */
+    private final double[] spreads;
+
+    private final RunTimeDistribution distribution;
+
+    /**
+     * Low bits of packed finish time which hold athlete index.
+     */
+    private final long indexMask;
+
+    /**
+     * @param startDelays seconds after the leader every athlete starts.
+     * @param meanRunTimes expected run time of every athlete in seconds, infinite if athlete does not finish.
+     * @param spreads spread of run time of every athlete in seconds.
+     * @param distribution distribution run times are sampled from.
+     */
+    public FinishingPlaceSimulation(double[] startDelays, double[] meanRunTimes, double[] spreads,
+                                    RunTimeDistribution distribution) {
+        if (startDelays.length != meanRunTimes.length || startDelays.length != spreads.length) {
+            throw new IllegalArgumentException("Every athlete needs start delay, run time and spread");
+        }
+        this.startDelays = startDelays.clone();
+        this.meanRunTimes = meanRunTimes.clone();
+        this.spreads = spreads.clone();
+        this.distribution = distribution;
+        this.indexMask = (1L << Math.max(1, 32 - Integer.numberOfLeadingZeros(startDelays.length))) - 1;
+    }
+
+    /**
+     * Method creates simulation of the concluding event of the leaderboard. Start delays are the differences of
+     * total points between the leader and the athletes, expected run times are recorded run times.
+     * @param leaderboard table of athletes with concluding event time counted.
+     * @param distribution distribution run times are sampled from.
+     * @param spread spread of run time of every athlete in seconds.
+     * @return simulation, athletes are in the same order as in the leaderboard.
+     */
+    public static FinishingPlaceSimulation of(AthleteResultTable leaderboard, RunTimeDistribution distribution,
+                                              double spread) {
+        final int size = leaderboard.size();
+        double[] startDelays = new double[size];
+        double[] meanRunTimes = new double[size];
+        double[] spreads = new double[size];
+        for (int row = 0; row < size; row++) {
+            int runTime = leaderboard.getRunTime(row);
+            startDelays[row] = leaderboard.getConcludingEventTime(row) - runTime / 10;
+            meanRunTimes[row] = runTime >= 0 ? runTime / 10.0 : Double.POSITIVE_INFINITY;
+            spreads[row] = spread;
+        }
+        return new FinishingPlaceSimulation(startDelays, meanRunTimes, spreads, distribution);
+    }
+
+    public int getAthleteCount() {
+        return startDelays.length;
+    }
+
+    /**
+     * Method runs the simulation.
+     * @param iterations amount of simulated laser-runs.
+     * @param places amount of the first places to count, at most amount of athletes.
+     * @param seed seed of random run times.
+     * @return how often every athlete finished at each of the first places.
+     */
+    public FinishingPlaceProbabilities simulate(long iterations, int places, long seed) {
+        final int athleteCount = startDelays.length;
+        final int countedPlaces = Math.max(0, Math.min(places, athleteCount));
+        if (athleteCount == 0 || countedPlaces == 0 || iterations <= 0) {
+            return new FinishingPlaceProbabilities(athleteCount, countedPlaces, Math.max(iterations, 0),
+                    new long[athleteCount * countedPlaces]);
+        }
+
+        int chunkCount = (int) ((iterations + CHUNK_ITERATIONS - 1) / CHUNK_ITERATIONS);
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[chunkCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            chunkRandoms[chunk] = seedRandom.split();
+        }
+
+        long[] finishCounts = ForkJoinPool.commonPool().invoke(
+                new SimulationTask(chunkRandoms, iterations, countedPlaces, 0, chunkCount));
+        return new FinishingPlaceProbabilities(athleteCount, countedPlaces, iterations, finishCounts);
+    }
+
+    /**
+     * Method simulates laser-runs of one chunk and adds finishes to the counts.
+     * @param random random of the chunk.
+     * @param iterations amount of simulated laser-runs.
+     * @param places amount of the first places to count.
+     * @param finishes buffer of packed finish times, one per athlete.
+     * @param finishCounts counts of finishes, athlete-major.
+     */
+    private void simulateChunk(SplittableRandom random, long iterations, int places, long[] finishes,
+                               long[] finishCounts) {
+        final int athleteCount = startDelays.length;
+        for (long iteration = 0; iteration < iterations; iteration++) {
+            for (int row = 0; row < athleteCount; row++) {
+                double runTime = Math.max(0.0, distribution.sample(random, meanRunTimes[row], spreads[row]));
+                // Non-negative doubles are ordered as their bits, lowest bits are replaced by athlete index.
+                long finishTimeBits = Double.doubleToRawLongBits(startDelays[row] + runTime);
+                finishes[row] = (finishTimeBits & ~indexMask) | row;
+            }
+            Arrays.sort(finishes);
+            for (int place = 0; place < places; place++) {
+                finishCounts[(int) (finishes[place] & indexMask) * places + place]++;
+            }
+        }
+    }
+
+    /**
+     * Fork/join task which splits range of chunks in halves until one chunk is left.
+     */
+    private class SimulationTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SplittableRandom[] chunkRandoms;
+
+        private final long iterations;
+
+        private final int places;
+
+        private final int fromChunk;
+
+        private final int toChunk;
+
+        SimulationTask(SplittableRandom[] chunkRandoms, long iterations, int places, int fromChunk, int toChunk) {
+            this.chunkRandoms = chunkRandoms;
+            this.iterations = iterations;
+            this.places = places;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (toChunk - fromChunk == 1) {
+                long chunkIterations = Math.min(CHUNK_ITERATIONS, iterations - (long) fromChunk * CHUNK_ITERATIONS);
+                long[] finishCounts = new long[startDelays.length * places];
+                simulateChunk(chunkRandoms[fromChunk], chunkIterations, places, new long[startDelays.length],
+                        finishCounts);
+                return finishCounts;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            SimulationTask right = new SimulationTask(chunkRandoms, iterations, places, middle, toChunk);
+            right.fork();
+            long[] finishCounts = new SimulationTask(chunkRandoms, iterations, places, fromChunk, middle).compute();
+            long[] rightFinishCounts = right.join();
+            for (int i = 0; i < finishCounts.length; i++) {
+                finishCounts[i] += rightFinishCounts[i];
+            }
+            return finishCounts;
+        }
+    }
+}
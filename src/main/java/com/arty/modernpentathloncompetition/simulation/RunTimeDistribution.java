@@ -0,0 +1,47 @@
+package com.arty.modernpentathloncompetition.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribution laser-run times of an athlete are sampled from, around the athlete's expected run time.
+ */
+public enum RunTimeDistribution {
+
+    /**
+     * Normal distribution, spread is its standard deviation.
+     */
+    NORMAL {
+        @Override
+        double sample(SplittableRandom random, double mean, double spread) {
+            // Marsaglia polar method, the second value is dropped so nothing is kept between samples.
+            double u;
+            double v;
+            double s;
+            do {
+                u = 2.0 * random.nextDouble() - 1.0;
+                v = 2.0 * random.nextDouble() - 1.0;
+                s = u * u + v * v;
+            } while (s >= 1.0 || s == 0.0);
+            return mean + spread * u * Math.sqrt(-2.0 * Math.log(s) / s);
+        }
+    },
+
+    /**
+     * Uniform distribution, times are at most spread away from the mean.
+     */
+    UNIFORM {
+        @Override
+        double sample(SplittableRandom random, double mean, double spread) {
+            return mean + spread * (2.0 * random.nextDouble() - 1.0);
+        }
+    };
+
+    /**
+     * Method samples one run time.
+     * @param random random of the calling thread.
+     * @param mean expected run time in seconds.
+     * @param spread spread of run time in seconds.
+     * @return run time in seconds.
+     */
+    abstract double sample(SplittableRandom random, double mean, double spread);
+}
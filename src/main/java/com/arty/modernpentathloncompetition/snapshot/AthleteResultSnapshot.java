@@ -0,0 +1,266 @@
+package com.arty.modernpentathloncompetition.snapshot;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of a ranked leaderboard: athletes scored, sorted by concluding event time and placed. Loading
+ * a snapshot skips parsing of text and times altogether.
+ *
+ * <p>Format, all ints big-endian: magic 'MPLS', format version, row count, text count; then texts: time texts
+ * of the table followed by names of its athletes, every text as byte length and UTF-8 bytes; then one record of
+ * {@value #RECORD_INTS} ints per row: name text id, fencing victories, swimming time text id, swimming time,
+ * fence knock-downs, refusals, obstacle knock-downs, shooting score, run time text id, run time, total points,
+ * concluding event time, place and 1 if place is shared. Times are in tenths of a second and missing texts have
+ * id -1. Names are given ids of the name dictionary of the table when the snapshot is read.
+ */
+public final class AthleteResultSnapshot {
+
+    /**
+     * File name extension of snapshots.
+     */
+    public static final String FILE_EXTENSION = ".snapshot";
+
+    /**
+     * 'MPLS' in ASCII.
+     */
+    static final int MAGIC = 0x4D504C53;
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int RECORD_INTS = 14;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Mark of a text of the file which is not mapped to the table yet.
+     */
+    private static final int UNMAPPED = Integer.MIN_VALUE;
+
+    private AthleteResultSnapshot() {
+    }
+
+    /**
+     * Method tells whether file is a snapshot by its name.
+     * @param filePath path to file.
+     * @return true if file name ends with {@value #FILE_EXTENSION}.
+     */
+    public static boolean isSnapshot(String filePath) {
+        return filePath != null && filePath.endsWith(FILE_EXTENSION);
+    }
+
+    /**
+     * Method writes ranked leaderboard to a snapshot file, replacing the file if it exists.
+     * @param leaderboard table of athletes sorted by concluding event time with places set.
+     * @param path snapshot file.
+     * @throws IOException when file can not be written.
+     */
+    public static void write(AthleteResultTable rankedLeaderboard, Path path) throws IOException {
+        AthleteResultTable leaderboard = rankedLeaderboard.withDecodedTexts();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Names follow time texts, every distinct name once.
+            int timeTextCount = leaderboard.getTextCount();
+            Map<Integer, Integer> nameTextIds = new HashMap<>();
+            List<String> names = new ArrayList<>();
+            int[] rowNameTextIds = new int[leaderboard.size()];
+            for (int row = 0; row < leaderboard.size(); row++) {
+                int nameId = leaderboard.getNameSurnameId(row);
+                Integer nameTextId = nameTextIds.get(nameId);
+                if (nameId == AthleteNameDictionary.NO_NAME) {
+                    nameTextId = AthleteResultTable.NO_TEXT;
+                } else if (nameTextId == null) {
+                    nameTextId = timeTextCount + names.size();
+                    nameTextIds.put(nameId, nameTextId);
+                    names.add(leaderboard.getNameSurname(row));
+                }
+                rowNameTextIds[row] = nameTextId;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(leaderboard.size())
+                    .putInt(timeTextCount + names.size());
+            for (int textId = 0; textId < timeTextCount; textId++) {
+                writeText(channel, buffer, leaderboard.getText(textId));
+            }
+            for (String name : names) {
+                writeText(channel, buffer, name);
+            }
+
+            for (int row = 0; row < leaderboard.size(); row++) {
+                ensureRoom(channel, buffer, RECORD_INTS * Integer.BYTES);
+                buffer.putInt(rowNameTextIds[row])
+                        .putInt(leaderboard.getFencingVictories(row))
+                        .putInt(leaderboard.getSwimmingTimeTextId(row))
+                        .putInt(leaderboard.getSwimmingTime(row))
+                        .putInt(leaderboard.getFenceKnockDownCount(row))
+                        .putInt(leaderboard.getRefusalToJumpCount(row))
+                        .putInt(leaderboard.getObstacleKnockDownCount(row))
+                        .putInt(leaderboard.getShootingTargetScore(row))
+                        .putInt(leaderboard.getRunTimeTextId(row))
+                        .putInt(leaderboard.getRunTime(row))
+                        .putInt(leaderboard.getTotalPoints(row))
+                        .putInt(leaderboard.getConcludingEventTime(row))
+                        .putInt(leaderboard.getPlaceNumber(row))
+                        .putInt(leaderboard.isPlaceShared(row) ? 1 : 0);
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Method reads ranked leaderboard from a snapshot file through a direct buffer.
+     * @param path snapshot file.
+     * @return table of athletes sorted by concluding event time with places set.
+     * @throws IOException when file can not be read, is not a snapshot, has unsupported version or is damaged.
+     */
+    public static AthleteResultTable read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+
+            fill(channel, buffer, 4 * Integer.BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a leaderboard snapshot: " + path);
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + formatVersion + ": " + path);
+            }
+            int rowCount = buffer.getInt();
+            int textCount = buffer.getInt();
+            long maxCount = channel.size() / Integer.BYTES;
+            if (rowCount < 0 || textCount < 0 || (long) rowCount * RECORD_INTS > maxCount || textCount > maxCount) {
+                throw new IOException("Damaged snapshot: " + path);
+            }
+
+            AthleteResultTable leaderboard = new AthleteResultTable(rowCount);
+            String[] texts = new String[textCount];
+            byte[] text = new byte[64];
+            for (int textId = 0; textId < textCount; textId++) {
+                fill(channel, buffer, Integer.BYTES);
+                int length = buffer.getInt();
+                if (length < 0 || length > remaining(channel, buffer)) {
+                    throw new IOException("Damaged snapshot: " + path);
+                }
+                if (length > text.length) {
+                    text = new byte[Math.max(length, text.length * 2)];
+                }
+                for (int offset = 0; offset < length; ) {
+                    fill(channel, buffer, 1);
+                    int chunk = Math.min(buffer.remaining(), length - offset);
+                    buffer.get(text, offset, chunk);
+                    offset += chunk;
+                }
+                texts[textId] = new String(text, 0, length, StandardCharsets.UTF_8);
+            }
+
+            // Texts are mapped on first use, as a name to the name dictionary or as a time to the text pool.
+            int[] nameIds = new int[textCount];
+            int[] timeTextIds = new int[textCount];
+            Arrays.fill(nameIds, UNMAPPED);
+            Arrays.fill(timeTextIds, UNMAPPED);
+            try {
+                for (int row = 0; row < rowCount; row++) {
+                    fill(channel, buffer, RECORD_INTS * Integer.BYTES);
+                    leaderboard.addRowOfTextIds(mapText(buffer.getInt(), texts, nameIds, leaderboard, true),
+                            buffer.getInt(), mapText(buffer.getInt(), texts, timeTextIds, leaderboard, false),
+                            buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                            mapText(buffer.getInt(), texts, timeTextIds, leaderboard, false), buffer.getInt());
+                    leaderboard.setTotalPoints(row, buffer.getInt());
+                    leaderboard.setConcludingEventTime(row, buffer.getInt());
+                    leaderboard.setPlace(row, buffer.getInt(), buffer.getInt() != 0);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Damaged snapshot: " + path, e);
+            }
+            return leaderboard;
+        }
+    }
+
+    /**
+     * Method maps text id of the file to id of the name dictionary, or of the text pool of the table.
+     * @param table table whose name dictionary or text pool the text is added to.
+     * @param name true to map the text as a name.
+     * @throws IllegalArgumentException when text id is not in the file.
+     */
+    private static int mapText(int textId, String[] texts, int[] mappedIds, AthleteResultTable table,
+                               boolean name) {
+        if (textId == AthleteResultTable.NO_TEXT) {
+            return textId;
+        }
+        if (textId < 0 || textId >= texts.length) {
+            throw new IllegalArgumentException("Text id: " + textId + ", text count: " + texts.length);
+        }
+        if (mappedIds[textId] == UNMAPPED) {
+            mappedIds[textId] = name ? table.getNameDictionary().idOf(texts[textId]) : table.addText(texts[textId]);
+        }
+        return mappedIds[textId];
+    }
+
+    private static void writeText(FileChannel channel, ByteBuffer buffer, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(channel, buffer, Integer.BYTES);
+        buffer.putInt(bytes.length);
+        for (int offset = 0; offset < bytes.length; ) {
+            ensureRoom(channel, buffer, 1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Method writes buffered bytes to the channel when buffer has less room than needed.
+     */
+    private static void ensureRoom(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Method reads from the channel until buffer has at least the needed amount of bytes to get.
+     * @throws EOFException when file ends before.
+     */
+    /**
+     * @return amount of bytes of the file not read from the buffer yet.
+     */
+    private static long remaining(FileChannel channel, ByteBuffer buffer) throws IOException {
+        return channel.size() - channel.position() + buffer.remaining();
+    }
+
+    private static void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Snapshot ends unexpectedly");
+            }
+        }
+        buffer.flip();
+    }
+}
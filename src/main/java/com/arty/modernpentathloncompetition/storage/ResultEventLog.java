@@ -0,0 +1,368 @@
+package com.arty.modernpentathloncompetition.storage;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of result events, split in segment files named after the sequence of their first event.
+ *
+ * <p>Format of one record, all ints big-endian: payload length, CRC32 of payload, then payload: event sequence as
+ * long, event ordinal as byte, athlete's name and result, each as unsigned short byte length and UTF-8 bytes.
+ * Sequences start from 1 and grow by one. A record which is cut short or does not match its checksum ends its
+ * segment: it is the tail of a write interrupted by a crash, and it is truncated when the log is opened.
+ *
+ * <p>Log is written only after {@link #recover(long, Replayer)}, which also opens the last segment for appends.
+ */
+public class ResultEventLog implements Closeable {
+
+    /**
+     * Prefix of segment file names, followed by zero-padded sequence of the first event.
+     */
+    static final String SEGMENT_PREFIX = "results-";
+
+    static final String SEGMENT_EXTENSION = ".log";
+
+    /**
+     * Sequence, event ordinal and two string lengths.
+     */
+    private static final int MIN_PAYLOAD_LENGTH = Long.BYTES + 1 + 2 * Short.BYTES;
+
+    private static final int MAX_TEXT_LENGTH = 0xFFFF;
+
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private static final AthleteEvent[] EVENTS = AthleteEvent.values();
+
+    private final Path directory;
+
+    /**
+     * Whether every append is forced to the storage device before it returns.
+     */
+    private final boolean fsync;
+
+    private final CRC32 crc = new CRC32();
+
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(256);
+
+    private FileChannel segment;
+
+    private boolean segmentHasRecords;
+
+    private long lastSequence;
+
+    /**
+     * Amount of segments found damaged by the last recovery.
+     */
+    private int damagedSegmentCount;
+
+    /**
+     * Receiver of replayed events.
+     */
+    public interface Replayer {
+        void replay(long sequence, String nameSurname, AthleteEvent event, String result);
+    }
+
+    /**
+     * @param directory directory of segment files, it is created if missing.
+     * @param fsync whether every append is forced to the storage device.
+     */
+    public ResultEventLog(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Method replays events of all segments in order of sequence, truncates damaged tail of the last segment and
+     * opens it for appends.
+     * @param afterSequence sequence of the last event which is already applied, earlier events are skipped.
+     * @param replayer receiver of events.
+     * @return amount of replayed events.
+     * @throws IOException when segments can not be read or written.
+     */
+    public synchronized long recover(long afterSequence, Replayer replayer) throws IOException {
+        Files.createDirectories(directory);
+        lastSequence = afterSequence;
+        damagedSegmentCount = 0;
+        long replayed = 0;
+        List<Path> segments = listSegments();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segmentPath = segments.get(i);
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                SegmentReader reader = new SegmentReader(channel, buffer);
+                long validLength = 0;
+                while (reader.next()) {
+                    validLength = reader.position;
+                    if (reader.sequence > lastSequence) {
+                        replayer.replay(reader.sequence, reader.nameSurname, reader.event, reader.result);
+                        lastSequence = reader.sequence;
+                        replayed++;
+                    }
+                }
+                if (validLength < channel.size()) {
+                    damagedSegmentCount++;
+                    System.err.println("Result log " + segmentPath + " is damaged after byte " + validLength
+                            + (i == segments.size() - 1 ? ", truncated" : ", rest of the segment is skipped"));
+                    if (i == segments.size() - 1) {
+                        channel.truncate(validLength);
+                    }
+                }
+            }
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(lastSequence + 1);
+        } else {
+            Path lastSegment = segments.get(segments.size() - 1);
+            segment = FileChannel.open(lastSegment, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            segmentHasRecords = segment.size() > 0;
+        }
+        return replayed;
+    }
+
+    /**
+     * Method appends event to the current segment.
+     * @param nameSurname athlete's name and surname.
+     * @param event event the result belongs to.
+     * @param result result as text.
+     * @return sequence of the event.
+     * @throws IOException when event can not be written.
+     * @throws IllegalArgumentException when name or result is longer than 65535 bytes.
+     */
+    public synchronized long append(String nameSurname, AthleteEvent event, String result) throws IOException {
+        if (segment == null) {
+            throw new IllegalStateException("Result log is not recovered: " + directory);
+        }
+        byte[] name = nameSurname.getBytes(StandardCharsets.UTF_8);
+        byte[] text = result.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_TEXT_LENGTH || text.length > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Name and result must be at most " + MAX_TEXT_LENGTH + " bytes");
+        }
+        int payloadLength = MIN_PAYLOAD_LENGTH + name.length + text.length;
+        if (writeBuffer.capacity() < HEADER_LENGTH + payloadLength) {
+            writeBuffer = ByteBuffer.allocate(HEADER_LENGTH + payloadLength);
+        }
+        long sequence = lastSequence + 1;
+        writeBuffer.clear();
+        writeBuffer.position(HEADER_LENGTH);
+        writeBuffer.putLong(sequence).put((byte) event.ordinal())
+                .putShort((short) name.length).put(name)
+                .putShort((short) text.length).put(text);
+        crc.reset();
+        crc.update(writeBuffer.array(), HEADER_LENGTH, payloadLength);
+        writeBuffer.putInt(0, payloadLength).putInt(Integer.BYTES, (int) crc.getValue());
+        writeBuffer.flip();
+        long segmentSize = segment.size();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                segment.write(writeBuffer);
+            }
+            if (fsync) {
+                segment.force(false);
+            }
+        } catch (IOException e) {
+            // Part of the record must not stay in front of the next ones.
+            segment.truncate(segmentSize);
+            throw e;
+        }
+        lastSequence = sequence;
+        segmentHasRecords = true;
+        return sequence;
+    }
+
+    /**
+     * Method starts a new segment with the next sequence, unless the current segment is empty.
+     * @throws IOException when segment can not be created.
+     */
+    public synchronized void roll() throws IOException {
+        if (!segmentHasRecords) {
+            return;
+        }
+        segment.force(false);
+        segment.close();
+        openSegment(lastSequence + 1);
+    }
+
+    /**
+     * Method deletes segments all events of which have sequence not greater than the given one. The last segment,
+     * which is the one appended to, is never deleted.
+     * @param sequence sequence of the last event which is no longer needed.
+     * @throws IOException when directory can not be listed.
+     */
+    public synchronized void deleteSegmentsUpTo(long sequence) throws IOException {
+        List<Path> segments = listSegments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            long nextFirstSequence = firstSequence(segments.get(i + 1));
+            if (nextFirstSequence - 1 > sequence) {
+                break;
+            }
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized int getDamagedSegmentCount() {
+        return damagedSegmentCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(directory.resolve(segmentFileName(firstSequence)), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentHasRecords = false;
+    }
+
+    /**
+     * @return segments ordered by sequence of their first event.
+     */
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_EXTENSION)) {
+            for (Path path : paths) {
+                if (firstSequence(path) >= 0) {
+                    segments.add(path);
+                }
+            }
+        }
+        // File names are zero-padded, so names are ordered as sequences.
+        segments.sort(null);
+        return segments;
+    }
+
+    static String segmentFileName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_EXTENSION);
+    }
+
+    /**
+     * @return sequence of the first event of the segment, -1 if file name is not a segment name.
+     */
+    static long firstSequence(Path segment) {
+        String fileName = segment.getFileName().toString();
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(),
+                    fileName.length() - SEGMENT_EXTENSION.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reader of records of one segment through a reused heap buffer.
+     */
+    private final class SegmentReader {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer;
+
+        private boolean endOfFile;
+
+        /**
+         * Position in the file after the last valid record.
+         */
+        private long position;
+
+        private long sequence;
+        private AthleteEvent event;
+        private String nameSurname;
+        private String result;
+
+        private SegmentReader(FileChannel channel, ByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+            buffer.clear();
+            buffer.flip();
+        }
+
+        /**
+         * Method reads the next record.
+         * @return false at the end of the segment or at a damaged record.
+         */
+        private boolean next() throws IOException {
+            if (!fill(HEADER_LENGTH)) {
+                return false;
+            }
+            int payloadLength = buffer.getInt(buffer.position());
+            int checksum = buffer.getInt(buffer.position() + Integer.BYTES);
+            if (payloadLength < MIN_PAYLOAD_LENGTH || payloadLength > MIN_PAYLOAD_LENGTH + 2 * MAX_TEXT_LENGTH
+                    || !fill(HEADER_LENGTH + payloadLength)) {
+                return false;
+            }
+            int payload = buffer.position() + HEADER_LENGTH;
+            crc.reset();
+            crc.update(buffer.array(), payload, payloadLength);
+            if ((int) crc.getValue() != checksum) {
+                return false;
+            }
+
+            buffer.position(payload);
+            sequence = buffer.getLong();
+            int ordinal = buffer.get();
+            int nameLength = buffer.getShort() & 0xFFFF;
+            if (ordinal < 0 || ordinal >= EVENTS.length
+                    || nameLength > payloadLength - MIN_PAYLOAD_LENGTH) {
+                return false;
+            }
+            event = EVENTS[ordinal];
+            nameSurname = new String(buffer.array(), buffer.position(), nameLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + nameLength);
+            int resultLength = buffer.getShort() & 0xFFFF;
+            if (resultLength != payloadLength - MIN_PAYLOAD_LENGTH - nameLength) {
+                return false;
+            }
+            result = new String(buffer.array(), buffer.position(), resultLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + resultLength);
+            position += HEADER_LENGTH + payloadLength;
+            return true;
+        }
+
+        /**
+         * Method reads from the channel until buffer has the needed amount of bytes.
+         * @return false when segment ends before.
+         */
+        private boolean fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return true;
+            }
+            if (endOfFile || bytes > buffer.capacity()) {
+                return false;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    endOfFile = true;
+                    break;
+                }
+            }
+            buffer.flip();
+            return buffer.remaining() >= bytes;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.arty.modernpentathloncompetition.writer;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writer of leaderboard rows as UTF-8 encoded CSV. Numbers and texts are encoded straight into one reusable byte
+ * buffer, which is written to the stream whenever it fills up, so no intermediate strings are created and memory
+ * use does not depend on the size of the leaderboard.
+ *
+ * <p>Rows have the format of {@code AthleteResultService#generateFinalLeaderboardList}: place, total points,
+ * concluding event time, name, fencing victories, swimming time, fence knock-downs, refusals, obstacle
+ * knock-downs, shooting score and run time, ended by CRLF. Missing texts are written as 'null'.
+ */
+public class LeaderboardCsvWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * Longest encoding of one int or one char, the buffer always has that much room before a value is encoded.
+     */
+    private static final int MAX_VALUE_LENGTH = 11;
+
+    private static final byte[] NULL_TEXT = {'n', 'u', 'l', 'l'};
+
+    private static final byte[] MIN_INT_TEXT = {'-', '2', '1', '4', '7', '4', '8', '3', '6', '4', '8'};
+
+    private final OutputStream outputStream;
+
+    private final byte[] buffer;
+
+    private int position;
+
+    /**
+     * Amount of bytes written to the stream so far.
+     */
+    private long drainedCount;
+
+    public LeaderboardCsvWriter(OutputStream outputStream) {
+        this(outputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    LeaderboardCsvWriter(OutputStream outputStream, int bufferSize) {
+        this.outputStream = outputStream;
+        this.buffer = new byte[Math.max(bufferSize, MAX_VALUE_LENGTH)];
+    }
+
+    /**
+     * Method writes all rows of the table in their order.
+     * @param athleteResultTable table of athletes sorted by concluding event time with places set.
+     * @throws IOException when writing to the stream fails.
+     */
+    public void writeRows(AthleteResultTable athleteResultTable) throws IOException {
+        writeRows(athleteResultTable, 0, athleteResultTable.size());
+    }
+
+    /**
+     * Method writes rows of the table from index 'from' inclusive to index 'to' exclusive.
+     * @param athleteResultTable table of athletes sorted by concluding event time with places set.
+     * @param from index of the first row.
+     * @param to index after the last row.
+     * @throws IOException when writing to the stream fails.
+     */
+    public void writeRows(AthleteResultTable athleteResultTable, int from, int to) throws IOException {
+        for (int row = from; row < to; row++) {
+            writeRow(athleteResultTable, row);
+        }
+    }
+
+    /**
+     * Method writes one row of the table.
+     * @param athleteResultTable table of athletes.
+     * @param row index of the row.
+     * @throws IOException when writing to the stream fails.
+     */
+    public void writeRow(AthleteResultTable athleteResultTable, int row) throws IOException {
+        writeInt(athleteResultTable.getPlaceNumber(row));
+        if (athleteResultTable.isPlaceShared(row)) {
+            writeByte('/');
+            writeInt(athleteResultTable.getPlaceNumber(row) + 1);
+        }
+        writeByte(',');
+        writeInt(athleteResultTable.getTotalPoints(row));
+        writeByte(',');
+        writeInt(athleteResultTable.getConcludingEventTime(row));
+        writeByte(',');
+        writeText(athleteResultTable.getNameSurname(row));
+        writeByte(',');
+        writeInt(athleteResultTable.getFencingVictories(row));
+        writeByte(',');
+        writeText(athleteResultTable.getSwimmingTimeText(row));
+        writeByte(',');
+        writeInt(athleteResultTable.getFenceKnockDownCount(row));
+        writeByte(',');
+        writeInt(athleteResultTable.getRefusalToJumpCount(row));
+        writeByte(',');
+        writeInt(athleteResultTable.getObstacleKnockDownCount(row));
+        writeByte(',');
+        writeInt(athleteResultTable.getShootingTargetScore(row));
+        writeByte(',');
+        writeText(athleteResultTable.getRunTimeText(row));
+        writeByte('\r');
+        writeByte('\n');
+    }
+
+    /**
+     * @return amount of bytes of the rows written so far, buffered ones included.
+     */
+    public long getWrittenByteCount() {
+        return drainedCount + position;
+    }
+
+    /**
+     * Method writes buffered bytes to the stream and flushes it.
+     * @throws IOException when writing to the stream fails.
+     */
+    public void flush() throws IOException {
+        drain();
+        outputStream.flush();
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensureRoom();
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeInt(int value) throws IOException {
+        ensureRoom();
+        if (value == Integer.MIN_VALUE) {
+            writeBytes(MIN_INT_TEXT);
+            return;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int end = position + digitCount(value);
+        position = end;
+        do {
+            buffer[--end] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private static int digitCount(int value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Encodes text as UTF-8 the way {@link String#getBytes(java.nio.charset.Charset)} does, unpaired surrogates
+     * are written as '?'.
+     */
+    private void writeText(String text) throws IOException {
+        if (text == null) {
+            writeBytes(NULL_TEXT);
+            return;
+        }
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            ensureRoom();
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensureRoom();
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void ensureRoom() throws IOException {
+        if (buffer.length - position < MAX_VALUE_LENGTH) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            outputStream.write(buffer, 0, position);
+            drainedCount += position;
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.arty.modernpentathloncompetition.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Athlete name dictionary unit test.
+ */
+public class AthleteNameDictionaryTest {
+
+    private static final int NAME_COUNT = 5_000;
+
+    private static final int THREAD_COUNT = 4;
+
+    /**
+     * Tests method {@link AthleteNameDictionary#idOf(char[], int, int)}.
+     * Case when the same name is given as string and as characters of a longer record, and an unknown name is
+     * looked up. In that case the name has one id and one string, and the unknown name is not added.
+     */
+    @Test
+    public void whenNameIsGivenAsStringAndCharactersThenItHasOneId() {
+        AthleteNameDictionary dictionary = new AthleteNameDictionary();
+        String name = new String("Ann Lee");
+        int id = dictionary.idOf(name);
+        char[] record = "Ann Lee,12,02:11.0".toCharArray();
+
+        assertEquals(id, dictionary.idOf(record, 0, 7));
+        assertEquals(id, dictionary.idOf(new String("Ann Lee")));
+        assertSame(name, dictionary.nameOf(dictionary.idOf(record, 0, 7)));
+        assertSame(name, dictionary.intern(new String("Ann Lee")));
+        assertEquals(AthleteNameDictionary.NO_NAME, dictionary.find("Bob Fox"));
+        assertEquals(AthleteNameDictionary.NO_NAME, dictionary.idOf(null));
+        assertNull(dictionary.nameOf(AthleteNameDictionary.NO_NAME));
+        assertEquals(1, dictionary.size());
+        try {
+            dictionary.nameOf(1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteNameDictionary#idOf(String)}.
+     * Case when several threads add the same names at the same time, so the table grows while it is read. In that
+     * case every thread gets the same id for the name, and ids are from 0 to the amount of names.
+     */
+    @Test
+    public void whenNamesAreAddedConcurrentlyThenEveryNameHasOneId() throws Exception {
+        AthleteNameDictionary dictionary = new AthleteNameDictionary();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREAD_COUNT; thread++) {
+                results.add(executor.submit(() -> {
+                    int[] ids = new int[NAME_COUNT];
+                    for (int name = 0; name < NAME_COUNT; name++) {
+                        ids[name] = dictionary.idOf("Athlete " + name);
+                    }
+                    return ids;
+                }));
+            }
+            int[] expected = results.get(0).get(1, TimeUnit.MINUTES);
+            for (Future<int[]> result : results) {
+                int[] ids = result.get(1, TimeUnit.MINUTES);
+                for (int name = 0; name < NAME_COUNT; name++) {
+                    assertEquals(expected[name], ids[name]);
+                    assertEquals("Athlete " + name, dictionary.nameOf(ids[name]));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(NAME_COUNT, dictionary.size());
+    }
+}
@@ -0,0 +1,183 @@
+package com.arty.modernpentathloncompetition.ingestion;
+
+import com.arty.modernpentathloncompetition.dictionary.AthleteNameDictionary;
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static junit.framework.Assert.assertNull;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Concurrent result store unit test.
+ */
+public class ConcurrentResultStoreTest {
+
+    private static final int ATHLETE_COUNT = 50;
+
+    private static final int ROUNDS = 2_000;
+
+    /**
+     * Tests method {@link ConcurrentResultStore#update(String, AthleteEvent, String)}.
+     * Case when every event of the same athletes is updated by its own thread at the same time. In that case no
+     * update is lost: every athlete has the last result of every event, and athletes keep order of arrival.
+     */
+    @Test
+    public void whenEventsOfSameAthletesAreUpdatedConcurrentlyThenNoUpdateIsLost() throws Exception {
+        ConcurrentResultStore store = new ConcurrentResultStore();
+        AthleteEvent[] events = AthleteEvent.values();
+        ExecutorService executor = Executors.newFixedThreadPool(events.length);
+        try {
+            List<Future<?>> feeds = new ArrayList<>();
+            for (AthleteEvent event : events) {
+                feeds.add(executor.submit(() -> {
+                    for (int round = 1; round <= ROUNDS; round++) {
+                        for (int athlete = 0; athlete < ATHLETE_COUNT; athlete++) {
+                            store.update("Athlete " + athlete, event, result(event, round));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> feed : feeds) {
+                feed.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        AthleteResultTable snapshot = store.snapshot();
+        assertEquals(ATHLETE_COUNT, snapshot.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            assertEquals(ROUNDS, snapshot.getFencingVictories(row));
+            assertEquals(result(AthleteEvent.SWIMMING, ROUNDS), snapshot.getSwimmingTimeText(row));
+            assertEquals(ROUNDS, snapshot.getRefusalToJumpCount(row));
+            assertEquals(ROUNDS, snapshot.getShootingTargetScore(row));
+            assertEquals(result(AthleteEvent.RUN, ROUNDS), snapshot.getRunTimeText(row));
+        }
+        List<String> names = new ArrayList<>();
+        store.forEachSlot(slot -> names.add(slot.getNameSurname()));
+        assertEquals(snapshot.size(), names.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            assertEquals(snapshot.getNameSurname(row), names.get(row));
+            assertEquals(row, store.get(names.get(row)).getOrder());
+        }
+    }
+
+    /**
+     * Tests method {@link ConcurrentResultStore#snapshot()}.
+     * Case when riding results, which change three counts at once, are updated while snapshots are taken. In that
+     * case every snapshot row has all three counts of one update.
+     */
+    @Test
+    public void whenSnapshotIsTakenDuringUpdatesThenEveryRowIsOneUpdate() throws Exception {
+        ConcurrentResultStore store = new ConcurrentResultStore();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> feed = executor.submit(() -> {
+                for (int round = 0; running.get(); round++) {
+                    store.update("Athlete " + round % ATHLETE_COUNT, AthleteEvent.RIDING,
+                            round + "," + round + "," + round);
+                }
+            });
+            Future<Integer> reader = executor.submit(() -> {
+                int snapshots = 0;
+                for (; snapshots < 1_000; snapshots++) {
+                    AthleteResultTable snapshot = store.snapshot();
+                    for (int row = 0; row < snapshot.size(); row++) {
+                        int fenceKnockDownCount = snapshot.getFenceKnockDownCount(row);
+                        if (snapshot.getRefusalToJumpCount(row) != fenceKnockDownCount
+                                || snapshot.getObstacleKnockDownCount(row) != fenceKnockDownCount) {
+                            fail("Torn riding result of " + snapshot.getNameSurname(row));
+                        }
+                    }
+                }
+                return snapshots;
+            });
+            assertEquals(1_000, reader.get(1, TimeUnit.MINUTES).intValue());
+            running.set(false);
+            feed.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests method {@link ConcurrentResultStore#drainChanged(java.util.function.Consumer)}.
+     * Case when athletes are updated several times between drains, and a new athlete has result of wrong format.
+     * In that case every changed athlete is drained once with its latest results, and the wrong result adds no one.
+     */
+    @Test
+    public void whenAthletesChangeBetweenDrainsThenEveryAthleteIsDrainedOnce() {
+        AthleteResultTable athleteResultTable = new AthleteResultTable();
+        athleteResultTable.addRow("Ann Lee", 12, "02:11.0", 1310, 0, 0, 0, 172, "10:38.0", 6380);
+        athleteResultTable.addRow("Bob Fox", 9, "02:15.0", 1350, 1, 0, 0, 180, "11:02.0", 6620);
+        ConcurrentResultStore store = new ConcurrentResultStore(athleteResultTable);
+        assertEquals(0, store.drainChanged(slot -> fail(slot.getNameSurname())));
+
+        store.update("Bob Fox", AthleteEvent.FENCING, "10");
+        store.update("Bob Fox", AthleteEvent.FENCING, "11");
+        store.update("Cid Fox", AthleteEvent.SHOOTING, "176");
+        try {
+            store.update("Dan Fox", AthleteEvent.RUN, "10:38");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, store.drainChanged(slot -> drained.add(slot.getNameSurname() + ","
+                + slot.getState().getFencingVictories() + "," + slot.getState().getShootingTargetScore())));
+        assertEquals("Bob Fox,11,180", drained.get(0));
+        assertEquals("Cid Fox,0,176", drained.get(1));
+        assertEquals(0, store.drainChanged(slot -> fail(slot.getNameSurname())));
+        assertNull(store.get("Dan Fox"));
+        assertEquals(3, store.size());
+        assertEquals(2, store.get("Cid Fox").getOrder());
+    }
+
+    /**
+     * Tests method {@link ConcurrentResultStore#snapshot()}.
+     * Case when athletes are added to two stores. In that case names of a store and of its snapshots are kept by
+     * the name dictionary of that store only, so they are dropped with it.
+     */
+    @Test
+    public void whenAthletesAreAddedThenNamesAreKeptByDictionaryOfStore() {
+        ConcurrentResultStore store = new ConcurrentResultStore();
+        ConcurrentResultStore otherStore = new ConcurrentResultStore();
+        store.update("Ann Lee", AthleteEvent.FENCING, "10");
+        otherStore.update("Bob Fox", AthleteEvent.FENCING, "11");
+
+        AthleteResultTable snapshot = store.snapshot();
+        assertSame(store.getNameDictionary(), snapshot.getNameDictionary());
+        assertNotSame(store.getNameDictionary(), otherStore.getNameDictionary());
+        assertEquals(store.get("Ann Lee").getNameSurnameId(), snapshot.getNameSurnameId(0));
+        assertEquals(1, store.getNameDictionary().size());
+        assertEquals(AthleteNameDictionary.NO_NAME, store.getNameDictionary().find("Bob Fox"));
+        assertEquals(1, otherStore.getNameDictionary().size());
+    }
+
+    private static String result(AthleteEvent event, int round) {
+        switch (event) {
+            case SWIMMING:
+                return String.format("02:%02d.%d", round % 60, round % 10);
+            case RIDING:
+                return "0," + round + ",0";
+            case RUN:
+                return String.format("10:%02d.%d", round % 60, round % 10);
+            default:
+                return String.valueOf(round);
+        }
+    }
+}
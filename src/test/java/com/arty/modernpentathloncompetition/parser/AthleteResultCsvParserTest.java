@@ -0,0 +1,153 @@
+package com.arty.modernpentathloncompetition.parser;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.opencsv.bean.ColumnPositionMappingStrategy;
+import com.opencsv.bean.CsvToBeanBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Athlete result CSV parser unit test.
+ */
+public class AthleteResultCsvParserTest {
+
+    /**
+     * Files which parser output is compared with OpenCSV output.
+     */
+    static final String[] CSV_FILES = {
+            "./Athlete_Results.csv",
+            "./src/test/resources/AthleteResultsTest1.csv",
+            "./src/test/resources/AthleteResultsTest3.csv",
+            "./src/test/resources/AthleteResultsTest4.csv",
+            "./src/test/resources/AthleteResultsTest5.csv",
+            "./src/test/resources/AthleteResultsTest6.csv"
+    };
+
+    /**
+     * Characters random CSV inputs are built of.
+     */
+    static final String RANDOM_CSV_ALPHABET = "ab1 ,,,\"\"\\\n\r:.-";
+
+    private final AthleteResultCsvParser parser = new AthleteResultCsvParser();
+
+    /**
+     * Parses CSV the way service did before the hand-rolled parser.
+     */
+    private static List<String> parseWithOpenCsv(String csv) {
+        ColumnPositionMappingStrategy<AthleteResult> strategy = new ColumnPositionMappingStrategy<>();
+        strategy.setType(AthleteResult.class);
+        strategy.setColumnMapping("nameSurname", "fencingVictories", "swimmingTime", "fenceKnockDownCount",
+                "refusalToJumpCount", "obstacleKnockDownCount", "shootingTargetScore", "runTime");
+        try {
+            return new CsvToBeanBuilder<AthleteResult>(new StringReader(csv))
+                    .withMappingStrategy(strategy)
+                    .withIgnoreLeadingWhiteSpace(true)
+                    .build()
+                    .parse()
+                    .stream()
+                    .map(AthleteResultCsvParserTest::describe)
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private List<String> parseWithParser(String csv) throws IOException {
+        List<String> athleteResults = new ArrayList<>();
+        try (Reader reader = new StringReader(csv)) {
+            parser.parse(reader, athleteResult -> athleteResults.add(describe(athleteResult)));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return athleteResults;
+    }
+
+    private static String describe(AthleteResult athleteResult) {
+        return "[" + athleteResult.getNameSurname() + "|" + athleteResult.getFencingVictories() + "|"
+                + athleteResult.getSwimmingTime() + "|" + athleteResult.getFenceKnockDownCount() + "|"
+                + athleteResult.getRefusalToJumpCount() + "|" + athleteResult.getObstacleKnockDownCount() + "|"
+                + athleteResult.getShootingTargetScore() + "|" + athleteResult.getRunTime() + "]";
+    }
+
+    /**
+     * Tests method {@link AthleteResultCsvParser#parse(Reader, java.util.function.Consumer)}.
+     * Case when results files of the project are parsed. In that case parser returns the same athlete results as
+     * OpenCSV.
+     */
+    @Test
+    public void whenParseResultFilesThenReturnSameAthleteResultsAsOpenCsv() throws IOException {
+        for (String file : CSV_FILES) {
+            String csv = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+            assertEquals(file, parseWithOpenCsv(csv), parseWithParser(csv));
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultCsvParser#parse(Reader, java.util.function.Consumer)}.
+     * Case when input has quotes, escapes, blank lines, missing and extra columns, or wrong numbers. In that case
+     * parser returns the same athlete results as OpenCSV, or fails whenever OpenCSV fails.
+     */
+    @Test
+    public void whenParseRandomCsvThenBehaveAsOpenCsv() throws IOException {
+        Random random = new Random(20200806L);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder csv = new StringBuilder();
+            int length = random.nextInt(200);
+            for (int j = 0; j < length; j++) {
+                csv.append(RANDOM_CSV_ALPHABET.charAt(random.nextInt(RANDOM_CSV_ALPHABET.length())));
+            }
+            assertEquals(csv.toString(), parseWithOpenCsv(csv.toString()), parseWithParser(csv.toString()));
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultCsvParser#parse(Reader, java.util.function.Consumer)}.
+     * Case when input is larger than read buffer and has a record longer than read buffer. In that case parser
+     * returns the same athlete results as OpenCSV.
+     */
+    @Test
+    public void whenParseInputLargerThanBufferThenReturnSameAthleteResultsAsOpenCsv() throws IOException {
+        String[] lineSeparators = {"\n", "\r\n", "\r"};
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            csv.append("Athlete ").append(i).append(',').append(i % 20).append(",02:11.0,0,2,1,")
+                    .append(150 + i % 50).append(",10:38.").append(i % 10)
+                    .append(lineSeparators[i % lineSeparators.length]);
+            if (i == 2500) {
+                csv.append('"');
+                for (int j = 0; j < 100000; j++) {
+                    csv.append(j % 1000 == 0 ? "\r\n" : "x");
+                }
+                csv.append("\",1,02:11.0,0,2,1,200,10:38.0\n");
+            }
+        }
+        assertEquals(parseWithOpenCsv(csv.toString()), parseWithParser(csv.toString()));
+    }
+
+    /**
+     * Tests method {@link AthleteResultCsvParser#stream(Reader)}.
+     * Case when stream is only partially consumed. In that case only consumed rows are returned.
+     */
+    @Test
+    public void whenStreamIsLimitedThenReturnFirstRows() throws IOException {
+        try (Reader reader = Files.newBufferedReader(Paths.get(CSV_FILES[0]), StandardCharsets.UTF_8)) {
+            List<AthleteResult> athleteResults = parser.stream(reader).limit(2).collect(Collectors.toList());
+
+            assertEquals(2, athleteResults.size());
+            assertEquals("Dennis Bowsher", athleteResults.get(0).getNameSurname());
+            assertEquals("10:45.7", athleteResults.get(1).getRunTime());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.arty.modernpentathloncompetition.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Athlete time parser unit test.
+ */
+public class AthleteTimeParserTest {
+
+    private static int parseBytes(String time) {
+        byte[] bytes = time.getBytes(StandardCharsets.UTF_8);
+        return AthleteTimeParser.parseTenths(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Tests method {@link AthleteTimeParser#parseTenths(CharSequence)}.
+     * Case when time has correct format. In that case result is the same as of parsing time components by
+     * {@link Integer#parseInt(String)}, both from characters and from bytes.
+     */
+    @Test
+    public void whenParseTenthsAndFormatIsCorrectThenReturnTenths() {
+        for (int minutes = 0; minutes < 25; minutes += 3) {
+            for (int seconds = 0; seconds < 60; seconds++) {
+                for (int tenths = 0; tenths < 10; tenths++) {
+                    String time = String.format("%02d:%02d.%d", minutes, seconds, tenths);
+                    int expected = tenths + seconds * 10 + minutes * 600;
+
+                    assertEquals(time, expected, AthleteTimeParser.parseTenths(time));
+                    assertEquals(time, expected, parseBytes(time));
+                }
+            }
+        }
+        assertEquals(1554, AthleteTimeParser.parseTenths("2:35.4"));
+    }
+
+    /**
+     * Tests method {@link AthleteTimeParser#parseTenths(CharSequence)}.
+     * Case when time has wrong format. In that case return -1 without throwing.
+     */
+    @Test
+    public void whenParseTenthsAndFormatIsWrongThenReturnNegativeOne() {
+        String[] times = {"", "0", "1.30", "1:30", "1:30.", ":30.0", "1:.0", "1:30:30", "-1:30.0", "+1:30.0",
+                " 1:30.0", "1:30.0 ", "1/:30.0", "1;30.0", "1h30min", "3asd2f11", "99999999999:00.0"};
+        for (String time : times) {
+            assertEquals(time, -1, AthleteTimeParser.parseTenths(time));
+            assertEquals(time, -1, parseBytes(time));
+        }
+        assertEquals(-1, AthleteTimeParser.parseTenths(null));
+    }
+}
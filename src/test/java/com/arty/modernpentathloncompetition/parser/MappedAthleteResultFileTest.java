@@ -0,0 +1,204 @@
+package com.arty.modernpentathloncompetition.parser;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Memory-mapped athlete result file unit test.
+ */
+public class MappedAthleteResultFileTest {
+
+    private final AthleteResultCsvParser parser = new AthleteResultCsvParser();
+
+    private List<String> parseWithParser(Path path) throws IOException {
+        List<String> athleteResults = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            parser.parse(reader, athleteResult -> athleteResults.add(describe(athleteResult)));
+        }
+        return athleteResults;
+    }
+
+    private static List<String> describe(MappedAthleteResultFile file) {
+        List<String> athleteResults = new ArrayList<>();
+        for (int row = 0; row < file.size(); row++) {
+            AthleteResult athleteResult = new AthleteResult();
+            athleteResult.setNameSurname(file.getNameSurname(row));
+            athleteResult.setFencingVictories(file.getFencingVictories(row));
+            athleteResult.setSwimmingTime(file.getSwimmingTimeText(row));
+            athleteResult.setFenceKnockDownCount(file.getFenceKnockDownCount(row));
+            athleteResult.setRefusalToJumpCount(file.getRefusalToJumpCount(row));
+            athleteResult.setObstacleKnockDownCount(file.getObstacleKnockDownCount(row));
+            athleteResult.setShootingTargetScore(file.getShootingTargetScore(row));
+            athleteResult.setRunTime(file.getRunTimeText(row));
+            athleteResults.add(describe(athleteResult));
+        }
+        return athleteResults;
+    }
+
+    private static String describe(AthleteResult athleteResult) {
+        return "[" + athleteResult.getNameSurname() + "|" + athleteResult.getFencingVictories() + "|"
+                + athleteResult.getSwimmingTime() + "|" + athleteResult.getFenceKnockDownCount() + "|"
+                + athleteResult.getRefusalToJumpCount() + "|" + athleteResult.getObstacleKnockDownCount() + "|"
+                + athleteResult.getShootingTargetScore() + "|" + athleteResult.getRunTime() + "]";
+    }
+
+    /**
+     * Tests method {@link MappedAthleteResultFile#map(Path)}.
+     * Case when results files of the project are mapped. In that case rows are the same as the CSV parser returns.
+     */
+    @Test
+    public void whenMapResultFilesThenRowsAreSameAsParsed() throws IOException {
+        for (String file : AthleteResultCsvParserTest.CSV_FILES) {
+            Path path = Paths.get(file);
+            assertEquals(file, parseWithParser(path), describe(MappedAthleteResultFile.map(path)));
+        }
+    }
+
+    /**
+     * Tests method {@link MappedAthleteResultFile#map(Path)}.
+     * Case when file is mapped in many small regions and has quoted names, blank lines, missing columns and
+     * every kind of line separator. In that case rows are the same as the CSV parser returns.
+     */
+    @Test
+    public void whenMapFileInSmallRegionsThenRowsAreSameAsParsed() throws IOException {
+        String[] lineSeparators = {"\n", "\r\n", "\r"};
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            if (i % 7 == 0) {
+                csv.append("\"Surname, Name ").append(i).append('"');
+            } else {
+                csv.append("Athlete ").append(i);
+            }
+            csv.append(',').append(i % 20).append(", 02:11.0,0, 2 ,1,").append(150 + i % 50);
+            if (i % 11 != 0) {
+                csv.append(",10:3").append(i % 10).append('.').append(i % 9);
+            }
+            csv.append(lineSeparators[i % lineSeparators.length]);
+            if (i % 13 == 0) {
+                csv.append('\n');
+            }
+        }
+
+        Path path = Files.createTempFile("athlete-results", ".csv");
+        try {
+            Files.write(path, csv.toString().getBytes(StandardCharsets.UTF_8));
+            assertEquals(parseWithParser(path), describe(MappedAthleteResultFile.map(path, 100)));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Tests method {@link MappedAthleteResultFile#getSwimmingTime(int)} and
+     * {@link MappedAthleteResultFile#getRunTime(int)}.
+     * Case when times have correct and wrong format. In that case return tenths of a second or -1.
+     */
+    @Test
+    public void whenMapFileThenTimesAreParsedFromBytes() throws IOException {
+        Path path = Files.createTempFile("athlete-results", ".csv");
+        try {
+            Files.write(path, ("a,1,02:11.0,0,0,0,0,10:38.4\nb,1,2:30,0,0,0,0,x\nc,1,0:00.0,0,0,0,0, 1:00.0")
+                    .getBytes(StandardCharsets.UTF_8));
+            MappedAthleteResultFile file = MappedAthleteResultFile.map(path);
+
+            assertEquals(1310, file.getSwimmingTime(0));
+            assertEquals(6384, file.getRunTime(0));
+            assertEquals(-1, file.getSwimmingTime(1));
+            assertEquals(-1, file.getRunTime(1));
+            assertEquals(0, file.getSwimmingTime(2));
+            assertEquals(-1, file.getRunTime(2));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Tests method {@link MappedAthleteResultFile#toTable()}.
+     * Case when mapped file with a quoted name is copied to table, and rows of the table are selected in another
+     * order. In that case table reads names and time texts from the mapped file by row, and a table with decoded
+     * texts has the same rows.
+     */
+    @Test
+    public void whenCopyToTableThenTextsAreReadFromFile() throws IOException {
+        Path path = Files.createTempFile("athlete-results", ".csv");
+        try {
+            Files.write(path, ("Ann Lee,1,02:11.0,0,0,0,0,10:38.4\n\"Fox, Bob\",2,2:30.0,0,0,0,0,x\nCid,3")
+                    .getBytes(StandardCharsets.UTF_8));
+            MappedAthleteResultFile file = MappedAthleteResultFile.map(path);
+            AthleteResultTable table = file.toTable();
+
+            assertTrue(table.hasTextSource());
+            assertEquals(3, table.size());
+            AthleteResultTable selected = table.select(new int[]{2, 1, 0});
+            assertTrue(selected.hasTextSource());
+            assertEquals("Cid", selected.getNameSurname(0));
+            assertEquals(null, selected.getSwimmingTimeText(0));
+            assertEquals("Fox, Bob", selected.getNameSurname(1));
+            assertEquals("x", selected.getRunTimeText(1));
+            assertEquals(2, selected.getFencingVictories(1));
+            assertEquals("02:11.0", selected.getSwimmingTimeText(2));
+            try {
+                selected.getNameSurnameId(0);
+                fail();
+            } catch (IllegalStateException e) {
+                // Expected.
+            }
+
+            AthleteResultTable decoded = selected.withDecodedTexts();
+            assertFalse(decoded.hasTextSource());
+            for (int row = 0; row < selected.size(); row++) {
+                assertEquals(selected.getNameSurname(row), decoded.getNameSurname(row));
+                assertEquals(selected.getSwimmingTimeText(row), decoded.getSwimmingTimeText(row));
+                assertEquals(selected.getRunTimeText(row), decoded.getRunTimeText(row));
+                assertEquals(selected.getRunTime(row), decoded.getRunTime(row));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Tests method {@link MappedAthleteResultFile#toTable()}.
+     * Case when file mapped in small regions is copied to table and then rewritten in place with other athletes.
+     * In that case table keeps names and time texts the file had when it was copied.
+     */
+    @Test
+    public void whenFileIsRewrittenAfterCopyToTableThenTableKeepsTexts() throws IOException {
+        Path path = Files.createTempFile("athlete-results", ".csv");
+        try {
+            StringBuilder csv = new StringBuilder();
+            for (int i = 0; i < 20; i++) {
+                csv.append(i % 5 == 0 ? "\"Surname, Name " + i + "\"" : "Athlete " + i)
+                        .append(",1,02:1").append(i % 10).append(".0,0,0,0,0,10:3").append(i % 10).append(".0\n");
+            }
+            Files.write(path, csv.toString().getBytes(StandardCharsets.UTF_8));
+            List<String> expected = parseWithParser(path);
+            AthleteResultTable table = MappedAthleteResultFile.map(path, 100).toTable();
+
+            Files.write(path, csv.toString().replace('A', 'X').replace('1', '2').getBytes(StandardCharsets.UTF_8));
+
+            List<String> actual = new ArrayList<>();
+            for (int row = 0; row < table.size(); row++) {
+                actual.add(describe(table.toAthleteResult(row)));
+            }
+            assertEquals(expected, actual);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.arty.modernpentathloncompetition.ranking;
+
+import com.arty.modernpentathloncompetition.entity.AthleteCompetitionResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.SeasonRankingRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Season ranking index unit test.
+ */
+public class SeasonRankingIndexTest {
+
+    /**
+     * Tests method {@link SeasonRankingIndex#getSeasonRanking(int)}.
+     * Case when athletes take part in different competitions. In that case athletes are ordered by sum of their
+     * total points, athletes with the same sum share the place, and history of an athlete lists every competition.
+     */
+    @Test
+    public void whenCompetitionsAreIndexedThenRankingIsOrderedBySeasonPoints() {
+        SeasonRankingIndex index = new SeasonRankingIndex();
+
+        index.indexCompetition("warsaw", leaderboard(new String[]{"Ann", "Bob", "Cid"}, new int[]{1200, 1100, 1000}));
+        index.indexCompetition("prague", leaderboard(new String[]{"Cid", "Dan", "Bob"}, new int[]{1300, 1250, 900}));
+
+        List<SeasonRankingRow> ranking = index.getSeasonRanking(10);
+        assertEquals(4, ranking.size());
+        assertEquals("1,Cid,2300,2", ranking.get(0).toString());
+        assertEquals("2,Bob,2000,2", ranking.get(1).toString());
+        assertEquals("3,Dan,1250,1", ranking.get(2).toString());
+        assertEquals("4,Ann,1200,1", ranking.get(3).toString());
+        assertEquals(2, index.getSeasonRanking(2).size());
+        assertEquals("2,Bob,2000,2", index.getSeasonRankingRow("Bob").toString());
+
+        index.indexCompetition("sofia", leaderboard(new String[]{"Ann", "Dan"}, new int[]{50, 0}));
+        assertEquals("3,Ann,1250,2", index.getSeasonRankingRow("Ann").toString());
+        assertEquals("3,Dan,1250,2", index.getSeasonRankingRow("Dan").toString());
+        assertEquals(3, index.getSeasonRanking(4).get(3).getPlace());
+
+        List<AthleteCompetitionResult> history = index.getAthleteHistory("Bob");
+        assertEquals(2, history.size());
+        assertEquals("warsaw,2,1100,100", history.get(0).toString());
+        assertEquals("prague,3,900,200", history.get(1).toString());
+        assertTrue(index.getAthleteHistory("Eve").isEmpty());
+        assertNull(index.getSeasonRankingRow("Eve"));
+    }
+
+    /**
+     * Tests method {@link SeasonRankingIndex#indexCompetition(String, AthleteResultTable)}.
+     * Case when competitions are indexed again many times with random results. In that case results of the
+     * competition are replaced, and ranking is the same as ranking computed from the latest results.
+     */
+    @Test
+    public void whenCompetitionsAreIndexedAgainThenRankingHasTheirLatestResults() {
+        SeasonRankingIndex index = new SeasonRankingIndex();
+        Map<String, AthleteResultTable> latestResults = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int update = 0; update < 500; update++) {
+            String competitionId = "competition-" + random.nextInt(20);
+            int size = random.nextInt(6);
+            String[] names = new String[size];
+            int[] totalPoints = new int[size];
+            for (int row = 0; row < size; row++) {
+                names[row] = "athlete-" + random.nextInt(40);
+                totalPoints[row] = 600 + random.nextInt(20) * 50;
+            }
+            AthleteResultTable leaderboard = leaderboard(names, totalPoints);
+            latestResults.put(competitionId, leaderboard);
+            index.indexCompetition(competitionId, leaderboard);
+
+            Map<String, Integer> seasonPoints = new HashMap<>();
+            Map<String, Integer> competitionCounts = new HashMap<>();
+            for (AthleteResultTable results : latestResults.values()) {
+                for (int row = 0; row < results.size(); row++) {
+                    seasonPoints.merge(results.getNameSurname(row), results.getTotalPoints(row), Integer::sum);
+                    competitionCounts.merge(results.getNameSurname(row), 1, Integer::sum);
+                }
+            }
+            List<SeasonRankingRow> ranking = index.getSeasonRanking(Integer.MAX_VALUE);
+            assertEquals(seasonPoints.size(), ranking.size());
+            for (int position = 0; position < ranking.size(); position++) {
+                SeasonRankingRow row = ranking.get(position);
+                assertEquals((int) seasonPoints.get(row.getNameSurname()), row.getSeasonPoints());
+                assertEquals((int) competitionCounts.get(row.getNameSurname()), row.getCompetitionCount());
+                assertEquals(competitionCounts.get(row.getNameSurname()).intValue(),
+                        index.getAthleteHistory(row.getNameSurname()).size());
+                assertEquals(row.getPlace(), index.getSeasonRankingRow(row.getNameSurname()).getPlace());
+                if (position > 0) {
+                    assertTrue(ranking.get(position - 1).getSeasonPoints() >= row.getSeasonPoints());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests methods {@link SeasonRankingIndex#write(Path)} and {@link SeasonRankingIndex#read(Path)}.
+     * Case when index with replaced competition is written and read back. In that case ranking and histories are
+     * the same.
+     */
+    @Test
+    public void whenIndexIsWrittenAndReadThenRankingAndHistoriesAreTheSame() throws IOException {
+        SeasonRankingIndex index = new SeasonRankingIndex();
+        index.indexCompetition("warsaw", leaderboard(new String[]{"Ann", "Bob", "Cid"}, new int[]{1200, 1100, 1000}));
+        index.indexCompetition("prague", leaderboard(new String[]{"Cid", "Dan"}, new int[]{1300, 1250}));
+        index.indexCompetition("warsaw", leaderboard(new String[]{"Bob", "Ann"}, new int[]{1150, 1140}));
+        Path path = Files.createTempFile("season-ranking", ".index");
+
+        try {
+            index.write(path);
+            SeasonRankingIndex readIndex = SeasonRankingIndex.read(path);
+
+            assertEquals(toStrings(index.getSeasonRanking(10)), toStrings(readIndex.getSeasonRanking(10)));
+            for (String nameSurname : new String[]{"Ann", "Bob", "Cid", "Dan"}) {
+                assertEquals(toStrings(index.getAthleteHistory(nameSurname)),
+                        toStrings(readIndex.getAthleteHistory(nameSurname)));
+            }
+            assertEquals(2, readIndex.getCompetitionCount());
+            assertEquals("1,Cid,1300,1", readIndex.getSeasonRanking(1).get(0).toString());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Method creates leaderboard of athletes in the given order, with concluding event times 100 seconds apart.
+     */
+    private static AthleteResultTable leaderboard(String[] names, int[] totalPoints) {
+        AthleteResultTable leaderboard = new AthleteResultTable();
+        for (int row = 0; row < names.length; row++) {
+            leaderboard.addRow(names[row], 0, null, -1, 0, 0, 0, 0, null, -1);
+            leaderboard.setTotalPoints(row, totalPoints[row]);
+            leaderboard.setConcludingEventTime(row, row * 100);
+            leaderboard.setPlace(row, row + 1, false);
+        }
+        return leaderboard;
+    }
+
+    private static List<String> toStrings(List<?> rows) {
+        List<String> strings = new ArrayList<>();
+        for (Object row : rows) {
+            strings.add(row.toString());
+        }
+        return strings;
+    }
+}
@@ -2,18 +2,31 @@ package com.arty.modernpentathloncompetition.service;
 
 import com.arty.modernpentathloncompetition.entity.AthleteResult;
 import com.arty.modernpentathloncompetition.entity.AthleteResultOutput;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.ScoringRules;
+import com.arty.modernpentathloncompetition.metrics.LeaderboardPipelineMetrics;
 import com.arty.modernpentathloncompetition.service.implementation.AthleteResultServiceImpl;
+import com.arty.modernpentathloncompetition.snapshot.AthleteResultSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
+import java.util.Random;
 
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
 
 /**
  * Athlete result service unit test.
@@ -289,6 +302,42 @@ public class AthleteResultServiceIntegrationTest {
 
     }
 
+    /**
+     * Tests method {@link AthleteResultService#calculateWinsCountToReachFencingTargetPercentageWinRate(int)}.
+     * Case when every games count up to 10,000 is checked, and up to 500 with every win rate percent. In that case
+     * wins count is the same as found by trying every wins count.
+     */
+    @Test
+    public void whenFencingTargetWinCountOfAnyGamesCountThenSameAsLoop() {
+        for (int gamesCount = -10; gamesCount <= 10_000; gamesCount++) {
+            assertEquals("Games " + gamesCount, calculateWinsCountByLoop(70, gamesCount),
+                    athleteResultService.calculateWinsCountToReachFencingTargetPercentageWinRate(gamesCount));
+        }
+        for (int percent = 0; percent <= 100; percent++) {
+            Properties rules = new Properties();
+            rules.setProperty("fencing_win_rate_percent", String.valueOf(percent));
+            ScoringRules scoringRules = ScoringRules.fromProperties(rules);
+            for (int gamesCount = 0; gamesCount <= 500; gamesCount++) {
+                assertEquals(percent + "% of " + gamesCount, calculateWinsCountByLoop(percent, gamesCount),
+                        scoringRules.getFencingTargetWinCount(gamesCount));
+            }
+        }
+        assertEquals(1_503_238_553, athleteResultService
+                .calculateWinsCountToReachFencingTargetPercentageWinRate(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Reference fencing target win count: the first wins count whose win rate reaches the percent.
+     */
+    private int calculateWinsCountByLoop(int percent, int gamesCount) {
+        for (int i = 1; i <= gamesCount; i++) {
+            if (athleteResultService.calculateWinRate(i, gamesCount) >= percent) {
+                return i;
+            }
+        }
+        return Integer.compare(gamesCount, 0);
+    }
+
     /**
      * Tests method {@link AthleteResultService#calculateWinRate(int, int)}.
      * Test cases with 0, positive and negative parameters.
@@ -598,4 +647,413 @@ public class AthleteResultServiceIntegrationTest {
         assertEquals(3,linesCount.length);
     }
 
+    /**
+     * Tests method {@link AthleteResultService#generateAthleteResultsForOutputFromMappedCsv(String)}.
+     * Case when the same files are read through memory mapping and through CSV parsing. In that case the same
+     * leaderboard is generated.
+     */
+    @Test
+    public void whenGenerateAthleteResultsFromMappedCsvThenLeaderboardIsSameAsFromParsedCsv() {
+        String[] filePaths = {FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS, TWO_ATHLETE_SAME_RESULTS,
+                NINE_ATHLETES_DIFFERENT_RESULTS, SIXTEEN_ATHLETES_REPEATING_TIMES, ONE_ATHLETE_DATA};
+
+        for (String filePath : filePaths) {
+            List<AthleteResult> athleteResults = athleteResultService.calculateTotalPointsOfAthletes(
+                    athleteResultService.generateAthleteResultsFromCsv(filePath));
+            String expectedLeaderboard = athleteResultService.generateFinalLeaderboardList(athleteResultService
+                    .determinePlaceForEachAthlete(athleteResultService
+                            .countConcludingEventTimeAndSortAccordingToIt(athleteResults)));
+
+            String leaderboard = athleteResultService.generateFinalLeaderboardList(athleteResultService
+                    .determinePlaceForEachAthlete(athleteResultService
+                            .generateAthleteResultsForOutputFromMappedCsv(filePath)));
+
+            assertEquals(filePath, expectedLeaderboard, leaderboard);
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#generateAthleteResultsForOutputFromMappedCsv(String)}.
+     * Case when file by provided path does not exist. In that case returns empty list.
+     */
+    @Test
+    public void whenGenerateAthleteResultsFromMappedCsvAndFileNotPresentReturnEmptyList() {
+        assertEquals(0, athleteResultService.generateAthleteResultsForOutputFromMappedCsv(FILE_PATH_FILE_DONT_EXIST)
+                .size());
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#calculateTotalPointsOfAthletes(List)}.
+     * Case when athletes are scored in parallel across fork/join pool. In that case total points are the same as
+     * of sequential scoring and order of athletes is kept.
+     */
+    @Test
+    public void whenCalculateTotalPointsInParallelThenTotalsAreSameAsSequential() {
+        Random random = new Random(5);
+        AthleteResultServiceImpl sequentialService = new AthleteResultServiceImpl();
+        sequentialService.setParallelismThreshold(Integer.MAX_VALUE);
+        AthleteResultServiceImpl parallelService = new AthleteResultServiceImpl();
+
+        for (int size : new int[]{1, 2, 3, 17, 1000, 20_011}) {
+            parallelService.setParallelismThreshold(1 + random.nextInt(64));
+            List<AthleteResult> sequentialResults = new ArrayList<>();
+            List<AthleteResult> parallelResults = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                sequentialResults.add(randomAthleteResult(random, i));
+                parallelResults.add(copyOf(sequentialResults.get(i)));
+            }
+
+            List<AthleteResult> expected = sequentialService.calculateTotalPointsOfAthletes(sequentialResults);
+            List<AthleteResult> actual = parallelService.calculateTotalPointsOfAthletes(parallelResults);
+
+            assertEquals(size, actual.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.get(i).getNameSurname(), actual.get(i).getNameSurname());
+                assertEquals(expected.get(i).getTotalPoints(), actual.get(i).getTotalPoints());
+            }
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#calculateTotalPointsOfAthletes(AthleteResultTable)}.
+     * Case when scoring rulebook of another season is switched on. In that case athletes are scored by its rules,
+     * and switching back to the current season gives the same points as before.
+     */
+    @Test
+    public void whenScoringRulesSwitchedThenAthletesAreScoredByThem() {
+        AthleteResultServiceImpl service = new AthleteResultServiceImpl();
+        Properties rules = new Properties();
+        rules.setProperty("riding_fence_knock_down_loss", "7");
+        rules.setProperty("shooting_target_score", "170");
+        rules.setProperty("swimming_target_time", "2:20.0");
+        rules.setProperty("fencing_win_rate_percent", "50");
+
+        service.setScoringRules(ScoringRules.fromProperties(rules));
+        assertEquals(1200 - 7 - 2 * 40 - 3 * 60, service.calculateAthletesRidingScore(1, 2, 3));
+        assertEquals(1000 - 20 * 12, service.calculateAthletesShootingScore(150));
+        assertEquals(1000 - 4 * 100, service.calculateAthletesSwimmingScore("2:50.0"));
+        assertEquals(5, service.calculateWinsCountToReachFencingTargetPercentageWinRate(10));
+        int changedTotalPoints = service.calculateTotalPointsOfAthletes(
+                service.generateAthleteResultTableFromCsv(NINE_ATHLETES_DIFFERENT_RESULTS)).getTotalPoints(0);
+
+        service.setScoringRules(ScoringRules.DEFAULT);
+        AthleteResultTable athleteResultTable = service.calculateTotalPointsOfAthletes(
+                service.generateAthleteResultTableFromCsv(NINE_ATHLETES_DIFFERENT_RESULTS));
+        assertEquals(912, service.calculateAthletesRidingScore(1, 2, 3));
+        assertTrue(changedTotalPoints != athleteResultTable.getTotalPoints(0));
+        assertEquals(athleteResultService.generateFinalLeaderboardList(
+                athleteResultService.generateAthleteLeaderboardTable(NINE_ATHLETES_DIFFERENT_RESULTS)),
+                service.generateFinalLeaderboardList(
+                service.determinePlaceForEachAthlete(service.countConcludingEventTimeAndSortAccordingToIt(
+                        athleteResultTable))));
+    }
+
+    /**
+     * Tests method {@link ScoringRules#fromProperties(Properties)}.
+     * Case when rule has wrong format or value. In that case exception is thrown.
+     */
+    @Test
+    public void whenScoringRuleIsWrongThenThrow() {
+        String[][] wrongRules = {{"riding_target_score", "many"}, {"swimming_target_time", "2 minutes"},
+                {"fencing_win_rate_percent", "101"}, {"swimming_tenths_per_step", "0"}};
+        for (String[] wrongRule : wrongRules) {
+            Properties rules = new Properties();
+            rules.setProperty(wrongRule[0], wrongRule[1]);
+            try {
+                ScoringRules.fromProperties(rules);
+                fail(wrongRule[0]);
+            } catch (IllegalArgumentException e) {
+                // Expected.
+            }
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#generateAthleteLeaderboardTable(String)}.
+     * Case when leaderboard was written to snapshot file. In that case leaderboard read from snapshot is the same
+     * as generated from csv file.
+     */
+    @Test
+    public void whenGenerateLeaderboardFromSnapshotThenSameAsFromCsv() throws IOException {
+        Path snapshot = Files.createTempFile("leaderboard", AthleteResultSnapshot.FILE_EXTENSION);
+        try {
+            for (String filePath : new String[]{FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS, TWO_ATHLETE_SAME_RESULTS,
+                    SIXTEEN_ATHLETES_REPEATING_TIMES, ONE_ATHLETE_DATA}) {
+                String expectedLeaderboard = athleteResultService.generateFinalLeaderboardList(
+                        athleteResultService.generateAthleteLeaderboardTable(filePath));
+
+                athleteResultService.writeAthleteLeaderboardSnapshot(
+                        athleteResultService.generateAthleteLeaderboardTable(filePath), snapshot.toString());
+
+                assertEquals(filePath, expectedLeaderboard, athleteResultService.generateFinalLeaderboardList(
+                        athleteResultService.generateAthleteLeaderboardTable(snapshot.toString())));
+            }
+        } finally {
+            Files.delete(snapshot);
+        }
+        assertEquals(0, athleteResultService.generateAthleteLeaderboardTable(snapshot.toString()).size());
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#generateAthleteLeaderboardTable(String)}.
+     * Case when leaderboards are generated from correct file, file with unreadable swimming time and file which can
+     * not be read. In that case every stage is timed, and read and rejected rows and files are counted.
+     */
+    @Test
+    public void whenGenerateLeaderboardThenStagesAreTimedAndRowsAreCounted() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AthleteResultServiceImpl service = new AthleteResultServiceImpl(meterRegistry);
+        Path unreadableTime = Files.createTempFile("results", ".csv");
+        try {
+            Files.write(unreadableTime, "Athlete 1,20,wrong,0,0,0,180,10:00.0\nAthlete 2,20,02:10.0,0,0,0,180,10:00.0\n"
+                    .getBytes(StandardCharsets.UTF_8));
+
+            service.writeFinalLeaderboardList(service.generateAthleteLeaderboardTable(
+                    FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS), new ByteArrayOutputStream());
+            service.generateAthleteLeaderboardTable(unreadableTime.toString());
+            service.generateAthleteLeaderboardTable(FILE_PATH_WRONG_STRUCTURE_FILE_EXISTS);
+        } finally {
+            Files.delete(unreadableTime);
+        }
+
+        for (LeaderboardPipelineMetrics.Stage stage : LeaderboardPipelineMetrics.Stage.values()) {
+            long expectedCount = stage == LeaderboardPipelineMetrics.Stage.FORMAT ? 1 : 3;
+            assertEquals(stage.name(), expectedCount, meterRegistry.get(LeaderboardPipelineMetrics.STAGE_TIMER)
+                    .tag("stage", stage.name().toLowerCase()).timer().count());
+        }
+        assertEquals(10 + 2.0, meterRegistry.get(LeaderboardPipelineMetrics.ROWS_READ).counter().count());
+        assertEquals(1.0, meterRegistry.get(LeaderboardPipelineMetrics.ROWS_REJECTED).counter().count());
+        assertEquals(1.0, meterRegistry.get(LeaderboardPipelineMetrics.FILES_REJECTED).counter().count());
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#generateFinalLeaderboardList(AthleteResultTable)}.
+     * Case when leaderboard is generated over athlete result table. In that case it is the same as leaderboard
+     * generated over lists of athlete results.
+     */
+    @Test
+    public void whenGenerateLeaderboardFromTableThenLeaderboardIsSameAsFromLists() {
+        String[] filePaths = {FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS, TWO_ATHLETE_SAME_RESULTS,
+                NINE_ATHLETES_DIFFERENT_RESULTS, SIXTEEN_ATHLETES_REPEATING_TIMES, ONE_ATHLETE_DATA};
+
+        for (String filePath : filePaths) {
+            List<AthleteResult> athleteResults = athleteResultService.calculateTotalPointsOfAthletes(
+                    athleteResultService.generateAthleteResultsFromCsv(filePath));
+            String expectedLeaderboard = athleteResultService.generateFinalLeaderboardList(athleteResultService
+                    .determinePlaceForEachAthlete(athleteResultService
+                            .countConcludingEventTimeAndSortAccordingToIt(athleteResults)));
+
+            AthleteResultTable athleteResultTable = athleteResultService.generateAthleteResultTableFromCsv(filePath);
+            String leaderboard = athleteResultService.generateFinalLeaderboardList(athleteResultService
+                    .determinePlaceForEachAthlete(athleteResultService.countConcludingEventTimeAndSortAccordingToIt(
+                            athleteResultService.calculateTotalPointsOfAthletes(athleteResultTable))));
+
+            assertEquals(filePath, expectedLeaderboard, leaderboard);
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#calculateTotalPointsOfAthletes(AthleteResultTable)}.
+     * Case when random athletes are scored, sorted and placed in table, sequentially and in parallel. In that case
+     * leaderboard is the same as generated over lists of athlete results.
+     */
+    @Test
+    public void whenGenerateLeaderboardFromRandomTableThenLeaderboardIsSameAsFromLists() {
+        Random random = new Random(7);
+        AthleteResultServiceImpl sequentialService = new AthleteResultServiceImpl();
+        sequentialService.setParallelismThreshold(Integer.MAX_VALUE);
+        AthleteResultServiceImpl parallelService = new AthleteResultServiceImpl();
+        parallelService.setParallelismThreshold(100);
+
+        for (int size : new int[]{1, 2, 10, 1000, 5000}) {
+            List<AthleteResult> athleteResults = new ArrayList<>();
+            AthleteResultTable sequentialTable = new AthleteResultTable();
+            AthleteResultTable parallelTable = new AthleteResultTable(1);
+            for (int i = 0; i < size; i++) {
+                AthleteResult athleteResult = randomAthleteResult(random, random.nextInt(size));
+                athleteResults.add(athleteResult);
+                for (AthleteResultTable table : new AthleteResultTable[]{sequentialTable, parallelTable}) {
+                    table.addRow(athleteResult.getNameSurname(), athleteResult.getFencingVictories(),
+                            athleteResult.getSwimmingTime(),
+                            sequentialService.convertToMillisFromString(athleteResult.getSwimmingTime()),
+                            athleteResult.getFenceKnockDownCount(), athleteResult.getRefusalToJumpCount(),
+                            athleteResult.getObstacleKnockDownCount(), athleteResult.getShootingTargetScore(),
+                            athleteResult.getRunTime(),
+                            sequentialService.convertToMillisFromString(athleteResult.getRunTime()));
+                }
+            }
+
+            String expectedLeaderboard = sequentialService.generateFinalLeaderboardList(sequentialService
+                    .determinePlaceForEachAthlete(sequentialService.countConcludingEventTimeAndSortAccordingToIt(
+                            sequentialService.calculateTotalPointsOfAthletes(athleteResults))));
+
+            for (AthleteResultServiceImpl service : new AthleteResultServiceImpl[]{sequentialService, parallelService}) {
+                AthleteResultTable table = service == sequentialService ? sequentialTable : parallelTable;
+                String leaderboard = service.generateFinalLeaderboardList(service.determinePlaceForEachAthlete(
+                        service.countConcludingEventTimeAndSortAccordingToIt(
+                                service.calculateTotalPointsOfAthletes(table))));
+                assertEquals(expectedLeaderboard, leaderboard);
+            }
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#countConcludingEventTimeAndDetermineTopPlaces(AthleteResultTable, int)}.
+     * Case when top of random leaderboards with many equal concluding event times is determined. In that case rows
+     * and places are the same as the first rows of the full leaderboard, also when tied athletes are split by the
+     * top boundary.
+     */
+    @Test
+    public void whenDetermineTopPlacesThenTopIsSameAsBeginningOfFullLeaderboard() {
+        Random random = new Random(9);
+        for (int iteration = 0; iteration < 100; iteration++) {
+            int size = 1 + random.nextInt(300);
+            int distinctRunTimes = 1 + random.nextInt(20);
+            AthleteResultTable fullTable = new AthleteResultTable();
+            AthleteResultTable table = new AthleteResultTable();
+            for (int i = 0; i < size; i++) {
+                int fencingVictories = random.nextInt(3);
+                int shootingTargetScore = 170 + random.nextInt(3);
+                int runTime = 6000 + 10 * random.nextInt(distinctRunTimes);
+                for (AthleteResultTable athleteResultTable : new AthleteResultTable[]{fullTable, table}) {
+                    athleteResultTable.addRow("Athlete " + i, fencingVictories, "02:30.0", 1500, 0, 0, 0,
+                            shootingTargetScore, "10:00.0", runTime);
+                }
+            }
+            String[] fullLeaderboard = athleteResultService.generateFinalLeaderboardList(athleteResultService
+                    .determinePlaceForEachAthlete(athleteResultService.countConcludingEventTimeAndSortAccordingToIt(
+                            athleteResultService.calculateTotalPointsOfAthletes(fullTable)))).split("\r\n");
+            athleteResultService.calculateTotalPointsOfAthletes(table);
+
+            int top = 1 + random.nextInt(size + 2);
+            String topLeaderboard = athleteResultService.generateFinalLeaderboardList(
+                    athleteResultService.countConcludingEventTimeAndDetermineTopPlaces(table, top));
+
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < Math.min(top, size); i++) {
+                expected.append(fullLeaderboard[i]).append("\r\n");
+            }
+            assertEquals("Size " + size + ", top " + top, expected.toString(), topLeaderboard);
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultService#determinePlaceForEachAthlete(List)}.
+     * Case when large sorted lists have random runs of equal concluding event time. In that case places are the
+     * same as the nested loop implementation used before determined.
+     */
+    @Test
+    public void whenDeterminePlaceForEachAthleteOnRandomTiesThenPlacesAreSameAsNestedLoop() {
+        Random random = new Random(6);
+        for (int iteration = 0; iteration < 200; iteration++) {
+            int size = iteration < 20 ? iteration : random.nextInt(iteration < 190 ? 300 : 20_000);
+            int maxRunLength = 1 + random.nextInt(iteration % 2 == 0 ? 3 : 50);
+            List<AthleteResultOutput> expected = new ArrayList<>();
+            List<AthleteResultOutput> actual = new ArrayList<>();
+            int concludingEventTime = random.nextInt(100);
+            while (expected.size() < size) {
+                int runLength = 1 + random.nextInt(maxRunLength);
+                for (int i = 0; i < runLength && expected.size() < size; i++) {
+                    AthleteResultOutput athleteResultOutput = new AthleteResultOutput();
+                    athleteResultOutput.setConcludingEventTime(concludingEventTime);
+                    expected.add(athleteResultOutput);
+                    athleteResultOutput = new AthleteResultOutput();
+                    athleteResultOutput.setConcludingEventTime(concludingEventTime);
+                    actual.add(athleteResultOutput);
+                }
+                concludingEventTime += 1 + random.nextInt(10);
+            }
+
+            determinePlaceForEachAthleteByNestedLoop(expected);
+            athleteResultService.determinePlaceForEachAthlete(actual);
+
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.get(i).getPlace(), actual.get(i).getPlace());
+            }
+        }
+    }
+
+    /**
+     * Nested loop place determination which the service used before, kept as reference of expected places.
+     */
+    private static void determinePlaceForEachAthleteByNestedLoop(List<AthleteResultOutput> athleteResultsForOutput) {
+        int place = 0;
+        int placeAfter = 0;
+        boolean singlePlace = false;
+        if (athleteResultsForOutput.size() == 1) {
+            athleteResultsForOutput.get(0).setPlace(String.valueOf(1));
+            return;
+        }
+        for (int i = 0; i <= athleteResultsForOutput.size() - 2; i++) {
+            for (int j = i + 1; j <= athleteResultsForOutput.size() - 1; j++) {
+                if (athleteResultsForOutput.get(i).getConcludingEventTime()
+                        == athleteResultsForOutput.get(j).getConcludingEventTime()) {
+                    if (athleteResultsForOutput.get(i).getPlace() == null
+                            || !athleteResultsForOutput.get(i).getPlace().contains("/")) {
+                        if (i == 0) {
+                            place++;
+                        }
+                        placeAfter = place + 1;
+                        athleteResultsForOutput.get(i).setPlace(place + "/" + placeAfter);
+                        singlePlace = false;
+                    }
+                    if (athleteResultsForOutput.get(j).getPlace() == null) {
+                        if (singlePlace) {
+                            place++;
+                        }
+                        placeAfter = place + 1;
+                        athleteResultsForOutput.get(j).setPlace(place + "/" + placeAfter);
+                        singlePlace = false;
+                    }
+                } else {
+                    if (placeAfter > place) {
+                        place++;
+                    }
+                    if (athleteResultsForOutput.get(i).getPlace() == null) {
+                        place++;
+                        athleteResultsForOutput.get(i).setPlace(String.valueOf(place));
+                        if (athleteResultsForOutput.get(j).getPlace() == null) {
+                            place++;
+                            athleteResultsForOutput.get(j).setPlace(String.valueOf(place));
+                        }
+                    }
+                    if (athleteResultsForOutput.get(j).getPlace() == null) {
+                        place++;
+                        athleteResultsForOutput.get(j).setPlace(String.valueOf(place));
+                    }
+                    singlePlace = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static AthleteResult randomAthleteResult(Random random, int index) {
+        AthleteResult athleteResult = new AthleteResult();
+        athleteResult.setNameSurname("Athlete " + index);
+        athleteResult.setFencingVictories(random.nextInt(40));
+        athleteResult.setSwimmingTime(random.nextInt(10) == 0 ? "wrong"
+                : String.format("%02d:%02d.%d", 1 + random.nextInt(3), random.nextInt(60), random.nextInt(10)));
+        athleteResult.setFenceKnockDownCount(random.nextInt(5));
+        athleteResult.setRefusalToJumpCount(random.nextInt(5));
+        athleteResult.setObstacleKnockDownCount(random.nextInt(5));
+        athleteResult.setShootingTargetScore(random.nextInt(200));
+        athleteResult.setRunTime(String.format("%02d:%02d.%d", 9 + random.nextInt(3), random.nextInt(60),
+                random.nextInt(10)));
+        return athleteResult;
+    }
+
+    private static AthleteResult copyOf(AthleteResult athleteResult) {
+        AthleteResult copy = new AthleteResult();
+        copy.setNameSurname(athleteResult.getNameSurname());
+        copy.setFencingVictories(athleteResult.getFencingVictories());
+        copy.setSwimmingTime(athleteResult.getSwimmingTime());
+        copy.setFenceKnockDownCount(athleteResult.getFenceKnockDownCount());
+        copy.setRefusalToJumpCount(athleteResult.getRefusalToJumpCount());
+        copy.setObstacleKnockDownCount(athleteResult.getObstacleKnockDownCount());
+        copy.setShootingTargetScore(athleteResult.getShootingTargetScore());
+        copy.setRunTime(athleteResult.getRunTime());
+        return copy;
+    }
+
 }
@@ -0,0 +1,190 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.BatchLeaderboardReport;
+import com.arty.modernpentathloncompetition.service.implementation.BatchLeaderboardServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Batch leaderboard service integration test.
+ */
+@SpringBootTest
+public class BatchLeaderboardServiceIntegrationTest {
+
+    /**
+     * Injection of batch leaderboard service.
+     */
+    @Autowired
+    private BatchLeaderboardServiceImpl batchLeaderboardService;
+
+    /**
+     * Injection of athlete result service.
+     */
+    @Autowired
+    private AthleteResultService athleteResultService;
+
+    /**
+     * Batch root directory with copies of test results files.
+     */
+    private Path rootDirectory;
+
+    @BeforeEach
+    public void copyResultFiles() throws IOException {
+        rootDirectory = Files.createTempDirectory("batch-leaderboards");
+        Path resultsDirectory = Files.createDirectory(rootDirectory.resolve("results"));
+        for (String filePath : Arrays.asList(AthleteResultServiceIntegrationTest.NINE_ATHLETES_DIFFERENT_RESULTS,
+                AthleteResultServiceIntegrationTest.SIXTEEN_ATHLETES_REPEATING_TIMES,
+                AthleteResultServiceIntegrationTest.ONE_ATHLETE_DATA)) {
+            Path resultPath = Paths.get(filePath);
+            Files.copy(resultPath, resultsDirectory.resolve(resultPath.getFileName()));
+        }
+        batchLeaderboardService.setRootDirectory(rootDirectory.toString());
+    }
+
+    @AfterEach
+    public void deleteResultFiles() throws IOException {
+        batchLeaderboardService.setRootDirectory(".");
+        try (Stream<Path> paths = Files.walk(rootDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests method {@link BatchLeaderboardService#generateLeaderboardsOfDirectory(String, String)}.
+     * Case when directory has several results files. In that case every leaderboard is written to the output
+     * directory, the same as leaderboard of the file generated alone, and all athletes are counted.
+     */
+    @Test
+    public void whenGenerateLeaderboardsOfDirectoryThenEveryLeaderboardIsWritten() throws IOException {
+        BatchLeaderboardReport report = batchLeaderboardService.generateLeaderboardsOfDirectory("results",
+                "leaderboards");
+
+        assertEquals(3, report.getFileCount());
+        assertEquals(9 + 16 + 1, report.getRowCount());
+        assertTrue(report.getFailedFiles().isEmpty());
+        assertTrue(report.getFilesPerSecond() > 0);
+        for (String fileName : Arrays.asList("AthleteResultsTest4", "AthleteResultsTest5", "AthleteResultsTest6")) {
+            assertEquals(athleteResultService.generateFinalLeaderboardList(athleteResultService
+                            .generateAthleteLeaderboardTable(rootDirectory.resolve("results/" + fileName + ".csv")
+                                    .toString())),
+                    new String(Files.readAllBytes(rootDirectory.resolve("leaderboards/" + fileName
+                            + "-leaderboard.csv")), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Tests method {@link BatchLeaderboardService#generateLeaderboards(java.util.List, String)}.
+     * Case when one of listed results files does not exist. In that case it is reported as failed and the other
+     * leaderboards are still written.
+     */
+    @Test
+    public void whenResultFileIsMissingThenItIsReportedAsFailed() {
+        BatchLeaderboardReport report = batchLeaderboardService.generateLeaderboards(
+                Arrays.asList("results/AthleteResultsTest4.csv", "results/missing.csv"), "leaderboards");
+
+        assertEquals(1, report.getFileCount());
+        assertEquals(9, report.getRowCount());
+        assertEquals(Collections.singletonList(rootDirectory.resolve("results/missing.csv").toString()),
+                report.getFailedFiles());
+        assertTrue(Files.exists(rootDirectory.resolve("leaderboards/AthleteResultsTest4-leaderboard.csv")));
+    }
+
+    /**
+     * Tests methods {@link BatchLeaderboardService#generateLeaderboards(java.util.List, String)} and
+     * {@link BatchLeaderboardService#generateLeaderboardsOfDirectory(String, String)}.
+     * Case when two results files differ only by extension or its case, so their leaderboards would be written to
+     * the same file. In that case exception is thrown and nothing is written.
+     */
+    @Test
+    public void whenResultFilesHaveSameLeaderboardFileThenExceptionIsThrown() throws IOException {
+        Files.copy(rootDirectory.resolve("results/AthleteResultsTest4.csv"),
+                rootDirectory.resolve("results/AthleteResultsTest4.CSV"));
+        for (String resultFile : Arrays.asList("results/AthleteResultsTest4.CSV",
+                "results/AthleteResultsTest4.snapshot")) {
+            try {
+                batchLeaderboardService.generateLeaderboards(
+                        Arrays.asList("results/AthleteResultsTest4.csv", resultFile), "leaderboards");
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertTrue(Files.notExists(rootDirectory.resolve("leaderboards")));
+            }
+        }
+        try {
+            batchLeaderboardService.generateLeaderboardsOfDirectory("results", "leaderboards");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(Files.notExists(rootDirectory.resolve("leaderboards")));
+        }
+    }
+
+    /**
+     * Tests method {@link BatchLeaderboardService#generateLeaderboards(java.util.List, String)}.
+     * Case when output directory is outside of batch root directory. In that case exception is thrown and nothing
+     * is written.
+     */
+    @Test
+    public void whenOutputDirectoryIsOutsideOfRootThenExceptionIsThrown() {
+        try {
+            batchLeaderboardService.generateLeaderboards(
+                    Collections.singletonList("results/AthleteResultsTest4.csv"), "../leaderboards");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(Files.notExists(rootDirectory.resolveSibling("leaderboards")));
+        }
+    }
+
+    /**
+     * Tests method {@link BatchLeaderboardService#generateLeaderboards(java.util.List, String)}.
+     * Case when output directory is under a symbolic link in the root directory which points outside of it. In that
+     * case exception is thrown and nothing is written outside of the root directory.
+     */
+    @Test
+    public void whenOutputDirectoryIsUnderLinkOutsideOfRootThenExceptionIsThrown() throws IOException {
+        Path outsideDirectory = Files.createTempDirectory("batch-leaderboards-outside");
+        try {
+            Files.createSymbolicLink(rootDirectory.resolve("outside"), outsideDirectory);
+            try {
+                batchLeaderboardService.generateLeaderboards(
+                        Collections.singletonList("results/AthleteResultsTest4.csv"), "outside/leaderboards");
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertTrue(Files.notExists(outsideDirectory.resolve("leaderboards")));
+            }
+        } finally {
+            Files.delete(outsideDirectory);
+        }
+    }
+
+    /**
+     * Tests method {@link BatchLeaderboardService#generateLeaderboardsOfDirectory(String, String)}.
+     * Case when results file extension is in mixed case. In that case its leaderboard is written as well.
+     */
+    @Test
+    public void whenResultFileExtensionIsInMixedCaseThenItsLeaderboardIsWritten() throws IOException {
+        Files.move(rootDirectory.resolve("results/AthleteResultsTest4.csv"),
+                rootDirectory.resolve("results/AthleteResultsTest4.Csv"));
+
+        BatchLeaderboardReport report = batchLeaderboardService.generateLeaderboardsOfDirectory("results",
+                "leaderboards");
+
+        assertEquals(3, report.getFileCount());
+        assertTrue(Files.exists(rootDirectory.resolve("leaderboards/AthleteResultsTest4-leaderboard.csv")));
+    }
+}
@@ -0,0 +1,92 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Competition leaderboard service integration test.
+ */
+@SpringBootTest
+public class CompetitionLeaderboardServiceIntegrationTest {
+
+    /**
+     * Injection of competition leaderboard service.
+     */
+    @Autowired
+    private CompetitionLeaderboardService competitionLeaderboardService;
+
+    /**
+     * Injection of athlete result service.
+     */
+    @Autowired
+    private AthleteResultService athleteResultService;
+
+    /**
+     * Tests method {@link CompetitionLeaderboardService#getLeaderboard(String)}.
+     * Case when leaderboards of several competitions are requested at once. In that case every competition gets
+     * leaderboard of its own results file, with fencing target of its own amount of athletes.
+     */
+    @Test
+    public void whenSeveralCompetitionsThenEachHasItsOwnLeaderboard() throws ExecutionException,
+            InterruptedException {
+        String[] filePaths = {AthleteResultServiceIntegrationTest.NINE_ATHLETES_DIFFERENT_RESULTS,
+                AthleteResultServiceIntegrationTest.SIXTEEN_ATHLETES_REPEATING_TIMES,
+                AthleteResultServiceIntegrationTest.TWO_ATHLETE_SAME_RESULTS,
+                AthleteResultServiceIntegrationTest.ONE_ATHLETE_DATA};
+        for (int competition = 0; competition < filePaths.length; competition++) {
+            competitionLeaderboardService.registerCompetition("competition-" + competition, filePaths[competition]);
+        }
+        assertTrue(competitionLeaderboardService.getCompetitionIds().contains("default"));
+
+        CompletableFuture<?>[] leaderboards = new CompletableFuture<?>[filePaths.length];
+        for (int competition = 0; competition < filePaths.length; competition++) {
+            leaderboards[competition] = competitionLeaderboardService.getLeaderboard("competition-" + competition);
+        }
+        for (int competition = 0; competition < filePaths.length; competition++) {
+            assertEquals(athleteResultService.generateFinalLeaderboardList(
+                    athleteResultService.generateAthleteLeaderboardTable(filePaths[competition])),
+                    athleteResultService.generateFinalLeaderboardList(
+                            (AthleteResultTable) leaderboards[competition].get()));
+        }
+    }
+
+    /**
+     * Tests method {@link CompetitionLeaderboardService#getLeaderboard(String)}.
+     * Case when leaderboard of the same competition is requested several times. In that case it is computed once.
+     */
+    @Test
+    public void whenSameCompetitionRequestedAgainThenLeaderboardIsComputedOnce() throws ExecutionException,
+            InterruptedException {
+        competitionLeaderboardService.registerCompetition("repeated",
+                AthleteResultServiceIntegrationTest.SIXTEEN_ATHLETES_REPEATING_TIMES);
+
+        CompletableFuture<AthleteResultTable> first = competitionLeaderboardService.getLeaderboard("repeated");
+        CompletableFuture<AthleteResultTable> second = competitionLeaderboardService.getLeaderboard("repeated");
+        assertSame(first.get(), second.get());
+        assertSame(first.get(), competitionLeaderboardService.getLeaderboard("repeated").get());
+    }
+
+    /**
+     * Tests method {@link CompetitionLeaderboardService#getLeaderboard(String)}.
+     * Case when competition is not registered. In that case exception is thrown.
+     */
+    @Test
+    public void whenCompetitionUnknownThenThrow() {
+        try {
+            competitionLeaderboardService.getLeaderboard("unknown");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+}
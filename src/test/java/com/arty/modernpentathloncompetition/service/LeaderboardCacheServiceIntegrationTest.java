@@ -0,0 +1,181 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+
+/**
+ * Leaderboard cache service integration test.
+ */
+@SpringBootTest
+public class LeaderboardCacheServiceIntegrationTest {
+
+    /**
+     * Injection of leaderboard cache service.
+     */
+    @Autowired
+    private LeaderboardCacheService leaderboardCacheService;
+
+    /**
+     * Injection of athlete result service.
+     */
+    @Autowired
+    private AthleteResultService athleteResultService;
+
+    /**
+     * Tests method {@link LeaderboardCacheService#getLeaderboard()}.
+     * Case when results file does not change between requests. In that case leaderboard is computed once and the
+     * same leaderboard is served afterwards.
+     */
+    @Test
+    public void whenGetLeaderboardTwiceAndFileUnchangedThenSecondRequestIsServedFromCache() {
+        leaderboardCacheService.invalidate();
+        long hitsBefore = leaderboardCacheService.getHitCount();
+        long missesBefore = leaderboardCacheService.getMissCount();
+
+        AthleteResultTable first = leaderboardCacheService.getLeaderboard();
+        AthleteResultTable second = leaderboardCacheService.getLeaderboard();
+
+        assertSame(first, second);
+        assertEquals(missesBefore + 1, leaderboardCacheService.getMissCount());
+        assertEquals(hitsBefore + 1, leaderboardCacheService.getHitCount());
+        assertEquals(athleteResultService.generateAthleteLeaderboard(),
+                athleteResultService.generateFinalLeaderboardList(first));
+    }
+
+    /**
+     * Tests method {@link LeaderboardCacheService#getLeaderboardAsync()}.
+     * Case when many requests ask for leaderboard which is not cached. In that case leaderboard is computed once,
+     * and all requests get the same leaderboard as synchronous requests.
+     */
+    @Test
+    public void whenGetLeaderboardAsyncConcurrentlyThenLeaderboardIsComputedOnce() {
+        leaderboardCacheService.invalidate();
+        long missesBefore = leaderboardCacheService.getMissCount();
+
+        List<CompletableFuture<AthleteResultTable>> leaderboards = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leaderboards.add(leaderboardCacheService.getLeaderboardAsync());
+        }
+
+        AthleteResultTable leaderboard = leaderboardCacheService.getLeaderboard();
+        for (CompletableFuture<AthleteResultTable> asyncLeaderboard : leaderboards) {
+            assertSame(leaderboard, asyncLeaderboard.join());
+        }
+        assertEquals(missesBefore + 1, leaderboardCacheService.getMissCount());
+    }
+
+    /**
+     * Tests method {@link LeaderboardCacheService#writeLeaderboard(java.io.OutputStream)}.
+     * Case when leaderboard is written to a stream. In that case written bytes are UTF-8 encoded leaderboard.
+     */
+    @Test
+    public void whenWriteLeaderboardThenBytesAreSameAsGeneratedLeaderboard() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        leaderboardCacheService.writeLeaderboard(outputStream);
+
+        assertEquals(athleteResultService.generateAthleteLeaderboard(),
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests method {@link LeaderboardCacheService#preload(AthleteResultTable)}.
+     * Case when leaderboard read from snapshot is preloaded. In that case it is served without computing, and time
+     * to the first leaderboard is known.
+     */
+    @Test
+    public void whenPreloadThenLeaderboardIsServedFromCache() {
+        AthleteResultTable leaderboard = athleteResultService.generateAthleteLeaderboardTable();
+        long missesBefore = leaderboardCacheService.getMissCount();
+
+        leaderboardCacheService.preload(leaderboard);
+
+        assertSame(leaderboard, leaderboardCacheService.getLeaderboard());
+        assertEquals(missesBefore, leaderboardCacheService.getMissCount());
+        assertTrue(leaderboardCacheService.getTimeToFirstLeaderboardMillis() > 0);
+    }
+
+    /**
+     * Tests method {@link LeaderboardCacheService#invalidate()}.
+     * Case when cache is invalidated. In that case next request computes leaderboard again.
+     */
+    @Test
+    public void whenInvalidateThenNextRequestIsMiss() {
+        leaderboardCacheService.getLeaderboard();
+        long missesBefore = leaderboardCacheService.getMissCount();
+
+        leaderboardCacheService.invalidate();
+        leaderboardCacheService.getLeaderboard();
+
+        assertEquals(missesBefore + 1, leaderboardCacheService.getMissCount());
+    }
+
+    /**
+     * Tests method {@link LeaderboardCacheService#getLeaderboardAsync(int)}.
+     * Case when top of leaderboard is requested with and without cached leaderboard. In that case only the top is
+     * computed and not cached, and written rows are the first rows of leaderboard.
+     */
+    @Test
+    public void whenGetTopOfLeaderboardThenFirstRowsOfLeaderboardAreWritten() throws IOException {
+        String[] leaderboard = athleteResultService.generateAthleteLeaderboard().split("\r\n");
+        String expected = leaderboard[0] + "\r\n" + leaderboard[1] + "\r\n" + leaderboard[2] + "\r\n";
+
+        leaderboardCacheService.invalidate();
+        AthleteResultTable top = leaderboardCacheService.getLeaderboardAsync(3).join();
+        assertEquals(3, top.size());
+        ByteArrayOutputStream computed = new ByteArrayOutputStream();
+        leaderboardCacheService.writeLeaderboard(top, computed, 3);
+
+        long missesBefore = leaderboardCacheService.getMissCount();
+        leaderboardCacheService.getLeaderboard();
+        assertEquals(missesBefore + 1, leaderboardCacheService.getMissCount());
+        ByteArrayOutputStream cached = new ByteArrayOutputStream();
+        leaderboardCacheService.writeLeaderboard(leaderboardCacheService.getLeaderboardAsync(3).join(), cached, 3);
+
+        assertEquals(expected, new String(computed.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(expected, new String(cached.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests method {@link LeaderboardCacheService#writeLeaderboard(AthleteResultTable, java.io.OutputStream, int)}.
+     * Case when cached leaderboard is written several times, whole and by its top. In that case bytes encoded when
+     * it was cached are written, rows are not encoded again.
+     */
+    @Test
+    public void whenWriteCachedLeaderboardThenBytesEncodedWhenCachedAreWritten() throws IOException {
+        String expected = athleteResultService.generateAthleteLeaderboard();
+        AthleteResultTable leaderboard = athleteResultService.generateAthleteLeaderboardTable();
+        leaderboardCacheService.preload(leaderboard);
+        try {
+            // Cached leaderboard must not be modified, here it shows the rows are not encoded again.
+            leaderboard.setTotalPoints(0, -1);
+
+            ByteArrayOutputStream whole = new ByteArrayOutputStream();
+            leaderboardCacheService.writeLeaderboard(whole);
+            ByteArrayOutputStream top = new ByteArrayOutputStream();
+            leaderboardCacheService.writeLeaderboard(leaderboard, top, 1);
+            ByteArrayOutputStream none = new ByteArrayOutputStream();
+            leaderboardCacheService.writeLeaderboard(leaderboard, none, 0);
+
+            assertEquals(expected, new String(whole.toByteArray(), StandardCharsets.UTF_8));
+            assertEquals(expected.substring(0, expected.indexOf("\r\n") + 2),
+                    new String(top.toByteArray(), StandardCharsets.UTF_8));
+            assertEquals(0, none.size());
+        } finally {
+            leaderboardCacheService.invalidate();
+        }
+    }
+}
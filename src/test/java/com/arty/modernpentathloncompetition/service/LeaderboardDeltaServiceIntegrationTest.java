@@ -0,0 +1,176 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.entity.LeaderboardDelta;
+import com.arty.modernpentathloncompetition.entity.LeaderboardRow;
+import com.arty.modernpentathloncompetition.service.implementation.LeaderboardDeltaServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Leaderboard delta service integration test.
+ */
+@SpringBootTest
+public class LeaderboardDeltaServiceIntegrationTest {
+
+    /**
+     * Injection of live leaderboard service.
+     */
+    @Autowired
+    private LiveLeaderboardService liveLeaderboardService;
+
+    /**
+     * Injection of athlete result service.
+     */
+    @Autowired
+    private AthleteResultService athleteResultService;
+
+    /**
+     * Subscriber which applies deltas to its own copy of leaderboard, the way a venue screen does.
+     */
+    private static class ScreenListener implements LeaderboardDeltaListener {
+
+        private final List<LeaderboardDelta> deltas = new CopyOnWriteArrayList<>();
+
+        private final List<LeaderboardRow> rows = new ArrayList<>();
+
+        @Override
+        public synchronized void onDelta(LeaderboardDelta delta) {
+            deltas.add(delta);
+            if (delta.isSnapshot()) {
+                rows.clear();
+            }
+            while (rows.size() > delta.getSize()) {
+                rows.remove(rows.size() - 1);
+            }
+            while (rows.size() < delta.getSize()) {
+                rows.add(null);
+            }
+            for (LeaderboardRow row : delta.getRows()) {
+                rows.set(row.getPosition(), row);
+            }
+        }
+
+        private synchronized List<LeaderboardRow> getRows() {
+            return new ArrayList<>(rows);
+        }
+    }
+
+    private List<LeaderboardRow> liveRows() {
+        AthleteResultTable leaderboard = liveLeaderboardService.getLeaderboard();
+        List<LeaderboardRow> rows = new ArrayList<>();
+        for (int row = 0; row < leaderboard.size(); row++) {
+            rows.add(LeaderboardRow.of(leaderboard, row));
+        }
+        return rows;
+    }
+
+    private static void awaitRows(ScreenListener listener, List<LeaderboardRow> expectedRows)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!expectedRows.equals(listener.getRows()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expectedRows, listener.getRows());
+    }
+
+    private void loadTestFile() {
+        liveLeaderboardService.load(athleteResultService.generateAthleteResultTableFromCsv(
+                AthleteResultServiceIntegrationTest.FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS));
+    }
+
+    /**
+     * Tests method {@link LeaderboardDeltaService#subscribe(LeaderboardDeltaListener)}.
+     * Case when results change after subscription. In that case subscriber gets a snapshot first and then only
+     * changed rows, which keep its copy of leaderboard the same as live leaderboard.
+     */
+    @Test
+    public void whenResultsChangeThenSubscriberGetsOnlyChangedRows() throws InterruptedException {
+        LeaderboardDeltaServiceImpl leaderboardDeltaService = new LeaderboardDeltaServiceImpl(liveLeaderboardService);
+        leaderboardDeltaService.startPublishing();
+        try {
+            loadTestFile();
+            ScreenListener listener = new ScreenListener();
+            leaderboardDeltaService.subscribe(listener);
+            awaitRows(listener, liveRows());
+            assertTrue(listener.deltas.get(0).isSnapshot());
+
+            String lastAthlete = liveLeaderboardService.getLeaderboard().getNameSurname(
+                    liveLeaderboardService.getLeaderboard().size() - 1);
+            liveLeaderboardService.updateResult(lastAthlete, AthleteEvent.RUN, "09:00.0");
+            leaderboardDeltaService.publishChanges();
+            awaitRows(listener, liveRows());
+
+            LeaderboardDelta delta = listener.deltas.get(listener.deltas.size() - 1);
+            assertFalse(delta.isSnapshot());
+            assertEquals(lastAthlete, delta.getRows().get(0).getNameSurname());
+            assertTrue(delta.getRows().size() <= delta.getSize());
+
+            liveLeaderboardService.updateResult("Late Athlete", AthleteEvent.RUN, "12:00.0");
+            leaderboardDeltaService.publishChanges();
+            awaitRows(listener, liveRows());
+        } finally {
+            leaderboardDeltaService.stopPublishing();
+        }
+    }
+
+    /**
+     * Tests method {@link LeaderboardDeltaService#publishChanges()}.
+     * Case when subscriber is slow and more rows change than its buffer allows. In that case pending changes are
+     * coalesced into one snapshot, which is delivered when subscriber is ready again.
+     */
+    @Test
+    public void whenSubscriberIsSlowThenChangesAreCoalesced() throws InterruptedException {
+        LeaderboardDeltaServiceImpl leaderboardDeltaService = new LeaderboardDeltaServiceImpl(liveLeaderboardService);
+        leaderboardDeltaService.setSubscriberBufferRows(2);
+        leaderboardDeltaService.startPublishing();
+        try {
+            loadTestFile();
+            CountDownLatch delivering = new CountDownLatch(1);
+            CountDownLatch ready = new CountDownLatch(1);
+            ScreenListener listener = new ScreenListener() {
+                @Override
+                public void onDelta(LeaderboardDelta delta) {
+                    delivering.countDown();
+                    try {
+                        ready.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    super.onDelta(delta);
+                }
+            };
+            leaderboardDeltaService.subscribe(listener);
+            assertTrue(delivering.await(10, TimeUnit.SECONDS));
+
+            AthleteResultTable leaderboard = liveLeaderboardService.getLeaderboard();
+            for (int row = 0; row < leaderboard.size(); row++) {
+                liveLeaderboardService.updateResult(leaderboard.getNameSurname(row), AthleteEvent.RUN,
+                        String.format("%02d:%02d.0", 9 + row, 10 * row));
+                leaderboardDeltaService.publishChanges();
+            }
+            ready.countDown();
+            awaitRows(listener, liveRows());
+
+            assertEquals(2, listener.deltas.size());
+            assertTrue(listener.deltas.get(1).isSnapshot());
+            assertEquals(1, leaderboardDeltaService.getSubscriberCount());
+            leaderboardDeltaService.unsubscribe(listener);
+            assertEquals(0, leaderboardDeltaService.getSubscriberCount());
+        } finally {
+            leaderboardDeltaService.stopPublishing();
+        }
+    }
+}
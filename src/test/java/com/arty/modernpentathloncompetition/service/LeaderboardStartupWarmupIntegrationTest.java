@@ -0,0 +1,37 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.service.implementation.LeaderboardStartupWarmup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Leaderboard startup warmup integration test.
+ */
+@SpringBootTest(properties = "startup_mode=precompute")
+public class LeaderboardStartupWarmupIntegrationTest {
+
+    /**
+     * Injection of leaderboard cache service.
+     */
+    @Autowired
+    private LeaderboardCacheService leaderboardCacheService;
+
+    /**
+     * Tests method {@link LeaderboardStartupWarmup#afterSingletonsInstantiated()}.
+     * Case when application is started in 'precompute' mode with lazy initialization of beans. In that case
+     * leaderboard is cached while the application starts, and the first request is served from the cache.
+     */
+    @Test
+    public void whenApplicationStartsInPrecomputeModeThenFirstRequestIsServedFromCache() {
+        assertTrue(leaderboardCacheService.getTimeToFirstLeaderboardMillis() > 0);
+        long missesBefore = leaderboardCacheService.getMissCount();
+
+        leaderboardCacheService.getLeaderboard();
+
+        assertEquals(missesBefore, leaderboardCacheService.getMissCount());
+    }
+}
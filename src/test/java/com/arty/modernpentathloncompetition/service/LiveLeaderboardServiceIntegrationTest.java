@@ -0,0 +1,217 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Live leaderboard service integration test.
+ */
+@SpringBootTest
+public class LiveLeaderboardServiceIntegrationTest {
+
+    /**
+     * Injection of live leaderboard service.
+     */
+    @Autowired
+    private LiveLeaderboardService liveLeaderboardService;
+
+    /**
+     * Injection of athlete result service.
+     */
+    @Autowired
+    private AthleteResultService athleteResultService;
+
+    private String batchLeaderboard(List<AthleteResult> athleteResults) {
+        return athleteResultService.generateFinalLeaderboardList(athleteResultService.determinePlaceForEachAthlete(
+                athleteResultService.countConcludingEventTimeAndSortAccordingToIt(
+                        athleteResultService.calculateTotalPointsOfAthletes(athleteResults))));
+    }
+
+    private static String time(Random random, int minMinutes) {
+        return String.format("%02d:%02d.%d", minMinutes + random.nextInt(2), random.nextInt(60), random.nextInt(10));
+    }
+
+    /**
+     * Applies the same result to athlete result as live leaderboard does.
+     */
+    private static void apply(AthleteResult athleteResult, AthleteEvent event, String result) {
+        switch (event) {
+            case FENCING:
+                athleteResult.setFencingVictories(Integer.parseInt(result));
+                break;
+            case SWIMMING:
+                athleteResult.setSwimmingTime(result);
+                break;
+            case RIDING:
+                String[] counts = result.split(",");
+                athleteResult.setFenceKnockDownCount(Integer.parseInt(counts[0]));
+                athleteResult.setRefusalToJumpCount(Integer.parseInt(counts[1]));
+                athleteResult.setObstacleKnockDownCount(Integer.parseInt(counts[2]));
+                break;
+            case SHOOTING:
+                athleteResult.setShootingTargetScore(Integer.parseInt(result));
+                break;
+            default:
+                athleteResult.setRunTime(result);
+        }
+    }
+
+    /**
+     * Tests method {@link LiveLeaderboardService#updateResult(String, AthleteEvent, String)}.
+     * Case when random results of known and new athletes arrive one by one, including changes of the leader.
+     * In that case live leaderboard is the same as leaderboard generated from scratch after every update.
+     */
+    @Test
+    public void whenUpdateResultsThenLiveLeaderboardIsSameAsBatchLeaderboard() {
+        AthleteResultTable athleteResultTable = athleteResultService.generateAthleteResultTableFromCsv(
+                AthleteResultServiceIntegrationTest.FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS);
+        List<AthleteResult> athleteResults = athleteResultService.generateAthleteResultsFromCsv(
+                AthleteResultServiceIntegrationTest.FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS);
+        liveLeaderboardService.load(athleteResultTable);
+        assertEquals(batchLeaderboard(athleteResults),
+                athleteResultService.generateFinalLeaderboardList(liveLeaderboardService.getLeaderboard()));
+
+        Random random = new Random(11);
+        AthleteEvent[] events = AthleteEvent.values();
+        for (int update = 0; update < 300; update++) {
+            AthleteResult athleteResult;
+            if (random.nextInt(20) == 0) {
+                athleteResult = new AthleteResult();
+                athleteResult.setNameSurname("New Athlete " + update);
+                athleteResults.add(athleteResult);
+            } else {
+                athleteResult = athleteResults.get(random.nextInt(athleteResults.size()));
+            }
+            AthleteEvent event = events[random.nextInt(events.length)];
+            String result;
+            switch (event) {
+                case FENCING:
+                    result = String.valueOf(random.nextInt(athleteResults.size()));
+                    break;
+                case SWIMMING:
+                    result = time(random, 1);
+                    break;
+                case RIDING:
+                    result = random.nextInt(3) + "," + random.nextInt(3) + "," + random.nextInt(3);
+                    break;
+                case SHOOTING:
+                    result = String.valueOf(140 + random.nextInt(60));
+                    break;
+                default:
+                    result = time(random, 10);
+            }
+            long versionBefore = liveLeaderboardService.getVersion();
+
+            liveLeaderboardService.updateResult(athleteResult.getNameSurname(), event, result);
+            apply(athleteResult, event, result);
+
+            assertTrue(liveLeaderboardService.getVersion() > versionBefore);
+            assertEquals("Update " + update, batchLeaderboard(athleteResults),
+                    athleteResultService.generateFinalLeaderboardList(liveLeaderboardService.getLeaderboard()));
+        }
+    }
+
+    /**
+     * Tests method {@link LiveLeaderboardService#updateResult(String, AthleteEvent, String)}.
+     * Case when result has wrong format. In that case exception is thrown and leaderboard does not change.
+     */
+    @Test
+    public void whenUpdateResultWithWrongFormatThenThrowAndKeepLeaderboard() {
+        liveLeaderboardService.load(athleteResultService.generateAthleteResultTableFromCsv(
+                AthleteResultServiceIntegrationTest.FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS));
+        AthleteResultTable before = liveLeaderboardService.getLeaderboard();
+        String athlete = before.getNameSurname(0);
+
+        String[][] wrongResults = {{"FENCING", "many"}, {"FENCING", "-1"}, {"SWIMMING", "2 minutes"},
+                {"RIDING", "0,1"}, {"SHOOTING", ""}, {"RUN", "10:38"}};
+        for (String[] wrongResult : wrongResults) {
+            try {
+                liveLeaderboardService.updateResult(athlete, AthleteEvent.valueOf(wrongResult[0]), wrongResult[1]);
+                fail(wrongResult[0] + " " + wrongResult[1]);
+            } catch (IllegalArgumentException e) {
+                // Expected.
+            }
+        }
+
+        assertEquals(athleteResultService.generateFinalLeaderboardList(before),
+                athleteResultService.generateFinalLeaderboardList(liveLeaderboardService.getLeaderboard()));
+    }
+
+    /**
+     * Tests method {@link LiveLeaderboardService#updateResult(String, AthleteEvent, String)}.
+     * Case when every event has its own feed thread, feeds update the same athletes at the same time, fencing feed
+     * also adds new athletes, and leaderboard is read meanwhile. In that case live leaderboard after the feeds end is
+     * the same as leaderboard generated from scratch of the last results.
+     */
+    @Test
+    public void whenFeedsUpdateResultsConcurrentlyThenLiveLeaderboardIsSameAsBatchLeaderboard() throws Exception {
+        liveLeaderboardService.load(athleteResultService.generateAthleteResultTableFromCsv(
+                AthleteResultServiceIntegrationTest.FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS));
+        List<AthleteResult> athleteResults = athleteResultService.generateAthleteResultsFromCsv(
+                AthleteResultServiceIntegrationTest.FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS);
+        List<AthleteResult> newAthleteResults = new ArrayList<>();
+        for (int athlete = 0; athlete < 10; athlete++) {
+            AthleteResult athleteResult = new AthleteResult();
+            athleteResult.setNameSurname("New Athlete " + athlete);
+            newAthleteResults.add(athleteResult);
+        }
+
+        AthleteEvent[] events = AthleteEvent.values();
+        ExecutorService executor = Executors.newFixedThreadPool(events.length + 1);
+        try {
+            List<Future<?>> feeds = new ArrayList<>();
+            for (AthleteEvent event : events) {
+                feeds.add(executor.submit(() -> {
+                    // Every feed writes only its own event, so results are applied to the same athletes safely.
+                    Random random = new Random(event.ordinal());
+                    List<AthleteResult> fed = new ArrayList<>(athleteResults);
+                    if (event == AthleteEvent.FENCING) {
+                        fed.addAll(newAthleteResults);
+                    }
+                    for (int update = 0; update < 500; update++) {
+                        AthleteResult athleteResult = fed.get(update < fed.size() && event == AthleteEvent.FENCING
+                                ? update : random.nextInt(fed.size()));
+                        String result = event == AthleteEvent.FENCING ? String.valueOf(random.nextInt(20))
+                                : event == AthleteEvent.SWIMMING ? time(random, 1)
+                                : event == AthleteEvent.RIDING ? random.nextInt(3) + ",0," + random.nextInt(3)
+                                : event == AthleteEvent.SHOOTING ? String.valueOf(140 + random.nextInt(60))
+                                : time(random, 10);
+                        liveLeaderboardService.updateResult(athleteResult.getNameSurname(), event, result);
+                        apply(athleteResult, event, result);
+                    }
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                while (!feeds.stream().allMatch(Future::isDone)) {
+                    liveLeaderboardService.getLeaderboard();
+                }
+            });
+            for (Future<?> feed : feeds) {
+                feed.get(1, TimeUnit.MINUTES);
+            }
+            reader.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        athleteResults.addAll(newAthleteResults);
+        assertEquals(batchLeaderboard(athleteResults),
+                athleteResultService.generateFinalLeaderboardList(liveLeaderboardService.getLeaderboard()));
+    }
+}
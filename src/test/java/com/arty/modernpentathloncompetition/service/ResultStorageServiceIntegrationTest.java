@@ -0,0 +1,112 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.service.implementation.LiveLeaderboardServiceImpl;
+import com.arty.modernpentathloncompetition.service.implementation.ResultStorageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Result storage service integration test.
+ */
+@SpringBootTest
+public class ResultStorageServiceIntegrationTest {
+
+    /**
+     * Injection of athlete result service.
+     */
+    @Autowired
+    private AthleteResultService athleteResultService;
+
+    private Path storageDirectory;
+
+    @BeforeEach
+    public void createStorageDirectory() throws IOException {
+        storageDirectory = Files.createTempDirectory("result-storage");
+    }
+
+    @AfterEach
+    public void deleteStorageDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(storageDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests method {@link ResultStorageService#recover(com.arty.modernpentathloncompetition.storage.ResultEventLog.Replayer)}.
+     * Case when live results are updated across several snapshots and the service is started again with the same
+     * storage. In that case recovered live leaderboard is the same as before the restart, older snapshots are
+     * deleted, and updates continue after the recovered ones.
+     */
+    @Test
+    public void whenServiceIsStartedAgainThenLiveLeaderboardIsRecovered() throws IOException {
+        ResultStorageServiceImpl resultStorageService = resultStorageService();
+        LiveLeaderboardServiceImpl liveLeaderboardService = new LiveLeaderboardServiceImpl(athleteResultService,
+                resultStorageService);
+        liveLeaderboardService.load(athleteResultService.generateAthleteResultTableFromCsv(
+                AthleteResultServiceIntegrationTest.FILE_PATH_CORRECT_STRUCTURE_FILE_EXISTS));
+        AthleteResultTable loaded = liveLeaderboardService.getLeaderboard();
+
+        Random random = new Random(3);
+        for (int update = 0; update < 23; update++) {
+            String athlete = update % 5 == 4 ? "New Athlete " + update
+                    : loaded.getNameSurname(random.nextInt(loaded.size()));
+            liveLeaderboardService.updateResult(athlete, AthleteEvent.RUN,
+                    String.format("%02d:%02d.%d", 10 + random.nextInt(2), random.nextInt(60), random.nextInt(10)));
+            liveLeaderboardService.updateResult(athlete, AthleteEvent.FENCING, String.valueOf(random.nextInt(30)));
+        }
+        String expected = athleteResultService.generateFinalLeaderboardList(liveLeaderboardService.getLeaderboard());
+        resultStorageService.stop();
+
+        ResultStorageServiceImpl restartedStorageService = resultStorageService();
+        LiveLeaderboardServiceImpl restartedLiveLeaderboardService = new LiveLeaderboardServiceImpl(
+                athleteResultService, restartedStorageService);
+
+        assertEquals(expected, athleteResultService.generateFinalLeaderboardList(
+                restartedLiveLeaderboardService.getLeaderboard()));
+        assertEquals(1, countFiles("*.snapshot"));
+        assertTrue(countFiles("*.log") <= 2);
+
+        restartedLiveLeaderboardService.updateResult("New Athlete 4", AthleteEvent.SHOOTING, "180");
+        String updated = athleteResultService.generateFinalLeaderboardList(
+                restartedLiveLeaderboardService.getLeaderboard());
+        restartedStorageService.stop();
+        assertEquals(updated, athleteResultService.generateFinalLeaderboardList(
+                new LiveLeaderboardServiceImpl(athleteResultService, resultStorageService()).getLeaderboard()));
+    }
+
+    /**
+     * Method creates storage service of the test directory which writes snapshot every 10 events.
+     */
+    private ResultStorageServiceImpl resultStorageService() {
+        ResultStorageServiceImpl resultStorageService = new ResultStorageServiceImpl();
+        resultStorageService.setStorageDirectory(storageDirectory.toString());
+        resultStorageService.setSnapshotIntervalEvents(10);
+        return resultStorageService;
+    }
+
+    private int countFiles(String glob) throws IOException {
+        int count = 0;
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(storageDirectory, glob)) {
+            for (Path ignored : paths) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,87 @@
+package com.arty.modernpentathloncompetition.service;
+
+import com.arty.modernpentathloncompetition.entity.AthleteCompetitionResult;
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import com.arty.modernpentathloncompetition.ranking.SeasonRankingIndex;
+import com.arty.modernpentathloncompetition.service.implementation.SeasonRankingServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Season ranking service integration test.
+ */
+@SpringBootTest
+public class SeasonRankingServiceIntegrationTest {
+
+    /**
+     * Injection of season ranking service.
+     */
+    @Autowired
+    private SeasonRankingService seasonRankingService;
+
+    /**
+     * Tests method {@link SeasonRankingService#indexCompetition(Path, AthleteResultTable)}.
+     * Case when leaderboard of the same results file is indexed through a relative and an absolute path, as the
+     * competition registry and a batch would. In that case it is one competition, and season points of its
+     * athletes are counted once.
+     */
+    @Test
+    public void whenSameResultsFileIsIndexedByDifferentPathsThenItIsOneCompetition() throws IOException {
+        Path resultsFile = Paths.get("./src/test/resources/AthleteResultsTest1.csv");
+        AthleteResultTable leaderboard = new AthleteResultTable();
+        leaderboard.addRow("Season Ranking Test Athlete", 0, null, -1, 0, 0, 0, 0, null, -1);
+        leaderboard.setTotalPoints(0, 1000);
+        leaderboard.setPlace(0, 1, false);
+
+        seasonRankingService.indexCompetition(resultsFile, leaderboard);
+        seasonRankingService.indexCompetition(resultsFile.toAbsolutePath(), leaderboard);
+
+        List<AthleteCompetitionResult> history = seasonRankingService.getAthleteHistory("Season Ranking Test Athlete");
+        assertEquals(1, history.size());
+        assertEquals(resultsFile.toRealPath().toString(), history.get(0).getCompetitionId());
+        assertEquals(1000, seasonRankingService.getSeasonRankingRow("Season Ranking Test Athlete").getSeasonPoints());
+    }
+
+    /**
+     * Tests method {@link SeasonRankingService#indexCompetition(Path, AthleteResultTable)}.
+     * Case when index is kept in a file and the service is not stopped afterwards, as after a crash. In that case
+     * the indexed competition is written to the file shortly after indexing.
+     */
+    @Test
+    public void whenCompetitionIsIndexedThenIndexFileIsWrittenWithoutStopping() throws Exception {
+        Path indexFile = Files.createTempFile("season-ranking", ".index");
+        Files.delete(indexFile);
+        SeasonRankingServiceImpl service = new SeasonRankingServiceImpl();
+        service.setIndexPath(indexFile.toString());
+        service.load();
+        try {
+            AthleteResultTable leaderboard = new AthleteResultTable();
+            leaderboard.addRow("Saved Athlete", 0, null, -1, 0, 0, 0, 0, null, -1);
+            leaderboard.setTotalPoints(0, 900);
+            leaderboard.setPlace(0, 1, false);
+
+            service.indexCompetition(Paths.get("./src/test/resources/AthleteResultsTest1.csv"), leaderboard);
+
+            for (int attempt = 0; attempt < 100 && !Files.exists(indexFile); attempt++) {
+                Thread.sleep(100);
+            }
+            assertTrue(Files.exists(indexFile));
+            assertEquals(900, SeasonRankingIndex.read(indexFile).getSeasonRankingRow("Saved Athlete")
+                    .getSeasonPoints());
+        } finally {
+            service.setIndexPath("");
+            service.stop();
+            Files.deleteIfExists(indexFile);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.arty.modernpentathloncompetition.simulation;
+
+import com.arty.modernpentathloncompetition.entity.FinishingPlaceProbabilities;
+import org.junit.jupiter.api.Test;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Finishing place simulation unit test.
+ */
+public class FinishingPlaceSimulationTest {
+
+    /**
+     * Tests method {@link FinishingPlaceSimulation#simulate(long, int, long)}.
+     * Case when run times do not vary, or vary less than differences between athletes. In that case athletes
+     * always finish in order of start delay plus run time, and athlete without run time never finishes in front.
+     */
+    @Test
+    public void whenRunTimesCanNotChangeOrderThenAthletesAlwaysFinishInTheSameOrder() {
+        double[] startDelays = {0, 10, 30, 12};
+        double[] meanRunTimes = {700, 705, 600, Double.POSITIVE_INFINITY};
+        int[] expectedPlaces = {1, 2, 3, 4};
+        int[] expectedRows = {2, 0, 1, 3};
+
+        for (RunTimeDistribution distribution : RunTimeDistribution.values()) {
+            double spread = distribution == RunTimeDistribution.UNIFORM ? 2.0 : 0.0;
+            FinishingPlaceSimulation simulation = new FinishingPlaceSimulation(startDelays, meanRunTimes,
+                    new double[]{spread, spread, spread, spread}, distribution);
+
+            FinishingPlaceProbabilities probabilities = simulation.simulate(100_000, 4, 7);
+
+            for (int i = 0; i < expectedRows.length; i++) {
+                assertEquals(distribution.name(), 100_000, probabilities.getFinishCount(expectedRows[i],
+                        expectedPlaces[i]));
+            }
+        }
+    }
+
+    /**
+     * Tests method {@link FinishingPlaceSimulation#simulate(long, int, long)}.
+     * Case when two athletes start together with the same expected run time. In that case each of them wins about
+     * half of the runs, and every place is taken once per run.
+     */
+    @Test
+    public void whenAthletesAreEqualThenEachWinsHalfOfRuns() {
+        FinishingPlaceSimulation simulation = new FinishingPlaceSimulation(new double[]{5, 5, 40},
+                new double[]{660, 660, 650}, new double[]{4, 4, 4}, RunTimeDistribution.NORMAL);
+
+        FinishingPlaceProbabilities probabilities = simulation.simulate(400_000, 3, 11);
+
+        assertTrue(Math.abs(probabilities.getProbability(0, 1) - 0.5) < 0.01);
+        assertTrue(Math.abs(probabilities.getProbability(1, 1) - 0.5) < 0.01);
+        assertTrue(probabilities.getProbability(2, 3) > 0.99);
+        for (int place = 1; place <= 3; place++) {
+            long finishes = 0;
+            for (int row = 0; row < 3; row++) {
+                finishes += probabilities.getFinishCount(row, place);
+            }
+            assertEquals(400_000, finishes);
+        }
+        assertEquals(1.0, probabilities.getProbabilityOfPlaceOrBetter(0, 3), 1e-9);
+    }
+
+    /**
+     * Tests method {@link FinishingPlaceSimulation#simulate(long, int, long)}.
+     * Case when simulation is repeated with the same seed and amount of iterations is not a multiple of chunk size.
+     * In that case finish counts are the same, and a different seed gives different counts.
+     */
+    @Test
+    public void whenSimulateWithSameSeedThenResultIsTheSame() {
+        double[] startDelays = new double[36];
+        double[] meanRunTimes = new double[36];
+        double[] spreads = new double[36];
+        for (int row = 0; row < startDelays.length; row++) {
+            startDelays[row] = row * 3;
+            meanRunTimes[row] = 700 - row * 2;
+            spreads[row] = 6;
+        }
+        FinishingPlaceSimulation simulation = new FinishingPlaceSimulation(startDelays, meanRunTimes, spreads,
+                RunTimeDistribution.NORMAL);
+        long iterations = 3L * FinishingPlaceSimulation.CHUNK_ITERATIONS + 5;
+
+        FinishingPlaceProbabilities first = simulation.simulate(iterations, 36, 42);
+        FinishingPlaceProbabilities second = simulation.simulate(iterations, 36, 42);
+        FinishingPlaceProbabilities otherSeed = simulation.simulate(iterations, 36, 43);
+
+        boolean differs = false;
+        for (int row = 0; row < 36; row++) {
+            long runs = 0;
+            for (int place = 1; place <= 36; place++) {
+                assertEquals(first.getFinishCount(row, place), second.getFinishCount(row, place));
+                differs |= first.getFinishCount(row, place) != otherSeed.getFinishCount(row, place);
+                runs += first.getFinishCount(row, place);
+            }
+            assertEquals(iterations, runs);
+        }
+        assertTrue(differs);
+    }
+}
@@ -0,0 +1,127 @@
+package com.arty.modernpentathloncompetition.snapshot;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
+
+/**
+ * Athlete result snapshot unit test.
+ */
+public class AthleteResultSnapshotTest {
+
+    private static final String[] NAMES = {"Antanas Kavaliauskas", "Jürgen Müller", "Пётр Иванов", "李小龙",
+            "Emoji 🏅", "", null};
+
+    private static AthleteResultTable randomLeaderboard(Random random, int size, String longName) {
+        AthleteResultTable table = new AthleteResultTable();
+        for (int row = 0; row < size; row++) {
+            String name = row == size / 2 ? longName : NAMES[random.nextInt(NAMES.length)];
+            table.addRow(name, random.nextInt(40), random.nextInt(5) == 0 ? null : "02:1" + row % 10 + ".0",
+                    random.nextInt(2000) - 1, random.nextInt(4), random.nextInt(3), random.nextInt(4),
+                    random.nextInt(200) - 10, "1" + random.nextInt(10) + ":00.0", random.nextInt(7000) - 1);
+            table.setTotalPoints(row, random.nextInt(5000));
+            table.setConcludingEventTime(row, row * 3);
+            table.setPlace(row, row + 1, random.nextBoolean());
+        }
+        return table;
+    }
+
+    private static void assertSameTable(AthleteResultTable expected, AthleteResultTable actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int row = 0; row < expected.size(); row++) {
+            assertEquals(expected.getNameSurname(row), actual.getNameSurname(row));
+            assertEquals(expected.getFencingVictories(row), actual.getFencingVictories(row));
+            assertEquals(expected.getSwimmingTime(row), actual.getSwimmingTime(row));
+            assertEquals(expected.getSwimmingTimeText(row), actual.getSwimmingTimeText(row));
+            assertEquals(expected.getFenceKnockDownCount(row), actual.getFenceKnockDownCount(row));
+            assertEquals(expected.getRefusalToJumpCount(row), actual.getRefusalToJumpCount(row));
+            assertEquals(expected.getObstacleKnockDownCount(row), actual.getObstacleKnockDownCount(row));
+            assertEquals(expected.getShootingTargetScore(row), actual.getShootingTargetScore(row));
+            assertEquals(expected.getRunTime(row), actual.getRunTime(row));
+            assertEquals(expected.getRunTimeText(row), actual.getRunTimeText(row));
+            assertEquals(expected.getTotalPoints(row), actual.getTotalPoints(row));
+            assertEquals(expected.getConcludingEventTime(row), actual.getConcludingEventTime(row));
+            assertEquals(expected.getPlace(row), actual.getPlace(row));
+        }
+    }
+
+    /**
+     * Tests methods {@link AthleteResultSnapshot#write(AthleteResultTable, Path)} and
+     * {@link AthleteResultSnapshot#read(Path)}.
+     * Case when leaderboard has non-ASCII, missing and longer than buffer texts, and more rows than fit in buffer.
+     * In that case read leaderboard is the same as written one.
+     */
+    @Test
+    public void whenWriteAndReadSnapshotThenLeaderboardIsSame() throws IOException {
+        char[] longName = new char[100_000];
+        Arrays.fill(longName, 'ž');
+        Path snapshot = Files.createTempFile("leaderboard", AthleteResultSnapshot.FILE_EXTENSION);
+        try {
+            for (int size : new int[]{0, 1, 7, 5000}) {
+                AthleteResultTable leaderboard = randomLeaderboard(new Random(size), size, new String(longName));
+
+                AthleteResultSnapshot.write(leaderboard, snapshot);
+
+                assertSameTable(leaderboard, AthleteResultSnapshot.read(snapshot));
+            }
+        } finally {
+            Files.delete(snapshot);
+        }
+    }
+
+    /**
+     * Tests method {@link AthleteResultSnapshot#read(Path)}.
+     * Case when file is not a snapshot, has another format version, is cut short, or has counts or text length
+     * larger than the file. In that case exception is thrown before anything of that size is allocated.
+     */
+    @Test
+    public void whenSnapshotIsDamagedThenThrow() throws IOException {
+        Path snapshot = Files.createTempFile("leaderboard", AthleteResultSnapshot.FILE_EXTENSION);
+        try {
+            AthleteResultSnapshot.write(randomLeaderboard(new Random(1), 100, "Long Name"), snapshot);
+            byte[] bytes = Files.readAllBytes(snapshot);
+
+            Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 1));
+            assertThrows(snapshot, IOException.class);
+
+            byte[] otherVersion = bytes.clone();
+            ByteBuffer.wrap(otherVersion).putInt(Integer.BYTES, AthleteResultSnapshot.FORMAT_VERSION + 1);
+            Files.write(snapshot, otherVersion);
+            assertThrows(snapshot, IOException.class);
+
+            Files.write(snapshot, "1,4768,638,Dennis Bowsher".getBytes());
+            assertThrows(snapshot, IOException.class);
+
+            byte[] hugeRowCount = bytes.clone();
+            ByteBuffer.wrap(hugeRowCount).putInt(2 * Integer.BYTES, Integer.MAX_VALUE);
+            Files.write(snapshot, hugeRowCount);
+            assertThrows(snapshot, IOException.class);
+
+            byte[] hugeTextLength = bytes.clone();
+            ByteBuffer.wrap(hugeTextLength).putInt(4 * Integer.BYTES, Integer.MAX_VALUE - 8);
+            Files.write(snapshot, hugeTextLength);
+            assertThrows(snapshot, IOException.class);
+        } finally {
+            Files.delete(snapshot);
+        }
+    }
+
+    private static void assertThrows(Path snapshot, Class<? extends IOException> exceptionClass) {
+        try {
+            AthleteResultSnapshot.read(snapshot);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.toString(), exceptionClass.isInstance(e));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.arty.modernpentathloncompetition.storage;
+
+import com.arty.modernpentathloncompetition.entity.AthleteEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Result event log unit test.
+ */
+public class ResultEventLogTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("result-log");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests method {@link ResultEventLog#recover(long, ResultEventLog.Replayer)}.
+     * Case when events are appended across several segments and log is opened again. In that case events after
+     * the given sequence are replayed in order, and appends continue the sequence.
+     */
+    @Test
+    public void whenLogIsOpenedAgainThenEventsAreReplayedInOrder() throws IOException {
+        try (ResultEventLog log = new ResultEventLog(directory, false)) {
+            assertEquals(0, log.recover(0, (sequence, nameSurname, event, result) -> {
+            }));
+            assertEquals(1, log.append("Ann Lee", AthleteEvent.FENCING, "12"));
+            assertEquals(2, log.append("Bob Šimkus", AthleteEvent.RIDING, "0,2,1"));
+            log.roll();
+            assertEquals(3, log.append("Ann Lee", AthleteEvent.RUN, "10:38.0"));
+        }
+
+        List<String> replayed = new ArrayList<>();
+        try (ResultEventLog log = new ResultEventLog(directory, false)) {
+            assertEquals(2, log.recover(1, (sequence, nameSurname, event, result) ->
+                    replayed.add(sequence + "," + nameSurname + "," + event + "," + result)));
+            assertEquals(4, log.append("Cid Fox", AthleteEvent.SWIMMING, "02:11.0"));
+        }
+
+        assertEquals(2, replayed.size());
+        assertEquals("2,Bob Šimkus,RIDING,0,2,1", replayed.get(0));
+        assertEquals("3,Ann Lee,RUN,10:38.0", replayed.get(1));
+        assertEquals(4, replay(0).size());
+    }
+
+    /**
+     * Tests method {@link ResultEventLog#recover(long, ResultEventLog.Replayer)}.
+     * Case when the last record was cut short by a crash. In that case complete events are replayed, the damaged
+     * tail is truncated and counted, and the next event is appended after the last complete one.
+     */
+    @Test
+    public void whenLastRecordIsCutShortThenItIsTruncated() throws IOException {
+        try (ResultEventLog log = new ResultEventLog(directory, false)) {
+            log.recover(0, (sequence, nameSurname, event, result) -> {
+            });
+            log.append("Ann Lee", AthleteEvent.FENCING, "12");
+            log.append("Bob Fox", AthleteEvent.SHOOTING, "172");
+        }
+        Path segment = directory.resolve(ResultEventLog.segmentFileName(1));
+        long completeLength = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (ResultEventLog log = new ResultEventLog(directory, false)) {
+            assertEquals(2, log.recover(0, (sequence, nameSurname, event, result) -> {
+            }));
+            assertEquals(completeLength, Files.size(segment));
+            assertEquals(1, log.getDamagedSegmentCount());
+            assertEquals(3, log.append("Cid Fox", AthleteEvent.RUN, "11:02.5"));
+        }
+        assertEquals("3,Cid Fox,RUN,11:02.5", replay(0).get(2));
+    }
+
+    /**
+     * Tests method {@link ResultEventLog#deleteSegmentsUpTo(long)}.
+     * Case when snapshot covers events of older segments. In that case only segments with all events covered are
+     * deleted, and the rest of events is still replayed.
+     */
+    @Test
+    public void whenSegmentsAreCoveredThenTheyAreDeleted() throws IOException {
+        try (ResultEventLog log = new ResultEventLog(directory, false)) {
+            log.recover(0, (sequence, nameSurname, event, result) -> {
+            });
+            log.append("Ann Lee", AthleteEvent.FENCING, "12");
+            log.roll();
+            log.append("Ann Lee", AthleteEvent.FENCING, "13");
+            log.append("Ann Lee", AthleteEvent.FENCING, "14");
+            log.roll();
+            log.append("Ann Lee", AthleteEvent.FENCING, "15");
+
+            log.deleteSegmentsUpTo(2);
+
+            assertFalse(Files.exists(directory.resolve(ResultEventLog.segmentFileName(1))));
+            assertTrue(Files.exists(directory.resolve(ResultEventLog.segmentFileName(2))));
+            assertTrue(Files.exists(directory.resolve(ResultEventLog.segmentFileName(4))));
+        }
+        assertEquals(3, replay(0).size());
+    }
+
+    private List<String> replay(long afterSequence) throws IOException {
+        List<String> replayed = new ArrayList<>();
+        try (ResultEventLog log = new ResultEventLog(directory, false)) {
+            log.recover(afterSequence, (sequence, nameSurname, event, result) ->
+                    replayed.add(sequence + "," + nameSurname + "," + event + "," + result));
+        }
+        return replayed;
+    }
+}
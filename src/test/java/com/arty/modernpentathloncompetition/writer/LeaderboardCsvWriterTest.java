@@ -0,0 +1,65 @@
+package com.arty.modernpentathloncompetition.writer;
+
+import com.arty.modernpentathloncompetition.entity.AthleteResultTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static junit.framework.Assert.assertTrue;
+
+/**
+ * Leaderboard CSV writer unit test.
+ */
+public class LeaderboardCsvWriterTest {
+
+    private static final String[] NAMES = {"Antanas Kavaliauskas", "Jürgen Müller", "Пётр Иванов", "李小龙",
+            "Emoji 🏅", "Broken \uD83C surrogate", "Trailing \uDC00", "", null};
+
+    private static final int[] NUMBERS = {0, 1, 9, 10, 99, 1000, 12345, -1, -10, -98765,
+            Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+    /**
+     * Builds row the way leaderboard was built by string concatenation.
+     */
+    private static String concatenate(AthleteResultTable table, int row) {
+        return table.getPlace(row) + "," + table.getTotalPoints(row) + "," + table.getConcludingEventTime(row) + ","
+                + table.getNameSurname(row) + "," + table.getFencingVictories(row) + ","
+                + table.getSwimmingTimeText(row) + "," + table.getFenceKnockDownCount(row) + ","
+                + table.getRefusalToJumpCount(row) + "," + table.getObstacleKnockDownCount(row) + ","
+                + table.getShootingTargetScore(row) + "," + table.getRunTimeText(row) + "\r\n";
+    }
+
+    /**
+     * Tests method {@link LeaderboardCsvWriter#writeRows(AthleteResultTable)}.
+     * Case when rows have non-ASCII and missing texts, negative and extreme numbers and shared places, and buffer
+     * is smaller than a row. In that case written bytes are the same as UTF-8 bytes of concatenated rows.
+     */
+    @Test
+    public void whenWriteRowsThenBytesAreSameAsOfConcatenatedRows() throws IOException {
+        AthleteResultTable table = new AthleteResultTable();
+        StringBuilder expected = new StringBuilder();
+        for (int row = 0; row < 200; row++) {
+            int number = NUMBERS[row % NUMBERS.length];
+            table.addRow(NAMES[row % NAMES.length], number, row % 5 == 0 ? null : "02:1" + row % 10 + ".0", 0,
+                    -number, row, number / 3, NUMBERS[(row * 7) % NUMBERS.length], NAMES[(row + 3) % NAMES.length],
+                    0);
+            table.setTotalPoints(row, NUMBERS[(row * 5) % NUMBERS.length]);
+            table.setConcludingEventTime(row, row * 31 - 100);
+            table.setPlace(row, row + 1, row % 3 == 0);
+            expected.append(concatenate(table, row));
+        }
+
+        for (int bufferSize : new int[]{1, 16, 100, 8192}) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            LeaderboardCsvWriter writer = new LeaderboardCsvWriter(outputStream, bufferSize);
+            writer.writeRows(table);
+            writer.flush();
+
+            assertTrue("Buffer size " + bufferSize, Arrays.equals(
+                    expected.toString().getBytes(StandardCharsets.UTF_8), outputStream.toByteArray()));
+        }
+    }
+}